@@ -130,6 +130,41 @@ public class AnalyzerModuleConfig extends ModuleConfig {
     @Getter
     private String segmentStatusAnalysisStrategy = FROM_SPAN_STATUS.name();
 
+    /**
+     * Buffer the segments of the same trace on one OAP node, and keep or drop the whole trace after the window.
+     * The metrics analysis is not affected, only the segment persistence is sampled by the whole trace.
+     */
+    @Setter
+    @Getter
+    private boolean traceTailSampling = false;
+    /**
+     * How long(in milliseconds) to buffer the segments of a trace since its first segment arrived.
+     */
+    @Setter
+    @Getter
+    private int traceTailSamplingWindow = 10000;
+    /**
+     * The max number of buffered segments in one OAP node. When the buffer is full, the trace of the arriving
+     * segment is decided immediately.
+     */
+    @Setter
+    @Getter
+    private int traceTailSamplingMaxBufferedSegments = 100000;
+    /**
+     * Keep the trace if its total latency(in milliseconds) is bigger than or equals this threshold. Negative means
+     * disabled.
+     */
+    @Setter
+    @Getter
+    private int traceTailSamplingLatencyThreshold = 3000;
+    /**
+     * Keep the trace if any of its endpoints has been seen less than this count in the current minute. Zero means
+     * disabled.
+     */
+    @Setter
+    @Getter
+    private int traceTailSamplingRareEndpointThreshold = 5;
+
     private List<Integer> virtualPeers;
 
     /**
@@ -26,4 +26,12 @@ import org.apache.skywalking.oap.server.library.module.Service;
  */
 public interface ISegmentParserService extends Service {
     void send(SegmentObject segment);
+
+    /**
+     * @return true if the segment would be kept by the trace sampling policy. The receivers shed the segments which
+     * wouldn't be kept at first, when the analysis falls behind.
+     */
+    default boolean isSampled(SegmentObject segment) {
+        return true;
+    }
 }
@@ -21,8 +21,10 @@ package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.TraceSegmentSampler;
 
 /**
  * The open service to the receivers.
@@ -39,4 +41,30 @@ public class SegmentParserServiceImpl implements ISegmentParserService {
         final TraceAnalyzer traceAnalyzer = new TraceAnalyzer(moduleManager, listenerManager, config);
         traceAnalyzer.doAnalysis(segment);
     }
+
+    /**
+     * The same decision as the sampling in the segment analysis listener, but the error status is read from the spans
+     * directly rather than through the segment status strategy.
+     */
+    @Override
+    public boolean isSampled(SegmentObject segment) {
+        long startTimestamp = 0;
+        long endTimestamp = 0;
+        boolean isError = false;
+        for (final SpanObject span : segment.getSpansList()) {
+            if (startTimestamp == 0 || startTimestamp > span.getStartTime()) {
+                startTimestamp = span.getStartTime();
+            }
+            if (span.getEndTime() > endTimestamp) {
+                endTimestamp = span.getEndTime();
+            }
+            isError = isError || span.getIsError();
+        }
+        if (isError && config.isForceSampleErrorSegment()) {
+            return true;
+        }
+        final long duration = endTimestamp - startTimestamp;
+        return new TraceSegmentSampler(config.getTraceSamplingPolicyWatcher())
+            .shouldSample(segment, duration > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) duration);
+    }
 }
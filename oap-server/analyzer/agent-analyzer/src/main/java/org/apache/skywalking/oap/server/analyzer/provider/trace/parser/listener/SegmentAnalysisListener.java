@@ -27,6 +27,7 @@ import org.apache.skywalking.oap.server.core.config.SearchableTracesTagsWatcher;
 import org.apache.skywalking.oap.server.core.source.TagAutocomplete;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.sampling.TraceTailSampler;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.strategy.SegmentStatusAnalyzer;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.strategy.SegmentStatusStrategy;
 import org.apache.skywalking.oap.server.core.Const;
@@ -53,9 +54,14 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
     private final NamingControl namingControl;
     private final SearchableTracesTagsWatcher searchableTagKeys;
     private final SegmentStatusAnalyzer segmentStatusAnalyzer;
+    /**
+     * Nullable, the whole trace is sampled by the {@link TraceTailSampler} when it is activated.
+     */
+    private final TraceTailSampler tailSampler;
 
     private final Segment segment = new Segment();
     private SAMPLE_STATUS sampleStatus = SAMPLE_STATUS.UNKNOWN;
+    private boolean headSampled;
     private String serviceName = Const.EMPTY_STRING;
     private String serviceId = Const.EMPTY_STRING;
     private String endpointId = Const.EMPTY_STRING;
@@ -136,7 +142,11 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
         final long accurateDuration = endTimestamp - startTimestamp;
         duration = accurateDuration > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) accurateDuration;
 
-        if (sampleStatus.equals(SAMPLE_STATUS.UNKNOWN) || sampleStatus.equals(SAMPLE_STATUS.IGNORE)) {
+        if (tailSampler != null) {
+            // the segment is always built, the tail sampler decides whether to persist it by the whole trace
+            headSampled = sampler.shouldSample(segmentObject, duration);
+            sampleStatus = SAMPLE_STATUS.SAMPLED;
+        } else if (sampleStatus.equals(SAMPLE_STATUS.UNKNOWN) || sampleStatus.equals(SAMPLE_STATUS.IGNORE)) {
             if (sampler.shouldSample(segmentObject, duration)) {
                 sampleStatus = SAMPLE_STATUS.SAMPLED;
             } else if (isError && forceSampleErrorSegment) {
@@ -179,11 +189,19 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
 
         segment.setEndpointId(endpointId);
 
+        if (tailSampler != null) {
+            tailSampler.in(segment, headSampled);
+            return;
+        }
+        persist(sourceReceiver, segment);
+    }
+
+    private static void persist(SourceReceiver sourceReceiver, Segment segment) {
         sourceReceiver.receive(segment);
-        addAutocompleteTags();
+        addAutocompleteTags(sourceReceiver, segment);
     }
 
-    private void addAutocompleteTags() {
+    private static void addAutocompleteTags(SourceReceiver sourceReceiver, Segment segment) {
         segment.getTags().forEach(tag -> {
             TagAutocomplete tagAutocomplete = new TagAutocomplete();
             tagAutocomplete.setTagKey(tag.getKey());
@@ -205,6 +223,7 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
         private final NamingControl namingControl;
         private final SearchableTracesTagsWatcher searchTagKeys;
         private final SegmentStatusAnalyzer segmentStatusAnalyzer;
+        private final TraceTailSampler tailSampler;
 
         public Factory(ModuleManager moduleManager, AnalyzerModuleConfig config) {
             this.sourceReceiver = moduleManager.find(CoreModule.NAME).provider().getService(SourceReceiver.class);
@@ -219,6 +238,8 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
                                               .getService(NamingControl.class);
             this.segmentStatusAnalyzer = SegmentStatusStrategy.findByName(config.getSegmentStatusAnalysisStrategy())
                                                               .getExceptionAnalyzer();
+            this.tailSampler = config.isTraceTailSampling() ?
+                new TraceTailSampler(moduleManager, config, segment -> persist(sourceReceiver, segment)) : null;
         }
 
         @Override
@@ -229,7 +250,8 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
                 forceSampleErrorSegment,
                 namingControl,
                 searchTagKeys,
-                segmentStatusAnalyzer
+                segmentStatusAnalyzer,
+                tailSampler
             );
         }
     }
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.sampling;
+
+import com.google.common.base.Strings;
+import java.util.Base64;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.core.analysis.manual.searchtag.Tag;
+import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.apache.skywalking.oap.server.core.source.Segment;
+import org.apache.skywalking.oap.server.library.util.BooleanUtils;
+
+/**
+ * The {@link Segment} waiting for the tail sampling decision, routed to the OAP node by the trace id.
+ */
+@Getter
+@Setter
+public class TailSamplingSegment extends StreamData {
+    private static final int FIXED_STRINGS = 6;
+
+    private Segment segment;
+    /**
+     * The segment would be sampled by the head sampling policy.
+     */
+    private boolean headSampled;
+    /**
+     * The endpoint of the segment is rare in the OAP node which makes the tail sampling decision, not transferred.
+     */
+    private boolean rareEndpoint;
+
+    public TailSamplingSegment() {
+        this.segment = new Segment();
+    }
+
+    public TailSamplingSegment(Segment segment, boolean headSampled) {
+        this.segment = segment;
+        this.headSampled = headSampled;
+    }
+
+    public String getTraceId() {
+        return segment.getTraceId();
+    }
+
+    public long getEndTime() {
+        return segment.getStartTime() + segment.getLatency();
+    }
+
+    @Override
+    public void deserialize(RemoteData remoteData) {
+        segment.setSegmentId(remoteData.getDataStrings(0));
+        segment.setTraceId(remoteData.getDataStrings(1));
+        segment.setServiceId(remoteData.getDataStrings(2));
+        segment.setServiceInstanceId(remoteData.getDataStrings(3));
+        segment.setEndpointId(Strings.emptyToNull(remoteData.getDataStrings(4)));
+        segment.setDataBinary(Base64.getDecoder().decode(remoteData.getDataStrings(5)));
+        for (int i = FIXED_STRINGS; i + 1 < remoteData.getDataStringsCount(); i += 2) {
+            segment.getTags().add(new Tag(remoteData.getDataStrings(i), remoteData.getDataStrings(i + 1)));
+        }
+        segment.setStartTime(remoteData.getDataLongs(0));
+        segment.setTimeBucket(remoteData.getDataLongs(1));
+        segment.setLatency(remoteData.getDataIntegers(0));
+        segment.setIsError(remoteData.getDataIntegers(1));
+        headSampled = BooleanUtils.valueToBoolean(remoteData.getDataIntegers(2));
+    }
+
+    @Override
+    public RemoteData.Builder serialize() {
+        final RemoteData.Builder builder = RemoteData.newBuilder();
+        builder.addDataStrings(segment.getSegmentId());
+        builder.addDataStrings(segment.getTraceId());
+        builder.addDataStrings(segment.getServiceId());
+        builder.addDataStrings(segment.getServiceInstanceId());
+        builder.addDataStrings(Strings.nullToEmpty(segment.getEndpointId()));
+        builder.addDataStrings(Base64.getEncoder().encodeToString(segment.getDataBinary()));
+        for (final Tag tag : segment.getTags()) {
+            builder.addDataStrings(tag.getKey());
+            builder.addDataStrings(tag.getValue());
+        }
+        builder.addDataLongs(segment.getStartTime());
+        builder.addDataLongs(segment.getTimeBucket());
+        builder.addDataIntegers(segment.getLatency());
+        builder.addDataIntegers(segment.getIsError());
+        builder.addDataIntegers(BooleanUtils.booleanToValue(headSampled));
+        return builder;
+    }
+
+    @Override
+    public int remoteHashCode() {
+        return segment.getTraceId().hashCode();
+    }
+}
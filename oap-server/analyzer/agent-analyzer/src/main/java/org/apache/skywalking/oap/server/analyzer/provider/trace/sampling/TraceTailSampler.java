@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.sampling;
+
+import java.util.function.Consumer;
+import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.remote.RemoteSenderService;
+import org.apache.skywalking.oap.server.core.remote.selector.Selector;
+import org.apache.skywalking.oap.server.core.source.Segment;
+import org.apache.skywalking.oap.server.core.worker.IWorkerInstanceSetter;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+
+/**
+ * TraceTailSampler routes the segments of the same trace to one OAP node by the trace id, where the
+ * {@link TraceTailSamplingWorker} makes the sampling decision of the whole trace.
+ */
+public class TraceTailSampler {
+    public static final String WORKER_NAME = "TraceTailSamplingWorker";
+
+    private final RemoteSenderService remoteSender;
+
+    public TraceTailSampler(ModuleManager moduleManager, AnalyzerModuleConfig config,
+                            Consumer<Segment> keptSegmentConsumer) {
+        final TraceTailSamplingWorker worker = new TraceTailSamplingWorker(
+            moduleManager, config, keptSegmentConsumer);
+        moduleManager.find(CoreModule.NAME)
+                     .provider()
+                     .getService(IWorkerInstanceSetter.class)
+                     .put(WORKER_NAME, worker, TailSamplingSegment.class);
+        this.remoteSender = moduleManager.find(CoreModule.NAME).provider().getService(RemoteSenderService.class);
+        worker.start();
+    }
+
+    /**
+     * @param headSampled the segment would be sampled by the head sampling policy
+     */
+    public void in(Segment segment, boolean headSampled) {
+        remoteSender.send(WORKER_NAME, new TailSamplingSegment(segment, headSampled), Selector.HashCode);
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.sampling;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.core.source.Segment;
+import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
+import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
+import org.apache.skywalking.oap.server.library.util.BooleanUtils;
+import org.apache.skywalking.oap.server.library.util.RunnableWithExceptionProtection;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.GaugeMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+
+/**
+ * TraceTailSamplingWorker buffers the segments of the same trace for a window, then keeps or drops all of them
+ * together. The trace is kept when any of these matches:
+ * 1. Any segment is sampled by the head sampling policy.
+ * 2. Any segment is in error status, and {@link AnalyzerModuleConfig#isForceSampleErrorSegment()} is true.
+ * 3. The latency from the earliest start to the latest end of the segments reaches the threshold.
+ * 4. Any segment is of a rare endpoint, which has been seen less than the threshold in the current minute.
+ */
+@Slf4j
+public class TraceTailSamplingWorker extends AbstractWorker<TailSamplingSegment> {
+    private static final long FLUSH_PERIOD = 1000;
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private final long window;
+    private final int maxBufferedSegments;
+    private final boolean keepError;
+    private final int latencyThreshold;
+    private final int rareEndpointThreshold;
+    private final Consumer<Segment> keptSegmentConsumer;
+
+    private final Map<String, BufferedTrace> traces = new ConcurrentHashMap<>();
+    private final AtomicInteger bufferedSegments = new AtomicInteger();
+    /**
+     * The decisions of the recent traces, the late arrived segments follow the decision of their trace.
+     */
+    private final Cache<String, Boolean> decisions;
+    private final Map<String, LongAdder> endpointCounts = new ConcurrentHashMap<>();
+    private volatile long endpointCountsMinute;
+
+    private final CounterMetrics keptTraceCounter;
+    private final CounterMetrics droppedTraceCounter;
+    private final GaugeMetrics bufferedSegmentsGauge;
+
+    public TraceTailSamplingWorker(ModuleDefineHolder moduleDefineHolder, AnalyzerModuleConfig config,
+                                   Consumer<Segment> keptSegmentConsumer) {
+        super(moduleDefineHolder);
+        this.window = config.getTraceTailSamplingWindow();
+        this.maxBufferedSegments = config.getTraceTailSamplingMaxBufferedSegments();
+        this.keepError = config.isForceSampleErrorSegment();
+        this.latencyThreshold = config.getTraceTailSamplingLatencyThreshold();
+        this.rareEndpointThreshold = config.getTraceTailSamplingRareEndpointThreshold();
+        this.keptSegmentConsumer = keptSegmentConsumer;
+        this.decisions = CacheBuilder.newBuilder()
+                                     .maximumSize(maxBufferedSegments)
+                                     .expireAfterWrite(window, TimeUnit.MILLISECONDS)
+                                     .build();
+
+        final MetricsCreator metricsCreator = moduleDefineHolder.find(TelemetryModule.NAME)
+                                                                .provider()
+                                                                .getService(MetricsCreator.class);
+        keptTraceCounter = metricsCreator.createCounter(
+            "trace_tail_sampling_count", "The number of traces decided by the tail sampling",
+            new MetricsTag.Keys("decision"), new MetricsTag.Values("keep")
+        );
+        droppedTraceCounter = metricsCreator.createCounter(
+            "trace_tail_sampling_count", "The number of traces decided by the tail sampling",
+            new MetricsTag.Keys("decision"), new MetricsTag.Values("drop")
+        );
+        bufferedSegmentsGauge = metricsCreator.createGauge(
+            "trace_tail_sampling_buffered_segments", "The number of segments waiting for the tail sampling decision",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+    }
+
+    public void start() {
+        Executors.newSingleThreadScheduledExecutor(
+                     new ThreadFactoryBuilder().setDaemon(true).setNameFormat("TraceTailSampling-%d").build())
+                 .scheduleWithFixedDelay(
+                     new RunnableWithExceptionProtection(() -> flush(System.currentTimeMillis()), t -> log.error(
+                         "Flush the tail sampling traces failure.", t)), FLUSH_PERIOD, FLUSH_PERIOD, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void in(final TailSamplingSegment segment) {
+        final long now = System.currentTimeMillis();
+        final String traceId = segment.getTraceId();
+        markRareEndpoint(segment, now);
+
+        final Boolean decided = decisions.getIfPresent(traceId);
+        if (decided != null) {
+            follow(segment, decided);
+            return;
+        }
+
+        final boolean full = bufferedSegments.get() >= maxBufferedSegments;
+        final Decision decision = new Decision();
+        traces.compute(traceId, (id, trace) -> {
+            if (trace == null) {
+                // the trace could be decided by the flush after the check above
+                decision.previous = decisions.getIfPresent(id);
+                if (decision.previous != null) {
+                    return null;
+                }
+                trace = new BufferedTrace(now);
+            }
+            trace.segments.add(segment);
+            if (full) {
+                // the buffer is full, decide the trace with the segments arrived so far
+                decision.decide(id, trace.segments);
+                return null;
+            }
+            return trace;
+        });
+
+        if (decision.previous != null) {
+            follow(segment, decision.previous);
+        } else if (decision.segments != null) {
+            // the current segment has not been counted as buffered
+            bufferedSegments.addAndGet(1 - decision.segments.size());
+            emit(traceId, decision);
+        } else {
+            bufferedSegments.incrementAndGet();
+        }
+    }
+
+    /**
+     * Decide the traces whose window has passed.
+     */
+    void flush(long now) {
+        for (final String traceId : traces.keySet()) {
+            final Decision decision = new Decision();
+            traces.computeIfPresent(traceId, (id, trace) -> {
+                if (trace.firstArrival + window > now) {
+                    return trace;
+                }
+                decision.decide(id, trace.segments);
+                return null;
+            });
+            if (decision.segments != null) {
+                bufferedSegments.addAndGet(-decision.segments.size());
+                emit(traceId, decision);
+            }
+        }
+        bufferedSegmentsGauge.setValue(bufferedSegments.get());
+    }
+
+    private void follow(TailSamplingSegment segment, boolean keep) {
+        if (keep) {
+            keptSegmentConsumer.accept(segment.getSegment());
+        }
+    }
+
+    private void emit(String traceId, Decision decision) {
+        if (decision.keep) {
+            keptTraceCounter.inc();
+            decision.segments.forEach(s -> keptSegmentConsumer.accept(s.getSegment()));
+        } else {
+            droppedTraceCounter.inc();
+            if (log.isDebugEnabled()) {
+                log.debug("trace dropped by the tail sampling, trace id: {}", traceId);
+            }
+        }
+    }
+
+    boolean shouldKeep(List<TailSamplingSegment> segments) {
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        for (final TailSamplingSegment segment : segments) {
+            if (segment.isHeadSampled() || segment.isRareEndpoint()) {
+                return true;
+            }
+            if (keepError && BooleanUtils.valueToBoolean(segment.getSegment().getIsError())) {
+                return true;
+            }
+            start = Math.min(start, segment.getSegment().getStartTime());
+            end = Math.max(end, segment.getEndTime());
+        }
+        return latencyThreshold >= 0 && end - start >= latencyThreshold;
+    }
+
+    private void markRareEndpoint(TailSamplingSegment segment, long now) {
+        if (rareEndpointThreshold <= 0 || segment.getSegment().getEndpointId() == null) {
+            return;
+        }
+        final long minute = now / MINUTE;
+        if (minute != endpointCountsMinute) {
+            endpointCountsMinute = minute;
+            endpointCounts.clear();
+        }
+        final LongAdder count = endpointCounts.computeIfAbsent(segment.getSegment().getEndpointId(), id -> new LongAdder());
+        // the times seen before this segment
+        if (count.sum() < rareEndpointThreshold) {
+            segment.setRareEndpoint(true);
+        }
+        count.increment();
+    }
+
+    /**
+     * The decision is made and recorded while the trace is being removed from the buffer, so a concurrent segment of
+     * the trace either joins the buffered segments before the decision or follows the recorded decision, rather than
+     * buffering a new trace of the same ID.
+     */
+    private class Decision {
+        private Boolean previous;
+        private List<TailSamplingSegment> segments;
+        private boolean keep;
+
+        private void decide(String traceId, List<TailSamplingSegment> segments) {
+            this.segments = segments;
+            this.keep = shouldKeep(segments);
+            decisions.put(traceId, keep);
+        }
+    }
+
+    private static class BufferedTrace {
+        private final long firstArrival;
+        private final List<TailSamplingSegment> segments = new ArrayList<>(2);
+
+        private BufferedTrace(long firstArrival) {
+            this.firstArrival = firstArrival;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.sampling;
+
+import org.apache.skywalking.oap.server.core.analysis.manual.searchtag.Tag;
+import org.apache.skywalking.oap.server.core.source.Segment;
+import org.apache.skywalking.oap.server.library.util.BooleanUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TailSamplingSegmentTest {
+    @Test
+    public void testSerializeAndDeserialize() {
+        final Segment segment = new Segment();
+        segment.setSegmentId("segment-1");
+        segment.setTraceId("trace-1");
+        segment.setServiceId("service-1");
+        segment.setServiceInstanceId("instance-1");
+        segment.setEndpointId("endpoint-1");
+        // not valid UTF-8, which must survive the Base64 string
+        segment.setDataBinary(new byte[] {0, 1, (byte) 0xff, (byte) 0xfe, 127, -128});
+        segment.getTags().add(new Tag("http.method", "GET"));
+        segment.getTags().add(new Tag("status_code", "500"));
+        segment.setStartTime(1700000000000L);
+        segment.setTimeBucket(20231114221320L);
+        segment.setLatency(1234);
+        segment.setIsError(BooleanUtils.TRUE);
+
+        final TailSamplingSegment source = new TailSamplingSegment(segment, true);
+        source.setRareEndpoint(true);
+        final TailSamplingSegment target = new TailSamplingSegment();
+        target.deserialize(source.serialize().build());
+
+        final Segment actual = target.getSegment();
+        assertEquals("segment-1", actual.getSegmentId());
+        assertEquals("trace-1", target.getTraceId());
+        assertEquals("service-1", actual.getServiceId());
+        assertEquals("instance-1", actual.getServiceInstanceId());
+        assertEquals("endpoint-1", actual.getEndpointId());
+        assertArrayEquals(segment.getDataBinary(), actual.getDataBinary());
+        assertEquals(segment.getTags(), actual.getTags());
+        assertEquals(1700000000000L, actual.getStartTime());
+        assertEquals(20231114221320L, actual.getTimeBucket());
+        assertEquals(1234, actual.getLatency());
+        assertEquals(BooleanUtils.TRUE, actual.getIsError());
+        assertEquals(source.getEndTime(), target.getEndTime());
+        assertTrue(target.isHeadSampled());
+        // decided by the receiving OAP node
+        assertFalse(target.isRareEndpoint());
+        assertEquals(source.remoteHashCode(), target.remoteHashCode());
+    }
+
+    @Test
+    public void testSerializeWithoutEndpoint() {
+        final Segment segment = new Segment();
+        segment.setSegmentId("segment-1");
+        segment.setTraceId("trace-1");
+        segment.setServiceId("service-1");
+        segment.setServiceInstanceId("instance-1");
+        segment.setDataBinary(new byte[0]);
+
+        final TailSamplingSegment target = new TailSamplingSegment();
+        target.deserialize(new TailSamplingSegment(segment, false).serialize().build());
+
+        assertNull(target.getSegment().getEndpointId());
+        assertEquals(0, target.getSegment().getDataBinary().length);
+        assertTrue(target.getSegment().getTags().isEmpty());
+        assertFalse(target.isHeadSampled());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.sampling;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.core.source.Segment;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.module.ModuleProviderHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleServiceHolder;
+import org.apache.skywalking.oap.server.library.util.BooleanUtils;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TraceTailSamplingWorkerTest {
+    private final List<Segment> kept = new ArrayList<>();
+    private AnalyzerModuleConfig config;
+
+    @BeforeEach
+    public void setup() {
+        kept.clear();
+        config = new AnalyzerModuleConfig();
+        config.setTraceTailSamplingWindow(10000);
+        config.setTraceTailSamplingLatencyThreshold(1000);
+        config.setTraceTailSamplingRareEndpointThreshold(0);
+    }
+
+    @Test
+    public void testKeepWholeTraceWithError() {
+        final TraceTailSamplingWorker worker = newWorker();
+        worker.in(segment("trace-1", "endpoint", 0, 10, false, false));
+        worker.in(segment("trace-1", "endpoint", 5, 10, true, false));
+        worker.in(segment("trace-2", "endpoint", 0, 10, false, false));
+        assertTrue(kept.isEmpty());
+
+        worker.flush(System.currentTimeMillis() + 10000);
+        assertEquals(2, kept.size());
+        kept.forEach(s -> assertEquals("trace-1", s.getTraceId()));
+
+        // the late arrived segments follow the decision of their trace
+        worker.in(segment("trace-1", "endpoint", 20, 10, false, false));
+        worker.in(segment("trace-2", "endpoint", 20, 10, false, false));
+        assertEquals(3, kept.size());
+        assertEquals("trace-1", kept.get(2).getTraceId());
+    }
+
+    @Test
+    public void testKeepByTraceLatency() {
+        final TraceTailSamplingWorker worker = newWorker();
+        worker.in(segment("trace-1", "endpoint", 0, 100, false, false));
+        worker.in(segment("trace-1", "endpoint", 900, 100, false, false));
+        worker.in(segment("trace-2", "endpoint", 0, 999, false, false));
+        worker.in(segment("trace-3", "endpoint", 0, 10, false, true));
+
+        worker.flush(System.currentTimeMillis() + 10000);
+        assertEquals(3, kept.size());
+        assertTrue(kept.stream().noneMatch(s -> s.getTraceId().equals("trace-2")));
+    }
+
+    @Test
+    public void testKeepRareEndpoint() {
+        config.setTraceTailSamplingRareEndpointThreshold(2);
+        final TraceTailSamplingWorker worker = newWorker();
+        worker.in(segment("trace-1", "endpoint", 0, 10, false, false));
+        worker.in(segment("trace-2", "endpoint", 0, 10, false, false));
+        // the endpoint has been seen 2 times, not fewer than the threshold
+        worker.in(segment("trace-3", "endpoint", 0, 10, false, false));
+
+        worker.flush(System.currentTimeMillis() + 10000);
+        assertEquals(2, kept.size());
+        assertTrue(kept.stream().noneMatch(s -> s.getTraceId().equals("trace-3")));
+    }
+
+    @Test
+    public void testDecideImmediatelyWhenBufferIsFull() {
+        config.setTraceTailSamplingMaxBufferedSegments(1);
+        final TraceTailSamplingWorker worker = newWorker();
+        worker.in(segment("trace-1", "endpoint", 0, 10, false, false));
+        worker.in(segment("trace-1", "endpoint", 0, 10, true, false));
+        assertEquals(2, kept.size());
+
+        worker.flush(System.currentTimeMillis() + 10000);
+        assertEquals(2, kept.size());
+    }
+
+    private TraceTailSamplingWorker newWorker() {
+        final ModuleManager moduleManager = mock(ModuleManager.class);
+        final ModuleProviderHolder providerHolder = mock(ModuleProviderHolder.class);
+        final ModuleServiceHolder serviceHolder = mock(ModuleServiceHolder.class);
+        when(moduleManager.find(TelemetryModule.NAME)).thenReturn(providerHolder);
+        when(providerHolder.provider()).thenReturn(serviceHolder);
+        when(serviceHolder.getService(MetricsCreator.class)).thenReturn(new MetricsCreatorNoop());
+        return new TraceTailSamplingWorker(moduleManager, config, kept::add);
+    }
+
+    private static TailSamplingSegment segment(String traceId, String endpointId, long startTime, int latency,
+                                               boolean error, boolean headSampled) {
+        final Segment segment = new Segment();
+        segment.setTraceId(traceId);
+        segment.setEndpointId(endpointId);
+        segment.setStartTime(startTime);
+        segment.setLatency(latency);
+        segment.setIsError(BooleanUtils.booleanToValue(error));
+        return new TailSamplingSegment(segment, headSampled);
+    }
+}
@@ -77,6 +77,15 @@ public class EndpointGrouping4OpenapiBenchmark extends AbstractMicrobenchmark {
         }
     }
 
+    @State(Scope.Benchmark)
+    public static class FormatClassPaths10000 {
+        private final EndpointGroupingRule4Openapi rule = new EndpointGroupingRuleReader4Openapi(createTestFile(1999)).read();
+
+        public FormatResult format(String serviceName, String endpointName) {
+            return rule.format(serviceName, endpointName);
+        }
+    }
+
     @Benchmark
     public void formatEndpointNameMatchedPaths20(Blackhole bh, FormatClassPaths20 formatClass) {
         bh.consume(formatClass.format("serviceA", "GET:/products1/123"));
@@ -92,6 +101,11 @@ public class EndpointGrouping4OpenapiBenchmark extends AbstractMicrobenchmark {
         bh.consume(formatClass.format("serviceA", "GET:/products1/123"));
     }
 
+    @Benchmark
+    public void formatEndpointNameMatchedPaths10000(Blackhole bh, FormatClassPaths10000 formatClass) {
+        bh.consume(formatClass.format("serviceA", "GET:/products1/123/1999"));
+    }
+
 }
 
 /*
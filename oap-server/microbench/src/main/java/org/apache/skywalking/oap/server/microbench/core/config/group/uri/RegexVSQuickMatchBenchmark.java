@@ -93,6 +93,36 @@ public class RegexVSQuickMatchBenchmark extends AbstractMicrobenchmark {
         }
     }
 
+    @State(Scope.Benchmark)
+    public static class RegexMatch10000 {
+        private final EndpointGroupingRule rule = new EndpointGroupingRule();
+
+        public RegexMatch10000() {
+            for (int i = 0; i < 10000; i++) {
+                rule.addRule("service1", "/sales/{var}/" + i, "/sales/.+/" + i);
+            }
+        }
+
+        public StringFormatGroup.FormatResult match(String serviceName, String endpointName) {
+            return rule.format(serviceName, endpointName);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class QuickMatch10000 {
+        private final QuickUriGroupingRule rule = new QuickUriGroupingRule();
+
+        public QuickMatch10000() {
+            for (int i = 0; i < 10000; i++) {
+                rule.addRule("service1", "/sales/{var}/" + i);
+            }
+        }
+
+        public StringFormatGroup.FormatResult match(String serviceName, String endpointName) {
+            return rule.format(serviceName, endpointName);
+        }
+    }
+
     @Benchmark
     public void matchFirstRegex(Blackhole bh, RegexVSQuickMatchBenchmark.RegexMatch formatClass) {
         bh.consume(formatClass.match("service1", "/products/123"));
@@ -122,6 +152,17 @@ public class RegexVSQuickMatchBenchmark extends AbstractMicrobenchmark {
     public void notMatchQuickUriGrouping(Blackhole bh, RegexVSQuickMatchBenchmark.QuickMatch formatClass) {
         bh.consume(formatClass.match("service1", "/employees/123"));
     }
+
+    @Benchmark
+    public void matchLastRegexOf10000(Blackhole bh, RegexVSQuickMatchBenchmark.RegexMatch10000 formatClass) {
+        bh.consume(formatClass.match("service1", "/sales/123/9999"));
+    }
+
+    @Benchmark
+    public void matchLastQuickUriGroupingOf10000(Blackhole bh,
+                                                 RegexVSQuickMatchBenchmark.QuickMatch10000 formatClass) {
+        bh.consume(formatClass.match("service1", "/sales/123/9999"));
+    }
 }
 
 /**
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.microbench.library.server;
+
+import com.linecorp.armeria.client.BlockingWebClient;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.server.annotation.Blocking;
+import com.linecorp.armeria.server.annotation.Get;
+import io.grpc.CallOptions;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ServerCalls;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.oap.server.core.analysis.manual.networkalias.NetworkAddressAlias;
+import org.apache.skywalking.oap.server.core.storage.cache.INetworkAddressAliasDAO;
+import org.apache.skywalking.oap.server.library.server.ServerException;
+import org.apache.skywalking.oap.server.library.server.grpc.GRPCServer;
+import org.apache.skywalking.oap.server.library.server.http.HTTPServer;
+import org.apache.skywalking.oap.server.library.server.http.HTTPServerConfig;
+import org.apache.skywalking.oap.server.microbench.base.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Drives the gRPC and the HTTP servers of the OAP with the concurrent clients, while every request is blocked by a slow
+ * storage DAO, to compare the tail latency of the platform threads and the virtual threads. The sample time mode
+ * reports the p0.99 latency of the requests.
+ *
+ * The gRPC server runs the calls on a pool of {@link #SERVER_THREADS}, as {@code gRPCThreadPoolSize}, the HTTP server
+ * runs the {@link Blocking} handlers on the blocking task executor of Armeria. The virtual threads are bounded by the
+ * same sizes. The platform gRPC pool rejects the calls beyond its size, so the clients are fewer than it.
+ *
+ * The virtual threads require JDK 21+, the {@code virtual} servers fall back to the platform threads on the older JVMs.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(ServerThreadsBenchmark.CLIENTS)
+public class ServerThreadsBenchmark extends AbstractMicrobenchmark {
+    static final int CLIENTS = 32;
+    private static final int SERVER_THREADS = 64;
+    private static final String SERVICE_NAME = "skywalking.benchmark.SlowStorage";
+    private static final MethodDescriptor<String, String> QUERY_METHOD =
+        MethodDescriptor.<String, String>newBuilder()
+                        .setType(MethodDescriptor.MethodType.UNARY)
+                        .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "query"))
+                        .setRequestMarshaller(new StringMarshaller())
+                        .setResponseMarshaller(new StringMarshaller())
+                        .build();
+
+    @State(Scope.Benchmark)
+    public static class Servers {
+        @Param({"platform", "virtual"})
+        private String threads;
+
+        /**
+         * The latency of a storage query.
+         */
+        @Param({"10"})
+        private long storageLatencyMillis;
+
+        private BenchmarkHTTPServer httpServer;
+        private BlockingWebClient httpClient;
+        private ManagedChannel grpcChannel;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException, ServerException {
+            final boolean virtualThreadsEnabled = "virtual".equals(threads);
+            final SlowNetworkAddressAliasDAO dao = new SlowNetworkAddressAliasDAO(storageLatencyMillis);
+
+            final int grpcPort = freePort();
+            final GRPCServer grpcServer = new GRPCServer("127.0.0.1", grpcPort);
+            grpcServer.setThreadPoolSize(SERVER_THREADS);
+            grpcServer.setVirtualThreadsEnabled(virtualThreadsEnabled);
+            grpcServer.initialize();
+            grpcServer.addHandler(
+                ServerServiceDefinition.builder(SERVICE_NAME)
+                                       .addMethod(QUERY_METHOD, ServerCalls.asyncUnaryCall((request, observer) -> {
+                                           observer.onNext(String.valueOf(dao.loadLastUpdate(0).size()));
+                                           observer.onCompleted();
+                                       }))
+                                       .build());
+            grpcServer.start();
+            grpcChannel = NettyChannelBuilder.forAddress("127.0.0.1", grpcPort).usePlaintext().build();
+
+            httpServer = new BenchmarkHTTPServer(HTTPServerConfig.builder()
+                                                                 .host("127.0.0.1")
+                                                                 .port(0)
+                                                                 .contextPath("/")
+                                                                 .virtualThreadsEnabled(virtualThreadsEnabled)
+                                                                 .build());
+            httpServer.initialize();
+            httpServer.addHandler(new SlowQueryHandler(dao), Collections.singletonList(HttpMethod.GET));
+            httpServer.start();
+            httpClient = WebClient.of("http://127.0.0.1:" + httpServer.port()).blocking();
+        }
+
+        /**
+         * The gRPC server can't be stopped, it runs until the forked JVM exits.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            grpcChannel.shutdownNow().awaitTermination(10, TimeUnit.SECONDS);
+            httpServer.stop();
+        }
+    }
+
+    @Benchmark
+    public String grpcQuery(Servers servers) {
+        return ClientCalls.blockingUnaryCall(servers.grpcChannel, QUERY_METHOD, CallOptions.DEFAULT, "query");
+    }
+
+    @Benchmark
+    public String httpQuery(Servers servers) {
+        return servers.httpClient.get("/query").contentUtf8();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * The storage DAO blocking the caller for the latency of a query.
+     */
+    private static class SlowNetworkAddressAliasDAO implements INetworkAddressAliasDAO {
+        private final long latencyMillis;
+
+        private SlowNetworkAddressAliasDAO(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public List<NetworkAddressAlias> loadLastUpdate(long timeBucket) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Collections.emptyList();
+        }
+    }
+
+    public static class SlowQueryHandler {
+        private final INetworkAddressAliasDAO dao;
+
+        public SlowQueryHandler(INetworkAddressAliasDAO dao) {
+            this.dao = dao;
+        }
+
+        @Blocking
+        @Get("/query")
+        public String query() {
+            return String.valueOf(dao.loadLastUpdate(0).size());
+        }
+    }
+
+    private static class BenchmarkHTTPServer extends HTTPServer {
+        private com.linecorp.armeria.server.Server server;
+
+        private BenchmarkHTTPServer(HTTPServerConfig config) {
+            super(config);
+        }
+
+        @Override
+        public void start() {
+            server = sb.build();
+            server.start().join();
+        }
+
+        private int port() {
+            return server.activeLocalPort();
+        }
+
+        private void stop() {
+            server.stop().join();
+        }
+    }
+
+    private static class StringMarshaller implements MethodDescriptor.Marshaller<String> {
+        @Override
+        public InputStream stream(String value) {
+            return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String parse(InputStream stream) {
+            try {
+                return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
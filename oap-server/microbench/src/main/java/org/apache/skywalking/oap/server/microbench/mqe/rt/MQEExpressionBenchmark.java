@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.microbench.mqe.rt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.apache.skywalking.mqe.rt.MQEVisitorBase;
+import org.apache.skywalking.mqe.rt.grammar.MQELexer;
+import org.apache.skywalking.mqe.rt.grammar.MQEParser;
+import org.apache.skywalking.mqe.rt.type.ExpressionResult;
+import org.apache.skywalking.mqe.rt.type.ExpressionResultType;
+import org.apache.skywalking.mqe.rt.type.MQEValue;
+import org.apache.skywalking.mqe.rt.type.MQEValues;
+import org.apache.skywalking.mqe.rt.type.Metadata;
+import org.apache.skywalking.oap.server.core.query.enumeration.Step;
+import org.apache.skywalking.oap.server.core.query.type.KeyValue;
+import org.apache.skywalking.oap.server.microbench.base.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Evaluates common dashboard expressions over a week of minute points (10080 values per series).
+ * The metrics are served from memory, so the score is the cost of the MQE runtime itself,
+ * including materializing the values as the storage would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MQEExpressionBenchmark extends AbstractMicrobenchmark {
+    private static final int POINTS = 7 * 24 * 60;
+    private static final String[] PERCENTILE_LABELS = {"50", "75", "90", "95", "99"};
+
+    @Param({"0", "4"})
+    private int parallelism;
+
+    private ForkJoinPool operandExecutor;
+    private double[] series;
+    private double[][] labeledSeries;
+    private MQEParser.ExpressionContext slaPercentage;
+    private MQEParser.ExpressionContext avgResponseTime;
+    private MQEParser.ExpressionContext successRate;
+    private MQEParser.ExpressionContext percentileAvg;
+    private MQEParser.ExpressionContext cpmIncrease;
+    private MQEParser.ExpressionContext slaAlarm;
+
+    @Setup
+    public void setup() {
+        operandExecutor = parallelism > 0 ? new ForkJoinPool(parallelism) : null;
+        Random random = new Random(1);
+        series = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            series[i] = random.nextInt(10000);
+        }
+        labeledSeries = new double[PERCENTILE_LABELS.length][POINTS];
+        for (int l = 0; l < PERCENTILE_LABELS.length; l++) {
+            for (int i = 0; i < POINTS; i++) {
+                labeledSeries[l][i] = random.nextInt(10000);
+            }
+        }
+        slaPercentage = parse("service_sla / 100");
+        avgResponseTime = parse("avg(service_resp_time)");
+        successRate = parse("(service_cpm - service_error_cpm) / service_cpm * 100");
+        percentileAvg = parse("aggregate_labels(service_percentile{_='50,75,90,95,99'}, avg)");
+        cpmIncrease = parse("increase(service_cpm, 2)");
+        slaAlarm = parse("avg(service_sla / 100) < 95");
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (operandExecutor != null) {
+            operandExecutor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public ExpressionResult scalarDivision() {
+        return new InMemoryVisitor().visit(slaPercentage);
+    }
+
+    @Benchmark
+    public ExpressionResult aggregation() {
+        return new InMemoryVisitor().visit(avgResponseTime);
+    }
+
+    @Benchmark
+    public ExpressionResult seriesArithmetic() {
+        return new InMemoryVisitor().visit(successRate);
+    }
+
+    @Benchmark
+    public ExpressionResult aggregateLabels() {
+        return new InMemoryVisitor().visit(percentileAvg);
+    }
+
+    @Benchmark
+    public ExpressionResult trend() {
+        return new InMemoryVisitor().visit(cpmIncrease);
+    }
+
+    @Benchmark
+    public ExpressionResult compare() {
+        return new InMemoryVisitor().visit(slaAlarm);
+    }
+
+    private static MQEParser.ExpressionContext parse(String expression) {
+        MQELexer lexer = new MQELexer(CharStreams.fromString(expression));
+        return new MQEParser(new CommonTokenStream(lexer)).expression();
+    }
+
+    private class InMemoryVisitor extends MQEVisitorBase {
+        private InMemoryVisitor() {
+            super(Step.MINUTE, operandExecutor);
+        }
+
+        @Override
+        public ExpressionResult visitMetric(MQEParser.MetricContext ctx) {
+            ExpressionResult result = new ExpressionResult();
+            result.setType(ExpressionResultType.TIME_SERIES_VALUES);
+            if (ctx.label() != null) {
+                result.setLabeledResult(true);
+                for (int l = 0; l < PERCENTILE_LABELS.length; l++) {
+                    MQEValues values = toValues(labeledSeries[l]);
+                    Metadata metadata = new Metadata();
+                    metadata.getLabels().add(new KeyValue(GENERAL_LABEL_NAME, PERCENTILE_LABELS[l]));
+                    values.setMetric(metadata);
+                    result.getResults().add(values);
+                }
+            } else {
+                result.getResults().add(toValues(series));
+            }
+            return result;
+        }
+
+        private MQEValues toValues(double[] points) {
+            List<MQEValue> values = new ArrayList<>(points.length);
+            for (int i = 0; i < points.length; i++) {
+                MQEValue value = new MQEValue();
+                value.setId(String.valueOf(i));
+                value.setDoubleValue(points[i]);
+                value.setEmptyValue(false);
+                values.add(value);
+            }
+            MQEValues mqeValues = new MQEValues();
+            mqeValues.setValues(values);
+            return mqeValues;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.microbench.telemetry.prometheus;
+
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.oap.server.microbench.base.AbstractMicrobenchmark;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.apache.skywalking.oap.server.telemetry.api.TelemetryRelatedContext;
+import org.apache.skywalking.oap.server.telemetry.prometheus.PrometheusMetricsCreator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the overhead of recording the self-observability metrics on the hot paths, such as
+ * {@code aggregationCounter.inc()} and {@code remoteInHistogram.createTimer()}, from the concurrent threads.
+ * The {@code simpleClient} benchmarks use the label children of the Prometheus client directly, as the former
+ * implementation did.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class PrometheusMetricsBenchmark extends AbstractMicrobenchmark {
+    private static final double[] BUCKETS = {.01, .05, .1, .5, 1, 5};
+
+    @State(Scope.Benchmark)
+    public static class SimpleClientMetrics {
+        private final Counter.Child counter;
+        private final Histogram.Child histogram;
+
+        public SimpleClientMetrics() {
+            final CollectorRegistry registry = new CollectorRegistry();
+            counter = Counter.build()
+                             .name("benchmark_counter").help("benchmark")
+                             .labelNames("sw_backend_instance", "level")
+                             .register(registry)
+                             .labels("oap", "1");
+            histogram = Histogram.build()
+                                 .name("benchmark_histogram").help("benchmark")
+                                 .buckets(BUCKETS)
+                                 .labelNames("sw_backend_instance", "level")
+                                 .register(registry)
+                                 .labels("oap", "1");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class StripedMetrics {
+        private final CounterMetrics counter;
+        private final HistogramMetrics histogram;
+
+        public StripedMetrics() {
+            TelemetryRelatedContext.INSTANCE.setId("oap");
+            final PrometheusMetricsCreator creator = new PrometheusMetricsCreator();
+            counter = creator.createCounter(
+                "benchmark_counter", "benchmark", new MetricsTag.Keys("level"), new MetricsTag.Values("1"));
+            histogram = creator.createHistogramMetric(
+                "benchmark_histogram", "benchmark", new MetricsTag.Keys("level"), new MetricsTag.Values("1"), BUCKETS);
+        }
+    }
+
+    @Benchmark
+    public void simpleClientCounterInc(SimpleClientMetrics metrics) {
+        metrics.counter.inc();
+    }
+
+    @Benchmark
+    public void stripedCounterInc(StripedMetrics metrics) {
+        metrics.counter.inc();
+    }
+
+    @Benchmark
+    public void simpleClientHistogramObserve(SimpleClientMetrics metrics) {
+        metrics.histogram.observe(0.3);
+    }
+
+    @Benchmark
+    public void stripedHistogramObserve(StripedMetrics metrics) {
+        metrics.histogram.observe(0.3);
+    }
+
+    @Benchmark
+    public void simpleClientHistogramTimer(SimpleClientMetrics metrics) {
+        metrics.histogram.startTimer().observeDuration();
+    }
+
+    @Benchmark
+    public void stripedHistogramTimer(StripedMetrics metrics) {
+        metrics.histogram.createTimer().finish();
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.skywalking.mqe.rt;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.mqe.rt.grammar.MQEParser;
 import org.apache.skywalking.mqe.rt.grammar.MQEParserBaseVisitor;
@@ -44,9 +45,19 @@ import org.apache.skywalking.oap.server.library.util.StringUtil;
 public abstract class MQEVisitorBase extends MQEParserBaseVisitor<ExpressionResult> {
     public final static String GENERAL_LABEL_NAME = "_";
     public final Step queryStep;
+    /**
+     * Executor to evaluate the operands of a binary expression concurrently, when both of them read metrics.
+     * Null means the operands are always evaluated sequentially in the caller thread.
+     */
+    private final Executor operandExecutor;
 
     protected MQEVisitorBase(final Step queryStep) {
+        this(queryStep, null);
+    }
+
+    protected MQEVisitorBase(final Step queryStep, final Executor operandExecutor) {
         this.queryStep = queryStep;
+        this.operandExecutor = operandExecutor;
     }
 
     @Override
@@ -56,11 +67,12 @@ public abstract class MQEVisitorBase extends MQEParserBaseVisitor<ExpressionResu
 
     @Override
     public ExpressionResult visitAddSubOp(MQEParser.AddSubOpContext ctx) {
-        ExpressionResult left = visit(ctx.expression(0));
+        ExpressionResult[] operands = visitOperands(ctx.expression(0), ctx.expression(1));
+        ExpressionResult left = operands[0];
         if (StringUtil.isNotBlank(left.getError())) {
             return left;
         }
-        ExpressionResult right = visit(ctx.expression(1));
+        ExpressionResult right = operands[1];
         if (StringUtil.isNotBlank(right.getError())) {
             return right;
         }
@@ -77,11 +89,12 @@ public abstract class MQEVisitorBase extends MQEParserBaseVisitor<ExpressionResu
 
     @Override
     public ExpressionResult visitMulDivModOp(MQEParser.MulDivModOpContext ctx) {
-        ExpressionResult left = visit(ctx.expression(0));
+        ExpressionResult[] operands = visitOperands(ctx.expression(0), ctx.expression(1));
+        ExpressionResult left = operands[0];
         if (StringUtil.isNotBlank(left.getError())) {
             return left;
         }
-        ExpressionResult right = visit(ctx.expression(1));
+        ExpressionResult right = operands[1];
         if (StringUtil.isNotBlank(right.getError())) {
             return right;
         }
@@ -234,11 +247,12 @@ public abstract class MQEVisitorBase extends MQEParserBaseVisitor<ExpressionResu
 
     @Override
     public ExpressionResult visitCompareOp(MQEParser.CompareOpContext ctx) {
-        ExpressionResult left = visit(ctx.expression(0));
+        ExpressionResult[] operands = visitOperands(ctx.expression(0), ctx.expression(1));
+        ExpressionResult left = operands[0];
         if (StringUtil.isNotBlank(left.getError())) {
             return left;
         }
-        ExpressionResult right = visit(ctx.expression(1));
+        ExpressionResult right = operands[1];
         if (StringUtil.isNotBlank(right.getError())) {
             return right;
         }
@@ -287,4 +301,10 @@ public abstract class MQEVisitorBase extends MQEParserBaseVisitor<ExpressionResu
 
     @Override
     public abstract ExpressionResult visitMetric(MQEParser.MetricContext ctx);
+
+    private ExpressionResult[] visitOperands(MQEParser.ExpressionContext leftCtx,
+                                             MQEParser.ExpressionContext rightCtx) {
+        return OperandExecution.visitOperands(
+            operandExecutor, MQEParser.MetricContext.class, leftCtx, rightCtx, this::visit, ExpressionResult[]::new);
+    }
 }
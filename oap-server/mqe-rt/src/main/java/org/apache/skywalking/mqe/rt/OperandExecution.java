@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.mqe.rt;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import org.antlr.v4.runtime.tree.ParseTree;
+
+/**
+ * OperandExecution evaluates the left and right operands of binary expressions, and is shared by the expression
+ * visitors of MQE and PromQL. The operands are independent, so when both of them read from the storage, the right one
+ * is evaluated by the executor while the left one is evaluated in the caller thread.
+ */
+public class OperandExecution {
+    /**
+     * Create the executor of the operands, or null when the parallelism is not positive, which means the operands are
+     * always evaluated sequentially. A fork-join pool is used because the operands are nested, and a worker blocked on
+     * a nested operand is compensated instead of starving the pool. The pool lives as long as the module creating it,
+     * and is shut down when the OAP server stops.
+     *
+     * @param name of the worker threads, followed by the index of the worker.
+     */
+    public static ForkJoinPool newExecutor(int parallelism, String name) {
+        if (parallelism <= 0) {
+            return null;
+        }
+        final ForkJoinPool executor = new ForkJoinPool(parallelism, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(name + "-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        Runtime.getRuntime().addShutdownHook(new Thread(executor::shutdownNow, name + "-shutdown"));
+        return executor;
+    }
+
+    /**
+     * @param executor   evaluates the right operand, or null to evaluate both operands in the caller thread.
+     * @param readerType the type of the nodes reading from the storage. The operands are evaluated concurrently only
+     *                   when both of them contain such a node.
+     * @param visit      evaluates an operand.
+     * @param newArray   creates the array of the results.
+     * @return the results of the left and right operands.
+     */
+    public static <T extends ParseTree, R> R[] visitOperands(Executor executor,
+                                                             Class<? extends ParseTree> readerType,
+                                                             T left,
+                                                             T right,
+                                                             Function<T, R> visit,
+                                                             IntFunction<R[]> newArray) {
+        final R[] operands = newArray.apply(2);
+        if (executor == null || !contains(left, readerType) || !contains(right, readerType)) {
+            operands[0] = visit.apply(left);
+            operands[1] = visit.apply(right);
+            return operands;
+        }
+        final CompletableFuture<R> rightResult = CompletableFuture.supplyAsync(() -> visit.apply(right), executor);
+        operands[0] = visit.apply(left);
+        try {
+            operands[1] = rightResult.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return operands;
+    }
+
+    static boolean contains(ParseTree tree, Class<? extends ParseTree> type) {
+        if (type.isInstance(tree)) {
+            return true;
+        }
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            if (contains(tree.getChild(i), type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
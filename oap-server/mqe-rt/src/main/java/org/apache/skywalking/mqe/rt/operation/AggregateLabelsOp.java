@@ -25,12 +25,6 @@ import org.apache.skywalking.mqe.rt.grammar.MQEParser;
 import org.apache.skywalking.mqe.rt.type.ExpressionResult;
 import org.apache.skywalking.mqe.rt.type.MQEValue;
 import org.apache.skywalking.mqe.rt.type.MQEValues;
-import org.apache.skywalking.mqe.rt.operation.aggregatelabels.AggregateLabelsFunc;
-import org.apache.skywalking.mqe.rt.operation.aggregatelabels.AggregateLabelsFuncFactory;
-import org.apache.skywalking.mqe.rt.operation.aggregatelabels.AvgAggregateLabelsFunc;
-import org.apache.skywalking.mqe.rt.operation.aggregatelabels.MaxAggregateLabelsFunc;
-import org.apache.skywalking.mqe.rt.operation.aggregatelabels.MinAggregateLabelsFunc;
-import org.apache.skywalking.mqe.rt.operation.aggregatelabels.SumAggregateLabelsFunc;
 import org.apache.skywalking.mqe.rt.type.Metadata;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 
@@ -40,44 +34,63 @@ public class AggregateLabelsOp {
                                                        int funcType) throws IllegalExpressionException {
         switch (funcType) {
             case MQEParser.AVG:
-                return aggregateLabeledValueResult(result, AvgAggregateLabelsFunc::new);
             case MQEParser.SUM:
-                return aggregateLabeledValueResult(result, SumAggregateLabelsFunc::new);
             case MQEParser.MAX:
-                return aggregateLabeledValueResult(result, MaxAggregateLabelsFunc::new);
             case MQEParser.MIN:
-                return aggregateLabeledValueResult(result, MinAggregateLabelsFunc::new);
+                return aggregateLabeledValueResult(result, funcType);
             default:
                 throw new IllegalExpressionException("Unsupported aggregateLabels function.");
         }
     }
 
-    private static ExpressionResult aggregateLabeledValueResult(ExpressionResult expResult,
-                                                                AggregateLabelsFuncFactory factory) {
+    /**
+     * Combine the values of all labels at the same position. The labels are folded one by one into primitive
+     * accumulators, so every label is a single sequential pass instead of one combiner object per point.
+     */
+    private static ExpressionResult aggregateLabeledValueResult(ExpressionResult expResult, int funcType) {
         List<MQEValues> results = expResult.getResults();
         if (CollectionUtils.isEmpty(results)) {
             return expResult;
         }
 
         List<MQEValue> combineTo = results.get(0).getValues();
-        for (int i = 0; i < combineTo.size(); i++) {
-            AggregateLabelsFunc aggregateLabelsFunc = factory.getAggregateLabelsFunc();
-            for (MQEValues result : results) {
-                MQEValue toCombine = result.getValues().get(i);
-                if (!toCombine.isEmptyValue()) {
-                    aggregateLabelsFunc.combine(toCombine.getDoubleValue());
+        final int size = combineTo.size();
+        double[] accumulated = new double[size];
+        int[] counts = new int[size];
+        for (MQEValues result : results) {
+            List<MQEValue> values = result.getValues();
+            for (int i = 0; i < size; i++) {
+                MQEValue toCombine = values.get(i);
+                if (toCombine.isEmptyValue()) {
+                    continue;
+                }
+                double value = toCombine.getDoubleValue();
+                if (counts[i]++ == 0) {
+                    accumulated[i] = value;
+                    continue;
+                }
+                switch (funcType) {
+                    case MQEParser.MAX:
+                        accumulated[i] = Math.max(accumulated[i], value);
+                        break;
+                    case MQEParser.MIN:
+                        accumulated[i] = Math.min(accumulated[i], value);
+                        break;
+                    default:
+                        accumulated[i] += value;
                 }
             }
+        }
 
+        for (int i = 0; i < size; i++) {
             MQEValue mqeValue = combineTo.get(i);
             mqeValue.setTraceID(null);
-            mqeValue.setEmptyValue(true);
-            mqeValue.setDoubleValue(0);
-
-            Double result = aggregateLabelsFunc.getResult();
-            if (result != null) {
+            if (counts[i] == 0) {
+                mqeValue.setEmptyValue(true);
+                mqeValue.setDoubleValue(0);
+            } else {
                 mqeValue.setEmptyValue(false);
-                mqeValue.setDoubleValue(result);
+                mqeValue.setDoubleValue(funcType == MQEParser.AVG ? accumulated[i] / counts[i] : accumulated[i]);
             }
         }
 
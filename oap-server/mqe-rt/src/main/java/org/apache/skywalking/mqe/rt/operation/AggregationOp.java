@@ -18,14 +18,8 @@
 
 package org.apache.skywalking.mqe.rt.operation;
 
-import com.google.common.collect.Streams;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
-import java.util.OptionalDouble;
-import java.util.function.Function;
-import java.util.stream.DoubleStream;
 import org.apache.skywalking.mqe.rt.grammar.MQEParser;
 import org.apache.skywalking.mqe.rt.type.ExpressionResult;
 import org.apache.skywalking.mqe.rt.exception.IllegalExpressionException;
@@ -33,65 +27,57 @@ import org.apache.skywalking.mqe.rt.type.ExpressionResultType;
 import org.apache.skywalking.mqe.rt.type.MQEValue;
 import org.apache.skywalking.mqe.rt.type.MQEValues;
 
+/**
+ * The aggregations run as plain indexed loops over the values of every series,
+ * which avoids the stream, boxing and comparator overhead on long time ranges.
+ */
 public class AggregationOp {
     public static ExpressionResult doAggregationOp(ExpressionResult result,
                                                    int opType) throws IllegalExpressionException {
         switch (opType) {
             case MQEParser.AVG:
-                return aggregateResult(result, mqeValues -> mqeValues.getValues()
-                                                                     .stream()
-                                                                     .filter(mqeValue -> !mqeValue.isEmptyValue())
-                                                                     .flatMapToDouble(mqeValue -> DoubleStream.of(
-                                                                         mqeValue.getDoubleValue()))
-                                                                     .average());
             case MQEParser.COUNT:
-                return aggregateResult(result, mqeValues -> OptionalDouble.of(
-                    mqeValues.getValues().stream().filter(mqeValue -> !mqeValue.isEmptyValue()).count()));
+            case MQEParser.SUM:
+                return aggregateResult(result, opType);
             case MQEParser.LATEST:
                 if (result.getType() != ExpressionResultType.TIME_SERIES_VALUES) {
                     throw new IllegalExpressionException("LATEST can only be used in time series result.");
                 }
-                return selectResult(result, mqeValues -> Streams.findLast(mqeValues.getValues()
-                                                                                   .stream()
-                                                                                   .filter(mqeValue -> !mqeValue.isEmptyValue())));
+                return selectResult(result, opType);
             case MQEParser.MAX:
-                return selectResult(result, mqeValues -> mqeValues.getValues()
-                                                                  .stream()
-                                                                  .filter(mqeValue -> !mqeValue.isEmptyValue())
-                                                                  .max(Comparator.comparingDouble(
-                                                                      MQEValue::getDoubleValue)));
             case MQEParser.MIN:
-                return selectResult(result, mqeValues -> mqeValues.getValues()
-                                                                  .stream()
-                                                                  .filter(mqeValue -> !mqeValue.isEmptyValue())
-                                                                  .min(Comparator.comparingDouble(
-                                                                      MQEValue::getDoubleValue)));
-            case MQEParser.SUM:
-                return aggregateResult(result, mqeValues -> OptionalDouble.of(mqeValues.getValues()
-                                                                                       .stream()
-                                                                                       .filter(
-                                                                                           mqeValue -> !mqeValue.isEmptyValue())
-                                                                                       .flatMapToDouble(
-                                                                                           mqeValue -> DoubleStream.of(
-                                                                                               mqeValue.getDoubleValue()))
-                                                                                       .sum()));
+                return selectResult(result, opType);
             default:
                 throw new IllegalExpressionException("Unsupported aggregation operation.");
         }
     }
 
-    private static ExpressionResult aggregateResult(ExpressionResult result,
-                                                    Function<MQEValues, OptionalDouble> aggregator) {
+    private static ExpressionResult aggregateResult(ExpressionResult result, int opType) {
         for (MQEValues resultValues : result.getResults()) {
-            OptionalDouble resultValue = aggregator.apply(resultValues);
+            List<MQEValue> values = resultValues.getValues();
+            double sum = 0;
+            int count = 0;
+            for (int i = 0, size = values.size(); i < size; i++) {
+                MQEValue value = values.get(i);
+                if (!value.isEmptyValue()) {
+                    sum += value.getDoubleValue();
+                    count++;
+                }
+            }
             List<MQEValue> mqeValueList = new ArrayList<>(1);
             //no id
             MQEValue mqeValue = new MQEValue();
-            if (resultValue.isPresent()) {
-                mqeValue.setEmptyValue(false);
-                mqeValue.setDoubleValue(resultValue.getAsDouble());
-            } else {
+            if (opType == MQEParser.AVG && count == 0) {
                 mqeValue.setEmptyValue(true);
+            } else {
+                mqeValue.setEmptyValue(false);
+                if (opType == MQEParser.AVG) {
+                    mqeValue.setDoubleValue(sum / count);
+                } else if (opType == MQEParser.COUNT) {
+                    mqeValue.setDoubleValue(count);
+                } else {
+                    mqeValue.setDoubleValue(sum);
+                }
             }
             mqeValueList.add(mqeValue);
             resultValues.setValues(mqeValueList);
@@ -100,13 +86,25 @@ public class AggregationOp {
         return result;
     }
 
-    private static ExpressionResult selectResult(ExpressionResult result,
-                                                 Function<MQEValues, Optional<MQEValue>> aggregator) {
+    private static ExpressionResult selectResult(ExpressionResult result, int opType) {
         for (MQEValues resultValues : result.getResults()) {
-            Optional<MQEValue> resultValue = aggregator.apply(resultValues);
+            List<MQEValue> values = resultValues.getValues();
+            MQEValue selected = null;
+            for (int i = 0, size = values.size(); i < size; i++) {
+                MQEValue value = values.get(i);
+                if (value.isEmptyValue()) {
+                    continue;
+                }
+                if (selected == null
+                    || opType == MQEParser.LATEST
+                    || opType == MQEParser.MAX && value.getDoubleValue() > selected.getDoubleValue()
+                    || opType == MQEParser.MIN && value.getDoubleValue() < selected.getDoubleValue()) {
+                    selected = value;
+                }
+            }
             List<MQEValue> mqeValueList = new ArrayList<>(1);
-            if (resultValue.isPresent()) {
-                mqeValueList.add(resultValue.get());
+            if (selected != null) {
+                mqeValueList.add(selected);
             } else {
                 MQEValue mqeValue = new MQEValue();
                 mqeValue.setEmptyValue(true);
@@ -148,19 +148,16 @@ public interface LROp {
     private static ExpressionResult many2OneBinaryOp(ExpressionResult manyResult,
                                                      ExpressionResult singleResult,
                                                      int opType, LROp calculate) {
-        manyResult.getResults().forEach(mqeValues -> {
-            mqeValues.getValues().forEach(mqeValue -> {
+        final double scalar = singleResult.getResults().get(0).getValues().get(0).getDoubleValue();
+        for (MQEValues mqeValues : manyResult.getResults()) {
+            List<MQEValue> values = mqeValues.getValues();
+            for (int i = 0, size = values.size(); i < size; i++) {
+                MQEValue mqeValue = values.get(i);
                 if (!mqeValue.isEmptyValue()) {
-                    double newValue = calculate.apply(
-                        mqeValue.getDoubleValue(), singleResult.getResults()
-                                                               .get(0)
-                                                               .getValues()
-                                                               .get(0)
-                                                               .getDoubleValue(), opType);
-                    mqeValue.setDoubleValue(newValue);
+                    mqeValue.setDoubleValue(calculate.apply(mqeValue.getDoubleValue(), scalar, opType));
                 }
-            });
-        });
+            }
+        }
         return manyResult;
     }
 
@@ -168,21 +165,16 @@ public interface LROp {
     private static ExpressionResult one2ManyBinaryOp(ExpressionResult singleResult,
                                                      ExpressionResult manyResult,
                                                      int opType, LROp calculate) {
-        manyResult.getResults().forEach(mqeValues -> {
-            mqeValues.getValues().forEach(mqeValue -> {
+        final double scalar = singleResult.getResults().get(0).getValues().get(0).getDoubleValue();
+        for (MQEValues mqeValues : manyResult.getResults()) {
+            List<MQEValue> values = mqeValues.getValues();
+            for (int i = 0, size = values.size(); i < size; i++) {
+                MQEValue mqeValue = values.get(i);
                 if (!mqeValue.isEmptyValue()) {
-                    double newValue = calculate.apply(
-                        singleResult.getResults()
-                                    .get(0)
-                                    .getValues()
-                                    .get(0)
-                                    .getDoubleValue(),
-                        mqeValue.getDoubleValue(), opType
-                    );
-                    mqeValue.setDoubleValue(newValue);
+                    mqeValue.setDoubleValue(calculate.apply(scalar, mqeValue.getDoubleValue(), opType));
                 }
-            });
-        });
+            }
+        }
         return manyResult;
     }
 
@@ -202,8 +194,7 @@ public interface LROp {
                 continue;
             }
             //time should be mapped
-            double newValue = calculate.apply(valueL.getDoubleValue(), valueR.getDoubleValue(), opType);
-            mqeValuesL.getValues().get(i).setDoubleValue(newValue);
+            valueL.setDoubleValue(calculate.apply(valueL.getDoubleValue(), valueR.getDoubleValue(), opType));
         }
 
         return seriesLeft;
@@ -223,8 +214,7 @@ public interface LROp {
                     valueL.setDoubleValue(0);
                     continue;
                 }
-                double newValue = calculate.apply(valueL.getDoubleValue(), valueR.getDoubleValue(), opType);
-                mqeValuesL.getValues().get(i).setDoubleValue(newValue);
+                valueL.setDoubleValue(calculate.apply(valueL.getDoubleValue(), valueR.getDoubleValue(), opType));
             }
         });
 
@@ -266,22 +256,21 @@ public interface LROp {
             labelMapR.put(mqeValuesR.getMetric().getLabels().get(0), mqeValuesR.getValues());
         });
         for (MQEValues mqeValuesL : seriesLeft.getResults()) {
+            List<MQEValue> mqeValuesR = labelMapR.get(mqeValuesL.getMetric().getLabels().get(0));
+            if (mqeValuesR == null) {
+                throw new IllegalExpressionException(
+                    "Operation between labeled metrics should have the same label.");
+            }
             for (int i = 0; i < mqeValuesL.getValues().size(); i++) {
                 //reserve left metric info
                 MQEValue valueL = mqeValuesL.getValues().get(i);
-                List<MQEValue> mqeValuesR = labelMapR.get(mqeValuesL.getMetric().getLabels().get(0));
-                if (mqeValuesR == null) {
-                    throw new IllegalExpressionException(
-                        "Operation between labeled metrics should have the same label.");
-                }
                 MQEValue valueR = mqeValuesR.get(i);
                 if (valueL.isEmptyValue() || valueR.isEmptyValue()) {
                     valueL.setEmptyValue(true);
                     valueL.setDoubleValue(0);
                     continue;
                 }
-                double newValue = calculate.apply(valueL.getDoubleValue(), valueR.getDoubleValue(), opType);
-                mqeValuesL.getValues().get(i).setDoubleValue(newValue);
+                valueL.setDoubleValue(calculate.apply(valueL.getDoubleValue(), valueR.getDoubleValue(), opType));
             }
         }
 
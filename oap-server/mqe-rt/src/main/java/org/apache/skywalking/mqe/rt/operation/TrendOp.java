@@ -41,35 +41,34 @@ public class TrendOp {
         throw new IllegalExpressionException("Unsupported function.");
     }
 
+    /**
+     * The increase is computed in place from the tail to the head, so the previous value at {@code i - trendRange}
+     * is always read before it is overwritten, and no value object is created per point.
+     */
     private static ExpressionResult calculateIncrease(ExpressionResult expResult, int trendRange) {
         expResult.getResults().forEach(resultValues -> {
             List<MQEValue> mqeValues = resultValues.getValues();
-            List<MQEValue> newMqeValues = new ArrayList<>();
-            for (int i = trendRange; i < mqeValues.size(); i++) {
+            if (mqeValues.size() <= trendRange) {
+                resultValues.setValues(new ArrayList<>());
+                return;
+            }
+            for (int i = mqeValues.size() - 1; i >= trendRange; i--) {
                 MQEValue mqeValue = mqeValues.get(i);
                 //if the current value is empty, then the trend value is empty
                 if (mqeValue.isEmptyValue()) {
-                    newMqeValues.add(mqeValue);
                     continue;
                 }
-                MQEValue newMqeValue = new MQEValue();
-                newMqeValue.setId(mqeValue.getId());
-
+                MQEValue previous = mqeValues.get(i - trendRange);
                 //if the previous value is empty, then the trend value is empty
-                if (mqeValues.get(i - trendRange).isEmptyValue()) {
-                    newMqeValue.setEmptyValue(true);
-                    newMqeValues.add(newMqeValue);
+                if (previous.isEmptyValue()) {
+                    mqeValue.setEmptyValue(true);
+                    mqeValue.setDoubleValue(0);
+                    mqeValue.setTraceID(null);
                     continue;
                 }
-
-                newMqeValue.setEmptyValue(mqeValue.isEmptyValue());
-                newMqeValue.setId(mqeValue.getId());
-                newMqeValue.setTraceID(mqeValue.getTraceID());
-                double newValue = mqeValue.getDoubleValue() - mqeValues.get(i - trendRange).getDoubleValue();
-                newMqeValue.setDoubleValue(newValue);
-                newMqeValues.add(newMqeValue);
+                mqeValue.setDoubleValue(mqeValue.getDoubleValue() - previous.getDoubleValue());
             }
-            resultValues.setValues(newMqeValues);
+            resultValues.setValues(new ArrayList<>(mqeValues.subList(trendRange, mqeValues.size())));
         });
         return expResult;
     }
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.mqe.rt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.apache.skywalking.mqe.rt.grammar.MQELexer;
+import org.apache.skywalking.mqe.rt.grammar.MQEParser;
+import org.apache.skywalking.mqe.rt.type.ExpressionResult;
+import org.apache.skywalking.mqe.rt.type.ExpressionResultType;
+import org.apache.skywalking.oap.server.core.query.enumeration.Step;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OperandExecutionTest {
+    private final MockData mockData = new MockData();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentOperandsTest() {
+        MockVisitor visitor = new MockVisitor(executor);
+        ExpressionResult result = visitor.visit(parse("metric_a + metric_b * 2"));
+        assertEquals(ExpressionResultType.TIME_SERIES_VALUES, result.getType());
+        assertEquals(100 + 100 * 2, result.getResults().get(0).getValues().get(0).getDoubleValue());
+        assertEquals(300 + 300 * 2, result.getResults().get(0).getValues().get(1).getDoubleValue());
+        assertNotEquals(visitor.threads.get("metric_a"), visitor.threads.get("metric_b"));
+    }
+
+    @Test
+    public void sequentialOperandsTest() {
+        MockVisitor visitor = new MockVisitor(null);
+        ExpressionResult result = visitor.visit(parse("metric_a - metric_b"));
+        assertEquals(0, result.getResults().get(0).getValues().get(0).getDoubleValue());
+        assertEquals(visitor.threads.get("metric_a"), visitor.threads.get("metric_b"));
+    }
+
+    @Test
+    public void operandErrorTest() {
+        MockVisitor visitor = new MockVisitor(executor);
+        ExpressionResult result = visitor.visit(parse("metric_a > error_metric"));
+        assertEquals("Metric: [error_metric] dose not exist.", result.getError());
+    }
+
+    @Test
+    public void containsMetricTest() {
+        assertTrue(OperandExecution.contains(parse("avg(metric_a) * 2"), MQEParser.MetricContext.class));
+        assertFalse(OperandExecution.contains(parse("(1 + 2) * 3"), MQEParser.MetricContext.class));
+    }
+
+    @Test
+    public void newExecutorTest() {
+        assertNull(OperandExecution.newExecutor(0, "MQEOperandExecutor"));
+        ForkJoinPool pool = OperandExecution.newExecutor(2, "MQEOperandExecutor");
+        try {
+            assertTrue(pool.submit(() -> Thread.currentThread().getName()).join().startsWith("MQEOperandExecutor-"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private MQEParser.ExpressionContext parse(String expression) {
+        MQELexer lexer = new MQELexer(CharStreams.fromString(expression));
+        return new MQEParser(new CommonTokenStream(lexer)).expression();
+    }
+
+    private class MockVisitor extends MQEVisitorBase {
+        private final Map<String, Thread> threads = new ConcurrentHashMap<>();
+
+        private MockVisitor(ExecutorService executor) {
+            super(Step.MINUTE, executor);
+        }
+
+        @Override
+        public ExpressionResult visitMetric(MQEParser.MetricContext ctx) {
+            String metricName = ctx.metricName().getText();
+            threads.put(metricName, Thread.currentThread());
+            if (metricName.startsWith("error")) {
+                ExpressionResult result = new ExpressionResult();
+                result.setError("Metric: [" + metricName + "] dose not exist.");
+                return result;
+            }
+            return mockData.newSeriesNoLabeledResult();
+        }
+    }
+}
@@ -20,8 +20,17 @@ package org.apache.skywalking.oap.server.core.alarm.provider;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.skywalking.oap.server.core.alarm.AlarmCallback;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 import org.joda.time.LocalDateTime;
 import org.joda.time.Minutes;
 import org.slf4j.Logger;
@@ -35,15 +44,29 @@ import java.util.concurrent.TimeUnit;
 /**
  * Alarm core includes metrics values in certain time windows based on alarm settings. By using its internal timer
  * trigger and the alarm rules to decide whether send the alarm to database and webhook(s)
+ * <p>
+ * The alarm entities of every rule are sharded by hash, and the shards are checked in parallel by the check threads.
+ * The metrics are sent to the alarm by the OAP node persisting them, which is the owner of the metrics in the L2
+ * aggregation, so the windows of one entity only exist in one OAP node, and no cross-node sharding is required.
  */
 public class AlarmCore {
     private static final Logger LOGGER = LoggerFactory.getLogger(AlarmCore.class);
 
     private LocalDateTime lastExecuteTime;
     private AlarmRulesWatcher alarmRulesWatcher;
+    private final ModuleManager manager;
+    private final int checkThreads;
+    private final Map<String, HistogramMetrics> checkLatencies = new ConcurrentHashMap<>();
+    private volatile MetricsCreator metricsCreator;
 
     AlarmCore(AlarmRulesWatcher alarmRulesWatcher) {
+        this(alarmRulesWatcher, null, 1);
+    }
+
+    AlarmCore(AlarmRulesWatcher alarmRulesWatcher, ModuleManager manager, int checkThreads) {
         this.alarmRulesWatcher = alarmRulesWatcher;
+        this.manager = manager;
+        this.checkThreads = Math.max(1, checkThreads);
     }
 
     /**
@@ -68,27 +91,47 @@ public class AlarmCore {
     public void start(List<AlarmCallback> allCallbacks) {
         LocalDateTime now = LocalDateTime.now();
         lastExecuteTime = now;
+        final ExecutorService checkExecutor = checkThreads > 1 ?
+            Executors.newFixedThreadPool(checkThreads, r -> {
+                Thread thread = new Thread(r, "AlarmCheck");
+                thread.setDaemon(true);
+                return thread;
+            }) : null;
         Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(() -> {
             try {
-                final List<AlarmMessage> alarmMessageList = new ArrayList<>(30);
                 LocalDateTime checkTime = LocalDateTime.now();
                 int minutes = Minutes.minutesBetween(lastExecuteTime, checkTime).getMinutes();
-                boolean[] hasExecute = new boolean[]{false};
-                alarmRulesWatcher.getRunningContext().values().forEach(ruleList -> ruleList.forEach(runningRule -> {
-                    if (minutes > 0) {
-                        runningRule.moveTo(checkTime);
-                        /*
-                         * Don't run in the first quarter per min, avoid to trigger false alarm.
-                         */
-                        if (checkTime.getSecondOfMinute() > 15) {
-                            hasExecute[0] = true;
-                            alarmMessageList.addAll(runningRule.check());
-                        }
+                if (minutes <= 0) {
+                    return;
+                }
+                /*
+                 * Don't run in the first quarter per min, avoid to trigger false alarm.
+                 */
+                final boolean execute = checkTime.getSecondOfMinute() > 15;
+                final List<RunningRule> runningRules = new ArrayList<>();
+                alarmRulesWatcher.getRunningContext().values().forEach(runningRules::addAll);
+                final Map<String, LongAdder> ruleCostInNanos = new ConcurrentHashMap<>();
+
+                final List<AlarmMessage> alarmMessageList = new ArrayList<>(30);
+                if (checkExecutor == null) {
+                    alarmMessageList.addAll(
+                        checkShard(runningRules, checkTime, execute, 0, 1, ruleCostInNanos));
+                } else {
+                    List<Future<List<AlarmMessage>>> futures = new ArrayList<>(checkThreads);
+                    for (int i = 0; i < checkThreads; i++) {
+                        final int shard = i;
+                        futures.add(checkExecutor.submit(
+                            () -> checkShard(runningRules, checkTime, execute, shard, checkThreads, ruleCostInNanos)));
+                    }
+                    for (Future<List<AlarmMessage>> future : futures) {
+                        alarmMessageList.addAll(future.get());
                     }
-                }));
+                }
                 // Set the last execute time, and make sure the second is `00`, such as: 18:30:00
-                if (hasExecute[0]) {
+                if (execute && !runningRules.isEmpty()) {
                     lastExecuteTime = checkTime.withSecondOfMinute(0).withMillisOfSecond(0);
+                    ruleCostInNanos.forEach(
+                        (ruleName, cost) -> observeCheckLatency(ruleName, cost.sum() / 1_000_000_000D));
                 }
 
                 if (!alarmMessageList.isEmpty()) {
@@ -105,4 +148,44 @@ public class AlarmCore {
             }
         }, 10, 10, TimeUnit.SECONDS);
     }
+
+    /**
+     * Move and check the windows of the alarm entities in the given shard of all running rules.
+     */
+    private List<AlarmMessage> checkShard(List<RunningRule> runningRules, LocalDateTime checkTime, boolean execute,
+                                          int shard, int shardNum, Map<String, LongAdder> ruleCostInNanos) {
+        final List<AlarmMessage> alarmMessageList = new ArrayList<>();
+        for (RunningRule runningRule : runningRules) {
+            long startTime = System.nanoTime();
+            runningRule.moveTo(checkTime, shard, shardNum);
+            if (execute) {
+                alarmMessageList.addAll(runningRule.check(shard, shardNum));
+            }
+            ruleCostInNanos.computeIfAbsent(runningRule.getRuleName(), ignored -> new LongAdder())
+                           .add(System.nanoTime() - startTime);
+        }
+        return alarmMessageList;
+    }
+
+    private void observeCheckLatency(String ruleName, double seconds) {
+        if (manager == null) {
+            return;
+        }
+        try {
+            checkLatencies.computeIfAbsent(ruleName, name -> {
+                if (metricsCreator == null) {
+                    metricsCreator = manager.find(TelemetryModule.NAME)
+                                            .provider()
+                                            .getService(MetricsCreator.class);
+                }
+                return metricsCreator.createHistogramMetric(
+                    "alarm_rule_check_latency", "The latency of checking all entities of the alarm rule",
+                    new MetricsTag.Keys("rule"), new MetricsTag.Values(name),
+                    .001, .005, .01, .05, .1, .5, 1, 5, 10, 30, 60
+                );
+            }).observe(seconds);
+        } catch (Exception e) {
+            LOGGER.warn("Failed to observe the check latency of alarm rule {}", ruleName, e);
+        }
+    }
 }
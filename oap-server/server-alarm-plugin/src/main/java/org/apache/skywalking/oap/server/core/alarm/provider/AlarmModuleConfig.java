@@ -16,29 +16,18 @@
  *
  */
 
-package org.apache.skywalking.mqe.rt.operation.aggregatelabels;
+package org.apache.skywalking.oap.server.core.alarm.provider;
 
-public class MaxAggregateLabelsFunc implements AggregateLabelsFunc {
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.library.module.ModuleConfig;
 
-    private Double max;
-
-    @Override
-    public void combine(final Double value) {
-        if (value == null) {
-            return;
-        }
-
-        if (max == null) {
-            max = value;
-        } else {
-            if (value > max) {
-                max = value;
-            }
-        }
-    }
-
-    @Override
-    public Double getResult() {
-        return max;
-    }
+@Getter
+@Setter
+public class AlarmModuleConfig extends ModuleConfig {
+    /**
+     * The number of threads checking the alarm rules. The alarm entities of every rule are sharded by hash across the
+     * threads. 0 means the number of available processors.
+     */
+    private int checkThreads = 0;
 }
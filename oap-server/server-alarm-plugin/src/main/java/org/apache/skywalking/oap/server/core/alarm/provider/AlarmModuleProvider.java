@@ -36,6 +36,7 @@ public class AlarmModuleProvider extends ModuleProvider {
 
     private NotifyHandler notifyHandler;
     private AlarmRulesWatcher alarmRulesWatcher;
+    private AlarmModuleConfig config;
 
     @Override
     public String name() {
@@ -49,13 +50,23 @@ public class AlarmModuleProvider extends ModuleProvider {
 
     @Override
     public ConfigCreator newConfigCreator() {
-        return null;
+        return new ConfigCreator<AlarmModuleConfig>() {
+            @Override
+            public Class type() {
+                return AlarmModuleConfig.class;
+            }
+
+            @Override
+            public void onInitialized(final AlarmModuleConfig initialized) {
+                config = initialized;
+            }
+        };
     }
 
     @Override
     public void prepare() throws ServiceNotProvidedException, ModuleStartException {
         alarmRulesWatcher = new AlarmRulesWatcher(new Rules(), this);
-        notifyHandler = new NotifyHandler(alarmRulesWatcher, getManager());
+        notifyHandler = new NotifyHandler(alarmRulesWatcher, getManager(), config);
         this.registerServiceImplementation(MetricsNotify.class, notifyHandler);
     }
 
@@ -53,9 +53,11 @@ public class NotifyHandler implements MetricsNotify {
     private final AlarmRulesWatcher alarmRulesWatcher;
     private final ModuleManager manager;
 
-    public NotifyHandler(AlarmRulesWatcher alarmRulesWatcher, ModuleManager manager) {
+    public NotifyHandler(AlarmRulesWatcher alarmRulesWatcher, ModuleManager manager, AlarmModuleConfig config) {
         this.alarmRulesWatcher = alarmRulesWatcher;
-        core = new AlarmCore(alarmRulesWatcher);
+        int checkThreads = config.getCheckThreads() > 0 ?
+            config.getCheckThreads() : Runtime.getRuntime().availableProcessors();
+        core = new AlarmCore(alarmRulesWatcher, manager, checkThreads);
         this.manager = manager;
     }
 
@@ -19,10 +19,7 @@
 package org.apache.skywalking.oap.server.core.alarm.provider;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -31,8 +28,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
-import lombok.ToString;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
@@ -44,6 +40,7 @@ import org.apache.skywalking.mqe.rt.type.ExpressionResult;
 import org.apache.skywalking.mqe.rt.type.ExpressionResultType;
 import org.apache.skywalking.mqe.rt.type.MQEValues;
 import org.apache.skywalking.oap.server.core.alarm.provider.expr.rt.AlarmMQEVisitor;
+import org.apache.skywalking.oap.server.core.alarm.provider.expr.rt.AlarmWindowValues;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
 import org.apache.skywalking.oap.server.core.alarm.MetaInAlarm;
@@ -68,6 +65,7 @@ import org.joda.time.format.DateTimeFormatter;
 public class RunningRule {
     private static DateTimeFormatter TIME_BUCKET_FORMATTER = DateTimeFormat.forPattern("yyyyMMddHHmm");
 
+    @Getter
     private final String ruleName;
     private final int period;
     private final String expression;
@@ -191,19 +189,47 @@ public class RunningRule {
      * @param targetTime of moving target
      */
     public void moveTo(LocalDateTime targetTime) {
+        moveTo(targetTime, 0, 1);
+    }
+
+    /**
+     * Move the buffer windows of the alarm entities in the given shard to give time.
+     *
+     * @param targetTime of moving target
+     * @param shard      the index of the shard, in [0, shardNum)
+     * @param shardNum   the number of the shards
+     */
+    public void moveTo(LocalDateTime targetTime, int shard, int shardNum) {
         // Truncate targetTime to minute, make sure the second is `00` and milliseconds is `00` such as: 18:30:00.000
         final LocalDateTime target = targetTime.withSecondOfMinute(0).withMillisOfSecond(0);
-        windows.values().forEach(window -> window.moveTo(target));
+        windows.forEach((alarmEntity, window) -> {
+            if (inShard(alarmEntity, shard, shardNum)) {
+                window.moveTo(target);
+            }
+        });
     }
 
     /**
      * Check the conditions, decide to whether trigger alarm.
      */
     public List<AlarmMessage> check() {
+        return check(0, 1);
+    }
+
+    /**
+     * Check the conditions of the alarm entities in the given shard, decide to whether trigger alarm.
+     *
+     * @param shard    the index of the shard, in [0, shardNum)
+     * @param shardNum the number of the shards
+     */
+    public List<AlarmMessage> check(int shard, int shardNum) {
         List<AlarmMessage> alarmMessageList = new ArrayList<>(30);
         List<AlarmEntity> expiredEntityList = new ArrayList<>();
 
         windows.forEach((alarmEntity, window) -> {
+            if (!inShard(alarmEntity, shard, shardNum)) {
+                return;
+            }
             if (window.isExpired()) {
                 expiredEntityList.add(alarmEntity);
                 return;
@@ -231,16 +257,38 @@ public class RunningRule {
         return alarmMessageList;
     }
 
+    static boolean inShard(AlarmEntity alarmEntity, int shard, int shardNum) {
+        return shardNum <= 1 || Math.floorMod(alarmEntity.hashCode(), shardNum) == shard;
+    }
+
     /**
      * A metrics window, based on AlarmRule#period. This window slides with time, just keeps the recent N(period)
      * buckets.
+     * <p>
+     * The values are extracted from the metrics when they arrive, and kept in ring buffers of primitive values per
+     * metric, so sliding the window is O(1) and the check doesn't need to traverse the metrics objects again.
+     * The expression is only evaluated when the window is changed since the last check, i.e. a new value arrived or
+     * an old value slid out of the window. An idle window keeps the last result.
      */
     public class Window {
         private LocalDateTime endTime;
         private final int additionalPeriod;
         private final int size;
         private int silenceCountdown;
-        private LinkedList<Map<String, Metrics>> values;
+        /**
+         * The ring buffers of the metrics values, keyed by the metric name.
+         */
+        private final Map<String, ValueRing> values;
+        /**
+         * The slot of the {@link #endTime} in the ring buffers.
+         */
+        private int tail;
+        /**
+         * The time buckets of the window in chronological order, built lazily after the end time changed.
+         */
+        private List<String> windowTimes;
+        private boolean changed;
+        private boolean lastMatch;
         private ReentrantLock lock = new ReentrantLock();
 
         public Window(int period, int additionalPeriod) {
@@ -248,6 +296,7 @@ public class RunningRule {
             this.size = period + additionalPeriod;
             // -1 means silence countdown is not running.
             silenceCountdown = -1;
+            values = new HashMap<>();
             init();
         }
 
@@ -261,29 +310,34 @@ public class RunningRule {
                     if (minutes <= 0) {
                         return;
                     }
-                    if (minutes > values.size()) {
+                    if (minutes > size) {
                         // re-init
                         init();
                     } else {
                         for (int i = 0; i < minutes; i++) {
-                            values.removeFirst();
-                            values.addLast(null);
+                            tail = (tail + 1) % size;
+                            for (ValueRing ring : values.values()) {
+                                if (ring.clear(tail)) {
+                                    changed = true;
+                                }
+                            }
                         }
                     }
                 }
                 endTime = current;
+                windowTimes = null;
             } finally {
                 lock.unlock();
             }
             if (log.isTraceEnabled()) {
-                log.trace("Move window {}", transformValues(values));
+                log.trace("Move window {}", transformValues());
             }
         }
 
         public void add(String metricsName, Metrics metrics) {
             long bucket = metrics.getTimeBucket();
 
-            LocalDateTime timeBucket = TIME_BUCKET_FORMATTER.parseLocalDateTime(bucket + "");
+            LocalDateTime timeBucket = toLocalDateTime(bucket);
 
             this.lock.lock();
             try {
@@ -298,31 +352,26 @@ public class RunningRule {
                     minutes = 0;
                 }
 
-                if (minutes >= values.size()) {
+                if (minutes >= size) {
                     // too old data
                     // also should happen, but maybe if agent/probe mechanism time is not right.
                     if (log.isTraceEnabled()) {
                         log.trace(
-                            "Timebucket is {}, endTime is {} and value size is {}", timeBucket, this.endTime,
-                            values.size()
-                        );
+                            "Timebucket is {}, endTime is {} and value size is {}", timeBucket, this.endTime, size);
                     }
                     return;
                 }
-                int index = values.size() - minutes - 1;
-                Map<String, Metrics> metricsMap = values.get(index);
-                if (metricsMap == null) {
-                    metricsMap = new HashMap<>();
-                    metricsMap.put(metricsName, metrics);
-                    values.set(index, metricsMap);
+                ValueRing ring = values.computeIfAbsent(metricsName, name -> new ValueRing(size));
+                if (ring.set((tail - minutes + size) % size, metrics)) {
+                    changed = true;
                 } else {
-                    metricsMap.put(metricsName, metrics);
+                    log.warn("Unsupported metrics {}", metrics);
                 }
             } finally {
                 this.lock.unlock();
             }
             if (log.isTraceEnabled()) {
-                log.trace("Add metric {} to window {}", metrics, transformValues(this.values));
+                log.trace("Add metric {} to window {}", metrics, transformValues());
             }
         }
 
@@ -346,8 +395,27 @@ public class RunningRule {
         }
 
         private boolean isMatch() {
+            final Map<String, AlarmWindowValues> windowValues;
+            final List<String> times;
+            lock.lock();
+            try {
+                if (!changed) {
+                    return lastMatch;
+                }
+                changed = false;
+                windowValues = new HashMap<>(values.size());
+                values.forEach((name, ring) -> windowValues.put(name, ring.snapshot(tail)));
+                times = getWindowTimes();
+            } finally {
+                lock.unlock();
+            }
+            lastMatch = evaluate(windowValues, times);
+            return lastMatch;
+        }
+
+        private boolean evaluate(Map<String, AlarmWindowValues> windowValues, List<String> times) {
             int isMatch = 0;
-            AlarmMQEVisitor visitor = new AlarmMQEVisitor(this.values, this.endTime, this.additionalPeriod);
+            AlarmMQEVisitor visitor = new AlarmMQEVisitor(windowValues, times, this.additionalPeriod);
             ExpressionResult parseResult = visitor.visit(exprTree);
             if (StringUtil.isNotBlank(parseResult.getError())) {
                 log.error("expression:" + expression + " error: " + parseResult.getError());
@@ -396,63 +464,183 @@ public class RunningRule {
         }
 
         public boolean isExpired() {
-            if (this.values != null) {
-                for (Map<String, Metrics> value : this.values) {
-                    if (value != null) {
+            lock.lock();
+            try {
+                for (ValueRing ring : values.values()) {
+                    if (!ring.isEmpty()) {
                         return false;
                     }
                 }
+                return true;
+            } finally {
+                lock.unlock();
             }
-            return true;
+        }
+
+        private List<String> getWindowTimes() {
+            if (windowTimes == null) {
+                List<String> times = new ArrayList<>(size);
+                for (int i = size - 1; i >= 0; i--) {
+                    times.add(TIME_BUCKET_FORMATTER.print(endTime.minusMinutes(i)));
+                }
+                windowTimes = times;
+            }
+            return windowTimes;
         }
 
         private void init() {
-            values = new LinkedList<>();
-            for (int i = 0; i < size; i++) {
-                values.add(null);
+            if (!values.isEmpty()) {
+                values.clear();
+                changed = true;
+            }
+            tail = size - 1;
+            windowTimes = null;
+        }
+
+        private Map<String, AlarmWindowValues> transformValues() {
+            lock.lock();
+            try {
+                Map<String, AlarmWindowValues> result = new HashMap<>(values.size());
+                values.forEach((name, ring) -> result.put(name, ring.snapshot(tail)));
+                return result;
+            } finally {
+                lock.unlock();
             }
         }
     }
 
-    private LinkedList<Map<String, TraceLogMetric>> transformValues(LinkedList<Map<String, Metrics>> values) {
-        LinkedList<Map<String, TraceLogMetric>> result = new LinkedList<>();
-        for (Map<String, Metrics> value : values) {
-            if (value == null) {
-                result.add(null);
-                continue;
-            }
-            value.forEach((name, m) -> {
-                Map<String, TraceLogMetric> r = new HashMap<>();
-                result.add(r);
-                if (m instanceof LongValueHolder) {
-                    r.put(name, new TraceLogMetric(m.getTimeBucket(), new Number[] {((LongValueHolder) m).getValue()}));
-                } else if (m instanceof IntValueHolder) {
-                    r.put(name, new TraceLogMetric(m.getTimeBucket(), new Number[] {((IntValueHolder) m).getValue()}));
-                } else if (m instanceof DoubleValueHolder) {
-                    r.put(name, new TraceLogMetric(m.getTimeBucket(), new Number[] {((DoubleValueHolder) m).getValue()}));
-                } else if (m instanceof MultiIntValuesHolder) {
-                    int[] iArr = ((MultiIntValuesHolder) m).getValues();
-                    r.put(name, new TraceLogMetric(m.getTimeBucket(), Arrays.stream(iArr).boxed().toArray(Number[]::new)));
-                } else if (m instanceof LabeledValueHolder) {
-                    DataTable dt = ((LabeledValueHolder) m).getValue();
-                    TraceLogMetric l = new TraceLogMetric(
-                        m.getTimeBucket(), dt.sortedValues(Comparator.naturalOrder())
-                                             .toArray(new Number[0]));
-                    l.labels = dt.sortedKeys(Comparator.naturalOrder()).toArray(new String[0]);
-                    r.put(name, l);
-                } else {
-                    log.warn("Unsupported metrics {}", m);
+    /**
+     * Convert the minute time bucket(yyyyMMddHHmm) to the local date time without the formatter parsing.
+     */
+    static LocalDateTime toLocalDateTime(long minuteTimeBucket) {
+        int minute = (int) (minuteTimeBucket % 100);
+        long t = minuteTimeBucket / 100;
+        int hour = (int) (t % 100);
+        t /= 100;
+        int day = (int) (t % 100);
+        t /= 100;
+        int month = (int) (t % 100);
+        int year = (int) (t / 100);
+        return new LocalDateTime(year, month, day, hour, minute);
+    }
+
+    /**
+     * The ring buffer of the values of one metric in the window. The value type is decided by the first arrived
+     * metrics, common values are kept in primitive arrays, and the labeled values are kept in data tables.
+     */
+    private static class ValueRing {
+        private final int size;
+        private double[] values;
+        private boolean[] present;
+        private DataTable[] labeledValues;
+
+        private ValueRing(int size) {
+            this.size = size;
+        }
+
+        /**
+         * @return false if the metrics type is not supported.
+         */
+        private boolean set(int slot, Metrics metrics) {
+            if (metrics instanceof LongValueHolder) {
+                return setValue(slot, ((LongValueHolder) metrics).getValue());
+            } else if (metrics instanceof IntValueHolder) {
+                return setValue(slot, ((IntValueHolder) metrics).getValue());
+            } else if (metrics instanceof DoubleValueHolder) {
+                return setValue(slot, ((DoubleValueHolder) metrics).getValue());
+            } else if (metrics instanceof MultiIntValuesHolder) {
+                int[] ivalueArray = ((MultiIntValuesHolder) metrics).getValues();
+                DataTable dataTable = new DataTable();
+                for (int i = 0; i < ivalueArray.length; i++) {
+                    dataTable.put(String.valueOf(i), (long) ivalueArray[i]);
                 }
-            });
+                return setLabeledValue(slot, dataTable);
+            } else if (metrics instanceof LabeledValueHolder) {
+                return setLabeledValue(slot, ((LabeledValueHolder) metrics).getValue());
+            }
+            return false;
         }
-        return result;
-    }
 
-    @RequiredArgsConstructor
-    @ToString
-    private static class TraceLogMetric {
-        private final long timeBucket;
-        private final Number[] value;
-        private String[] labels;
+        private boolean setValue(int slot, double value) {
+            if (labeledValues != null) {
+                return false;
+            }
+            if (values == null) {
+                values = new double[size];
+                present = new boolean[size];
+            }
+            values[slot] = value;
+            present[slot] = true;
+            return true;
+        }
+
+        private boolean setLabeledValue(int slot, DataTable value) {
+            if (values != null) {
+                return false;
+            }
+            if (labeledValues == null) {
+                labeledValues = new DataTable[size];
+            }
+            labeledValues[slot] = value;
+            return true;
+        }
+
+        /**
+         * @return true if the slot held a value before clearing.
+         */
+        private boolean clear(int slot) {
+            boolean cleared = false;
+            if (present != null) {
+                cleared = present[slot];
+                present[slot] = false;
+            }
+            if (labeledValues != null) {
+                cleared |= labeledValues[slot] != null;
+                labeledValues[slot] = null;
+            }
+            return cleared;
+        }
+
+        private boolean isEmpty() {
+            if (present != null) {
+                for (boolean p : present) {
+                    if (p) {
+                        return false;
+                    }
+                }
+            }
+            if (labeledValues != null) {
+                for (DataTable labeledValue : labeledValues) {
+                    if (labeledValue != null) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @param tail the slot of the end time.
+         * @return the values in chronological order.
+         */
+        private AlarmWindowValues snapshot(int tail) {
+            int head = (tail + 1) % size;
+            if (labeledValues != null) {
+                DataTable[] result = new DataTable[size];
+                for (int i = 0; i < size; i++) {
+                    result[i] = labeledValues[(head + i) % size];
+                }
+                return AlarmWindowValues.ofLabeled(result);
+            }
+            double[] resultValues = new double[size];
+            boolean[] resultPresent = new boolean[size];
+            if (values != null) {
+                for (int i = 0; i < size; i++) {
+                    resultValues[i] = values[(head + i) % size];
+                    resultPresent[i] = present[(head + i) % size];
+                }
+            }
+            return AlarmWindowValues.ofCommon(resultValues, resultPresent);
+        }
     }
 }
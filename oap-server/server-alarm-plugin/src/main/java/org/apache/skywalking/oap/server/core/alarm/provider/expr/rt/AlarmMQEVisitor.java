@@ -22,13 +22,11 @@ import com.google.common.base.Strings;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.mqe.rt.grammar.MQEParser;
 import org.apache.skywalking.mqe.rt.type.ExpressionResult;
 import org.apache.skywalking.mqe.rt.type.ExpressionResultType;
@@ -37,43 +35,30 @@ import org.apache.skywalking.mqe.rt.type.MQEValues;
 import org.apache.skywalking.mqe.rt.type.Metadata;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
-import org.apache.skywalking.oap.server.core.analysis.metrics.DoubleValueHolder;
-import org.apache.skywalking.oap.server.core.analysis.metrics.IntValueHolder;
-import org.apache.skywalking.oap.server.core.analysis.metrics.LabeledValueHolder;
-import org.apache.skywalking.oap.server.core.analysis.metrics.LongValueHolder;
-import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.mqe.rt.MQEVisitorBase;
-import org.apache.skywalking.oap.server.core.analysis.metrics.MultiIntValuesHolder;
 import org.apache.skywalking.oap.server.core.query.enumeration.Step;
 import org.apache.skywalking.oap.server.core.query.type.KeyValue;
 import org.apache.skywalking.oap.server.core.storage.annotation.Column;
 import org.apache.skywalking.oap.server.core.storage.annotation.ValueColumnMetadata;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
-import org.joda.time.LocalDateTime;
 
-@Slf4j
 public class AlarmMQEVisitor extends MQEVisitorBase {
-    private final LinkedList<Map<String, Metrics>> metricsValues;
-    private final Map<String, Map<String, Double>> commonValuesMap;
-    private final Map<String, Map<String, DataTable>> labeledValuesMap;
-    private final int windowSize;
-    private final LocalDateTime endTime;
-    private final ArrayList<String> windowTimes;
+    private final Map<String, AlarmWindowValues> metricsValues;
+    private final List<String> windowTimes;
     private final int maxTrendRange;
 
-    public AlarmMQEVisitor(final LinkedList<Map<String, Metrics>> metricsValues,
-                           final LocalDateTime endTime,
+    /**
+     * @param metricsValues the values of the metrics in the window, keyed by the metric name.
+     * @param windowTimes   the time buckets of the window, in chronological order, aligned with the values.
+     */
+    public AlarmMQEVisitor(final Map<String, AlarmWindowValues> metricsValues,
+                           final List<String> windowTimes,
                            final int maxTrendRange) {
         super(Step.MINUTE);
         this.metricsValues = metricsValues;
-        this.commonValuesMap = new HashMap<>();
-        this.labeledValuesMap = new HashMap<>();
-        this.endTime = endTime;
-        this.windowSize = metricsValues.size();
-        this.windowTimes = initWindowTimes();
+        this.windowTimes = windowTimes;
         this.maxTrendRange = maxTrendRange;
-        this.initMetricsValues();
     }
 
     @Override
@@ -91,12 +76,12 @@ public class AlarmMQEVisitor extends MQEVisitorBase {
 
         //if no data, build empty value MQEValuesList for calculation
         List<MQEValues> mqeValuesList;
+        AlarmWindowValues windowValues = metricsValues.get(metricName);
         if (dataType == Column.ValueDataType.COMMON_VALUE) {
-            Map<String, Double> timeValues = commonValuesMap.get(metricName);
-            if (CollectionUtils.isEmpty(timeValues)) {
+            if (windowValues == null || windowValues.isLabeled() || windowValues.isEmpty()) {
                 mqeValuesList = buildEmptyMQEValuesList();
             } else {
-                mqeValuesList = buildMqeValuesList(timeValues);
+                mqeValuesList = buildMqeValuesList(windowValues);
             }
         } else if (dataType == Column.ValueDataType.LABELED_VALUE) {
             List<String> labelValues = Collections.emptyList();
@@ -107,11 +92,10 @@ public class AlarmMQEVisitor extends MQEVisitorBase {
                     labelValues = Arrays.asList(labelValueTrim.split(Const.COMMA));
                 }
             }
-            Map<String, DataTable> timeValues = labeledValuesMap.get(metricName);
-            if (CollectionUtils.isEmpty(timeValues)) {
+            if (windowValues == null || !windowValues.isLabeled() || windowValues.isEmpty()) {
                 mqeValuesList = buildEmptyLabeledMQEValuesList(labelValues);
             } else {
-                mqeValuesList = buildLabledMqeValuesList(timeValues, labelValues);
+                mqeValuesList = buildLabledMqeValuesList(windowValues, labelValues);
             }
             result.setLabeledResult(true);
         } else {
@@ -151,110 +135,58 @@ public class AlarmMQEVisitor extends MQEVisitorBase {
         return result;
     }
 
-    private ArrayList<String> initWindowTimes() {
-        ArrayList<String> windowTimes = new ArrayList<>();
-        for (int i = this.windowSize - 1; i >= 0; i--) {
-            windowTimes.add(endTime.minusMinutes(i).toString("yyyyMMddHHmm"));
-        }
-        return windowTimes;
-    }
-
-    private void initMetricsValues() {
-        for (Map<String, Metrics> metricsMap : metricsValues) {
-            if (metricsMap == null) {
-                continue;
-            }
-            for (Map.Entry<String, Metrics> entry : metricsMap.entrySet()) {
-                String metricName = entry.getKey();
-                Metrics metrics = entry.getValue();
-                if (metrics instanceof LongValueHolder) {
-                    initCommonMetricValues(metricName, ((LongValueHolder) metrics).getValue(), metrics.getTimeBucket());
-                } else if (metrics instanceof IntValueHolder) {
-                    initCommonMetricValues(metricName, ((IntValueHolder) metrics).getValue(), metrics.getTimeBucket());
-                } else if (metrics instanceof DoubleValueHolder) {
-                    initCommonMetricValues(metricName, ((DoubleValueHolder) metrics).getValue(), metrics.getTimeBucket());
-                } else if (metrics instanceof MultiIntValuesHolder) {
-                    int[] ivalueArray = ((MultiIntValuesHolder) metrics).getValues();
-                    DataTable values = new DataTable();
-                    for (int i = 0; i < ivalueArray.length; i++) {
-                        values.put(String.valueOf(i), (long) ivalueArray[i]);
-                    }
-                    initLabeledMetricValues(metricName, values, metrics.getTimeBucket());
-                } else if (metrics instanceof LabeledValueHolder) {
-                    DataTable values = ((LabeledValueHolder) metrics).getValue();
-                    initLabeledMetricValues(metricName, values, metrics.getTimeBucket());
-                } else {
-                    log.warn("Unsupported metrics {}", metricName);
-                    return;
-                }
-            }
-        }
-    }
-
-    private void initCommonMetricValues(String metricName, double value, long timeBucket) {
-        Map<String, Double> timeValues = commonValuesMap.computeIfAbsent(
-            metricName, v -> new HashMap<>());
-        timeValues.put(String.valueOf(timeBucket), value);
-    }
-
-    private void initLabeledMetricValues(String metricName,
-                                         DataTable values, long timeBucket) {
-        Map<String, DataTable> timeValues = labeledValuesMap.computeIfAbsent(
-            metricName, v -> new HashMap<>());
-        timeValues.put(String.valueOf(timeBucket), values);
-    }
-
-    private List<MQEValues> buildMqeValuesList(Map<String, Double> timeValues) {
+    private List<MQEValues> buildMqeValuesList(AlarmWindowValues windowValues) {
         List<MQEValues> mqeValuesList = new ArrayList<>();
-            MQEValues mqeValues = new MQEValues();
-            for (String time : windowTimes) {
-                Metadata metadata = new Metadata();
-                Double metricValue = timeValues.get(time);
-                MQEValue mqeValue = new MQEValue();
-                //use timeBucket as id here
-                mqeValue.setId(time);
-                if (metricValue != null) {
-                    mqeValue.setDoubleValue(metricValue);
-                } else {
-                    mqeValue.setEmptyValue(true);
-                }
-                mqeValues.setMetric(metadata);
-                mqeValues.getValues().add(mqeValue);
+        MQEValues mqeValues = new MQEValues();
+        double[] values = windowValues.getValues();
+        boolean[] present = windowValues.getPresent();
+        for (int i = 0; i < windowTimes.size(); i++) {
+            MQEValue mqeValue = new MQEValue();
+            //use timeBucket as id here
+            mqeValue.setId(windowTimes.get(i));
+            if (present[i]) {
+                mqeValue.setDoubleValue(values[i]);
+            } else {
+                mqeValue.setEmptyValue(true);
             }
-            mqeValuesList.add(mqeValues);
+            mqeValues.getValues().add(mqeValue);
+        }
+        mqeValues.setMetric(new Metadata());
+        mqeValuesList.add(mqeValues);
 
         return mqeValuesList;
     }
 
-    private List<MQEValues> buildLabledMqeValuesList(Map<String, DataTable> timeValues, List<String> labelValues) {
+    private List<MQEValues> buildLabledMqeValuesList(AlarmWindowValues windowValues, List<String> labelValues) {
         List<MQEValues> mqeValuesList = new ArrayList<>();
+        DataTable[] timeValues = windowValues.getLabeledValues();
         List<String> allLabelValues;
         if (CollectionUtils.isEmpty(labelValues) || labelValues.stream().allMatch(Strings::isNullOrEmpty)) {
-            allLabelValues = timeValues.values().stream()
-                             .flatMap(dataTable -> dataTable.keys().stream())
-                             .distinct().collect(Collectors.toList());
+            allLabelValues = Arrays.stream(timeValues)
+                                   .filter(Objects::nonNull)
+                                   .flatMap(dataTable -> dataTable.keys().stream())
+                                   .distinct().collect(Collectors.toList());
         } else {
             allLabelValues = labelValues;
         }
         for (String label : allLabelValues) {
             MQEValues mqeValues = new MQEValues();
-            for (String time : windowTimes) {
-                Metadata metadata = new Metadata();
-                DataTable dataTable = timeValues.getOrDefault(time, new DataTable());
-                Long metricValue = dataTable.get(label);
+            for (int i = 0; i < windowTimes.size(); i++) {
+                DataTable dataTable = timeValues[i];
+                Long metricValue = dataTable == null ? null : dataTable.get(label);
                 MQEValue mqeValue = new MQEValue();
                 //use timeBucket as id here
-                mqeValue.setId(time);
+                mqeValue.setId(windowTimes.get(i));
                 if (metricValue != null) {
                     mqeValue.setDoubleValue(metricValue);
                 } else {
                     mqeValue.setEmptyValue(true);
                 }
-                KeyValue labelValue = new KeyValue(GENERAL_LABEL_NAME, label);
-                metadata.getLabels().add(labelValue);
-                mqeValues.setMetric(metadata);
                 mqeValues.getValues().add(mqeValue);
             }
+            Metadata metadata = new Metadata();
+            metadata.getLabels().add(new KeyValue(GENERAL_LABEL_NAME, label));
+            mqeValues.setMetric(metadata);
             mqeValuesList.add(mqeValues);
         }
         return mqeValuesList;
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.alarm.provider.expr.rt;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
+
+/**
+ * The values of one metric in the alarm window, in chronological order, the last one is at the end time of the
+ * window. A metric is either common valued, holding the primitive values, or labeled, holding the data tables.
+ */
+@Getter
+@ToString
+public class AlarmWindowValues {
+    private final double[] values;
+    private final boolean[] present;
+    private final DataTable[] labeledValues;
+
+    private AlarmWindowValues(double[] values, boolean[] present, DataTable[] labeledValues) {
+        this.values = values;
+        this.present = present;
+        this.labeledValues = labeledValues;
+    }
+
+    public static AlarmWindowValues ofCommon(double[] values, boolean[] present) {
+        return new AlarmWindowValues(values, present, null);
+    }
+
+    public static AlarmWindowValues ofLabeled(DataTable[] labeledValues) {
+        return new AlarmWindowValues(null, null, labeledValues);
+    }
+
+    public boolean isLabeled() {
+        return labeledValues != null;
+    }
+
+    /**
+     * @return true if there is no value in the whole window.
+     */
+    public boolean isEmpty() {
+        if (isLabeled()) {
+            for (DataTable labeledValue : labeledValues) {
+                if (labeledValue != null) {
+                    return false;
+                }
+            }
+        } else {
+            for (boolean p : present) {
+                if (p) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
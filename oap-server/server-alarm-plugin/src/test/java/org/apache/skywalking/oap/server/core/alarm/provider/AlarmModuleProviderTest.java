@@ -49,7 +49,7 @@ public class AlarmModuleProviderTest {
 
         moduleProvider = (AlarmModuleProvider) providerIterator.next();
 
-        moduleProvider.newConfigCreator();
+        moduleProvider.newConfigCreator().onInitialized(new AlarmModuleConfig());
 
         moduleProvider.prepare();
         ValueColumnMetadata.INSTANCE.putIfAbsent(
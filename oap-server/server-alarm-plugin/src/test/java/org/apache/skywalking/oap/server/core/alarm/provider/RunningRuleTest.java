@@ -46,10 +46,12 @@ import org.junit.jupiter.api.Test;
 import org.powermock.reflect.Whitebox;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Running rule is the core of how does alarm work.
@@ -91,11 +93,18 @@ public class RunningRuleTest {
         RunningRule.Window window = windows.get(getAlarmEntity(123));
         LocalDateTime endTime = Whitebox.getInternalState(window, "endTime");
         int additionalPeriod = Whitebox.getInternalState(window, "additionalPeriod");
-        LinkedList<Metrics> metricsBuffer = Whitebox.getInternalState(window, "values");
+        int size = Whitebox.getInternalState(window, "size");
 
         Assertions.assertTrue(targetTime.equals(endTime.toDateTime()));
         Assertions.assertEquals(5, additionalPeriod);
-        Assertions.assertEquals(15, metricsBuffer.size());
+        Assertions.assertEquals(15, size);
+        Assertions.assertFalse(window.isExpired());
+    }
+
+    @Test
+    public void testToLocalDateTime() {
+        Assertions.assertEquals(new LocalDateTime(2024, 2, 29, 23, 59), RunningRule.toLocalDateTime(202402292359L));
+        Assertions.assertEquals(new LocalDateTime(2025, 1, 1, 0, 0), RunningRule.toLocalDateTime(202501010000L));
     }
 
     @Test
@@ -129,6 +138,68 @@ public class RunningRuleTest {
         Assertions.assertEquals(1, alarmMessages.size());
     }
 
+    @Test
+    public void testShardedCheck() throws IllegalExpressionException {
+        AlarmRule alarmRule = new AlarmRule();
+        alarmRule.setAlarmRuleName("endpoint_percent_rule");
+        alarmRule.setExpression("sum(endpoint_percent < 75) >= 3");
+        alarmRule.getIncludeMetrics().add("endpoint_percent");
+        alarmRule.setPeriod(15);
+        alarmRule.setMessage("Successful rate of endpoint {name} is lower than 75%");
+        RunningRule runningRule = new RunningRule(alarmRule);
+
+        DateTime startTime = DateTime.now();
+        for (int id = 0; id < 20; id++) {
+            for (int i = 1; i <= 3; i++) {
+                long timeBucket = TimeBucket.getMinuteTimeBucket(startTime.minusMinutes(2 * i).getMillis());
+                runningRule.in(getMetaInAlarm(id), getMetrics(timeBucket, 70));
+            }
+        }
+
+        int shardNum = 4;
+        Set<String> alarmedNames = new HashSet<>();
+        for (int shard = 0; shard < shardNum; shard++) {
+            for (AlarmMessage message : runningRule.check(shard, shardNum)) {
+                Assertions.assertTrue(alarmedNames.add(message.getName()));
+            }
+        }
+        Assertions.assertEquals(20, alarmedNames.size());
+    }
+
+    @Test
+    public void testIdleWindowNotEvaluated() throws Exception {
+        AlarmRule alarmRule = new AlarmRule();
+        alarmRule.setAlarmRuleName("endpoint_percent_rule");
+        alarmRule.setExpression("sum(endpoint_percent < 75) >= 1");
+        alarmRule.getIncludeMetrics().add("endpoint_percent");
+        alarmRule.setPeriod(15);
+        RunningRule runningRule = new RunningRule(alarmRule);
+
+        DateTime startTime = DateTime.now();
+        long timeBucket = TimeBucket.getMinuteTimeBucket(startTime.minusMinutes(2).getMillis());
+        runningRule.in(getMetaInAlarm(123), getMetrics(timeBucket, 80));
+
+        Map<AlarmEntity, RunningRule.Window> windows = Whitebox.getInternalState(runningRule, "windows");
+        RunningRule.Window window = windows.get(getAlarmEntity(123));
+        Assertions.assertFalse(Whitebox.<Boolean>invokeMethod(window, "isMatch"));
+
+        // Poison the cached result, so a re-evaluation would be visible.
+        Whitebox.setInternalState(window, "lastMatch", true);
+        LocalDateTime endTime = Whitebox.getInternalState(window, "endTime");
+        window.moveTo(endTime.plusMinutes(1));
+        window.moveTo(endTime.plusMinutes(2));
+        Assertions.assertTrue(Whitebox.<Boolean>invokeMethod(window, "isMatch"));
+
+        // A new value changes the window, the expression is evaluated again.
+        runningRule.in(getMetaInAlarm(123), getMetrics(timeBucket, 81));
+        Assertions.assertFalse(Whitebox.<Boolean>invokeMethod(window, "isMatch"));
+
+        // The value sliding out of the window changes the window too.
+        Whitebox.setInternalState(window, "lastMatch", true);
+        window.moveTo(endTime.plusMinutes(15));
+        Assertions.assertFalse(Whitebox.<Boolean>invokeMethod(window, "isMatch"));
+    }
+
     @Test
     public void testAlarmMetricsOutOfDate() throws IllegalExpressionException {
         AlarmRule alarmRule = new AlarmRule();
@@ -46,6 +46,10 @@ public class CoreModuleConfig extends ModuleConfig {
     private int maxConcurrentCallsPerConnection;
     private int maxMessageSize;
     private int topNReportPeriod;
+    /**
+     * The number of consumer threads of every top N record worker. Each thread keeps its own top N buffer.
+     */
+    private int topNWorkerThreads = 2;
     /**
      * The period of L1 aggregation flush. Unit is ms.
      */
@@ -77,6 +81,12 @@ public class CoreModuleConfig extends ModuleConfig {
 
     private int gRPCThreadPoolSize;
 
+    /**
+     * Run the gRPC calls and the blocking HTTP handlers of the core servers on the virtual threads, when the JVM
+     * supports them (JDK 21+). The gRPC calls running concurrently are still bounded by the gRPC thread pool size.
+     */
+    private boolean enableVirtualThreads = false;
+
     /**
      * Timeout for cluster internal communication, in seconds.
      */
@@ -223,6 +233,28 @@ public class CoreModuleConfig extends ModuleConfig {
     @Getter
     private int serviceCacheRefreshInterval = 10;
 
+    /**
+     * Cache the instances and endpoints of all services in memory, the instance list and endpoint search queries are
+     * served by the cache rather than the storage.
+     *
+     * @since 10.0.0
+     */
+    private boolean enableMetadataCache = false;
+
+    /**
+     * The period of loading the changed instances and endpoints into the metadata cache. Unit is second.
+     *
+     * @since 10.0.0
+     */
+    private int metadataCacheRefreshInterval = 10;
+
+    /**
+     * The max number of the instances and endpoints in the metadata cache. The cache is disabled once it is exceeded.
+     *
+     * @since 10.0.0
+     */
+    private long metadataCacheMaxSize = 1_000_000L;
+
     /**
      * If disable the hierarchy, the service and instance hierarchy relation will not be built.
      * And the query of hierarchy will return empty result.
@@ -231,6 +263,48 @@ public class CoreModuleConfig extends ModuleConfig {
     @Getter
     private boolean enableHierarchy = true;
 
+    /**
+     * The max number of the cached time buckets of the metrics queries. The values of the closed time buckets are
+     * cached and shared by GraphQL, MQE and PromQL queries. 0 means the cache is disabled.
+     *
+     * @since 10.0.0
+     */
+    private long metricsQueryCacheMaxSize = 100_000L;
+
+    /**
+     * The delay after the end of a time bucket, the time bucket is treated as closed and its values could be cached.
+     * It should cover the L1/L2 aggregation and the persistence period. Unit is second.
+     *
+     * @since 10.0.0
+     */
+    private int metricsQueryCacheCloseDelay = 180;
+
+    /**
+     * The directory of the memory mapped files, which the L1 aggregation queues spill the metrics into when they are
+     * full. The spilled metrics are replayed after the queues are drained. Empty means the spilling is disabled, and
+     * the metrics are abandoned when the queues are full.
+     *
+     * @since 10.0.0
+     */
+    private String l1AggregationSpillPath = "";
+
+    /**
+     * The max size of the spill file of every L1 aggregation queue channel. The file is created at the first spilling.
+     * Unit is MB.
+     *
+     * @since 10.0.0
+     */
+    private int l1AggregationSpillSize = 16;
+
+    /**
+     * The directory of the L2 aggregation snapshot. The metrics waiting for persistence and the metrics in the session
+     * cache are saved into it at shutdown, and restored at the next booting, so the restarted OAP doesn't need to read
+     * all active metrics from the database again. Empty means the snapshot is disabled.
+     *
+     * @since 10.0.0
+     */
+    private String l2AggregationSnapshotPath = "";
+
     public CoreModuleConfig() {
         this.downsampling = new ArrayList<>();
     }
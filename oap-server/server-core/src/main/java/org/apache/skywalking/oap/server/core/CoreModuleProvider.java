@@ -18,8 +18,11 @@
 
 package org.apache.skywalking.oap.server.core;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.oap.server.ai.pipeline.AIPipelineModule;
 import org.apache.skywalking.oap.server.ai.pipeline.services.api.HttpUriRecognition;
 import org.apache.skywalking.oap.server.configuration.api.ConfigurationModule;
@@ -30,6 +33,8 @@ import org.apache.skywalking.oap.server.core.analysis.StreamAnnotationListener;
 import org.apache.skywalking.oap.server.core.analysis.meter.MeterEntity;
 import org.apache.skywalking.oap.server.core.analysis.meter.MeterSystem;
 import org.apache.skywalking.oap.server.core.analysis.metrics.ApdexMetrics;
+import org.apache.skywalking.oap.server.core.analysis.worker.MetricsPersistentWorker;
+import org.apache.skywalking.oap.server.core.analysis.worker.MetricsSnapshot;
 import org.apache.skywalking.oap.server.core.analysis.worker.MetricsStreamProcessor;
 import org.apache.skywalking.oap.server.core.analysis.worker.TopNStreamProcessor;
 import org.apache.skywalking.oap.server.core.annotation.AnnotationScan;
@@ -100,6 +105,7 @@ import org.apache.skywalking.oap.server.core.storage.model.StorageModels;
 import org.apache.skywalking.oap.server.core.storage.ttl.DataTTLKeeperTimer;
 import org.apache.skywalking.oap.server.core.worker.IWorkerInstanceGetter;
 import org.apache.skywalking.oap.server.core.worker.IWorkerInstanceSetter;
+import org.apache.skywalking.oap.server.core.version.Version;
 import org.apache.skywalking.oap.server.core.worker.WorkerInstancesService;
 import org.apache.skywalking.oap.server.library.module.ModuleDefine;
 import org.apache.skywalking.oap.server.library.module.ModuleProvider;
@@ -109,6 +115,7 @@ import org.apache.skywalking.oap.server.library.server.ServerException;
 import org.apache.skywalking.oap.server.library.server.grpc.GRPCServer;
 import org.apache.skywalking.oap.server.library.server.http.HTTPServer;
 import org.apache.skywalking.oap.server.library.server.http.HTTPServerConfig;
+import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
 import org.apache.skywalking.oap.server.telemetry.api.TelemetryRelatedContext;
 
@@ -237,6 +244,7 @@ public class CoreModuleProvider extends ModuleProvider {
         if (moduleConfig.getGRPCThreadPoolSize() > 0) {
             grpcServer.setThreadPoolSize(moduleConfig.getGRPCThreadPoolSize());
         }
+        grpcServer.setVirtualThreadsEnabled(moduleConfig.isEnableVirtualThreads());
         grpcServer.initialize();
 
         HTTPServerConfig httpServerConfig = HTTPServerConfig.builder()
@@ -249,6 +257,8 @@ public class CoreModuleProvider extends ModuleProvider {
                                                                 moduleConfig.getRestAcceptQueueSize())
                                                             .maxRequestHeaderSize(
                                                                 moduleConfig.getHttpMaxRequestHeaderSize())
+                                                            .virtualThreadsEnabled(
+                                                                moduleConfig.isEnableVirtualThreads())
                                                             .build();
         setBootingParameter("oap.external.http.host", moduleConfig.getRestHost());
         setBootingParameter("oap.external.http.port", moduleConfig.getRestPort());
@@ -288,7 +298,7 @@ public class CoreModuleProvider extends ModuleProvider {
         this.registerServiceImplementation(
             TopologyQueryService.class, new TopologyQueryService(getManager(), storageModels));
         this.registerServiceImplementation(MetricsMetadataQueryService.class, new MetricsMetadataQueryService());
-        this.registerServiceImplementation(MetricsQueryService.class, new MetricsQueryService(getManager()));
+        this.registerServiceImplementation(MetricsQueryService.class, new MetricsQueryService(getManager(), moduleConfig));
         this.registerServiceImplementation(TraceQueryService.class, new TraceQueryService(getManager()));
         this.registerServiceImplementation(BrowserLogQueryService.class, new BrowserLogQueryService(getManager()));
         this.registerServiceImplementation(LogQueryService.class, new LogQueryService(getManager()));
@@ -356,9 +366,12 @@ public class CoreModuleProvider extends ModuleProvider {
 
         final MetricsStreamProcessor metricsStreamProcessor = MetricsStreamProcessor.getInstance();
         metricsStreamProcessor.setL1FlushPeriod(moduleConfig.getL1FlushPeriod());
+        metricsStreamProcessor.setL1AggregationSpillPath(moduleConfig.getL1AggregationSpillPath());
+        metricsStreamProcessor.setL1AggregationSpillSize(moduleConfig.getL1AggregationSpillSize());
         metricsStreamProcessor.setStorageSessionTimeout(moduleConfig.getStorageSessionTimeout());
         metricsStreamProcessor.setMetricsDataTTL(moduleConfig.getMetricsDataTTL());
         TopNStreamProcessor.getInstance().setTopNWorkerReportCycle(moduleConfig.getTopNReportPeriod());
+        TopNStreamProcessor.getInstance().setTopNWorkerThreads(moduleConfig.getTopNWorkerThreads());
         apdexThresholdConfig = new ApdexThresholdConfig(this);
         ApdexMetrics.setDICT(apdexThresholdConfig);
         loggingConfigWatcher = new LoggingConfigWatcher(this);
@@ -425,6 +438,19 @@ public class CoreModuleProvider extends ModuleProvider {
 
     @Override
     public void notifyAfterCompleted() throws ModuleStartException {
+        if (!RunningMode.isInitMode() && StringUtil.isNotEmpty(moduleConfig.getL2AggregationSnapshotPath())) {
+            // Restore before receiving any data, and save after the last persistent round.
+            final MetricsSnapshot snapshot = new MetricsSnapshot(
+                new File(moduleConfig.getL2AggregationSnapshotPath()), Version.CURRENT.toString());
+            final List<MetricsPersistentWorker> workers = MetricsStreamProcessor.getInstance().getPersistentWorkers();
+            snapshot.restore(workers);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (PersistenceTimer.INSTANCE.stop(10, TimeUnit.SECONDS)) {
+                    snapshot.save(workers);
+                }
+            }, "L2AggregationSnapshot"));
+        }
+
         try {
             if (!RunningMode.isInitMode()) {
                 grpcServer.start();
@@ -441,6 +467,9 @@ public class CoreModuleProvider extends ModuleProvider {
         }
 
         CacheUpdateTimer.INSTANCE.start(getManager(), moduleConfig.getMetricsDataTTL());
+        if (moduleConfig.isEnableMetadataCache()) {
+            getService(MetadataQueryService.class).startMetadataCache();
+        }
 
         try {
             new UITemplateInitializer(getManager()).initAll();
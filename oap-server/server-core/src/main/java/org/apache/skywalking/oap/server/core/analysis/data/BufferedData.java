@@ -39,4 +39,15 @@ public interface BufferedData<T> {
      * Read all existing buffered data, and clear the memory.
      */
     List<T> read();
+
+    /**
+     * Put back the data which was read from this kind of buffer, such as from a snapshot. The data could be in a
+     * different shape from the input of {@link #accept(Object)}, so the implementation should override this if it
+     * transforms the data in {@link #accept(Object)}.
+     *
+     * @param data to be put back.
+     */
+    default void restore(T data) {
+        accept(data);
+    }
 }
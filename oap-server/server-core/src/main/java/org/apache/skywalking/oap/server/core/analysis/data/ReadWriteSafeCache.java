@@ -78,6 +78,21 @@ public class ReadWriteSafeCache<T> {
         }
     }
 
+    /**
+     * Put back the collection of data which was read from this cache, such as from a snapshot, into the {@link
+     * #writeBufferPointer} buffer.
+     *
+     * @param data to restore.
+     */
+    public void restore(List<T> data) {
+        lock.lock();
+        try {
+            data.forEach(writeBufferPointer::restore);
+        } finally {
+            lock.unlock();
+        }
+    }
+
     public List<T> read() {
         lock.lock();
         try {
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.storage.StorageID;
+
+import static org.apache.skywalking.oap.server.core.storage.StorageData.TIME_BUCKET;
+
+/**
+ * RollupBufferedData is a thread no safe implementation of {@link BufferedData}, which rolls the minute {@link Metrics}
+ * up into the hour or day metrics in place. The down-sampling copy, {@link Metrics#toHour()} or {@link
+ * Metrics#toDay()}, is only created for the first minute metrics of an entity in the hour or day, the following ones
+ * are {@link Metrics#combine(Metrics)} into the copy directly.
+ *
+ * The minute metrics are located through their {@link Metrics#id()}s with the time bucket replaced by the hour or day
+ * one. If the ID doesn't include the time bucket as usual, the down-sampling copy is always created and located
+ * through its own ID, as {@link MergableBufferedData} does.
+ */
+public class RollupBufferedData implements BufferedData<Metrics> {
+    private final DownSampling downSampling;
+    private final Map<Object, Metrics> buffer;
+
+    public RollupBufferedData(final DownSampling downSampling) {
+        if (downSampling != DownSampling.Hour && downSampling != DownSampling.Day) {
+            throw new IllegalArgumentException("Only support to roll up the metrics in hour or day, but " + downSampling);
+        }
+        this.downSampling = downSampling;
+        this.buffer = new HashMap<>();
+    }
+
+    /**
+     * Accept the minute metrics and combine them into the existing hour or day metrics.
+     *
+     * This method is not thread safe, should avoid concurrency calling.
+     *
+     * @param minuteMetrics to be rolled up.
+     */
+    @Override
+    public void accept(final Metrics minuteMetrics) {
+        final Object key = rollupKey(minuteMetrics);
+        if (key == null) {
+            final Metrics downSampled = downSample(minuteMetrics);
+            final Metrics existed = buffer.get(downSampled.id());
+            if (existed == null) {
+                buffer.put(downSampled.id(), downSampled);
+            } else {
+                existed.combine(downSampled);
+            }
+            return;
+        }
+        final Metrics existed = buffer.get(key);
+        if (existed == null) {
+            buffer.put(key, downSample(minuteMetrics));
+        } else {
+            existed.combine(minuteMetrics);
+        }
+    }
+
+    /**
+     * Put back the hour or day metrics, which were read from this buffer before.
+     *
+     * @param downSampled the rolled up metrics.
+     */
+    @Override
+    public void restore(final Metrics downSampled) {
+        Object key = key(downSampled, downSampled.getTimeBucket());
+        if (key == null) {
+            key = downSampled.id();
+        }
+        final Metrics existed = buffer.get(key);
+        if (existed == null) {
+            buffer.put(key, downSampled);
+        } else {
+            existed.combine(downSampled);
+        }
+    }
+
+    @Override
+    public List<Metrics> read() {
+        try {
+            return new ArrayList<>(buffer.values());
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private Metrics downSample(final Metrics minuteMetrics) {
+        return downSampling == DownSampling.Hour ? minuteMetrics.toHour() : minuteMetrics.toDay();
+    }
+
+    /**
+     * @return the values of the ID fragments, whose time bucket is replaced by the hour or day one, or null if the ID
+     * doesn't include the time bucket of the metrics.
+     */
+    private Object rollupKey(final Metrics minuteMetrics) {
+        return key(minuteMetrics, downSampling == DownSampling.Hour
+            ? minuteMetrics.toTimeBucketInHour() : minuteMetrics.toTimeBucketInDay());
+    }
+
+    /**
+     * @return the values of the ID fragments, whose time bucket is replaced by the given one, or null if the ID
+     * doesn't include the time bucket of the metrics.
+     */
+    private static Object key(final Metrics metrics, final long timeBucket) {
+        final List<StorageID.Fragment> fragments = metrics.id().read();
+        final Object[] values = new Object[fragments.size()];
+        boolean timeBucketReplaced = false;
+        for (int i = 0; i < values.length; i++) {
+            final StorageID.Fragment fragment = fragments.get(i);
+            if (!timeBucketReplaced && isTimeBucket(fragment, metrics.getTimeBucket())) {
+                values[i] = timeBucket;
+                timeBucketReplaced = true;
+            } else {
+                values[i] = fragment.getValue();
+            }
+        }
+        return timeBucketReplaced ? Arrays.asList(values) : null;
+    }
+
+    private static boolean isTimeBucket(final StorageID.Fragment fragment, final long timeBucket) {
+        if (fragment.isMutate() || !fragment.getName().isPresent()) {
+            return false;
+        }
+        final String[] names = fragment.getName().get();
+        return names.length == 1 && TIME_BUCKET.equals(names[0])
+            && fragment.getValue() instanceof Long && (Long) fragment.getValue() == timeBucket;
+    }
+}
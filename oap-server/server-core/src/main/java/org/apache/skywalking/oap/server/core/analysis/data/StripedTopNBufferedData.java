@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.analysis.topn.TopN;
+
+/**
+ * StripedTopNBufferedData is a thread safe collection of limited records of each {@link TopN} which grouped by entityId
+ * and timeBucket, the same grouping as {@link LimitedSizeBufferedData}.
+ *
+ * Every writer thread is pinned to one stripe, and each stripe holds its own bounded min-heaps guarded by its own lock,
+ * so writers don't contend with each other. The stripes are drained and merged in {@link #read()}. Records are ordered
+ * by the primitive {@link TopN#getLatency()} directly.
+ *
+ * The lowest latency of every full group which has been read is kept as the threshold of that group, records at or
+ * below it could never enter the persisted top N, so they are dropped when accepted and when merged. The thresholds
+ * of the last two reads are kept, which covers the records of a time bucket arriving across the read.
+ */
+public class StripedTopNBufferedData<STORAGE_DATA extends TopN> {
+    private final int limitedSize;
+    private final Stripe<STORAGE_DATA>[] stripes;
+    private final AtomicInteger stripeSequence = new AtomicInteger();
+    private final ThreadLocal<Stripe<STORAGE_DATA>> localStripe;
+    private volatile Map<String, Long> thresholds = Collections.emptyMap();
+    private volatile Map<String, Long> previousThresholds = Collections.emptyMap();
+
+    @SuppressWarnings("unchecked")
+    public StripedTopNBufferedData(int limitedSize, int stripeSize) {
+        this.limitedSize = limitedSize;
+        this.stripes = new Stripe[Math.max(1, stripeSize)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        this.localStripe = ThreadLocal.withInitial(
+            () -> stripes[Math.floorMod(stripeSequence.getAndIncrement(), stripes.length)]);
+    }
+
+    /**
+     * Accept the data into the stripe of the current thread, if it is above the threshold of its group.
+     *
+     * @param data to be added potentially.
+     */
+    public void accept(final STORAGE_DATA data) {
+        final String topGroupKey = data.getEntityId() + TimeBucket.getMinuteTimeBucket(data.getTimestamp());
+        if (data.getLatency() <= threshold(topGroupKey)) {
+            return;
+        }
+        final Stripe<STORAGE_DATA> stripe = localStripe.get();
+        stripe.lock.lock();
+        try {
+            stripe.groups.computeIfAbsent(topGroupKey, key -> new TopNHeap<>(limitedSize)).offer(data);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Accept the collection of data into the stripe of the current thread.
+     *
+     * @param data to be added potentially.
+     */
+    public void accept(final List<STORAGE_DATA> data) {
+        for (int i = 0; i < data.size(); i++) {
+            accept(data.get(i));
+        }
+    }
+
+    /**
+     * Drain all stripes, merge the groups into the top N of each, and refresh the thresholds.
+     *
+     * @return the records of every group above its threshold.
+     */
+    public List<STORAGE_DATA> read() {
+        final Map<String, TopNHeap<STORAGE_DATA>> merged = new HashMap<>();
+        for (final Stripe<STORAGE_DATA> stripe : stripes) {
+            final Map<String, TopNHeap<STORAGE_DATA>> drained;
+            stripe.lock.lock();
+            try {
+                if (stripe.groups.isEmpty()) {
+                    continue;
+                }
+                drained = stripe.groups;
+                stripe.groups = new HashMap<>();
+            } finally {
+                stripe.lock.unlock();
+            }
+            drained.forEach((key, heap) -> {
+                final TopNHeap<STORAGE_DATA> existing = merged.putIfAbsent(key, heap);
+                if (existing != null) {
+                    existing.offerAll(heap);
+                }
+            });
+        }
+
+        final List<STORAGE_DATA> collection = new ArrayList<>();
+        final Map<String, Long> refreshed = new HashMap<>(merged.size());
+        merged.forEach((key, heap) -> {
+            final long threshold = threshold(key);
+            heap.drainAbove(threshold, collection);
+            if (heap.isFull()) {
+                refreshed.put(key, heap.min());
+            } else if (threshold != Long.MIN_VALUE) {
+                refreshed.put(key, threshold);
+            }
+        });
+        previousThresholds = thresholds;
+        thresholds = refreshed;
+        return collection;
+    }
+
+    private long threshold(final String topGroupKey) {
+        Long threshold = thresholds.get(topGroupKey);
+        if (threshold == null) {
+            threshold = previousThresholds.get(topGroupKey);
+        }
+        return threshold == null ? Long.MIN_VALUE : threshold;
+    }
+
+    private static class Stripe<STORAGE_DATA extends TopN> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private Map<String, TopNHeap<STORAGE_DATA>> groups = new HashMap<>();
+    }
+
+    /**
+     * A bounded min-heap of records on their latency. The root is the smallest one of the top N.
+     */
+    static class TopNHeap<STORAGE_DATA extends TopN> {
+        private final TopN[] elements;
+        private int size;
+
+        TopNHeap(int limitedSize) {
+            this.elements = new TopN[limitedSize];
+        }
+
+        void offer(final STORAGE_DATA data) {
+            final long latency = data.getLatency();
+            if (size < elements.length) {
+                siftUp(size++, data, latency);
+            } else if (size > 0 && latency > elements[0].getLatency()) {
+                siftDown(data, latency);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void offerAll(final TopNHeap<STORAGE_DATA> other) {
+            for (int i = 0; i < other.size; i++) {
+                offer((STORAGE_DATA) other.elements[i]);
+            }
+        }
+
+        boolean isFull() {
+            return size > 0 && size == elements.length;
+        }
+
+        long min() {
+            return elements[0].getLatency();
+        }
+
+        @SuppressWarnings("unchecked")
+        void drainAbove(final long threshold, final List<STORAGE_DATA> collection) {
+            for (int i = 0; i < size; i++) {
+                if (elements[i].getLatency() > threshold) {
+                    collection.add((STORAGE_DATA) elements[i]);
+                }
+            }
+        }
+
+        private void siftUp(int index, final TopN data, final long latency) {
+            while (index > 0) {
+                final int parent = (index - 1) >>> 1;
+                if (elements[parent].getLatency() <= latency) {
+                    break;
+                }
+                elements[index] = elements[parent];
+                index = parent;
+            }
+            elements[index] = data;
+        }
+
+        private void siftDown(final TopN data, final long latency) {
+            int index = 0;
+            final int half = size >>> 1;
+            while (index < half) {
+                int child = (index << 1) + 1;
+                final int right = child + 1;
+                if (right < size && elements[right].getLatency() < elements[child].getLatency()) {
+                    child = right;
+                }
+                if (latency <= elements[child].getLatency()) {
+                    break;
+                }
+                elements[index] = elements[child];
+                index = child;
+            }
+            elements[index] = data;
+        }
+    }
+}
@@ -18,20 +18,28 @@
 
 package org.apache.skywalking.oap.server.core.analysis.worker;
 
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.File;
 import java.util.List;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.core.analysis.data.MergableBufferedData;
 import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
 import org.apache.skywalking.oap.server.library.datacarrier.DataCarrier;
 import org.apache.skywalking.oap.server.library.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.oap.server.library.datacarrier.buffer.SpillCodec;
+import org.apache.skywalking.oap.server.library.datacarrier.buffer.SpillListener;
+import org.apache.skywalking.oap.server.library.datacarrier.buffer.SpillSettings;
 import org.apache.skywalking.oap.server.library.datacarrier.consumer.BulkConsumePool;
 import org.apache.skywalking.oap.server.library.datacarrier.consumer.ConsumerPoolFactory;
 import org.apache.skywalking.oap.server.library.datacarrier.consumer.IConsumer;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
 import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
@@ -49,13 +57,17 @@ public class MetricsAggregateWorker extends AbstractWorker<Metrics> {
     private final MergableBufferedData<Metrics> mergeDataCache;
     private CounterMetrics abandonCounter;
     private CounterMetrics aggregationCounter;
+    private HistogramMetrics aggregationLatency;
     private long lastSendTime = 0;
 
     MetricsAggregateWorker(ModuleDefineHolder moduleDefineHolder,
                            AbstractWorker<Metrics> nextWorker,
                            String modelName,
                            long l1FlushPeriod,
-                           MetricStreamKind kind) {
+                           MetricStreamKind kind,
+                           Class<? extends Metrics> metricsClass,
+                           File spillDirectory,
+                           int spillSize) {
         super(moduleDefineHolder);
         this.nextWorker = nextWorker;
         this.mergeDataCache = new MergableBufferedData();
@@ -72,6 +84,16 @@ public class MetricsAggregateWorker extends AbstractWorker<Metrics> {
         this.dataCarrier = new DataCarrier<>(
             "MetricsAggregateWorker." + modelName, name, queueChannelSize, queueBufferSize, BufferStrategy.IF_POSSIBLE);
 
+        MetricsCreator metricsCreator = moduleDefineHolder.find(TelemetryModule.NAME)
+                                                          .provider()
+                                                          .getService(MetricsCreator.class);
+        if (spillDirectory != null) {
+            this.dataCarrier.spill(new SpillSettings<>(
+                spillDirectory, spillSize, new MetricsSpillCodec(metricsClass),
+                new MetricsSpillListener(metricsCreator, modelName)
+            ));
+        }
+
         BulkConsumePool.Creator creator = new BulkConsumePool.Creator(
             name, BulkConsumePool.Creator.recommendMaxSize() * 2, 20);
         try {
@@ -81,9 +103,6 @@ public class MetricsAggregateWorker extends AbstractWorker<Metrics> {
         }
         this.dataCarrier.consume(ConsumerPoolFactory.INSTANCE.get(name), new AggregatorConsumer());
 
-        MetricsCreator metricsCreator = moduleDefineHolder.find(TelemetryModule.NAME)
-                                                          .provider()
-                                                          .getService(MetricsCreator.class);
         abandonCounter = metricsCreator.createCounter(
             "metrics_aggregator_abandon", "The abandon number of rows received in aggregation",
             new MetricsTag.Keys("metricName", "level", "dimensionality"),
@@ -94,6 +113,10 @@ public class MetricsAggregateWorker extends AbstractWorker<Metrics> {
             new MetricsTag.Keys("metricName", "level", "dimensionality"),
             new MetricsTag.Values(modelName, "1", "minute")
         );
+        aggregationLatency = metricsCreator.createHistogramMetric(
+            "metrics_aggregation_latency", "The process latency of a batch of rows in aggregation",
+            new MetricsTag.Keys("level"), new MetricsTag.Values("1")
+        );
         this.l1FlushPeriod = l1FlushPeriod;
     }
 
@@ -114,12 +137,14 @@ public class MetricsAggregateWorker extends AbstractWorker<Metrics> {
      * @param metricsList from the queue.
      */
     private void onWork(List<Metrics> metricsList) {
-        metricsList.forEach(metrics -> {
-            aggregationCounter.inc();
-            mergeDataCache.accept(metrics);
-        });
+        try (HistogramMetrics.Timer ignored = aggregationLatency.createTimer()) {
+            metricsList.forEach(metrics -> {
+                aggregationCounter.inc();
+                mergeDataCache.accept(metrics);
+            });
 
-        flush();
+            flush();
+        }
     }
 
     private void flush() {
@@ -134,6 +159,70 @@ public class MetricsAggregateWorker extends AbstractWorker<Metrics> {
         }
     }
 
+    /**
+     * Serialize the metrics in the format of the remote data between the OAP nodes, which includes all fields to be
+     * merged in the L2 aggregation.
+     */
+    @RequiredArgsConstructor
+    private static class MetricsSpillCodec implements SpillCodec<Metrics> {
+        private final Class<? extends Metrics> metricsClass;
+
+        @Override
+        public byte[] encode(final Metrics data) {
+            return data.serialize().build().toByteArray();
+        }
+
+        @Override
+        public Metrics decode(final byte[] bytes) {
+            try {
+                Metrics metrics = metricsClass.getDeclaredConstructor().newInstance();
+                metrics.deserialize(RemoteData.parseFrom(bytes));
+                return metrics;
+            } catch (ReflectiveOperationException | InvalidProtocolBufferException e) {
+                throw new UnexpectedException("Can't replay the spilled metrics " + metricsClass.getSimpleName(), e);
+            }
+        }
+    }
+
+    private static class MetricsSpillListener implements SpillListener {
+        private final CounterMetrics spillCounter;
+        private final CounterMetrics replayCounter;
+        private final CounterMetrics spillFailureCounter;
+
+        private MetricsSpillListener(MetricsCreator metricsCreator, String modelName) {
+            spillCounter = metricsCreator.createCounter(
+                "metrics_aggregator_spill", "The number of rows spilled into the file in aggregation",
+                new MetricsTag.Keys("metricName", "level", "dimensionality"),
+                new MetricsTag.Values(modelName, "1", "minute")
+            );
+            replayCounter = metricsCreator.createCounter(
+                "metrics_aggregator_replay", "The number of rows replayed from the spill file in aggregation",
+                new MetricsTag.Keys("metricName", "level", "dimensionality"),
+                new MetricsTag.Values(modelName, "1", "minute")
+            );
+            spillFailureCounter = metricsCreator.createCounter(
+                "metrics_aggregator_spill_failure", "The number of rows lost in spilling or replaying in aggregation",
+                new MetricsTag.Keys("metricName", "level", "dimensionality"),
+                new MetricsTag.Values(modelName, "1", "minute")
+            );
+        }
+
+        @Override
+        public void onSpill() {
+            spillCounter.inc();
+        }
+
+        @Override
+        public void onReplay(final int count) {
+            replayCounter.inc(count);
+        }
+
+        @Override
+        public void onSpillFailure() {
+            spillFailureCounter.inc();
+        }
+    }
+
     private class AggregatorConsumer implements IConsumer<Metrics> {
         @Override
         public void consume(List<Metrics> data) {
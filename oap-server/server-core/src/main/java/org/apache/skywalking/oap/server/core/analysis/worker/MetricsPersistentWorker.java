@@ -19,10 +19,13 @@
 package org.apache.skywalking.oap.server.core.analysis.worker;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
@@ -30,6 +33,7 @@ import org.apache.skywalking.oap.server.core.analysis.DownSampling;
 import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
 import org.apache.skywalking.oap.server.core.analysis.data.MergableBufferedData;
 import org.apache.skywalking.oap.server.core.analysis.data.ReadWriteSafeCache;
+import org.apache.skywalking.oap.server.core.analysis.data.RollupBufferedData;
 import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.exporter.ExportEvent;
 import org.apache.skywalking.oap.server.core.status.BootingStatus;
@@ -48,6 +52,7 @@ import org.apache.skywalking.oap.server.library.datacarrier.consumer.IConsumer;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
 import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
@@ -56,11 +61,16 @@ import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
  */
 @Slf4j
 public class MetricsPersistentWorker extends PersistenceWorker<Metrics> implements ServerStatusWatcher {
+    @Getter(AccessLevel.PACKAGE)
     private final Model model;
     private final MetricsSessionCache sessionCache;
     private final IMetricsDAO metricsDAO;
     private final Optional<AbstractWorker<Metrics>> nextAlarmWorker;
     private final Optional<AbstractWorker<ExportEvent>> nextExportWorker;
+    /**
+     * The queue of the minute metrics. The down-sampling workers don't have the queue, the minute metrics are rolled
+     * up into their cache directly.
+     */
     private final DataCarrier<Metrics> dataCarrier;
     private final Optional<MetricsTransWorker> transWorker;
     private final boolean supportUpdate;
@@ -76,6 +86,10 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> implemen
      * The counter of metrics cached in-memory.
      */
     private CounterMetrics cachedMetricsCounter;
+    /**
+     * The latency of merging a batch of metrics in L2 aggregation.
+     */
+    private HistogramMetrics aggregationLatency;
     /**
      * The counter for the round of persistent.
      */
@@ -95,7 +109,7 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> implemen
      */
     private final ServerStatusService serverStatusService;
     /**
-     * The time bucket is 0 or in minute dimensionality of the system in the latest stability status.
+     * The time bucket is 0 or in the dimensionality of the model of the system in the latest stability status.
      *
      * @since 9.4.0
      */
@@ -105,7 +119,7 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> implemen
                             AbstractWorker<Metrics> nextAlarmWorker, AbstractWorker<ExportEvent> nextExportWorker,
                             MetricsTransWorker transWorker, boolean supportUpdate,
                             long storageSessionTimeout, int metricsDataTTL, MetricStreamKind kind) {
-        super(moduleDefineHolder, new ReadWriteSafeCache<>(new MergableBufferedData(), new MergableBufferedData()));
+        super(moduleDefineHolder, newCache(model.getDownsampling()));
         this.model = model;
         this.sessionCache = new MetricsSessionCache(storageSessionTimeout);
         this.metricsDAO = metricsDAO;
@@ -117,27 +131,32 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> implemen
         this.persistentMod = 1;
         this.metricsDataTTL = metricsDataTTL;
 
-        String name = "METRICS_L2_AGGREGATION";
-        int size = BulkConsumePool.Creator.recommendMaxSize() / 8;
-        if (size == 0) {
-            size = 1;
-        }
-        BulkConsumePool.Creator creator = new BulkConsumePool.Creator(name, size, 20);
-        try {
-            ConsumerPoolFactory.INSTANCE.createIfAbsent(name, creator);
-        } catch (Exception e) {
-            throw new UnexpectedException(e.getMessage(), e);
-        }
+        if (model.getDownsampling().equals(DownSampling.Minute)) {
+            String name = "METRICS_L2_AGGREGATION";
+            int size = BulkConsumePool.Creator.recommendMaxSize() / 8;
+            if (size == 0) {
+                size = 1;
+            }
+            BulkConsumePool.Creator creator = new BulkConsumePool.Creator(name, size, 20);
+            try {
+                ConsumerPoolFactory.INSTANCE.createIfAbsent(name, creator);
+            } catch (Exception e) {
+                throw new UnexpectedException(e.getMessage(), e);
+            }
 
-        int bufferSize = 2000;
-        if (MetricStreamKind.MAL == kind) {
-            // In MAL meter streaming, the load of data flow is much less as they are statistics already,
-            // but in OAL sources, they are raw data.
-            // Set the buffer(size of queue) as 1/2 to reduce unnecessary resource costs.
-            bufferSize = 1000;
+            int bufferSize = 2000;
+            if (MetricStreamKind.MAL == kind) {
+                // In MAL meter streaming, the load of data flow is much less as they are statistics already,
+                // but in OAL sources, they are raw data.
+                // Set the buffer(size of queue) as 1/2 to reduce unnecessary resource costs.
+                bufferSize = 1000;
+            }
+            this.dataCarrier = new DataCarrier<>("MetricsPersistentWorker." + model.getName(), name, 1, bufferSize);
+            this.dataCarrier.consume(ConsumerPoolFactory.INSTANCE.get(name), new PersistentConsumer());
+        } else {
+            // The minute metrics are rolled up in the persistent round of the minute worker, no queue required.
+            this.dataCarrier = null;
         }
-        this.dataCarrier = new DataCarrier<>("MetricsPersistentWorker." + model.getName(), name, 1, bufferSize);
-        this.dataCarrier.consume(ConsumerPoolFactory.INSTANCE.get(name), new PersistentConsumer());
 
         MetricsCreator metricsCreator = moduleDefineHolder.find(TelemetryModule.NAME)
                                                           .provider()
@@ -155,10 +174,23 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> implemen
             "metrics_persistent_cache", "The counter of metrics status, new or cached.",
             new MetricsTag.Keys("status"), new MetricsTag.Values("cached")
         );
+        aggregationLatency = metricsCreator.createHistogramMetric(
+            "metrics_aggregation_latency", "The process latency of a batch of rows in aggregation",
+            new MetricsTag.Keys("level"), new MetricsTag.Values("2")
+        );
         serverStatusService = moduleDefineHolder.find(CoreModule.NAME).provider().getService(ServerStatusService.class);
-        if (model.getDownsampling().equals(DownSampling.Minute)) {
-            serverStatusService.registerWatcher(this);
+        serverStatusService.registerWatcher(this);
+    }
+
+    /**
+     * The minute metrics are merged by their IDs. The hour and day metrics are rolled up from the minute metrics in
+     * place, see {@link RollupBufferedData}.
+     */
+    private static ReadWriteSafeCache<Metrics> newCache(DownSampling downSampling) {
+        if (DownSampling.Minute.equals(downSampling)) {
+            return new ReadWriteSafeCache<>(new MergableBufferedData(), new MergableBufferedData());
         }
+        return new ReadWriteSafeCache<>(new RollupBufferedData(downSampling), new RollupBufferedData(downSampling));
     }
 
     /**
@@ -182,11 +214,17 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> implemen
     }
 
     /**
-     * Accept all metrics data and push them into the queue for serial processing
+     * Accept all metrics data and push them into the queue for serial processing. For the down-sampling worker, the
+     * minute metrics are rolled up into the cache directly, as they are from the persistent round of the minute worker
+     * rather than the receivers.
      */
     @Override
     public void in(Metrics metrics) {
         aggregationCounter.inc();
+        if (dataCarrier == null) {
+            getCache().write(metrics);
+            return;
+        }
         dataCarrier.produce(metrics);
     }
 
@@ -354,6 +392,39 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> implemen
         sessionCache.removeExpired();
     }
 
+    /**
+     * Take away the metrics waiting for the next persistent round. Only for the snapshot at shutdown, when the
+     * persistent rounds have stopped.
+     */
+    List<Metrics> drainBuffered() {
+        return getCache().read();
+    }
+
+    /**
+     * @return the metrics in the session cache, which have the same values as the database.
+     */
+    Collection<Metrics> cachedMetrics() {
+        return sessionCache.values();
+    }
+
+    /**
+     * Put the metrics of the snapshot back, before the first persistent round.
+     *
+     * @param buffered the metrics waiting for the persistent round when the snapshot was taken.
+     * @param cached   the metrics in the session cache when the snapshot was taken.
+     * @return the number of the metrics put into the session cache, the expired ones are dropped.
+     */
+    int restore(List<Metrics> buffered, List<Metrics> cached) {
+        getCache().restore(buffered);
+        int restored = 0;
+        for (final Metrics metrics : cached) {
+            if (sessionCache.restore(metrics)) {
+                restored++;
+            }
+        }
+        return restored;
+    }
+
     /**
      * Check the metrics whether in the cache, and whether the worker should go further to load from database.
      *
@@ -378,15 +449,14 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> implemen
         // When
         // (1) the time bucket of the server's latest stability status is provided
         //     1.1 the OAP has booted successfully
-        //     1.2 the current dimensionality is in minute
-        //     1.3 the OAP cluster is rebalanced due to scaling
+        //     1.2 the OAP cluster is rebalanced due to scaling
         // (2) the metrics are from the time after the timeOfLatestStabilitySts
         // (3) the metrics don't exist in the cache
         // the kernel should NOT try to load it from the database.
         //
         // Notice, about condition (2),
-        // for the specific minute of booted successfully, the metrics are expected to load from database when
-        // it doesn't exist in the cache.
+        // for the specific minute, hour or day of booted successfully, the metrics are expected to load from database
+        // when it doesn't exist in the cache.
         if (timeOfLatestStabilitySts > 0 &&
             metrics.getTimeBucket() > timeOfLatestStabilitySts
             && cached == null) {
@@ -399,14 +469,14 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> implemen
 
     @Override
     public void onServerBooted(final BootingStatus bootingStatus) {
-        timeOfLatestStabilitySts = TimeBucket.getMinuteTimeBucket(
-            bootingStatus.getUptime());
+        timeOfLatestStabilitySts = TimeBucket.getTimeBucket(
+            bootingStatus.getUptime(), model.getDownsampling());
     }
 
     @Override
     public void onClusterRebalanced(final ClusterStatus clusterStatus) {
-        timeOfLatestStabilitySts = TimeBucket.getMinuteTimeBucket(
-            clusterStatus.getRebalancedTime());
+        timeOfLatestStabilitySts = TimeBucket.getTimeBucket(
+            clusterStatus.getRebalancedTime(), model.getDownsampling());
     }
 
     /**
@@ -417,7 +487,9 @@ public class MetricsPersistentWorker extends PersistenceWorker<Metrics> implemen
     private class PersistentConsumer implements IConsumer<Metrics> {
         @Override
         public void consume(List<Metrics> data) {
-            MetricsPersistentWorker.this.onWork(data);
+            try (HistogramMetrics.Timer ignored = aggregationLatency.createTimer()) {
+                MetricsPersistentWorker.this.onWork(data);
+            }
         }
 
         @Override
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.worker;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -67,6 +68,23 @@ public class MetricsSessionCache {
         sessionCache.put(metrics, metrics);
     }
 
+    Collection<Metrics> values() {
+        return sessionCache.values();
+    }
+
+    /**
+     * Put the metrics from the snapshot of the previous run into the cache. The expired metrics are dropped, as the
+     * values in the database could have been changed by other OAP nodes since then.
+     *
+     * @return true if the metrics are put into the cache.
+     */
+    boolean restore(Metrics metrics) {
+        if (metrics.isExpired(System.currentTimeMillis(), timeoutThreshold)) {
+            return false;
+        }
+        return sessionCache.putIfAbsent(metrics, metrics) == null;
+    }
+
     void removeExpired() {
         Iterator<Metrics> iterator = sessionCache.values().iterator();
         long timestamp = System.currentTimeMillis();
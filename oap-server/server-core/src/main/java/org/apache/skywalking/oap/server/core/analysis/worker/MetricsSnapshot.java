@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+
+/**
+ * MetricsSnapshot saves the state of the L2 aggregation into a local file at shutdown, and restores it at the next
+ * booting, so the restarted OAP doesn't need to read all active metrics from the database again before merging. The
+ * state of every {@link MetricsPersistentWorker} includes the metrics waiting for the next persistent round and the
+ * metrics in the {@link MetricsSessionCache}.
+ *
+ * The metrics are encoded in the format of the remote data between the OAP nodes. The snapshot is only restored by the
+ * same OAP version, and it is deleted once read, as the state is changed by the new run anyway.
+ *
+ * @since 10.0.0
+ */
+@Slf4j
+public class MetricsSnapshot {
+    static final String FILE_NAME = "l2-aggregation.snapshot";
+    private static final int MAGIC = 0x534B4C32;
+    private static final int FORMAT_VERSION = 1;
+
+    private final File file;
+    private final String serverVersion;
+
+    /**
+     * @param directory     of the snapshot file.
+     * @param serverVersion the snapshot of the other versions are ignored, as the metrics could be changed.
+     */
+    public MetricsSnapshot(File directory, String serverVersion) {
+        this.file = new File(directory, FILE_NAME);
+        this.serverVersion = serverVersion;
+    }
+
+    /**
+     * Save the state of the workers. The persistent rounds must have been stopped.
+     *
+     * @return the number of the saved metrics, or -1 if failed.
+     */
+    public int save(List<MetricsPersistentWorker> workers) {
+        final long start = System.currentTimeMillis();
+        final File temp = new File(file.getParentFile(), FILE_NAME + ".tmp");
+        int count = 0;
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(serverVersion);
+                out.writeLong(start);
+                out.writeInt(workers.size());
+                for (final MetricsPersistentWorker worker : workers) {
+                    out.writeUTF(key(worker.getModel()));
+
+                    final List<Metrics> buffered = worker.drainBuffered();
+                    out.writeInt(buffered.size());
+                    for (final Metrics metrics : buffered) {
+                        write(out, metrics);
+                    }
+
+                    // Copy the cache first, as the callbacks of the executing batch could still change it.
+                    final List<Metrics> cached = new ArrayList<>(worker.cachedMetrics());
+                    out.writeInt(cached.size());
+                    for (final Metrics metrics : cached) {
+                        out.writeLong(metrics.getLastUpdateTimestamp());
+                        write(out, metrics);
+                    }
+                    count += buffered.size() + cached.size();
+                }
+            }
+            // Never leave a partial snapshot for the next run.
+            Files.move(
+                temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Failed to save the L2 aggregation snapshot into {}", file, e);
+            return -1;
+        }
+        log.info(
+            "Saved {} metrics into the L2 aggregation snapshot {}, took {} ms", count, file,
+            System.currentTimeMillis() - start
+        );
+        return count;
+    }
+
+    /**
+     * Restore the state of the workers, and delete the snapshot. The unknown metrics are ignored. The metrics of the
+     * session cache are dropped if they have expired.
+     *
+     * @return the number of the restored metrics, or -1 if failed.
+     */
+    public int restore(List<MetricsPersistentWorker> workers) {
+        if (!file.exists()) {
+            return 0;
+        }
+        final Map<String, MetricsPersistentWorker> workersByKey = new HashMap<>();
+        for (final MetricsPersistentWorker worker : workers) {
+            workersByKey.put(key(worker.getModel()), worker);
+        }
+
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                log.warn("Ignore the L2 aggregation snapshot {} in unknown format", file);
+                return 0;
+            }
+            final String version = in.readUTF();
+            if (!serverVersion.equals(version)) {
+                log.warn("Ignore the L2 aggregation snapshot {} of the OAP {}", file, version);
+                return 0;
+            }
+            final long savedTime = in.readLong();
+            final int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                final String key = in.readUTF();
+                final MetricsPersistentWorker worker = workersByKey.get(key);
+                final Class<?> metricsClass = worker == null ? null : worker.getModel().getStreamClass();
+
+                final int bufferedSize = in.readInt();
+                final List<Metrics> buffered = new ArrayList<>(worker == null ? 0 : bufferedSize);
+                for (int j = 0; j < bufferedSize; j++) {
+                    final Metrics metrics = read(in, metricsClass);
+                    if (metrics != null) {
+                        buffered.add(metrics);
+                    }
+                }
+
+                final int cachedSize = in.readInt();
+                final List<Metrics> cached = new ArrayList<>(worker == null ? 0 : cachedSize);
+                for (int j = 0; j < cachedSize; j++) {
+                    final long lastUpdateTimestamp = in.readLong();
+                    final Metrics metrics = read(in, metricsClass);
+                    if (metrics != null) {
+                        metrics.setLastUpdateTimestamp(lastUpdateTimestamp);
+                        cached.add(metrics);
+                    }
+                }
+
+                if (worker == null) {
+                    log.debug("Ignore the metrics of {} in the L2 aggregation snapshot, no such worker", key);
+                    continue;
+                }
+                count += buffered.size() + worker.restore(buffered, cached);
+            }
+            log.info(
+                "Restored {} metrics from the L2 aggregation snapshot {} saved {} ms ago", count, file,
+                System.currentTimeMillis() - savedTime
+            );
+        } catch (IOException | ReflectiveOperationException e) {
+            log.error("Failed to restore the L2 aggregation snapshot {}", file, e);
+            return -1;
+        } finally {
+            if (!file.delete()) {
+                log.warn("Failed to delete the L2 aggregation snapshot {}", file);
+            }
+        }
+        return count;
+    }
+
+    private static String key(final Model model) {
+        return model.getName() + "_" + model.getDownsampling().getName();
+    }
+
+    private static void write(final DataOutputStream out, final Metrics metrics) throws IOException {
+        final byte[] bytes = metrics.serialize().build().toByteArray();
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * @return the metrics, or null if the metrics class is unknown.
+     */
+    private static Metrics read(final DataInputStream in,
+                                final Class<?> metricsClass) throws IOException, ReflectiveOperationException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        if (metricsClass == null) {
+            return null;
+        }
+        final Metrics metrics = (Metrics) metricsClass.getDeclaredConstructor().newInstance();
+        metrics.deserialize(RemoteData.parseFrom(bytes));
+        return metrics;
+    }
+}
@@ -40,7 +40,9 @@ import org.apache.skywalking.oap.server.core.storage.model.ModelCreator;
 import org.apache.skywalking.oap.server.core.storage.type.StorageBuilder;
 import org.apache.skywalking.oap.server.core.worker.IWorkerInstanceSetter;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
+import org.apache.skywalking.oap.server.library.util.StringUtil;
 
+import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -77,6 +79,16 @@ public class MetricsStreamProcessor implements StreamProcessor<Metrics> {
     @Setter
     @Getter
     private long l1FlushPeriod = 500;
+    /**
+     * The directory of the L1 aggregation spill files. Empty means the spilling is disabled.
+     */
+    @Setter
+    private String l1AggregationSpillPath = "";
+    /**
+     * The max size of the spill file of every L1 aggregation queue channel. Unit is MB.
+     */
+    @Setter
+    private int l1AggregationSpillSize = 16;
     /**
      * The threshold of session time. Unit is ms. Default value is 70s.
      */
@@ -194,8 +206,13 @@ public class MetricsStreamProcessor implements StreamProcessor<Metrics> {
         workerInstanceSetter.put(remoteReceiverWorkerName, minutePersistentWorker, metricsClass);
 
         MetricsRemoteWorker remoteWorker = new MetricsRemoteWorker(moduleDefineHolder, remoteReceiverWorkerName);
+        // The spill file is memory mapped, which can't be larger than Integer.MAX_VALUE bytes.
+        long spillBytes = Math.min(l1AggregationSpillSize * 1024L * 1024, Integer.MAX_VALUE);
         MetricsAggregateWorker aggregateWorker = new MetricsAggregateWorker(
-            moduleDefineHolder, remoteWorker, stream.getName(), l1FlushPeriod, kind);
+            moduleDefineHolder, remoteWorker, stream.getName(), l1FlushPeriod, kind, metricsClass,
+            StringUtil.isEmpty(l1AggregationSpillPath) ? null : new File(l1AggregationSpillPath),
+            (int) spillBytes
+        );
 
         entryWorkers.put(metricsClass, aggregateWorker);
     }
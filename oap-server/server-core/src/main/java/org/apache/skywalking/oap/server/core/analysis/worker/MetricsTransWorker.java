@@ -41,17 +41,17 @@ public class MetricsTransWorker extends AbstractWorker<Metrics> {
     }
 
     /**
-     * Use the {@link Metrics#toHour()} and {@link Metrics#toDay()}to clone a new metrics instance then process the
-     * downsampling. Then forward the data to different works of different precisions for another round
-     * aggregation/merging.
+     * Forward the minute metrics to the workers of different precisions, which roll them up into the hour and day
+     * metrics in place. The {@link Metrics#toHour()} and {@link Metrics#toDay()} clones are only created for the first
+     * minute metrics of an entity in the hour or day.
      */
     @Override
     public void in(Metrics metrics) {
         if (Objects.nonNull(hourPersistenceWorker)) {
-            hourPersistenceWorker.in(metrics.toHour());
+            hourPersistenceWorker.in(metrics);
         }
         if (Objects.nonNull(dayPersistenceWorker)) {
-            dayPersistenceWorker.in(metrics.toDay());
+            dayPersistenceWorker.in(metrics);
         }
     }
 }
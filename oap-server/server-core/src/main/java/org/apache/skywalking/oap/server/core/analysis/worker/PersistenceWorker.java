@@ -44,6 +44,14 @@ public abstract class PersistenceWorker<INPUT extends StorageData> extends Abstr
         this.cache = cache;
     }
 
+    /**
+     * Build the worker which buffers the input by itself, rather than through a {@link ReadWriteSafeCache}.
+     * The worker should override {@link #onWork(List)} and {@link #buildBatchRequests()}.
+     */
+    PersistenceWorker(ModuleDefineHolder moduleDefineHolder) {
+        this(moduleDefineHolder, null);
+    }
+
     /**
      * Accept the input, and push the data into the cache.
      */
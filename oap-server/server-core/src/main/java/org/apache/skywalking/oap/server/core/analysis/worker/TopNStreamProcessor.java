@@ -56,6 +56,7 @@ public class TopNStreamProcessor implements StreamProcessor<TopN> {
     private Map<Class<? extends Record>, TopNWorker> workers = new HashMap<>();
     @Getter
     private int topNWorkerReportCycle = 10;
+    private int topNWorkerThreads = 2;
     @Setter
     @Getter
     private int topSize = 50;
@@ -71,6 +72,13 @@ public class TopNStreamProcessor implements StreamProcessor<TopN> {
         this.topNWorkerReportCycle = topNWorkerReportCycle;
     }
 
+    public void setTopNWorkerThreads(final int topNWorkerThreads) {
+        if (topNWorkerThreads < 1) {
+            return;
+        }
+        this.topNWorkerThreads = topNWorkerThreads;
+    }
+
     public void create(ModuleDefineHolder moduleDefineHolder,
                        Stream stream,
                        Class<? extends TopN> topNClass) throws StorageException {
@@ -95,7 +103,7 @@ public class TopNStreamProcessor implements StreamProcessor<TopN> {
             topNClass, stream.scopeId(), new Storage(stream.name(), false, DownSampling.Second));
 
         TopNWorker persistentWorker = new TopNWorker(
-            moduleDefineHolder, model, topSize, topNWorkerReportCycle * 60 * 1000L, recordDAO);
+            moduleDefineHolder, model, topSize, topNWorkerReportCycle * 60 * 1000L, recordDAO, topNWorkerThreads);
         persistentWorkers.add(persistentWorker);
         workers.put(topNClass, persistentWorker);
     }
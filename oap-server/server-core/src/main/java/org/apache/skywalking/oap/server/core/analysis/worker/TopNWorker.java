@@ -22,8 +22,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.skywalking.oap.server.core.analysis.data.LimitedSizeBufferedData;
-import org.apache.skywalking.oap.server.core.analysis.data.ReadWriteSafeCache;
+import org.apache.skywalking.oap.server.core.analysis.data.StripedTopNBufferedData;
 import org.apache.skywalking.oap.server.core.analysis.topn.TopN;
 import org.apache.skywalking.oap.server.core.storage.IRecordDAO;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
@@ -34,25 +33,27 @@ import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
 
 /**
  * Top N worker is a persistence worker. Cache and order the data, flush in longer period.
+ *
+ * Every consumer thread writes into its own stripe of the {@link StripedTopNBufferedData}, the stripes are merged when
+ * the batch requests are built.
  */
 @Slf4j
 public class TopNWorker extends PersistenceWorker<TopN> {
     private final IRecordDAO recordDAO;
     private final Model model;
     private final DataCarrier<TopN> dataCarrier;
+    private final StripedTopNBufferedData<TopN> buffer;
     private long reportPeriod;
     private volatile long lastReportTimestamp;
 
     TopNWorker(ModuleDefineHolder moduleDefineHolder, Model model, int topNSize, long reportPeriod,
-               IRecordDAO recordDAO) {
-        super(
-            moduleDefineHolder,
-            new ReadWriteSafeCache<>(new LimitedSizeBufferedData<>(topNSize), new LimitedSizeBufferedData<>(topNSize))
-        );
+               IRecordDAO recordDAO, int workerThreads) {
+        super(moduleDefineHolder);
         this.recordDAO = recordDAO;
         this.model = model;
-        this.dataCarrier = new DataCarrier<>("TopNWorker", 1, 1000);
-        this.dataCarrier.consume(new TopNWorker.TopNConsumer(), 1);
+        this.buffer = new StripedTopNBufferedData<>(topNSize, workerThreads);
+        this.dataCarrier = new DataCarrier<>("TopNWorker", workerThreads, 1000);
+        this.dataCarrier.consume(new TopNWorker.TopNConsumer(), workerThreads);
         this.lastReportTimestamp = System.currentTimeMillis();
         // Top N persistent works per 10 minutes default.
         this.reportPeriod = reportPeriod;
@@ -70,7 +71,7 @@ public class TopNWorker extends PersistenceWorker<TopN> {
         }
         lastReportTimestamp = now;
 
-        final List<TopN> lastCollection = getCache().read();
+        final List<TopN> lastCollection = buffer.read();
 
         List<PrepareRequest> prepareRequests = new ArrayList<>(lastCollection.size());
         lastCollection.forEach(record -> {
@@ -83,6 +84,11 @@ public class TopNWorker extends PersistenceWorker<TopN> {
         return prepareRequests;
     }
 
+    @Override
+    void onWork(List<TopN> input) {
+        buffer.accept(input);
+    }
+
     /**
      * This method used to clear the expired cache, but TopN is not following it.
      */
@@ -30,6 +30,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import org.apache.skywalking.oap.server.ai.pipeline.services.api.HttpUriPattern;
 import org.apache.skywalking.oap.server.ai.pipeline.services.api.HttpUriRecognition;
 import org.apache.skywalking.oap.server.core.config.group.openapi.EndpointGroupingRule4Openapi;
@@ -231,10 +232,12 @@ public class EndpointNameGrouping {
                                              final List<HttpUriPattern> patterns
                                                  = httpUriRecognitionSvr.fetchAllPatterns(service.getName());
                                              if (CollectionUtils.isNotEmpty(patterns)) {
-                                                 patterns.forEach(
-                                                     p -> quickUriGroupingRule.addRule(
-                                                         service.getName(), p.getPattern()));
-
+                                                 quickUriGroupingRule.addRules(
+                                                     service.getName(),
+                                                     patterns.stream()
+                                                             .map(HttpUriPattern::getPattern)
+                                                             .collect(Collectors.toList())
+                                                 );
                                              }
                                          }
                                      );
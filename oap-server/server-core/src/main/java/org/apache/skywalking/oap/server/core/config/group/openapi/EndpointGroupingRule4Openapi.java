@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.oap.server.core.config.group.openapi;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
@@ -25,9 +27,20 @@ import lombok.Getter;
 import org.apache.skywalking.oap.server.library.util.StringFormatGroup;
 
 public class EndpointGroupingRule4Openapi {
+    /**
+     * The max number of formatted endpoint names cached per service. Endpoint names carrying IDs could be unbounded,
+     * the evicted ones are formatted by the compiled rules again.
+     */
+    private static final int FORMAT_CACHE_SIZE_PER_SERVICE = 10_000;
+
     private final Map<String/*serviceName*/, Map<String/*endpointName*/, String/*endpointGroupName*/>> directLookup = new HashMap<>();
     @Getter
     private final Map<String, Map<String, StringFormatGroup>> groupedRules = new HashMap<>();
+    /**
+     * The grouped rules compiled after being sorted, in the same structure of {@link #groupedRules}.
+     */
+    private final Map<String, Map<String, EndpointGroupingRuleTrie4Openapi>> compiledRules = new HashMap<>();
+    private final Map<String/*serviceName*/, Cache<String, StringFormatGroup.FormatResult>> formatCache = new HashMap<>();
 
     void addDirectLookup(String serviceName, String endpointName, String endpointGroupName) {
         Map<String, String> endpointNameLookup = directLookup.computeIfAbsent(serviceName, name -> new HashMap<>());
@@ -47,6 +60,19 @@ public class EndpointGroupingRule4Openapi {
             return new StringFormatGroup.FormatResult(true, endpointName, endpointNameLookup.get(endpointName));
         }
 
+        final Map<String, EndpointGroupingRuleTrie4Openapi> compiled = compiledRules.get(service);
+        if (compiled != null) {
+            final Cache<String, StringFormatGroup.FormatResult> cache = formatCache.get(service);
+            StringFormatGroup.FormatResult formatResult = cache.getIfPresent(endpointName);
+            if (formatResult == null) {
+                final EndpointGroupingRuleTrie4Openapi trie = compiled.get(getGroupedRulesKey(endpointName));
+                formatResult = trie != null ? trie.format(endpointName) :
+                    new StringFormatGroup.FormatResult(false, endpointName, endpointName);
+                cache.put(endpointName, formatResult);
+            }
+            return formatResult;
+        }
+
         Map<String, StringFormatGroup> rules = groupedRules.get(service);
         if (rules != null) {
             final StringFormatGroup stringFormatGroup = rules.get(getGroupedRulesKey(endpointName));
@@ -64,13 +90,24 @@ public class EndpointGroupingRule4Openapi {
         });
     }
 
+    /**
+     * Sort the rules of the service, and compile them for formatting.
+     */
     void sortRulesByService(String serviceName) {
         Map<String, StringFormatGroup> rules = groupedRules.get(serviceName);
         if (rules != null) {
+            final Map<String, EndpointGroupingRuleTrie4Openapi> compiled = new HashMap<>();
             rules.entrySet().forEach(stringFormatGroup -> {
                 stringFormatGroup.getValue()
                                  .sortRules(new EndpointGroupingRule4Openapi.EndpointGroupingRulesComparator());
+                compiled.put(
+                    stringFormatGroup.getKey(),
+                    new EndpointGroupingRuleTrie4Openapi(stringFormatGroup.getValue().getRules())
+                );
             });
+            compiledRules.put(serviceName, compiled);
+            formatCache.put(
+                serviceName, CacheBuilder.newBuilder().maximumSize(FORMAT_CACHE_SIZE_PER_SERVICE).build());
         }
     }
 
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.config.group.openapi;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.oap.server.library.util.StringFormatGroup;
+
+/**
+ * The sorted rules of one grouped rules key, compiled into a trie of path segments. The rules generated from the
+ * OpenAPI definitions are literal segments and {@code ([^/]+)} variables in most cases, so they are matched by walking
+ * the trie rather than trying the regexes one by one. The rules with any other regex syntax are kept as regexes, and
+ * the rule sorted first wins among both, the same as {@link StringFormatGroup#format(String)}.
+ */
+class EndpointGroupingRuleTrie4Openapi {
+    private static final String VAR_SEGMENT = "([^/]+)";
+    /**
+     * Stands for {@link #VAR_SEGMENT} in the compiled segments, as the var itself contains the separator.
+     */
+    private static final String VAR = "\u0000";
+    private static final String REGEX_META_CHARS = "\\.[]{}()*+?^$|";
+
+    private final Node root = new Node();
+    private final List<Rule> regexRules = new ArrayList<>();
+
+    EndpointGroupingRuleTrie4Openapi(List<StringFormatGroup.PatternRule> sortedRules) {
+        for (int order = 0; order < sortedRules.size(); order++) {
+            final StringFormatGroup.PatternRule rule = sortedRules.get(order);
+            final String[] segments = compile(rule.getPattern().pattern());
+            if (segments != null) {
+                root.add(segments, 0, new Rule(order, rule));
+            } else {
+                regexRules.add(new Rule(order, rule));
+            }
+        }
+    }
+
+    StringFormatGroup.FormatResult format(String endpointName) {
+        final Rule matched = root.match(endpointName.split("/", -1), 0, null);
+        for (final Rule rule : regexRules) {
+            if (matched != null && rule.order > matched.order) {
+                break;
+            }
+            if (rule.patternRule.getPattern().matcher(endpointName).matches()) {
+                return new StringFormatGroup.FormatResult(true, endpointName, rule.patternRule.getName());
+            }
+        }
+        if (matched != null) {
+            return new StringFormatGroup.FormatResult(true, endpointName, matched.patternRule.getName());
+        }
+        return new StringFormatGroup.FormatResult(false, endpointName, endpointName);
+    }
+
+    /**
+     * @return the segments of the regex, or NULL if any segment is neither a literal nor a whole var.
+     */
+    private static String[] compile(String regex) {
+        if (regex.contains(VAR)) {
+            return null;
+        }
+        final String[] segments = regex.replace(VAR_SEGMENT, VAR).split("/", -1);
+        for (final String segment : segments) {
+            if (VAR.equals(segment)) {
+                continue;
+            }
+            for (int i = 0; i < segment.length(); i++) {
+                final char c = segment.charAt(i);
+                if (c == VAR.charAt(0) || REGEX_META_CHARS.indexOf(c) >= 0) {
+                    return null;
+                }
+            }
+        }
+        return segments;
+    }
+
+    private static class Rule {
+        private final int order;
+        private final StringFormatGroup.PatternRule patternRule;
+
+        private Rule(int order, StringFormatGroup.PatternRule patternRule) {
+            this.order = order;
+            this.patternRule = patternRule;
+        }
+    }
+
+    private static class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node var;
+        /**
+         * The first sorted rule ending at this node.
+         */
+        private Rule rule;
+
+        private void add(String[] segments, int index, Rule newRule) {
+            if (index == segments.length) {
+                if (rule == null) {
+                    rule = newRule;
+                }
+                return;
+            }
+            final Node child;
+            if (VAR.equals(segments[index])) {
+                if (var == null) {
+                    var = new Node();
+                }
+                child = var;
+            } else {
+                child = literals.computeIfAbsent(segments[index], segment -> new Node());
+            }
+            child.add(segments, index + 1, newRule);
+        }
+
+        /**
+         * @return the first sorted rule matching the segments from the index, or the given best one if it is sorted
+         * before any of them.
+         */
+        private Rule match(String[] segments, int index, Rule best) {
+            if (index == segments.length) {
+                return rule != null && (best == null || rule.order < best.order) ? rule : best;
+            }
+            final String segment = segments[index];
+            final Node literal = literals.get(segment);
+            if (literal != null) {
+                best = literal.match(segments, index + 1, best);
+            }
+            if (var != null && !segment.isEmpty()) {
+                best = var.match(segments, index + 1, best);
+            }
+            return best;
+        }
+    }
+}
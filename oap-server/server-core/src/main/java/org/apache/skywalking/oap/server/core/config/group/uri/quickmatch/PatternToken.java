@@ -44,4 +44,16 @@ public interface PatternToken {
         children().add(token);
         return token;
     }
+
+    /**
+     * @return the first child, in the order of being added, matching the slice of URI, or NULL if none.
+     */
+    default PatternToken findMatch(final String slice) {
+        for (final PatternToken child : children()) {
+            if (child.isMatch(slice)) {
+                return child;
+            }
+        }
+        return null;
+    }
 }
@@ -27,10 +27,10 @@ import org.apache.skywalking.oap.server.library.util.StringFormatGroup;
 @EqualsAndHashCode
 @ToString
 public class PatternTree {
-    private final List<PatternToken> roots;
+    private final TokenChildren roots;
 
     public PatternTree() {
-        roots = new ArrayList<>();
+        roots = new TokenChildren();
     }
 
     /**
@@ -42,17 +42,10 @@ public class PatternTree {
     public void addPattern(String pattern) {
         final List<String> tokens = splitByCharacter(pattern);
 
-        PatternToken current = null;
-        for (final PatternToken patternToken : roots) {
-            if (patternToken.isMatch(tokens.get(0))) {
-                current = patternToken;
-                break;
-            }
-        }
+        PatternToken current = roots.findMatch(tokens.get(0));
 
         if (current == null) {
-            current = new StringToken(tokens.get(0));
-            roots.add(current);
+            current = roots.add(new StringToken(tokens.get(0)));
         }
 
         if (tokens.size() == 1) {
@@ -110,21 +103,12 @@ public class PatternTree {
             // trailing slashes, if ever encountered will be kept as is
             return new StringFormatGroup.FormatResult(true, uri, uri);
         }
-        List<PatternToken> current = roots;
-        PatternToken matchedToken = null;
-        for (final String slice : slices) {
-            boolean matched = false;
-            for (final PatternToken patternToken : current) {
-                if (patternToken.isMatch(slice)) {
-                    matchedToken = patternToken;
-                    matched = true;
-                    break;
-                }
-            }
-            if (!matched) {
-                return new StringFormatGroup.FormatResult(false, uri, uri);
-            }
-            current = matchedToken.children();
+        PatternToken matchedToken = slices.isEmpty() ? null : roots.findMatch(slices.get(0));
+        for (int i = 1; i < slices.size() && matchedToken != null; i++) {
+            matchedToken = matchedToken.findMatch(slices.get(i));
+        }
+        if (matchedToken == null) {
+            return new StringFormatGroup.FormatResult(false, uri, uri);
         }
         if (matchedToken.isLeaf()) {
             return new StringFormatGroup.FormatResult(true, uri, matchedToken.expression());
@@ -137,7 +121,7 @@ public class PatternTree {
     // Utility method to visualize the full tree for debugging purposes
     public String printTree() {
         StringBuilder sb = new StringBuilder();
-        for (PatternToken root : roots) {
+        for (PatternToken root : roots.asList()) {
             sb.append(printNode(root, 0));
         }
         return sb.toString();
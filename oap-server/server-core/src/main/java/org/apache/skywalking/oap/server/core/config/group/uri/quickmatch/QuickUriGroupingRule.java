@@ -18,16 +18,59 @@
 
 package org.apache.skywalking.oap.server.core.config.group.uri.quickmatch;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.skywalking.oap.server.library.util.StringFormatGroup;
 
 public class QuickUriGroupingRule {
-    private Map<String, PatternTree> rules = new HashMap<>();
+    private final Map<String, PatternTree> rules = new ConcurrentHashMap<>();
+    /**
+     * The patterns of the grouping rule file per service, kept when the synced patterns are replaced.
+     */
+    private final Map<String, Set<String>> staticPatterns = new ConcurrentHashMap<>();
+    /**
+     * The last patterns synced from the recognition server per service, to skip the rebuild when nothing changed.
+     */
+    private final Map<String, Set<String>> syncedPatterns = new ConcurrentHashMap<>();
 
+    /**
+     * Add the pattern to the tree of the service in place. This should only be used before the rule is shared with
+     * the formatting threads, use {@link #addRules(String, List)} after that.
+     */
     public void addRule(String serviceName, String pattern) {
         final PatternTree patternTree = rules.computeIfAbsent(serviceName, name -> new PatternTree());
         patternTree.addPattern(pattern);
+        staticPatterns.computeIfAbsent(serviceName, name -> new LinkedHashSet<>()).add(pattern);
+    }
+
+    /**
+     * Replace the synced patterns of the service with the given full list. A new tree is built with the static and
+     * the synced patterns and swapped in, so the concurrent formatting never reads a tree being modified.
+     */
+    public void addRules(String serviceName, List<String> allSyncedPatterns) {
+        final Set<String> synced = new LinkedHashSet<>(allSyncedPatterns);
+        if (synced.equals(syncedPatterns.get(serviceName))) {
+            return;
+        }
+        final PatternTree patternTree = new PatternTree();
+        allPatterns(serviceName, synced).forEach(patternTree::addPattern);
+        syncedPatterns.put(serviceName, synced);
+        rules.put(serviceName, patternTree);
+    }
+
+    int patternCount(String serviceName) {
+        return allPatterns(serviceName, syncedPatterns.getOrDefault(serviceName, Collections.emptySet())).size();
+    }
+
+    private Set<String> allPatterns(String serviceName, Set<String> synced) {
+        final Set<String> allPatterns = new LinkedHashSet<>(
+            staticPatterns.getOrDefault(serviceName, Collections.emptySet()));
+        allPatterns.addAll(synced);
+        return allPatterns;
     }
 
     public StringFormatGroup.FormatResult format(String service, String endpointName) {
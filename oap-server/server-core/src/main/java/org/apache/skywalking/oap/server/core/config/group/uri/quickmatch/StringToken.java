@@ -18,21 +18,22 @@
 
 package org.apache.skywalking.oap.server.core.config.group.uri.quickmatch;
 
-import java.util.ArrayList;
 import java.util.List;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.Setter;
 
 @EqualsAndHashCode(of = "value")
 public class StringToken implements PatternToken {
+    @Getter
     private final String value;
-    private final List<PatternToken> children;
+    private final TokenChildren children;
     @Setter
     private String expression;
 
     public StringToken(final String value) {
         this.value = value;
-        children = new ArrayList<>();
+        children = new TokenChildren();
     }
 
     @Override
@@ -52,7 +53,22 @@ public class StringToken implements PatternToken {
 
     @Override
     public List<PatternToken> children() {
-        return children;
+        return children.asList();
+    }
+
+    @Override
+    public PatternToken find(final PatternToken token) {
+        return children.find(token);
+    }
+
+    @Override
+    public PatternToken add(final PatternToken token) {
+        return children.add(token);
+    }
+
+    @Override
+    public PatternToken findMatch(final String slice) {
+        return children.findMatch(slice);
     }
 
     @Override
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.config.group.uri.quickmatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Children of a {@link PatternToken}, kept in the order of being added and indexed by the literal value, so a slice of
+ * URI is matched by one lookup instead of scanning all siblings. As there is at most one {@link VarToken} among the
+ * children, the first matched child is either the literal one or the var one, whichever was added first.
+ */
+@EqualsAndHashCode(of = "tokens")
+@ToString(of = "tokens")
+class TokenChildren {
+    private final List<PatternToken> tokens = new ArrayList<>();
+    private final Map<String, Integer> literalIndex = new HashMap<>();
+    private int varIndex = -1;
+
+    PatternToken find(final PatternToken token) {
+        if (token instanceof VarToken) {
+            return varIndex < 0 ? null : tokens.get(varIndex);
+        }
+        final Integer index = literalIndex.get(((StringToken) token).getValue());
+        return index == null ? null : tokens.get(index);
+    }
+
+    PatternToken add(final PatternToken token) {
+        final int index = tokens.size();
+        tokens.add(token);
+        if (token instanceof VarToken) {
+            if (varIndex < 0) {
+                varIndex = index;
+            }
+        } else {
+            literalIndex.putIfAbsent(((StringToken) token).getValue(), index);
+        }
+        return token;
+    }
+
+    /**
+     * @return the first added child matching the slice, or NULL if none.
+     */
+    PatternToken findMatch(final String slice) {
+        final Integer literal = literalIndex.get(slice);
+        if (literal == null) {
+            return varIndex < 0 ? null : tokens.get(varIndex);
+        }
+        if (varIndex >= 0 && varIndex < literal) {
+            return tokens.get(varIndex);
+        }
+        return tokens.get(literal);
+    }
+
+    List<PatternToken> asList() {
+        return Collections.unmodifiableList(tokens);
+    }
+}
@@ -18,7 +18,6 @@
 
 package org.apache.skywalking.oap.server.core.config.group.uri.quickmatch;
 
-import java.util.ArrayList;
 import java.util.List;
 import lombok.EqualsAndHashCode;
 import lombok.Setter;
@@ -26,7 +25,7 @@ import lombok.Setter;
 @EqualsAndHashCode(of = "")
 public class VarToken implements PatternToken {
     public static final String VAR_TOKEN = "{var}";
-    private List<PatternToken> children = new ArrayList<>();
+    private final TokenChildren children = new TokenChildren();
     @Setter
     private String expression;
 
@@ -50,7 +49,22 @@ public class VarToken implements PatternToken {
 
     @Override
     public List<PatternToken> children() {
-        return children;
+        return children.asList();
+    }
+
+    @Override
+    public PatternToken find(final PatternToken token) {
+        return children.find(token);
+    }
+
+    @Override
+    public PatternToken add(final PatternToken token) {
+        return children.add(token);
+    }
+
+    @Override
+    public PatternToken findMatch(final String slice) {
+        return children.findMatch(slice);
     }
 
     @Override
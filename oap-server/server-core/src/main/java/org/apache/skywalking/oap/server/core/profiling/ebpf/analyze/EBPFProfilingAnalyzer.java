@@ -21,7 +21,8 @@ package org.apache.skywalking.oap.server.core.profiling.ebpf.analyze;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingDataRecord;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingStackRecord;
 import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzation;
 import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzeAggregateType;
 import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzeTimeRange;
@@ -35,8 +36,12 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -51,6 +56,7 @@ public class EBPFProfilingAnalyzer {
 
     private static final EBPFProfilingAnalyzeCollector ANALYZE_COLLECTOR = new EBPFProfilingAnalyzeCollector();
     private static final Long FETCH_DATA_DURATION = TimeUnit.SECONDS.toMillis(10);
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
 
     private final ModuleManager moduleManager;
     protected IEBPFProfilingDataDAO dataDAO;
@@ -73,15 +79,35 @@ public class EBPFProfilingAnalyzer {
 
         // query data
         long queryDataMaxTimestamp = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(maxQueryTimeoutInSecond);
-        final Stream<EBPFProfilingStack> stackStream = buildTimeRanges(ranges).parallelStream().map(r -> {
-            try {
-                return fetchDataThreadPool.submit(() -> getDataDAO().queryData(scheduleIdList, r.getMinTime(), r.getMaxTime()))
-                        .get(queryDataMaxTimestamp - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
-            } catch (Exception e) {
-                log.warn(e.getMessage(), e);
-                return Collections.<EBPFProfilingDataRecord>emptyList();
+        final List<TimeRange> rawRanges = new ArrayList<>();
+
+        // the minute folded stacks, fallback to the raw data per minute which has not been folded
+        final List<EBPFProfilingStack> foldedStacks = new ArrayList<>();
+        for (TimeRange r : buildMinuteRanges(ranges)) {
+            final List<EBPFProfilingStackRecord> records = queryWithTimeout(queryDataMaxTimestamp, () -> getDataDAO().queryStacks(
+                scheduleIdList,
+                TimeBucket.getMinuteTimeBucket(r.getMinTime()),
+                TimeBucket.getMinuteTimeBucket(r.getMaxTime() - 1)
+            ));
+            final Set<Long> foldedMinutes = new HashSet<>();
+            for (EBPFProfilingStackRecord record : records) {
+                foldedMinutes.add(record.getTimeBucket());
+                try {
+                    foldedStacks.add(EBPFProfilingStack.deserialize(record, aggregateType));
+                } catch (Exception ex) {
+                    log.warn("could not deserialize the stack", ex);
+                }
+            }
+            for (long minute = r.getMinTime(); minute < r.getMaxTime(); minute += MINUTE) {
+                if (!foldedMinutes.contains(TimeBucket.getMinuteTimeBucket(minute))) {
+                    splitTimeRanges(minute, minute + MINUTE, rawRanges);
+                }
             }
-        }).flatMap(Collection::stream).map(e -> {
+        }
+
+        final Stream<EBPFProfilingStack> rawStream = rawRanges.parallelStream().map(
+            r -> queryWithTimeout(queryDataMaxTimestamp, () -> getDataDAO().queryData(scheduleIdList, r.getMinTime(), r.getMaxTime()))
+        ).flatMap(Collection::stream).map(e -> {
             try {
                 return EBPFProfilingStack.deserialize(e, aggregateType);
             } catch (Exception ex) {
@@ -89,6 +115,7 @@ public class EBPFProfilingAnalyzer {
                 return null;
             }
         }).filter(Objects::nonNull).distinct();
+        final Stream<EBPFProfilingStack> stackStream = Stream.concat(foldedStacks.stream(), rawStream);
 
         // analyze tree
         generateTrees(analyzation, stackStream);
@@ -107,34 +134,61 @@ public class EBPFProfilingAnalyzer {
         analyzation.getTrees().addAll(stackTrees);
     }
 
-    protected List<TimeRange> buildTimeRanges(List<EBPFProfilingAnalyzeTimeRange> timeRanges) {
-        return timeRanges.parallelStream()
-                .map(r -> buildTimeRanges(r.getStart(), r.getEnd()))
-                .filter(Objects::nonNull)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+    private <T> List<T> queryWithTimeout(long queryDataMaxTimestamp, Callable<List<T>> query) {
+        try {
+            return fetchDataThreadPool.submit(query).get(queryDataMaxTimestamp - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn(e.getMessage(), e);
+            return Collections.emptyList();
+        }
     }
 
     /**
-     * Split time ranges to insure the start time and end time is small then {@link #FETCH_DATA_DURATION}
+     * Widen the time ranges to the whole minutes, as the stacks are folded per minute, and merge the overlapped or
+     * adjacent minutes, so every minute is read once.
      */
-    protected List<TimeRange> buildTimeRanges(long start, long end) {
-        if (start >= end) {
-            return null;
+    private List<TimeRange> buildMinuteRanges(List<EBPFProfilingAnalyzeTimeRange> timeRanges) {
+        final TreeSet<Long> minutes = new TreeSet<>();
+        for (EBPFProfilingAnalyzeTimeRange range : timeRanges) {
+            if (range.getStart() >= range.getEnd()) {
+                continue;
+            }
+            // include latest millisecond
+            for (long minute = floorMinute(range.getStart()); minute <= range.getEnd(); minute += MINUTE) {
+                minutes.add(minute);
+            }
         }
+        final List<TimeRange> minuteRanges = new ArrayList<>();
+        long start = -1;
+        long end = -1;
+        for (long minute : minutes) {
+            if (minute != end) {
+                if (start < end) {
+                    minuteRanges.add(new TimeRange(start, end));
+                }
+                start = minute;
+            }
+            end = minute + MINUTE;
+        }
+        if (start < end) {
+            minuteRanges.add(new TimeRange(start, end));
+        }
+        return minuteRanges;
+    }
 
-        // include latest millisecond
-        end += 1;
+    private static long floorMinute(long timestamp) {
+        return timestamp - Math.floorMod(timestamp, MINUTE);
+    }
 
-        final List<TimeRange> timeRanges = new ArrayList<>();
-        do {
+    /**
+     * Split the [start, end) to insure each range is small then {@link #FETCH_DATA_DURATION}
+     */
+    private void splitTimeRanges(long start, long end, List<TimeRange> timeRanges) {
+        while (start < end) {
             long batchEnd = Math.min(start + FETCH_DATA_DURATION, end);
             timeRanges.add(new TimeRange(start, batchEnd));
             start = batchEnd;
         }
-        while (start < end);
-
-        return timeRanges;
     }
 
     protected IEBPFProfilingDataDAO getDataDAO() {
@@ -24,7 +24,9 @@ import lombok.EqualsAndHashCode;
 import org.apache.skywalking.apm.network.ebpf.profiling.v3.EBPFOffCPUProfiling;
 import org.apache.skywalking.apm.network.ebpf.profiling.v3.EBPFOnCPUProfiling;
 import org.apache.skywalking.apm.network.ebpf.profiling.v3.EBPFProfilingStackMetadata;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
 import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingDataRecord;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingStackRecord;
 import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingStackType;
 import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingTargetType;
 import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzeAggregateType;
@@ -33,7 +35,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 /**
- * Transform the {@link EBPFProfilingDataRecord} as runtime data
+ * Transform the {@link EBPFProfilingDataRecord} or the minute folded {@link EBPFProfilingStackRecord} as runtime data
  */
 @Data
 public class EBPFProfilingStack {
@@ -50,6 +52,34 @@ public class EBPFProfilingStack {
         return stack;
     }
 
+    /**
+     * The symbols are read from the first dumped binary of the stack in the minute,
+     * the counts are the sum of the whole minute.
+     */
+    public static EBPFProfilingStack deserialize(EBPFProfilingStackRecord record,
+                                                 EBPFProfilingAnalyzeAggregateType aggregateType) throws Exception {
+        final EBPFProfilingStack stack = new EBPFProfilingStack();
+        final EBPFProfilingTargetType targetType = EBPFProfilingTargetType.valueOf(record.getTargetType());
+        switch (targetType) {
+            case ON_CPU:
+                stack.setSymbols(parseSymbols(EBPFOnCPUProfiling.parseFrom(record.getDataBinary()).getStacksList()));
+                stack.setDumpCount(record.getDumpCount());
+                break;
+            case OFF_CPU:
+                stack.setSymbols(parseSymbols(EBPFOffCPUProfiling.parseFrom(record.getDataBinary()).getStacksList()));
+                if (aggregateType == EBPFProfilingAnalyzeAggregateType.DURATION) {
+                    stack.setDumpCount(record.getDuration());
+                } else {
+                    stack.setDumpCount(record.getDumpCount());
+                }
+                break;
+            default:
+                throw new Exception("unknown target type: " + targetType);
+        }
+        stack.setUploadTime(TimeBucket.getTimestamp(record.getTimeBucket()));
+        return stack;
+    }
+
     @Data
     @AllArgsConstructor
     @EqualsAndHashCode
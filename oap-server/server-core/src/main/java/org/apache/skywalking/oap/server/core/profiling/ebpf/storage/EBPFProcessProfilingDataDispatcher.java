@@ -20,20 +20,21 @@ package org.apache.skywalking.oap.server.core.profiling.ebpf.storage;
 
 import org.apache.skywalking.oap.server.core.analysis.SourceDispatcher;
 import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
-import org.apache.skywalking.oap.server.core.analysis.worker.RecordStreamProcessor;
+import org.apache.skywalking.oap.server.core.analysis.worker.MetricsStreamProcessor;
 import org.apache.skywalking.oap.server.core.source.EBPFProfilingData;
 
 public class EBPFProcessProfilingDataDispatcher implements SourceDispatcher<EBPFProfilingData> {
     @Override
     public void dispatch(EBPFProfilingData source) {
-        final EBPFProfilingDataRecord record = new EBPFProfilingDataRecord();
-        record.setScheduleId(source.getScheduleId());
-        record.setTaskId(source.getTaskId());
-        record.setStackIdList(source.getStackIdList());
-        record.setTargetType(source.getTargetType().value());
-        record.setDataBinary(source.getDataBinary());
-        record.setUploadTime(source.getUploadTime());
-        record.setTimeBucket(TimeBucket.getRecordTimeBucket(source.getUploadTime()));
-        RecordStreamProcessor.getInstance().in(record);
+        final EBPFProfilingStackRecord stack = new EBPFProfilingStackRecord();
+        stack.setScheduleId(source.getScheduleId());
+        stack.setTaskId(source.getTaskId());
+        stack.setStackIdList(source.getStackIdList());
+        stack.setTargetType(source.getTargetType().value());
+        stack.setDataBinary(source.getDataBinary());
+        stack.setDumpCount(source.getDumpCount());
+        stack.setDuration(source.getDuration());
+        stack.setTimeBucket(TimeBucket.getMinuteTimeBucket(source.getUploadTime()));
+        MetricsStreamProcessor.getInstance().in(stack);
     }
 }
\ No newline at end of file
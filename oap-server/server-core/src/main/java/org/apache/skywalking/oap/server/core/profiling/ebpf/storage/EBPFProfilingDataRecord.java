@@ -34,7 +34,8 @@ import org.apache.skywalking.oap.server.core.storage.type.StorageBuilder;
 import static org.apache.skywalking.oap.server.core.source.DefaultScopeDefine.EBPF_PROFILING_DATA;
 
 /**
- * eBPF profiling reported data from the eBPF agent side
+ * eBPF profiling reported data from the eBPF agent side. It is no longer written, as the data is folded into
+ * {@link EBPFProfilingStackRecord}s, and only read for the minutes uploaded before the folding.
  */
 @Data
 @Stream(name = EBPFProfilingDataRecord.INDEX_NAME, scopeId = EBPF_PROFILING_DATA,
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.profiling.ebpf.storage;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+import java.util.Base64;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.core.analysis.MetricsExtension;
+import org.apache.skywalking.oap.server.core.analysis.Stream;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.analysis.worker.MetricsStreamProcessor;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.apache.skywalking.oap.server.core.storage.StorageID;
+import org.apache.skywalking.oap.server.core.storage.annotation.BanyanDB;
+import org.apache.skywalking.oap.server.core.storage.annotation.Column;
+import org.apache.skywalking.oap.server.core.storage.type.Convert2Entity;
+import org.apache.skywalking.oap.server.core.storage.type.Convert2Storage;
+import org.apache.skywalking.oap.server.core.storage.type.StorageBuilder;
+
+import static org.apache.skywalking.oap.server.core.source.DefaultScopeDefine.EBPF_PROFILING_DATA;
+
+/**
+ * The uploads of the same stack in one minute, folded at the ingestion. The stack symbols are kept once, and the counts
+ * of all the uploads are summed, so the analysis reads one row per stack and minute rather than all the uploads.
+ * The uploads are no longer persisted as {@link EBPFProfilingDataRecord}s.
+ */
+@Setter
+@Getter
+@Stream(name = EBPFProfilingStackRecord.INDEX_NAME, scopeId = EBPF_PROFILING_DATA,
+    builder = EBPFProfilingStackRecord.Builder.class, processor = MetricsStreamProcessor.class)
+@MetricsExtension(supportDownSampling = false, supportUpdate = true)
+@EqualsAndHashCode(of = {
+    "scheduleId",
+    "stackIdList"
+}, callSuper = true)
+public class EBPFProfilingStackRecord extends Metrics {
+
+    public static final String INDEX_NAME = "ebpf_profiling_stack";
+    public static final String SCHEDULE_ID = "schedule_id";
+    public static final String TASK_ID = "task_id";
+    public static final String STACK_ID_LIST = "stack_id";
+    public static final String TARGET_TYPE = "target_type";
+    public static final String DATA_BINARY = "dump_binary";
+    public static final String DUMP_COUNT = "dump_count";
+    public static final String DURATION = "duration";
+
+    @Column(name = SCHEDULE_ID)
+    @BanyanDB.SeriesID(index = 0)
+    private String scheduleId;
+    @Column(name = STACK_ID_LIST)
+    @BanyanDB.SeriesID(index = 1)
+    private String stackIdList;
+    @Column(name = TASK_ID)
+    private String taskId;
+    @Column(name = TARGET_TYPE)
+    private int targetType;
+    /**
+     * The stacks of the first upload in the minute, the counts in it are not summed.
+     */
+    @Column(name = DATA_BINARY, storageOnly = true)
+    private byte[] dataBinary;
+    /**
+     * The sum of the dump count of {@link EBPFProfilingTargetType#ON_CPU}, or the switch count of
+     * {@link EBPFProfilingTargetType#OFF_CPU}.
+     */
+    @Column(name = DUMP_COUNT, storageOnly = true)
+    private long dumpCount;
+    /**
+     * The sum of the duration of {@link EBPFProfilingTargetType#OFF_CPU}.
+     */
+    @Column(name = DURATION, storageOnly = true)
+    private long duration;
+
+    @Override
+    public boolean combine(Metrics metrics) {
+        final EBPFProfilingStackRecord stack = (EBPFProfilingStackRecord) metrics;
+        this.dumpCount += stack.getDumpCount();
+        this.duration += stack.getDuration();
+        return true;
+    }
+
+    @Override
+    public void calculate() {
+    }
+
+    @Override
+    public Metrics toHour() {
+        return null;
+    }
+
+    @Override
+    public Metrics toDay() {
+        return null;
+    }
+
+    @Override
+    protected StorageID id0() {
+        return new StorageID()
+            .append(TIME_BUCKET, getTimeBucket())
+            .appendMutant(
+                new String[] {
+                    SCHEDULE_ID,
+                    STACK_ID_LIST
+                },
+                Hashing.sha256().newHasher()
+                       .putString(scheduleId, Charsets.UTF_8)
+                       .putString(stackIdList, Charsets.UTF_8)
+                       .hash().toString()
+            );
+    }
+
+    @Override
+    public void deserialize(RemoteData remoteData) {
+        setScheduleId(remoteData.getDataStrings(0));
+        setStackIdList(remoteData.getDataStrings(1));
+        setTaskId(remoteData.getDataStrings(2));
+        setDataBinary(Base64.getDecoder().decode(remoteData.getDataStrings(3)));
+        setDumpCount(remoteData.getDataLongs(0));
+        setDuration(remoteData.getDataLongs(1));
+        setTimeBucket(remoteData.getDataLongs(2));
+        setTargetType(remoteData.getDataIntegers(0));
+    }
+
+    @Override
+    public RemoteData.Builder serialize() {
+        final RemoteData.Builder builder = RemoteData.newBuilder();
+        builder.addDataStrings(scheduleId);
+        builder.addDataStrings(stackIdList);
+        builder.addDataStrings(taskId);
+        builder.addDataStrings(Base64.getEncoder().encodeToString(dataBinary));
+        builder.addDataLongs(dumpCount);
+        builder.addDataLongs(duration);
+        builder.addDataLongs(getTimeBucket());
+        builder.addDataIntegers(targetType);
+        return builder;
+    }
+
+    @Override
+    public int remoteHashCode() {
+        int n = 17;
+        n = 31 * n + this.scheduleId.hashCode();
+        n = 31 * n + this.stackIdList.hashCode();
+        return n;
+    }
+
+    public static class Builder implements StorageBuilder<EBPFProfilingStackRecord> {
+
+        @Override
+        public EBPFProfilingStackRecord storage2Entity(final Convert2Entity converter) {
+            final EBPFProfilingStackRecord stack = new EBPFProfilingStackRecord();
+            stack.setScheduleId((String) converter.get(SCHEDULE_ID));
+            stack.setStackIdList((String) converter.get(STACK_ID_LIST));
+            stack.setTaskId((String) converter.get(TASK_ID));
+            stack.setTargetType(((Number) converter.get(TARGET_TYPE)).intValue());
+            stack.setDataBinary(converter.getBytes(DATA_BINARY));
+            stack.setDumpCount(((Number) converter.get(DUMP_COUNT)).longValue());
+            stack.setDuration(((Number) converter.get(DURATION)).longValue());
+            stack.setTimeBucket(((Number) converter.get(TIME_BUCKET)).longValue());
+            return stack;
+        }
+
+        @Override
+        public void entity2Storage(final EBPFProfilingStackRecord storageData, final Convert2Storage converter) {
+            converter.accept(SCHEDULE_ID, storageData.getScheduleId());
+            converter.accept(STACK_ID_LIST, storageData.getStackIdList());
+            converter.accept(TASK_ID, storageData.getTaskId());
+            converter.accept(TARGET_TYPE, storageData.getTargetType());
+            converter.accept(DATA_BINARY, storageData.getDataBinary());
+            converter.accept(DUMP_COUNT, storageData.getDumpCount());
+            converter.accept(DURATION, storageData.getDuration());
+            converter.accept(TIME_BUCKET, storageData.getTimeBucket());
+        }
+    }
+}
@@ -18,18 +18,20 @@
 
 package org.apache.skywalking.oap.server.core.profiling.trace.analyze;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.skywalking.oap.server.core.profiling.trace.ProfileThreadSnapshotRecord;
 import org.apache.skywalking.oap.server.core.query.input.SegmentProfileAnalyzeQuery;
 import org.apache.skywalking.oap.server.core.query.type.ProfileAnalyzation;
+import org.apache.skywalking.oap.server.core.query.type.ProfileStackElement;
 import org.apache.skywalking.oap.server.core.query.type.ProfileStackTree;
 import org.apache.skywalking.oap.server.core.storage.StorageModule;
 import org.apache.skywalking.oap.server.core.storage.profiling.trace.IProfileThreadSnapshotQueryDAO;
@@ -47,7 +49,12 @@ public class ProfileAnalyzer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProfileAnalyzer.class);
 
-    private static final ProfileAnalyzeCollector ANALYZE_COLLECTOR = new ProfileAnalyzeCollector();
+    private static final int ANALYZATION_CACHE_SIZE = 1000;
+    private static final long ANALYZATION_CACHE_EXPIRE_MINUTES = 10;
+    /**
+     * The snapshots are reported asynchronously, only the time ranges ended before this delay are cached.
+     */
+    private static final long ANALYZATION_CACHE_DELAY = TimeUnit.MINUTES.toMillis(1);
 
     private final int threadSnapshotAnalyzeBatchSize;
     private final int analyzeSnapshotMaxSize;
@@ -55,6 +62,11 @@ public class ProfileAnalyzer {
     private final ModuleManager moduleManager;
     protected IProfileThreadSnapshotQueryDAO profileThreadSnapshotQueryDAO;
 
+    private final Cache<String, ProfileAnalyzation> analyzationCache = CacheBuilder.newBuilder()
+        .maximumSize(ANALYZATION_CACHE_SIZE)
+        .expireAfterWrite(ANALYZATION_CACHE_EXPIRE_MINUTES, TimeUnit.MINUTES)
+        .build();
+
     public ProfileAnalyzer(ModuleManager moduleManager, int snapshotAnalyzeBatchSize, int analyzeSnapshotMaxSize) {
         this.moduleManager = moduleManager;
         this.threadSnapshotAnalyzeBatchSize = snapshotAnalyzeBatchSize;
@@ -65,6 +77,14 @@ public class ProfileAnalyzer {
      * search snapshots and analyze
      */
     public ProfileAnalyzation analyze(final List<SegmentProfileAnalyzeQuery> queries) throws IOException {
+        final String cacheKey = buildCacheKey(queries);
+        if (cacheKey != null) {
+            final ProfileAnalyzation cached = analyzationCache.getIfPresent(cacheKey);
+            if (cached != null) {
+                return copy(cached);
+            }
+        }
+
         ProfileAnalyzation analyzation = new ProfileAnalyzation();
 
         // query sequence range list
@@ -93,9 +113,52 @@ public class ProfileAnalyzer {
             analyzation.getTrees().addAll(trees);
         }
 
+        if (cacheKey != null) {
+            analyzationCache.put(cacheKey, copy(analyzation));
+        }
         return analyzation;
     }
 
+    /**
+     * The analyzation is mutable, the cached one is copied in and out to never be shared with the callers.
+     */
+    private static ProfileAnalyzation copy(final ProfileAnalyzation analyzation) {
+        final ProfileAnalyzation copied = new ProfileAnalyzation();
+        copied.setTip(analyzation.getTip());
+        for (ProfileStackTree tree : analyzation.getTrees()) {
+            final ProfileStackTree copiedTree = new ProfileStackTree();
+            for (ProfileStackElement element : tree.getElements()) {
+                final ProfileStackElement copiedElement = new ProfileStackElement();
+                copiedElement.setId(element.getId());
+                copiedElement.setParentId(element.getParentId());
+                copiedElement.setCodeSignature(element.getCodeSignature());
+                copiedElement.setDuration(element.getDuration());
+                copiedElement.setDurationChildExcluded(element.getDurationChildExcluded());
+                copiedElement.setCount(element.getCount());
+                copiedTree.getElements().add(copiedElement);
+            }
+            copied.getTrees().add(copiedTree);
+        }
+        return copied;
+    }
+
+    /**
+     * Build the cache key by the segments and time ranges, return null if the result should not be cached.
+     */
+    private String buildCacheKey(final List<SegmentProfileAnalyzeQuery> queries) {
+        final long cacheableEndTime = System.currentTimeMillis() - ANALYZATION_CACHE_DELAY;
+        final StringBuilder key = new StringBuilder();
+        for (SegmentProfileAnalyzeQuery query : queries) {
+            if (query.getTimeRange().getEnd() > cacheableEndTime) {
+                return null;
+            }
+            key.append(query.getSegmentId()).append(':')
+               .append(query.getTimeRange().getStart()).append('-')
+               .append(query.getTimeRange().getEnd()).append(',');
+        }
+        return key.toString();
+    }
+
     protected SequenceSearch getAllSequenceRange(final List<SegmentProfileAnalyzeQuery> queries) {
         final List<SequenceSearch> searches = queries.parallelStream().map(r -> {
             try {
@@ -134,21 +197,16 @@ public class ProfileAnalyzer {
     }
 
     /**
-     * Analyze records
+     * Analyze records, accumulate the stacks in sequence order to the trees
      */
     protected List<ProfileStackTree> analyzeByStack(List<ProfileStack> stacks) {
         if (CollectionUtils.isEmpty(stacks)) {
             return null;
         }
 
-        // using parallel stream
-        Map<String, ProfileStackTree> stackTrees = stacks.parallelStream()
-                                                         // stack list cannot be empty
-                                                         .filter(s -> CollectionUtils.isNotEmpty(s.getStack()))
-                                                         .collect(Collectors.groupingBy(s -> s.getStack()
-                                                                                              .get(0), ANALYZE_COLLECTOR));
-
-        return new ArrayList<>(stackTrees.values());
+        final ProfileStackTreeBuilder builder = new ProfileStackTreeBuilder();
+        stacks.stream().sorted().forEach(builder::accumulate);
+        return builder.build();
     }
 
     protected IProfileThreadSnapshotQueryDAO getProfileThreadSnapshotQueryDAO() {
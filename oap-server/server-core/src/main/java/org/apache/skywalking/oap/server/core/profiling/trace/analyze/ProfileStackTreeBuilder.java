@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.profiling.trace.analyze;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.query.type.ProfileStackElement;
+import org.apache.skywalking.oap.server.core.query.type.ProfileStackTree;
+import org.apache.skywalking.oap.server.library.util.CollectionUtils;
+
+/**
+ * Build the {@link ProfileStackTree}s incrementally from the {@link ProfileStack}s.
+ *
+ * The code signatures are interned as int id, and the tree nodes are held in primitive arrays indexed by the node id,
+ * so accumulating a stack only walks down its path and updates the counters of each node.
+ * The stacks must be accumulated in ascending sequence order, to calculate the continuous durations on the fly.
+ */
+public class ProfileStackTreeBuilder {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int NONE = -1;
+
+    private final Map<String, Integer> symbolIds = new HashMap<>();
+    private final List<String> symbols = new ArrayList<>();
+
+    // node id -> child node id, key is the parent node id and the symbol id of the child
+    private final Map<Long, Integer> childIndex = new HashMap<>();
+    // root symbol -> root node id, keep the same order with the grouped roots of the previous collector
+    private final Map<String, Integer> roots = new HashMap<>();
+
+    private int nodeCount;
+    private int[] nodeSymbol = new int[INITIAL_CAPACITY];
+    private int[] firstChild = new int[INITIAL_CAPACITY];
+    private int[] lastChild = new int[INITIAL_CAPACITY];
+    private int[] nextSibling = new int[INITIAL_CAPACITY];
+    private int[] count = new int[INITIAL_CAPACITY];
+    private int[] lastSequence = new int[INITIAL_CAPACITY];
+    private long[] windowStartTime = new long[INITIAL_CAPACITY];
+    private long[] lastDumpTime = new long[INITIAL_CAPACITY];
+    private long[] closedDuration = new long[INITIAL_CAPACITY];
+
+    /**
+     * accumulate the stack to the trees, the sequence must be bigger than all the accumulated stacks
+     */
+    public void accumulate(ProfileStack stack) {
+        final List<String> stackList = stack.getStack();
+        if (CollectionUtils.isEmpty(stackList)) {
+            return;
+        }
+
+        int node = roots.computeIfAbsent(stackList.get(0), s -> newNode(NONE, intern(s)));
+        detectedBy(node, stack);
+        for (int depth = 1; depth < stackList.size(); depth++) {
+            final int symbol = intern(stackList.get(depth));
+            final long key = ((long) node << 32) | symbol;
+            Integer child = childIndex.get(key);
+            if (child == null) {
+                child = newNode(node, symbol);
+                childIndex.put(key, child);
+            }
+            detectedBy(child, stack);
+            node = child;
+        }
+    }
+
+    /**
+     * build GraphQL result for each root code signature
+     */
+    public List<ProfileStackTree> build() {
+        final List<ProfileStackTree> trees = new ArrayList<>(roots.size());
+        for (Integer root : roots.values()) {
+            trees.add(buildTree(root));
+        }
+        return trees;
+    }
+
+    private ProfileStackTree buildTree(int root) {
+        final ProfileStackTree tree = new ProfileStackTree();
+        // breadth-first traversal, the element id is generated by the visiting order
+        final int[] queue = new int[nodeCount];
+        final int[] parentElementId = new int[nodeCount];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = root;
+        int idGenerator = 1;
+        while (head < tail) {
+            final int node = queue[head];
+            final ProfileStackElement element = new ProfileStackElement();
+            element.setId(idGenerator++);
+            element.setParentId(parentElementId[head]);
+            element.setCodeSignature(symbols.get(nodeSymbol[node]));
+            element.setCount(count[node]);
+            element.setDuration(duration(node));
+
+            int childDuration = 0;
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                childDuration += duration(child);
+                parentElementId[tail] = element.getId();
+                queue[tail++] = child;
+            }
+            element.setDurationChildExcluded(element.getDuration() - childDuration);
+            tree.getElements().add(element);
+            head++;
+        }
+        return tree;
+    }
+
+    /**
+     * the sum of the continuous dump time windows
+     */
+    private int duration(int node) {
+        return Math.toIntExact(closedDuration[node] + lastDumpTime[node] - windowStartTime[node]);
+    }
+
+    private void detectedBy(int node, ProfileStack stack) {
+        if (count[node] == 0) {
+            windowStartTime[node] = stack.getDumpTime();
+        } else if (lastSequence[node] + 1 != stack.getSequence()) {
+            closedDuration[node] += lastDumpTime[node] - windowStartTime[node];
+            windowStartTime[node] = stack.getDumpTime();
+        }
+        count[node]++;
+        lastSequence[node] = stack.getSequence();
+        lastDumpTime[node] = stack.getDumpTime();
+    }
+
+    private int intern(String symbol) {
+        return symbolIds.computeIfAbsent(symbol, s -> {
+            symbols.add(s);
+            return symbols.size() - 1;
+        });
+    }
+
+    private int newNode(int parent, int symbol) {
+        if (nodeCount == nodeSymbol.length) {
+            grow();
+        }
+        final int node = nodeCount++;
+        nodeSymbol[node] = symbol;
+        firstChild[node] = NONE;
+        lastChild[node] = NONE;
+        nextSibling[node] = NONE;
+        if (parent != NONE) {
+            if (firstChild[parent] == NONE) {
+                firstChild[parent] = node;
+            } else {
+                nextSibling[lastChild[parent]] = node;
+            }
+            lastChild[parent] = node;
+        }
+        return node;
+    }
+
+    private void grow() {
+        final int capacity = nodeSymbol.length << 1;
+        nodeSymbol = Arrays.copyOf(nodeSymbol, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        lastChild = Arrays.copyOf(lastChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        count = Arrays.copyOf(count, capacity);
+        lastSequence = Arrays.copyOf(lastSequence, capacity);
+        windowStartTime = Arrays.copyOf(windowStartTime, capacity);
+        lastDumpTime = Arrays.copyOf(lastDumpTime, capacity);
+        closedDuration = Arrays.copyOf(closedDuration, capacity);
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.analysis.manual.endpoint.EndpointTraffic;
+import org.apache.skywalking.oap.server.core.analysis.manual.instance.InstanceTraffic;
+import org.apache.skywalking.oap.server.core.query.enumeration.Language;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.type.Attribute;
+import org.apache.skywalking.oap.server.core.query.type.Endpoint;
+import org.apache.skywalking.oap.server.core.query.type.ServiceInstance;
+import org.apache.skywalking.oap.server.core.storage.query.IMetadataQueryDAO;
+import org.apache.skywalking.oap.server.library.util.StringUtil;
+
+import static org.apache.skywalking.oap.server.core.analysis.manual.instance.InstanceTraffic.PropertyUtil.LANGUAGE;
+
+/**
+ * MetadataCache keeps the instances and endpoints of all services in memory for the query nodes, partitioned by the
+ * service id.
+ * <p>
+ * The first refresh loads the instances pinged within the metrics TTL and all known endpoints. The following refreshes
+ * only load the delta, the instances pinged and the endpoints created since the last refresh, with an overlap covering
+ * the persistence delay. The whole cache is rebuilt periodically to drop the endpoints removed from the storage.
+ * <p>
+ * The endpoint names of every service are sorted, so the keyword search scans the names starting with the keyword
+ * first. When the number of cached entities exceeds the max size, the cache is disabled, and all queries go to the
+ * storage.
+ * <p>
+ * The network address aliases are not included, they are already kept in memory by the {@code
+ * NetworkAddressAliasCache} of the core module, which is refreshed by the {@code CacheUpdateTimer} and read by the
+ * analysis instead of the metadata query.
+ */
+@Slf4j
+public class MetadataCache {
+    private static final long DELTA_OVERLAP = TimeUnit.MINUTES.toMillis(10);
+    private static final long FULL_RELOAD_PERIOD = TimeUnit.HOURS.toMillis(1);
+
+    private final IMetadataQueryDAO metadataQueryDAO;
+    private final int ttl;
+    private final long maxSize;
+
+    /**
+     * Service id -> instance id -> instance.
+     */
+    private volatile Map<String, Map<String, CachedInstance>> instances = new ConcurrentHashMap<>();
+    /**
+     * Service id -> endpoint name -> endpoint id.
+     */
+    private volatile Map<String, NavigableMap<String, String>> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean available;
+    private volatile boolean overflowed;
+    /**
+     * The instances whose last ping is older than this minute time bucket are not cached.
+     */
+    private volatile long instanceStartTimeBucket;
+    private long size;
+    private long lastLoadTime;
+    private long lastFullLoadTime;
+
+    /**
+     * @param ttl     the metrics TTL in days.
+     * @param maxSize the max number of the cached instances and endpoints.
+     */
+    public MetadataCache(IMetadataQueryDAO metadataQueryDAO, int ttl, long maxSize) {
+        this.metadataQueryDAO = metadataQueryDAO;
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Load the delta from the storage. This method is not thread safe, it should be called by one timer.
+     */
+    public void refresh(long now) throws IOException {
+        if (overflowed) {
+            return;
+        }
+        final long ttlStartTime = now - TimeUnit.DAYS.toMillis(ttl);
+        if (now - lastFullLoadTime >= FULL_RELOAD_PERIOD) {
+            final Map<String, Map<String, CachedInstance>> newInstances = new ConcurrentHashMap<>();
+            final Map<String, NavigableMap<String, String>> newEndpoints = new ConcurrentHashMap<>();
+            final long newSize = load(newInstances, newEndpoints, ttlStartTime, 0, 0);
+            if (newSize < 0) {
+                return;
+            }
+            size = newSize;
+            instances = newInstances;
+            endpoints = newEndpoints;
+            lastFullLoadTime = now;
+        } else {
+            final long deltaStartTime = lastLoadTime - DELTA_OVERLAP;
+            final long newSize = load(
+                instances, endpoints, deltaStartTime, TimeBucket.getMinuteTimeBucket(deltaStartTime), size);
+            if (newSize < 0) {
+                return;
+            }
+            size = newSize;
+        }
+        instanceStartTimeBucket = TimeBucket.getMinuteTimeBucket(ttlStartTime);
+        evictInstances(instanceStartTimeBucket);
+        lastLoadTime = now;
+        available = true;
+    }
+
+    /**
+     * @return the instances of the service alive in the duration, or NULL if the cache can't serve the query.
+     */
+    public List<ServiceInstance> listInstances(Duration duration, String serviceId) {
+        if (!available || StringUtil.isEmpty(serviceId)) {
+            return null;
+        }
+        final long startTimeBucket = TimeBucket.getMinuteTimeBucket(duration.getStartTimestamp());
+        final long endTimeBucket = TimeBucket.getMinuteTimeBucket(duration.getEndTimestamp());
+        if (startTimeBucket < instanceStartTimeBucket) {
+            return null;
+        }
+        final Map<String, CachedInstance> serviceInstances = instances.get(serviceId);
+        if (serviceInstances == null) {
+            return Collections.emptyList();
+        }
+        final List<ServiceInstance> result = new ArrayList<>();
+        for (final CachedInstance instance : serviceInstances.values()) {
+            if (instance.lastPingTimeBucket >= startTimeBucket && instance.timeBucket < endTimeBucket) {
+                result.add(instance.instance);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The endpoints starting with the keyword are returned first, then the ones containing the keyword.
+     *
+     * @return the endpoints of the service matching the keyword, or NULL if the cache can't serve the query.
+     */
+    public List<Endpoint> findEndpoint(String keyword, String serviceId, int limit) {
+        if (!available || StringUtil.isEmpty(serviceId)) {
+            return null;
+        }
+        final NavigableMap<String, String> serviceEndpoints = endpoints.get(serviceId);
+        if (serviceEndpoints == null) {
+            return Collections.emptyList();
+        }
+        final List<Endpoint> result = new ArrayList<>(Math.min(limit, serviceEndpoints.size()));
+        if (StringUtil.isEmpty(keyword)) {
+            collect(serviceEndpoints, null, limit, result);
+            return result;
+        }
+        final NavigableMap<String, String> prefixed = serviceEndpoints.subMap(
+            keyword, true, keyword + Character.MAX_VALUE, false);
+        collect(prefixed, null, limit, result);
+        if (result.size() < limit) {
+            collect(serviceEndpoints, keyword, limit, result);
+        }
+        return result;
+    }
+
+    private static void collect(NavigableMap<String, String> source, String contained, int limit, List<Endpoint> result) {
+        for (final Map.Entry<String, String> entry : source.entrySet()) {
+            if (result.size() >= limit) {
+                return;
+            }
+            final String name = entry.getKey();
+            if (contained != null && (name.startsWith(contained) || !name.contains(contained))) {
+                // The endpoints starting with the keyword have been collected.
+                continue;
+            }
+            final Endpoint endpoint = new Endpoint();
+            endpoint.setId(entry.getValue());
+            endpoint.setName(name);
+            result.add(endpoint);
+        }
+    }
+
+    /**
+     * @return the number of the cached entities after loading, or -1 if it exceeds the max size.
+     */
+    private long load(Map<String, Map<String, CachedInstance>> instanceMap,
+                      Map<String, NavigableMap<String, String>> endpointMap,
+                      long instanceStartTime,
+                      long endpointStartTimeBucket,
+                      long baseSize) throws IOException {
+        long size = baseSize;
+        for (final InstanceTraffic traffic : metadataQueryDAO.listInstanceTraffics(
+            TimeBucket.getMinuteTimeBucket(instanceStartTime))) {
+            final CachedInstance previous = instanceMap.computeIfAbsent(
+                traffic.getServiceId(), k -> new ConcurrentHashMap<>()
+            ).put(traffic.id().build(), new CachedInstance(
+                buildInstance(traffic), traffic.getLastPingTimestamp(), traffic.getTimeBucket()));
+            if (previous == null) {
+                size++;
+            }
+        }
+        for (final EndpointTraffic traffic : metadataQueryDAO.listEndpointTraffics(endpointStartTimeBucket)) {
+            final String previous = endpointMap.computeIfAbsent(
+                traffic.getServiceId(), k -> new ConcurrentSkipListMap<>()
+            ).put(traffic.getName(), traffic.id().build());
+            if (previous == null) {
+                size++;
+            }
+        }
+        if (size > maxSize) {
+            log.warn(
+                "The metadata cache is disabled, as the number of instances and endpoints {} exceeds the max size {}.",
+                size, maxSize
+            );
+            overflowed = true;
+            available = false;
+            instances = new ConcurrentHashMap<>();
+            endpoints = new ConcurrentHashMap<>();
+            return -1;
+        }
+        return size;
+    }
+
+    private void evictInstances(long startTimeBucket) {
+        for (final Map<String, CachedInstance> serviceInstances : instances.values()) {
+            final int before = serviceInstances.size();
+            serviceInstances.values().removeIf(instance -> instance.lastPingTimeBucket < startTimeBucket);
+            size -= before - serviceInstances.size();
+        }
+        instances.values().removeIf(Map::isEmpty);
+    }
+
+    private static ServiceInstance buildInstance(InstanceTraffic instanceTraffic) {
+        final ServiceInstance serviceInstance = new ServiceInstance();
+        serviceInstance.setId(instanceTraffic.id().build());
+        serviceInstance.setName(instanceTraffic.getName());
+        serviceInstance.setInstanceUUID(serviceInstance.getId());
+
+        final var properties = instanceTraffic.getProperties();
+        if (properties != null) {
+            for (final var property : properties.entrySet()) {
+                final var key = property.getKey();
+                final var value = property.getValue().getAsString();
+                if (key.equals(LANGUAGE)) {
+                    serviceInstance.setLanguage(Language.value(value));
+                } else {
+                    serviceInstance.getAttributes().add(new Attribute(key, value));
+                }
+            }
+        } else {
+            serviceInstance.setLanguage(Language.UNKNOWN);
+        }
+        return serviceInstance;
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedInstance {
+        private final ServiceInstance instance;
+        private final long lastPingTimeBucket;
+        private final long timeBucket;
+    }
+}
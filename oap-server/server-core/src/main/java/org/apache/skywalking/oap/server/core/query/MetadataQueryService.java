@@ -27,13 +27,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.CoreModuleConfig;
@@ -52,15 +55,20 @@ import org.apache.skywalking.oap.server.core.storage.StorageModule;
 import org.apache.skywalking.oap.server.core.storage.query.IMetadataQueryDAO;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
+import org.apache.skywalking.oap.server.library.util.RunnableWithExceptionProtection;
 
+@Slf4j
 public class MetadataQueryService implements org.apache.skywalking.oap.server.library.module.Service {
 
     private final ModuleManager moduleManager;
+    private final CoreModuleConfig moduleConfig;
     private final LoadingCache<Boolean, Map<String, List<Service>>> serviceCache;
     private IMetadataQueryDAO metadataQueryDAO;
+    private volatile MetadataCache metadataCache;
 
     public MetadataQueryService(ModuleManager moduleManager, CoreModuleConfig moduleConfig) {
         this.moduleManager = moduleManager;
+        this.moduleConfig = moduleConfig;
 
         this.serviceCache = CacheBuilder.newBuilder()
             .maximumSize(1)
@@ -80,6 +88,28 @@ public class MetadataQueryService implements org.apache.skywalking.oap.server.li
         return metadataQueryDAO;
     }
 
+    /**
+     * Start loading the instances and endpoints into the metadata cache periodically. The queries go to the storage
+     * until the first loading completes.
+     */
+    public void startMetadataCache() {
+        final MetadataCache cache = new MetadataCache(
+            getMetadataQueryDAO(), moduleConfig.getMetricsDataTTL(), moduleConfig.getMetadataCacheMaxSize());
+        Executors.newSingleThreadScheduledExecutor(
+                     new ThreadFactoryBuilder().setDaemon(true).setNameFormat("MetadataCacheRefresh-%d").build())
+                 .scheduleWithFixedDelay(
+                     new RunnableWithExceptionProtection(
+                         () -> refreshMetadataCache(cache), t -> log.error("Metadata cache refresh failure.", t)),
+                     0, moduleConfig.getMetadataCacheRefreshInterval(), TimeUnit.SECONDS
+                 );
+    }
+
+    @SneakyThrows
+    private void refreshMetadataCache(MetadataCache cache) {
+        cache.refresh(System.currentTimeMillis());
+        metadataCache = cache;
+    }
+
     public Set<String> listLayers() throws IOException {
         return Arrays.stream(Layer.values()).filter(layer -> layer.value() > 0).map(Layer::name).collect(Collectors.toSet());
     }
@@ -118,12 +148,24 @@ public class MetadataQueryService implements org.apache.skywalking.oap.server.li
         if (duration.getStartTimestamp() >= duration.getEndTimestamp()) {
             return Collections.emptyList();
         }
+        if (metadataCache != null) {
+            final List<ServiceInstance> instances = metadataCache.listInstances(duration, serviceId);
+            if (instances != null) {
+                return instances;
+            }
+        }
         return getMetadataQueryDAO().listInstances(duration, serviceId)
                                     .stream().distinct().collect(Collectors.toList());
     }
 
     public List<Endpoint> findEndpoint(final String keyword, final String serviceId,
                                        final int limit) throws IOException {
+        if (metadataCache != null) {
+            final List<Endpoint> endpoints = metadataCache.findEndpoint(keyword, serviceId, limit);
+            if (endpoints != null) {
+                return endpoints;
+            }
+        }
         return getMetadataQueryDAO().findEndpoint(keyword, serviceId, limit)
                                     .stream().distinct().collect(Collectors.toList());
     }
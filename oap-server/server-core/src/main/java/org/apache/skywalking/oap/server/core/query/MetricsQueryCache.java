@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.UnexpectedException;
+import org.apache.skywalking.oap.server.core.query.enumeration.Step;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
+import org.apache.skywalking.oap.server.core.query.type.KVInt;
+import org.apache.skywalking.oap.server.core.query.type.MetricsValues;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.joda.time.DateTime;
+
+/**
+ * MetricsQueryCache caches the values of closed time buckets of the metrics queries, keyed by (metric, entity, labels,
+ * time bucket). The time bucket(point of time) encodes the downsampling by its length.
+ * <p>
+ * A time bucket is closed when its end time is older than the close delay, which covers the L1/L2 aggregation and the
+ * persistence period. Values of closed buckets would not change anymore, so they are cached immutably, and only the
+ * trailing open buckets of the query duration are read from the storage. The cached {@link KVInt}s are copied in and
+ * out, as the query results are mutable.
+ * <p>
+ * Empty values are not cached, as they may be filled by the late persistence.
+ */
+public class MetricsQueryCache {
+    private final Cache<String, KVInt[]> cache;
+    private final long closeDelayInMs;
+    private final CounterMetrics hitCounter;
+    private final CounterMetrics missCounter;
+
+    public MetricsQueryCache(long maxSize, long closeDelayInMs, CounterMetrics hitCounter, CounterMetrics missCounter) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+        this.closeDelayInMs = closeDelayInMs;
+        this.hitCounter = hitCounter;
+        this.missCounter = missCounter;
+    }
+
+    /**
+     * Read the values through the cache.
+     *
+     * @param labels the sorted labels of the labeled metrics, one series is expected for each label. NULL for the
+     *               regular metrics, which have only one series without label.
+     * @param reader the storage reader of the given duration.
+     */
+    public List<MetricsValues> read(MetricsCondition condition,
+                                    List<String> labels,
+                                    Duration duration,
+                                    Reader reader) throws IOException {
+        final List<PointOfTime> points = duration.assembleDurationPoints();
+        final String keyPrefix = condition.getName() + "|" + condition.getEntity().buildId() + "|"
+            + (labels == null ? "" : String.join(",", labels)) + "|";
+        final int seriesNum = labels == null ? 1 : labels.size();
+
+        final List<KVInt[]> cached = new ArrayList<>(points.size());
+        for (PointOfTime point : points) {
+            KVInt[] values = cache.getIfPresent(keyPrefix + point.getPoint());
+            if (values == null) {
+                break;
+            }
+            cached.add(values);
+        }
+        final int hits = cached.size();
+        hitCounter.inc(hits);
+        missCounter.inc(points.size() - hits);
+        if (hits == points.size()) {
+            return compose(labels, cached, null);
+        }
+
+        final Duration remaining = hits == 0 ? duration : subDuration(duration, points.get(hits).getPoint());
+        final List<MetricsValues> fetched = reader.read(remaining);
+        if (!isAligned(fetched, labels, seriesNum, points.size() - hits)) {
+            // Unexpected result shape, don't merge or cache it.
+            return hits == 0 ? fetched : reader.read(duration);
+        }
+
+        final long now = System.currentTimeMillis();
+        for (int i = hits; i < points.size(); i++) {
+            final PointOfTime point = points.get(i);
+            if (!isClosed(duration.getStep(), point.getPoint(), now)) {
+                break;
+            }
+            final KVInt[] values = new KVInt[seriesNum];
+            boolean hasValue = false;
+            for (int s = 0; s < seriesNum; s++) {
+                values[s] = copy(fetched.get(s).getValues().getValues().get(i - hits));
+                hasValue |= !values[s].isEmptyValue();
+            }
+            if (hasValue) {
+                cache.put(keyPrefix + point.getPoint(), values);
+            }
+        }
+        return hits == 0 ? fetched : compose(labels, cached, fetched);
+    }
+
+    private static boolean isAligned(List<MetricsValues> fetched, List<String> labels, int seriesNum, int pointNum) {
+        if (fetched == null || fetched.size() != seriesNum) {
+            return false;
+        }
+        for (int s = 0; s < seriesNum; s++) {
+            final MetricsValues series = fetched.get(s);
+            if (labels != null && !labels.get(s).equals(series.getLabel())) {
+                return false;
+            }
+            if (series.getValues().getValues().size() != pointNum) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<MetricsValues> compose(List<String> labels, List<KVInt[]> cached, List<MetricsValues> fetched) {
+        final int seriesNum = labels == null ? 1 : labels.size();
+        final List<MetricsValues> result = new ArrayList<>(seriesNum);
+        for (int s = 0; s < seriesNum; s++) {
+            final MetricsValues series = new MetricsValues();
+            if (labels != null) {
+                series.setLabel(labels.get(s));
+            }
+            for (KVInt[] values : cached) {
+                series.getValues().addKVInt(copy(values[s]));
+            }
+            if (fetched != null) {
+                fetched.get(s).getValues().getValues().forEach(series.getValues()::addKVInt);
+            }
+            result.add(series);
+        }
+        return result;
+    }
+
+    private static KVInt copy(KVInt value) {
+        return new KVInt(value.getId(), value.getValue(), value.isEmptyValue());
+    }
+
+    private boolean isClosed(Step step, long point, long now) {
+        final DateTime start = DurationUtils.INSTANCE.parseToDateTime(step, point);
+        final DateTime end;
+        switch (step) {
+            case DAY:
+                end = start.plusDays(1);
+                break;
+            case HOUR:
+                end = start.plusHours(1);
+                break;
+            case MINUTE:
+                end = start.plusMinutes(1);
+                break;
+            case SECOND:
+                end = start.plusSeconds(1);
+                break;
+            default:
+                throw new UnexpectedException("Unsupported step " + step.name());
+        }
+        return end.getMillis() + closeDelayInMs <= now;
+    }
+
+    private static Duration subDuration(Duration duration, long startPoint) {
+        final DateTime start = DurationUtils.INSTANCE.parseToDateTime(duration.getStep(), startPoint);
+        final Duration sub = new Duration();
+        sub.setStep(duration.getStep());
+        sub.setEnd(duration.getEnd());
+        switch (duration.getStep()) {
+            case DAY:
+                sub.setStart(start.toString(DurationUtils.YYYY_MM_DD));
+                break;
+            case HOUR:
+                sub.setStart(start.toString(DurationUtils.YYYY_MM_DD_HH));
+                break;
+            case MINUTE:
+                sub.setStart(start.toString(DurationUtils.YYYY_MM_DD_HHMM));
+                break;
+            case SECOND:
+                sub.setStart(start.toString(DurationUtils.YYYY_MM_DD_HHMMSS));
+                break;
+            default:
+                throw new UnexpectedException("Unsupported step " + duration.getStep().name());
+        }
+        return sub;
+    }
+
+    @FunctionalInterface
+    public interface Reader {
+        List<MetricsValues> read(Duration duration) throws IOException;
+    }
+}
@@ -18,10 +18,14 @@
 
 package org.apache.skywalking.oap.server.core.query;
 
+import com.google.common.base.Strings;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.OptionalDouble;
+import java.util.TreeSet;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.CoreModuleConfig;
 import org.apache.skywalking.oap.server.core.query.input.Duration;
 import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
 import org.apache.skywalking.oap.server.core.query.type.HeatMap;
@@ -33,14 +37,21 @@ import org.apache.skywalking.oap.server.core.storage.annotation.ValueColumnMetad
 import org.apache.skywalking.oap.server.core.storage.query.IMetricsQueryDAO;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.module.Service;
+import org.apache.skywalking.oap.server.library.util.CollectionUtils;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
 @Slf4j
 public class MetricsQueryService implements Service {
     private final ModuleManager moduleManager;
+    private final CoreModuleConfig config;
     private IMetricsQueryDAO metricQueryDAO;
+    private volatile MetricsQueryCache metricsQueryCache;
 
-    public MetricsQueryService(ModuleManager moduleManager) {
+    public MetricsQueryService(ModuleManager moduleManager, CoreModuleConfig config) {
         this.moduleManager = moduleManager;
+        this.config = config;
     }
 
     private IMetricsQueryDAO getMetricQueryDAO() {
@@ -50,6 +61,42 @@ public class MetricsQueryService implements Service {
         return metricQueryDAO;
     }
 
+    /**
+     * @return the shared cache of the closed time buckets, or NULL if the cache is disabled.
+     */
+    private MetricsQueryCache getMetricsQueryCache() {
+        if (config.getMetricsQueryCacheMaxSize() <= 0) {
+            return null;
+        }
+        MetricsQueryCache cache = metricsQueryCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = metricsQueryCache;
+                if (cache == null) {
+                    MetricsCreator metricsCreator = moduleManager.find(TelemetryModule.NAME)
+                                                                 .provider()
+                                                                 .getService(MetricsCreator.class);
+                    cache = new MetricsQueryCache(
+                        config.getMetricsQueryCacheMaxSize(),
+                        config.getMetricsQueryCacheCloseDelay() * 1000L,
+                        metricsCreator.createCounter(
+                            "metrics_query_cache_hit_count",
+                            "The number of time buckets of the metrics queries hit in cache",
+                            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+                        ),
+                        metricsCreator.createCounter(
+                            "metrics_query_cache_miss_count",
+                            "The number of time buckets of the metrics queries read from storage",
+                            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+                        )
+                    );
+                    metricsQueryCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
     /**
      * Read metrics average value in the duration of required metrics
      */
@@ -71,8 +118,16 @@ public class MetricsQueryService implements Service {
      * Read time-series values in the duration of required metrics
      */
     public MetricsValues readMetricsValues(MetricsCondition condition, Duration duration) throws IOException {
-        return getMetricQueryDAO().readMetricsValues(
-            condition, ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()), duration);
+        final String valueColumnName = ValueColumnMetadata.INSTANCE.getValueCName(condition.getName());
+        final MetricsQueryCache cache = getMetricsQueryCache();
+        if (cache == null) {
+            return getMetricQueryDAO().readMetricsValues(condition, valueColumnName, duration);
+        }
+        return cache.read(condition, null, duration, d -> {
+            List<MetricsValues> result = new ArrayList<>(1);
+            result.add(getMetricQueryDAO().readMetricsValues(condition, valueColumnName, d));
+            return result;
+        }).get(0);
     }
 
     /**
@@ -83,8 +138,19 @@ public class MetricsQueryService implements Service {
     public List<MetricsValues> readLabeledMetricsValues(MetricsCondition condition,
                                                         List<String> labels,
                                                         Duration duration) throws IOException {
-        return getMetricQueryDAO().readLabeledMetricsValues(
-            condition, ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()), labels, duration);
+        final String valueColumnName = ValueColumnMetadata.INSTANCE.getValueCName(condition.getName());
+        final MetricsQueryCache cache = getMetricsQueryCache();
+        // The labels of the result depend on the data in the duration if no label is given,
+        // then the partial results can't be merged.
+        if (cache == null || CollectionUtils.isEmpty(labels) || labels.stream().anyMatch(Strings::isNullOrEmpty)) {
+            return getMetricQueryDAO().readLabeledMetricsValues(condition, valueColumnName, labels, duration);
+        }
+        // Keep the same order as IMetricsQueryDAO.Util#composeLabelValue
+        final List<String> sortedLabels = new ArrayList<>(new TreeSet<>(labels));
+        return cache.read(
+            condition, sortedLabels, duration,
+            d -> getMetricQueryDAO().readLabeledMetricsValues(condition, valueColumnName, labels, d)
+        );
     }
 
     /**
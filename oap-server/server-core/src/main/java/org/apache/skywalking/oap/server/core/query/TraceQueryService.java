@@ -21,11 +21,14 @@ package org.apache.skywalking.oap.server.core.query;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import org.apache.commons.lang3.StringUtils;
@@ -116,20 +119,88 @@ public class TraceQueryService implements Service {
     }
 
     public Trace queryTrace(final String traceId) throws IOException {
-        Trace trace = new Trace();
+        final List<SegmentRecord> segmentRecords = getTraceQueryDAO().queryByTraceId(traceId);
+        Trace trace = buildTrace(
+            segmentRecords.isEmpty() ? getTraceQueryDAO().doFlexibleTraceQuery(traceId) : buildSpans(segmentRecords));
+
+        if (CollectionUtils.isNotEmpty(trace.getSpans())) {
+            final List<SpanAttachedEventRecord> spanAttachedEvents = getSpanAttachedEventQueryDAO().
+                querySpanAttachedEvents(SpanAttachedEventTraceType.SKYWALKING, Arrays.asList(traceId));
+            appendAttachedEventsToSpan(trace.getSpans(), spanAttachedEvents);
+        }
+        return trace;
+    }
+
+    /**
+     * Query the traces in one round-trip of the segments, one round-trip of the flexible query for the traces without
+     * segments, and one round-trip of the span attached events, rather than {@link #queryTrace(String)} per trace.
+     *
+     * @return the traces in the order of the trace IDs, the trace is empty if it is not found.
+     */
+    public List<Trace> queryTraces(final List<String> traceIds) throws IOException {
+        final Map<String, List<SegmentRecord>> segmentsOfTraces = new HashMap<>();
+        for (final SegmentRecord segment : getTraceQueryDAO().queryByTraceIds(traceIds)) {
+            if (nonNull(segment)) {
+                segmentsOfTraces.computeIfAbsent(segment.getTraceId(), id -> new ArrayList<>()).add(segment);
+            }
+        }
+
+        final List<String> traceIdsWithoutSegments = traceIds.stream()
+                                                             .filter(id -> !segmentsOfTraces.containsKey(id))
+                                                             .collect(Collectors.toList());
+        final Map<String, List<Span>> flexibleSpansOfTraces =
+            traceIdsWithoutSegments.isEmpty() ? Collections.emptyMap() :
+                getTraceQueryDAO().doFlexibleTraceQuery(traceIdsWithoutSegments).stream()
+                                  .filter(span -> nonNull(span.getTraceId()))
+                                  .collect(Collectors.groupingBy(Span::getTraceId));
+
+        final List<Trace> traces = new ArrayList<>(traceIds.size());
+        final List<String> nonEmptyTraceIds = new ArrayList<>(traceIds.size());
+        for (final String traceId : traceIds) {
+            final List<SegmentRecord> segmentRecords = segmentsOfTraces.get(traceId);
+            final Trace trace = buildTrace(
+                segmentRecords == null ?
+                    flexibleSpansOfTraces.getOrDefault(traceId, Collections.emptyList()) :
+                    buildSpans(segmentRecords));
+            if (CollectionUtils.isNotEmpty(trace.getSpans())) {
+                nonEmptyTraceIds.add(traceId);
+            }
+            traces.add(trace);
+        }
 
-        List<SegmentRecord> segmentRecords = getTraceQueryDAO().queryByTraceId(traceId);
-        if (segmentRecords.isEmpty()) {
-            trace.getSpans().addAll(getTraceQueryDAO().doFlexibleTraceQuery(traceId));
-        } else {
-            for (SegmentRecord segment : segmentRecords) {
-                if (nonNull(segment)) {
-                    SegmentObject segmentObject = SegmentObject.parseFrom(segment.getDataBinary());
-                    trace.getSpans()
-                         .addAll(buildSpanList(segmentObject));
+        if (CollectionUtils.isNotEmpty(nonEmptyTraceIds)) {
+            final Map<String, List<SpanAttachedEventRecord>> eventsOfTraces =
+                getSpanAttachedEventQueryDAO().querySpanAttachedEvents(
+                    SpanAttachedEventTraceType.SKYWALKING, nonEmptyTraceIds).stream()
+                                              .collect(Collectors.groupingBy(
+                                                  SpanAttachedEventRecord::getRelatedTraceId));
+            for (int i = 0; i < traceIds.size(); i++) {
+                final List<SpanAttachedEventRecord> events = eventsOfTraces.get(traceIds.get(i));
+                if (events != null) {
+                    appendAttachedEventsToSpan(traces.get(i).getSpans(), events);
                 }
             }
         }
+        return traces;
+    }
+
+    private List<Span> buildSpans(final List<SegmentRecord> segmentRecords) throws IOException {
+        final List<Span> spans = new ArrayList<>();
+        for (SegmentRecord segment : segmentRecords) {
+            if (nonNull(segment)) {
+                SegmentObject segmentObject = SegmentObject.parseFrom(segment.getDataBinary());
+                spans.addAll(buildSpanList(segmentObject));
+            }
+        }
+        return spans;
+    }
+
+    /**
+     * Build the trace with the spans sorted from the roots, the span attached events are not included.
+     */
+    private Trace buildTrace(final List<Span> spans) {
+        Trace trace = new Trace();
+        trace.getSpans().addAll(spans);
 
         List<Span> sortedSpans = new LinkedList<>();
         if (CollectionUtils.isNotEmpty(trace.getSpans())) {
@@ -145,12 +216,6 @@ public class TraceQueryService implements Service {
             }
         }
 
-        if (CollectionUtils.isNotEmpty(sortedSpans)) {
-            final List<SpanAttachedEventRecord> spanAttachedEvents = getSpanAttachedEventQueryDAO().
-                querySpanAttachedEvents(SpanAttachedEventTraceType.SKYWALKING, Arrays.asList(traceId));
-            appendAttachedEventsToSpan(sortedSpans, spanAttachedEvents);
-        }
-
         trace.getSpans().clear();
         trace.getSpans().addAll(sortedSpans);
         return trace;
@@ -49,5 +49,14 @@ public class EBPFProfilingData extends Source {
     private String stackIdList;
     private EBPFProfilingTargetType targetType;
     private byte[] dataBinary;
+    /**
+     * The dump count of {@link EBPFProfilingTargetType#ON_CPU}, or the switch count of
+     * {@link EBPFProfilingTargetType#OFF_CPU}.
+     */
+    private long dumpCount;
+    /**
+     * The duration of {@link EBPFProfilingTargetType#OFF_CPU}.
+     */
+    private long duration;
 
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.storage;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.skywalking.oap.server.library.module.Service;
+
+/**
+ * EmptyStorageService builds the storage services which return the empty results and do nothing, for the storage
+ * implementations which don't support some services of the {@link StorageModule}.
+ */
+public final class EmptyStorageService {
+    private EmptyStorageService() {
+    }
+
+    /**
+     * @return the service returns the empty results, or does nothing.
+     */
+    public static Service of(final Class<?> service) {
+        return (Service) Proxy.newProxyInstance(
+            service.getClassLoader(), new Class<?>[] {service}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Empty" + service.getSimpleName();
+                    default:
+                        return emptyValue(method.getReturnType());
+                }
+            });
+    }
+
+    private static Object emptyValue(final Class<?> type) throws ReflectiveOperationException {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == double.class) {
+            return 0D;
+        } else if (type.isAssignableFrom(List.class)) {
+            return Collections.emptyList();
+        } else if (type.isAssignableFrom(Set.class)) {
+            return Collections.emptySet();
+        } else if (type.isAssignableFrom(Map.class)) {
+            return Collections.emptyMap();
+        } else if (type == Optional.class) {
+            return Optional.empty();
+        } else if (type.getPackageName().startsWith("org.apache.skywalking.oap.server.core.query.type")) {
+            // The query results, such as Traces and Logs, are returned as the empty result objects.
+            return type.getConstructor().newInstance();
+        }
+        return null;
+    }
+}
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.CoreModuleConfig;
@@ -50,6 +51,7 @@ public enum PersistenceTimer {
     private HistogramMetrics executeLatency;
     private HistogramMetrics allLatency;
     private ExecutorService prepareExecutorService;
+    private ScheduledExecutorService scheduledExecutorService;
 
     PersistenceTimer() {
     }
@@ -84,18 +86,39 @@ public enum PersistenceTimer {
 
         prepareExecutorService = Executors.newFixedThreadPool(moduleConfig.getPrepareThreads());
         if (!isStarted) {
-            Executors.newSingleThreadScheduledExecutor()
-                     .scheduleWithFixedDelay(
-                         new RunnableWithExceptionProtection(
-                             () -> extractDataAndSave(batchDAO).join(),
-                             t -> log.error("Extract data and save failure.", t)
-                         ), 5, moduleConfig.getPersistentPeriod(), TimeUnit.SECONDS
-                     );
+            scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+            scheduledExecutorService.scheduleWithFixedDelay(
+                new RunnableWithExceptionProtection(
+                    () -> extractDataAndSave(batchDAO).join(),
+                    t -> log.error("Extract data and save failure.", t)
+                ), 5, moduleConfig.getPersistentPeriod(), TimeUnit.SECONDS
+            );
 
             this.isStarted = true;
         }
     }
 
+    /**
+     * Stop scheduling the persistence, and wait for the running round to finish the prepare stage.
+     *
+     * @return true if no round is running anymore.
+     */
+    public boolean stop(long timeout, TimeUnit unit) {
+        if (!isStarted) {
+            return true;
+        }
+        scheduledExecutorService.shutdown();
+        try {
+            if (scheduledExecutorService.awaitTermination(timeout, unit)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("The persistence round is still running after {} {}", timeout, unit);
+        return false;
+    }
+
     private CompletableFuture<Void> extractDataAndSave(IBatchDAO batchDAO) {
         if (log.isDebugEnabled()) {
             log.debug("Extract data and save");
@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.core.storage.profiling.ebpf;
 
 import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingDataRecord;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingStackRecord;
 import org.apache.skywalking.oap.server.core.storage.DAO;
 
 import java.io.IOException;
@@ -35,4 +36,12 @@ public interface IEBPFProfilingDataDAO extends DAO {
      * @param endTime timestamp smaller than
      */
     List<EBPFProfilingDataRecord> queryData(List<String> scheduleIdList, long beginTime, long endTime) throws IOException;
+
+    /**
+     * list the stacks folded per minute by task and time
+     * @param scheduleIdList profiling schedule ID list
+     * @param startTimeBucket minute time bucket bigger than or equals
+     * @param endTimeBucket minute time bucket smaller than or equals
+     */
+    List<EBPFProfilingStackRecord> queryStacks(List<String> scheduleIdList, long startTimeBucket, long endTimeBucket) throws IOException;
 }
\ No newline at end of file
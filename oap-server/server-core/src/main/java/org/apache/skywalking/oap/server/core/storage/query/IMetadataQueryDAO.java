@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.util.List;
 
 import javax.annotation.Nullable;
+import org.apache.skywalking.oap.server.core.analysis.manual.endpoint.EndpointTraffic;
+import org.apache.skywalking.oap.server.core.analysis.manual.instance.InstanceTraffic;
 import org.apache.skywalking.oap.server.core.query.enumeration.ProfilingSupportStatus;
 import org.apache.skywalking.oap.server.core.query.input.Duration;
 import org.apache.skywalking.oap.server.core.query.type.Endpoint;
@@ -60,6 +62,22 @@ public interface IMetadataQueryDAO extends DAO {
      */
     List<Endpoint> findEndpoint(final String keyword, final String serviceId, final int limit) throws IOException;
 
+    /**
+     * Work for the incremental loading of the metadata cache.
+     *
+     * @param lastPingStartTimeBucket the minute time bucket of the last ping, bigger than or equals.
+     * @return the instances of all services pinged since the time bucket, not limited by the metadata query max size.
+     */
+    List<InstanceTraffic> listInstanceTraffics(final long lastPingStartTimeBucket) throws IOException;
+
+    /**
+     * Work for the incremental loading of the metadata cache.
+     *
+     * @param startTimeBucket the minute time bucket of the endpoint first seen, bigger than or equals.
+     * @return the endpoints of all services since the time bucket, not limited by the metadata query max size.
+     */
+    List<EndpointTraffic> listEndpointTraffics(final long startTimeBucket) throws IOException;
+
     /**
      * @param serviceId the service id of the process.
      * @param supportStatus the profiling status of the process.
@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.core.storage.query;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.skywalking.oap.server.core.analysis.manual.searchtag.Tag;
 import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
@@ -46,6 +47,18 @@ public interface ITraceQueryDAO extends Service {
 
     List<SegmentRecord> queryByTraceId(String traceId) throws IOException;
 
+    /**
+     * Query the segments of all the given traces. The storage implementations should fetch them in one round-trip,
+     * the default implementation queries the traces one by one.
+     */
+    default List<SegmentRecord> queryByTraceIds(List<String> traceIds) throws IOException {
+        final List<SegmentRecord> segmentRecords = new ArrayList<>();
+        for (final String traceId : traceIds) {
+            segmentRecords.addAll(queryByTraceId(traceId));
+        }
+        return segmentRecords;
+    }
+
     List<SegmentRecord> queryBySegmentIdList(List<String> segmentIdList) throws IOException;
 
     List<SegmentRecord> queryByTraceIdWithInstanceId(List<String> traceIdList, List<String> instanceIdList) throws IOException;
@@ -54,4 +67,17 @@ public interface ITraceQueryDAO extends Service {
      * This method gives more flexible for 3rd trace without segment concept, which can't search data through {@link #queryByTraceId(String)}
      */
     List<Span> doFlexibleTraceQuery(String traceId) throws IOException;
+
+    /**
+     * Query the spans of all the given traces as {@link #doFlexibleTraceQuery(String)}. The storage implementations
+     * should fetch them in one round-trip, the default implementation queries the traces one by one. The trace ID of
+     * every span is required to group the spans by trace.
+     */
+    default List<Span> doFlexibleTraceQuery(List<String> traceIds) throws IOException {
+        final List<Span> spans = new ArrayList<>();
+        for (final String traceId : traceIds) {
+            spans.addAll(doFlexibleTraceQuery(traceId));
+        }
+        return spans;
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.data;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.analysis.metrics.SumMetrics;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.apache.skywalking.oap.server.core.storage.StorageID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RollupBufferedDataTest {
+    @Test
+    public void testRollupInHour() {
+        RollupBufferedData collection = new RollupBufferedData(DownSampling.Hour);
+        MockMetrics first = new MockMetrics("service-a", 202401171700L, 1);
+        collection.accept(first);
+        collection.accept(new MockMetrics("service-a", 202401171701L, 2));
+        collection.accept(new MockMetrics("service-b", 202401171701L, 4));
+        collection.accept(new MockMetrics("service-a", 202401171800L, 8));
+
+        List<MockMetrics> hours = sorted(collection.read());
+        Assertions.assertEquals(3, hours.size());
+        assertMetrics(hours.get(0), "service-a", 2024011717L, 3);
+        assertMetrics(hours.get(1), "service-a", 2024011718L, 8);
+        assertMetrics(hours.get(2), "service-b", 2024011717L, 4);
+        // The minute metrics are not changed by the roll-up.
+        assertMetrics(first, "service-a", 202401171700L, 1);
+
+        Assertions.assertTrue(collection.read().isEmpty());
+    }
+
+    @Test
+    public void testRollupInDay() {
+        RollupBufferedData collection = new RollupBufferedData(DownSampling.Day);
+        collection.accept(new MockMetrics("service-a", 202401171700L, 1));
+        collection.accept(new MockMetrics("service-a", 202401172359L, 2));
+        collection.accept(new MockMetrics("service-a", 202401180000L, 4));
+
+        List<MockMetrics> days = sorted(collection.read());
+        Assertions.assertEquals(2, days.size());
+        assertMetrics(days.get(0), "service-a", 20240117L, 3);
+        assertMetrics(days.get(1), "service-a", 20240118L, 4);
+    }
+
+    @Test
+    public void testRollupWithoutTimeBucketInID() {
+        RollupBufferedData collection = new RollupBufferedData(DownSampling.Hour);
+        collection.accept(new MockMetrics("service-a", 202401171700L, 1, false));
+        collection.accept(new MockMetrics("service-a", 202401171800L, 2, false));
+
+        List<MockMetrics> hours = sorted(collection.read());
+        Assertions.assertEquals(1, hours.size());
+        assertMetrics(hours.get(0), "service-a", 2024011717L, 3);
+    }
+
+    @Test
+    public void testRestore() {
+        RollupBufferedData collection = new RollupBufferedData(DownSampling.Hour);
+        collection.accept(new MockMetrics("service-a", 202401171700L, 1));
+        collection.accept(new MockMetrics("service-b", 202401171700L, 2, false));
+        List<Metrics> hours = collection.read();
+
+        // The restored hour metrics are rolled up with the following minute metrics.
+        hours.forEach(collection::restore);
+        collection.accept(new MockMetrics("service-a", 202401171701L, 4));
+        collection.accept(new MockMetrics("service-b", 202401171701L, 8, false));
+        collection.restore(new MockMetrics("service-a", 2024011717L, 16));
+
+        hours = collection.read();
+        Assertions.assertEquals(2, hours.size());
+        List<MockMetrics> sorted = sorted(hours);
+        assertMetrics(sorted.get(0), "service-a", 2024011717L, 21);
+        assertMetrics(sorted.get(1), "service-b", 2024011717L, 10);
+    }
+
+    @Test
+    public void testUnsupportedDownSampling() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RollupBufferedData(DownSampling.Minute));
+    }
+
+    private static List<MockMetrics> sorted(List<Metrics> metrics) {
+        return metrics.stream()
+                      .map(MockMetrics.class::cast)
+                      .sorted(Comparator.comparing(MockMetrics::getEntityId)
+                                        .thenComparing(MockMetrics::getTimeBucket))
+                      .collect(Collectors.toList());
+    }
+
+    private static void assertMetrics(MockMetrics metrics, String entityId, long timeBucket, long value) {
+        Assertions.assertEquals(entityId, metrics.getEntityId());
+        Assertions.assertEquals(timeBucket, metrics.getTimeBucket());
+        Assertions.assertEquals(value, metrics.getValue());
+    }
+
+    private static class MockMetrics extends SumMetrics {
+        @Getter
+        private final String entityId;
+        private final boolean timeRelativeID;
+
+        private MockMetrics(String entityId, long timeBucket, long value) {
+            this(entityId, timeBucket, value, true);
+        }
+
+        private MockMetrics(String entityId, long timeBucket, long value, boolean timeRelativeID) {
+            this.entityId = entityId;
+            this.timeRelativeID = timeRelativeID;
+            setTimeBucket(timeBucket);
+            setValue(value);
+        }
+
+        @Override
+        protected StorageID id0() {
+            StorageID id = new StorageID();
+            if (timeRelativeID) {
+                id.append(TIME_BUCKET, getTimeBucket());
+            }
+            return id.append(ENTITY_ID, entityId);
+        }
+
+        @Override
+        public Metrics toHour() {
+            return new MockMetrics(entityId, toTimeBucketInHour(), getValue(), timeRelativeID);
+        }
+
+        @Override
+        public Metrics toDay() {
+            return new MockMetrics(entityId, toTimeBucketInDay(), getValue(), timeRelativeID);
+        }
+
+        @Override
+        public void deserialize(RemoteData remoteData) {
+        }
+
+        @Override
+        public RemoteData.Builder serialize() {
+            return null;
+        }
+
+        @Override
+        public int remoteHashCode() {
+            return entityId.hashCode();
+        }
+    }
+}
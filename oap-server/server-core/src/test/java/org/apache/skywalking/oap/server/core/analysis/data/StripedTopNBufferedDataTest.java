@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.data;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import org.apache.skywalking.oap.server.core.analysis.topn.TopN;
+import org.apache.skywalking.oap.server.core.storage.StorageID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StripedTopNBufferedDataTest {
+    //2024-01-17 17:00:00
+    private static final long MINUTE = 1705482000000L;
+    //2024-01-17 17:01:00
+    private static final long NEXT_MINUTE = 1705482060000L;
+
+    @Test
+    public void testRead() {
+        StripedTopNBufferedData<MockStorageData> collection = new StripedTopNBufferedData<>(3, 2);
+        for (long latency : new long[] {5, 1, 9, 3, 7}) {
+            collection.accept(new MockStorageData(latency, MINUTE));
+        }
+        collection.accept(new MockStorageData(4, NEXT_MINUTE));
+
+        Assertions.assertEquals(List.of(4L, 5L, 7L, 9L), latencies(collection.read()));
+        Assertions.assertTrue(collection.read().isEmpty());
+    }
+
+    @Test
+    public void testMergeStripes() throws InterruptedException {
+        StripedTopNBufferedData<MockStorageData> collection = new StripedTopNBufferedData<>(4, 2);
+        CountDownLatch latch = new CountDownLatch(2);
+        Runnable odd = () -> {
+            for (long latency = 1; latency < 100; latency += 2) {
+                collection.accept(new MockStorageData(latency, MINUTE));
+            }
+            latch.countDown();
+        };
+        Runnable even = () -> {
+            for (long latency = 2; latency <= 100; latency += 2) {
+                collection.accept(new MockStorageData(latency, MINUTE));
+            }
+            latch.countDown();
+        };
+        new Thread(odd).start();
+        new Thread(even).start();
+        latch.await();
+
+        Assertions.assertEquals(List.of(97L, 98L, 99L, 100L), latencies(collection.read()));
+    }
+
+    @Test
+    public void testThreshold() {
+        StripedTopNBufferedData<MockStorageData> collection = new StripedTopNBufferedData<>(2, 1);
+        collection.accept(new MockStorageData(5, MINUTE));
+        collection.accept(new MockStorageData(8, MINUTE));
+        collection.accept(new MockStorageData(3, NEXT_MINUTE));
+        Assertions.assertEquals(List.of(3L, 5L, 8L), latencies(collection.read()));
+
+        // The full group only takes the records above the persisted top N, the other one takes all.
+        collection.accept(new MockStorageData(4, MINUTE));
+        collection.accept(new MockStorageData(5, MINUTE));
+        collection.accept(new MockStorageData(6, MINUTE));
+        collection.accept(new MockStorageData(1, NEXT_MINUTE));
+        Assertions.assertEquals(List.of(1L, 6L), latencies(collection.read()));
+
+        // The group which isn't full in the last read keeps its former threshold.
+        collection.accept(new MockStorageData(5, MINUTE));
+        collection.accept(new MockStorageData(7, MINUTE));
+        collection.accept(new MockStorageData(9, MINUTE));
+        Assertions.assertEquals(List.of(7L, 9L), latencies(collection.read()));
+
+        // The threshold is raised by the full group in the last read.
+        collection.accept(new MockStorageData(7, MINUTE));
+        collection.accept(new MockStorageData(8, MINUTE));
+        Assertions.assertEquals(List.of(8L), latencies(collection.read()));
+    }
+
+    private static List<Long> latencies(List<MockStorageData> data) {
+        return data.stream().map(TopN::getLatency).sorted().collect(Collectors.toList());
+    }
+
+    private static class MockStorageData extends TopN {
+        private final long latency;
+        private final long timestamp;
+
+        public MockStorageData(long latency, long timestamp) {
+            this.latency = latency;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public StorageID id() {
+            return new StorageID().append("ID", "id");
+        }
+
+        @Override
+        public long getLatency() {
+            return this.latency;
+        }
+
+        @Override
+        public String getEntityId() {
+            return "dbtest";
+        }
+
+        @Override
+        public long getTimestamp() {
+            return timestamp;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.config.group.openapi;
+
+import org.apache.skywalking.oap.server.library.util.StringFormatGroup;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EndpointGroupingRuleTrie4OpenapiTest {
+
+    @Test
+    public void testSameResultAsRegex() {
+        StringFormatGroup group = new StringFormatGroup();
+        group.addRule("GET:/products/{id}", "GET:/products/([^/]+)");
+        group.addRule("GET:/products/{id}/relatedProducts", "GET:/products/([^/]+)/relatedProducts");
+        group.addRule("GET:/products/{region}/{country}", "GET:/products/([^/]+)/([^/]+)");
+        group.addRule("GET:/products/v{version}", "GET:/products/v([^/]+)");
+        group.addRule("GET:/products/{id}.json", "GET:/products/([^/]+)\\.json");
+        group.addRule("GET:/products/search", "GET:/products/search");
+        group.addRule("GET:/products//empty", "GET:/products//empty");
+        group.sortRules(new EndpointGroupingRule4Openapi.EndpointGroupingRulesComparator());
+
+        EndpointGroupingRuleTrie4Openapi trie = new EndpointGroupingRuleTrie4Openapi(group.getRules());
+        String[] endpointNames = {
+            "GET:/products/123",
+            "GET:/products/search",
+            "GET:/products/v2",
+            "GET:/products/123.json",
+            "GET:/products/123/relatedProducts",
+            "GET:/products/asia/cn",
+            "GET:/products//empty",
+            "GET:/products/",
+            "GET:/products/123/",
+            "GET:/products/123/abc/ef",
+            "GET:/products"
+        };
+        for (String endpointName : endpointNames) {
+            Assertions.assertEquals(group.format(endpointName), trie.format(endpointName), endpointName);
+        }
+        Assertions.assertEquals("GET:/products/search", trie.format("GET:/products/search").getReplacedName());
+        Assertions.assertEquals("GET:/products/v{version}", trie.format("GET:/products/v2").getReplacedName());
+        Assertions.assertEquals("GET:/products/{id}.json", trie.format("GET:/products/1.json").getReplacedName());
+        Assertions.assertFalse(trie.format("GET:/products/").isMatch());
+    }
+}
@@ -41,7 +41,7 @@ class PatternTreeTest {
 
         final Field rootField = PatternTree.class.getDeclaredField("roots");
         rootField.setAccessible(true);
-        final List<PatternToken> roots = (List<PatternToken>) rootField.get(tree);
+        final List<PatternToken> roots = ((TokenChildren) rootField.get(tree)).asList();
 
         final PatternToken prodToken = roots.get(0);
         Assertions.assertEquals(new StringToken("products"), prodToken);
@@ -143,4 +143,28 @@ class PatternTreeTest {
         Assertions.assertTrue(result.isMatch());
         Assertions.assertEquals("GET:/products/{var}", result.getReplacedName());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFirstAddedChildMatch() {
+        PatternTree tree = new PatternTree();
+        tree.addPattern("/products/{var}/detail");
+        tree.addPattern("/products/new");
+        tree.addPattern("/orders/new/detail");
+        tree.addPattern("/orders/{var}");
+
+        StringFormatGroup.FormatResult result;
+        // The var token is added before the literal one, so it takes the slice.
+        result = tree.match("/products/new");
+        Assertions.assertFalse(result.isMatch());
+        result = tree.match("/products/new/detail");
+        Assertions.assertTrue(result.isMatch());
+        Assertions.assertEquals("/products/{var}/detail", result.getReplacedName());
+
+        // The literal token is added before the var one, so it takes the slice.
+        result = tree.match("/orders/new");
+        Assertions.assertFalse(result.isMatch());
+        result = tree.match("/orders/123");
+        Assertions.assertTrue(result.isMatch());
+        Assertions.assertEquals("/orders/{var}", result.getReplacedName());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.config.group.uri.quickmatch;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.skywalking.oap.server.library.util.StringFormatGroup;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class QuickUriGroupingRuleTest {
+    @Test
+    public void testAddRulesKeepsExistingPatterns() {
+        QuickUriGroupingRule rule = new QuickUriGroupingRule();
+        rule.addRule("service1", "/products/{var}");
+
+        rule.addRules("service1", Arrays.asList("/sales/{var}", "/products/{var}/detail"));
+        rule.addRules("service2", Collections.singletonList("/employees/{var}/profile"));
+
+        StringFormatGroup.FormatResult result = rule.format("service1", "/products/123");
+        Assertions.assertTrue(result.isMatch());
+        Assertions.assertEquals("/products/{var}", result.getReplacedName());
+        result = rule.format("service1", "/products/123/detail");
+        Assertions.assertEquals("/products/{var}/detail", result.getReplacedName());
+        result = rule.format("service1", "/sales/123");
+        Assertions.assertEquals("/sales/{var}", result.getReplacedName());
+        result = rule.format("service2", "/employees/123/profile");
+        Assertions.assertEquals("/employees/{var}/profile", result.getReplacedName());
+        Assertions.assertFalse(rule.format("service2", "/products/123").isMatch());
+    }
+
+    @Test
+    public void testAddRulesReplacesSyncedPatterns() {
+        QuickUriGroupingRule rule = new QuickUriGroupingRule();
+        rule.addRule("service1", "/products/{var}");
+
+        rule.addRules("service1", Arrays.asList("/sales/{var}", "/sales/{var}", "/orders/{var}"));
+        Assertions.assertEquals(3, rule.patternCount("service1"));
+        rule.addRules("service1", Arrays.asList("/sales/{var}", "/orders/{var}"));
+        Assertions.assertEquals(3, rule.patternCount("service1"));
+
+        rule.addRules("service1", Collections.singletonList("/orders/{var}"));
+        Assertions.assertEquals(2, rule.patternCount("service1"));
+        Assertions.assertFalse(rule.format("service1", "/sales/123").isMatch());
+        Assertions.assertTrue(rule.format("service1", "/orders/123").isMatch());
+        Assertions.assertTrue(rule.format("service1", "/products/123").isMatch());
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.skywalking.apm.network.ebpf.profiling.v3.EBPFOnCPUProfiling;
 import org.apache.skywalking.apm.network.ebpf.profiling.v3.EBPFProfilingStackMetadata;
 import org.apache.skywalking.apm.network.ebpf.profiling.v3.EBPFProfilingStackType;
 import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingDataRecord;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingStackRecord;
 import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingTargetType;
 import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzation;
 import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzeAggregateType;
@@ -143,5 +144,10 @@ public class EBPFProfilingAnalyzeContext {
             }
             return records;
         }
+
+        @Override
+        public List<EBPFProfilingStackRecord> queryStacks(List<String> scheduleIdList, long startTimeBucket, long endTimeBucket) {
+            return Collections.emptyList();
+        }
     }
 }
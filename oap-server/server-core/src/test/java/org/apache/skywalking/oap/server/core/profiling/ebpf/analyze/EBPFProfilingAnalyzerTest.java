@@ -18,11 +18,34 @@
 
 package org.apache.skywalking.oap.server.core.profiling.ebpf.analyze;
 
+import org.apache.skywalking.apm.network.ebpf.profiling.v3.EBPFOnCPUProfiling;
+import org.apache.skywalking.apm.network.ebpf.profiling.v3.EBPFProfilingStackMetadata;
+import org.apache.skywalking.apm.network.ebpf.profiling.v3.EBPFProfilingStackType;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingDataRecord;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingStackRecord;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingTargetType;
+import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzation;
+import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzeAggregateType;
+import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzeTimeRange;
+import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingStackElement;
+import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingTree;
+import org.apache.skywalking.oap.server.core.storage.profiling.ebpf.IEBPFProfilingDataDAO;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 public class EBPFProfilingAnalyzerTest {
 
@@ -39,6 +62,159 @@ public class EBPFProfilingAnalyzerTest {
         }
     }
 
+    @Test
+    public void testAnalyzeFoldedStacks() throws IOException {
+        final long minute = TimeUnit.MINUTES.toMillis(1);
+        final long now = System.currentTimeMillis();
+        // aligned to the minute
+        final long begin = now - Math.floorMod(now, minute) - 10 * minute;
+        final List<EBPFProfilingDataRecord> records = Arrays.asList(
+            onCPURecord(begin + 5_000, "1", 3, "main", "foo"),
+            onCPURecord(begin + 20_000, "1", 2, "main", "foo"),
+            onCPURecord(begin + 40_000, "2", 1, "main", "bar"),
+            onCPURecord(begin + 65_000, "1", 4, "main", "foo"),
+            onCPURecord(begin + 110_000, "2", 5, "main", "bar")
+        );
+        final List<EBPFProfilingStackRecord> stacks = fold(records);
+        Assertions.assertEquals(4, stacks.size());
+
+        final EBPFProfilingAnalyzeTimeRange range = new EBPFProfilingAnalyzeTimeRange();
+        range.setStart(begin);
+        range.setEnd(begin + 2 * minute - 1);
+
+        // the minutes are read from the folded stacks only
+        final StackAnalyzer folded = new StackAnalyzer(records, stacks);
+        final Map<String, Long> foldedTree = flatten(
+            folded.analyze(null, Collections.singletonList(range), EBPFProfilingAnalyzeAggregateType.COUNT));
+        Assertions.assertEquals(0, folded.rawQueries);
+        final Map<String, Long> expected = new HashMap<>();
+        expected.put("main", 15L);
+        expected.put("main;foo", 9L);
+        expected.put("main;bar", 6L);
+        Assertions.assertEquals(expected, foldedTree);
+
+        // the same trees as analyzing the raw records, which are read when nothing is folded
+        final StackAnalyzer raw = new StackAnalyzer(records, Collections.emptyList());
+        Assertions.assertEquals(foldedTree, flatten(
+            raw.analyze(null, Collections.singletonList(range), EBPFProfilingAnalyzeAggregateType.COUNT)));
+        Assertions.assertTrue(raw.rawQueries > 0);
+
+        // only the minute without any folded stack is read from the raw records
+        final long secondMinuteBucket = TimeBucket.getMinuteTimeBucket(begin + minute);
+        final StackAnalyzer partial = new StackAnalyzer(records, stacks.stream().filter(
+            s -> s.getTimeBucket() != secondMinuteBucket).collect(Collectors.toList()));
+        Assertions.assertEquals(foldedTree, flatten(
+            partial.analyze(null, Collections.singletonList(range), EBPFProfilingAnalyzeAggregateType.COUNT)));
+        Assertions.assertTrue(partial.rawQueries > 0);
+        Assertions.assertEquals(begin + minute, partial.minRawQueryTime);
+
+        // the partial minutes are widened to the whole minutes
+        range.setStart(begin + 10_000);
+        range.setEnd(begin + 30_000);
+        final Map<String, Long> widenedTree = flatten(
+            new StackAnalyzer(records, stacks).analyze(
+                null, Collections.singletonList(range), EBPFProfilingAnalyzeAggregateType.COUNT));
+        expected.put("main", 6L);
+        expected.put("main;foo", 5L);
+        expected.put("main;bar", 1L);
+        Assertions.assertEquals(expected, widenedTree);
+    }
+
+    /**
+     * Fold the records per stack and minute as the metrics stream does.
+     */
+    private List<EBPFProfilingStackRecord> fold(List<EBPFProfilingDataRecord> records) throws IOException {
+        final Map<String, EBPFProfilingStackRecord> stacks = new LinkedHashMap<>();
+        for (EBPFProfilingDataRecord record : records) {
+            final EBPFProfilingStackRecord stack = new EBPFProfilingStackRecord();
+            stack.setScheduleId(record.getScheduleId());
+            stack.setStackIdList(record.getStackIdList());
+            stack.setTargetType(record.getTargetType());
+            stack.setDataBinary(record.getDataBinary());
+            stack.setDumpCount(EBPFOnCPUProfiling.parseFrom(record.getDataBinary()).getDumpCount());
+            stack.setTimeBucket(TimeBucket.getMinuteTimeBucket(record.getUploadTime()));
+            final EBPFProfilingStackRecord existing = stacks.putIfAbsent(
+                stack.getStackIdList() + "_" + stack.getTimeBucket(), stack);
+            if (existing != null) {
+                existing.combine(stack);
+            }
+        }
+        return new ArrayList<>(stacks.values());
+    }
+
+    private EBPFProfilingDataRecord onCPURecord(long uploadTime, String stackId, int dumpCount, String... symbols) {
+        final List<String> leafFirst = new ArrayList<>(Arrays.asList(symbols));
+        Collections.reverse(leafFirst);
+        final EBPFProfilingDataRecord record = new EBPFProfilingDataRecord();
+        record.setScheduleId("schedule");
+        record.setStackIdList(stackId);
+        record.setTargetType(EBPFProfilingTargetType.ON_CPU.value());
+        record.setUploadTime(uploadTime);
+        record.setDataBinary(EBPFOnCPUProfiling.newBuilder().setDumpCount(dumpCount).addStacks(
+            EBPFProfilingStackMetadata.newBuilder()
+                                      .setStackType(EBPFProfilingStackType.PROCESS_USER_SPACE)
+                                      .setStackId(Integer.parseInt(stackId))
+                                      .addAllStackSymbols(leafFirst)
+        ).build().toByteArray());
+        return record;
+    }
+
+    /**
+     * @return the dump count of every symbol path in the trees, such as "main;foo".
+     */
+    private Map<String, Long> flatten(EBPFProfilingAnalyzation analyzation) {
+        Assertions.assertNull(analyzation.getTip());
+        final Map<String, Long> paths = new HashMap<>();
+        for (EBPFProfilingTree tree : analyzation.getTrees()) {
+            final Map<Integer, EBPFProfilingStackElement> elements = tree.getElements().stream().collect(
+                Collectors.toMap(EBPFProfilingStackElement::getId, e -> e));
+            for (EBPFProfilingStackElement element : tree.getElements()) {
+                final StringBuilder path = new StringBuilder(element.getSymbol());
+                EBPFProfilingStackElement parent = elements.get(element.getParentId());
+                while (parent != null) {
+                    path.insert(0, parent.getSymbol() + ";");
+                    parent = elements.get(parent.getParentId());
+                }
+                paths.put(path.toString(), element.getDumpCount());
+            }
+        }
+        return paths;
+    }
+
+    private static class StackAnalyzer extends EBPFProfilingAnalyzer implements IEBPFProfilingDataDAO {
+        private final List<EBPFProfilingDataRecord> records;
+        private final List<EBPFProfilingStackRecord> stacks;
+        private volatile int rawQueries;
+        private volatile long minRawQueryTime = Long.MAX_VALUE;
+
+        StackAnalyzer(List<EBPFProfilingDataRecord> records, List<EBPFProfilingStackRecord> stacks) {
+            super(null, 100, 5);
+            this.records = records;
+            this.stacks = stacks;
+        }
+
+        @Override
+        protected IEBPFProfilingDataDAO getDataDAO() {
+            return this;
+        }
+
+        @Override
+        public synchronized List<EBPFProfilingDataRecord> queryData(List<String> scheduleIdList, long beginTime, long endTime) {
+            rawQueries++;
+            minRawQueryTime = Math.min(minRawQueryTime, beginTime);
+            return records.stream()
+                          .filter(r -> r.getUploadTime() >= beginTime && r.getUploadTime() < endTime)
+                          .collect(Collectors.toList());
+        }
+
+        @Override
+        public List<EBPFProfilingStackRecord> queryStacks(List<String> scheduleIdList, long startTimeBucket, long endTimeBucket) {
+            return stacks.stream()
+                         .filter(s -> s.getTimeBucket() >= startTimeBucket && s.getTimeBucket() <= endTimeBucket)
+                         .collect(Collectors.toList());
+        }
+    }
+
     private <T> T loadYaml(String file, Class<T> cls) {
         InputStream expectedInputStream = Thread.currentThread().getContextClassLoader().getResourceAsStream(file);
         return new Yaml().loadAs(expectedInputStream, cls);
@@ -18,11 +18,17 @@
 
 package org.apache.skywalking.oap.server.core.profiling.trace.analyze;
 
+import org.apache.skywalking.oap.server.core.query.type.ProfileAnalyzation;
 import org.junit.jupiter.api.Test;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class ProfileAnalyzerTest {
 
@@ -37,6 +43,30 @@ public class ProfileAnalyzerTest {
         }
     }
 
+    @Test
+    public void testCachedAnalyzationNotShared() throws IOException {
+        final ProfileStackData data = new ProfileStackData();
+        data.setLimit(10);
+        data.setTimeRanges("0-3");
+        data.setSnapshots(Arrays.asList("A-B", "A-B", "A-C", "A-B"));
+        final ProfileAnalyzer analyzer = new ProfileAnalyzer(null, 2, MAX_ANALYZE_COUNT);
+        analyzer.profileThreadSnapshotQueryDAO = new ProfileStackAnalyze.ThreadSnapshotDAO(data.transformSnapshots());
+
+        final ProfileAnalyzation first = analyzer.analyze(data.transformQueries());
+        assertEquals(30, first.getTrees().get(0).getElements().get(0).getDuration());
+        first.setTip("changed");
+        first.getTrees().get(0).getElements().get(0).setDuration(-1);
+
+        // the time range ended long ago, so the analyzation is cached
+        final ProfileAnalyzation cached = analyzer.analyze(data.transformQueries());
+        assertNotSame(first, cached);
+        assertNull(cached.getTip());
+        assertEquals(30, cached.getTrees().get(0).getElements().get(0).getDuration());
+        cached.getTrees().clear();
+
+        assertEquals(1, analyzer.analyze(data.transformQueries()).getTrees().size());
+    }
+
     private <T> T loadYaml(String file, Class<T> cls) {
         InputStream expectedInputStream = Thread.currentThread().getContextClassLoader().getResourceAsStream(file);
         return new Yaml().loadAs(expectedInputStream, cls);
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.profiling.trace.analyze;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.apache.skywalking.oap.server.core.query.type.ProfileStackElement;
+import org.apache.skywalking.oap.server.core.query.type.ProfileStackTree;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ProfileStackTreeBuilderTest {
+
+    @Test
+    public void testAccumulate() {
+        final ProfileStackTreeBuilder builder = new ProfileStackTreeBuilder();
+        builder.accumulate(stack(0, 0, "A", "B"));
+        builder.accumulate(stack(1, 10, "A", "B"));
+        builder.accumulate(stack(2, 20, "A", "C"));
+        // sequence 3 is missing, so the time windows are not continuous
+        builder.accumulate(stack(4, 40, "A", "B"));
+        builder.accumulate(stack(5, 50, "A", "B"));
+        builder.accumulate(stack(6, 60, "D"));
+
+        final List<ProfileStackTree> trees = builder.build();
+        assertEquals(2, trees.size());
+
+        final ProfileStackTree a = trees.stream()
+                                        .filter(t -> t.getElements().get(0).getCodeSignature().equals("A"))
+                                        .findFirst().orElseThrow();
+        assertEquals(3, a.getElements().size());
+        assertElement(a.getElements().get(0), "A", 0, 5, 30, 10);
+        assertElement(a.getElements().get(1), "B", 1, 4, 20, 20);
+        assertElement(a.getElements().get(2), "C", 1, 1, 0, 0);
+    }
+
+    /**
+     * Compare with the semantics of the replaced per node collector, which kept all the detected stacks of a node:
+     * the duration is the sum of the dump time windows of the continuous sequences of the node's stacks,
+     * and the duration child excluded is the duration minus the sum of the children durations.
+     */
+    @Test
+    public void testDurationsOfRandomStacks() {
+        final Random random = new Random(7);
+        final String[] symbols = {"A", "B", "C", "D"};
+        final List<ProfileStack> stacks = new ArrayList<>();
+        int sequence = 0;
+        long dumpTime = 0;
+        for (int i = 0; i < 500; i++) {
+            // skip some sequences to break the continuous windows
+            sequence += random.nextInt(5) == 0 ? 2 : 1;
+            dumpTime += 1 + random.nextInt(20);
+            final String[] stack = new String[1 + random.nextInt(4)];
+            stack[0] = random.nextBoolean() ? "root1" : "root2";
+            for (int depth = 1; depth < stack.length; depth++) {
+                stack[depth] = symbols[random.nextInt(symbols.length)];
+            }
+            stacks.add(stack(sequence, dumpTime, stack));
+        }
+
+        final ProfileStackTreeBuilder builder = new ProfileStackTreeBuilder();
+        stacks.forEach(builder::accumulate);
+
+        // the stacks detected by every node path
+        final Map<String, List<ProfileStack>> detectedStacks = new HashMap<>();
+        for (ProfileStack stack : stacks) {
+            final StringBuilder path = new StringBuilder();
+            for (String codeSignature : stack.getStack()) {
+                path.append('/').append(codeSignature);
+                detectedStacks.computeIfAbsent(path.toString(), p -> new ArrayList<>()).add(stack);
+            }
+        }
+
+        int elementCount = 0;
+        for (ProfileStackTree tree : builder.build()) {
+            final Map<Integer, String> paths = new HashMap<>();
+            final Map<Integer, Integer> childrenDuration = new HashMap<>();
+            for (ProfileStackElement element : tree.getElements()) {
+                final String path = paths.getOrDefault(element.getParentId(), "") + "/" + element.getCodeSignature();
+                paths.put(element.getId(), path);
+                final List<ProfileStack> detected = detectedStacks.get(path);
+                assertEquals(detected.size(), element.getCount(), path);
+                assertEquals(windowsDuration(detected), element.getDuration(), path);
+                childrenDuration.merge(element.getParentId(), element.getDuration(), Integer::sum);
+            }
+            for (ProfileStackElement element : tree.getElements()) {
+                assertEquals(
+                    element.getDuration() - childrenDuration.getOrDefault(element.getId(), 0),
+                    element.getDurationChildExcluded(), paths.get(element.getId())
+                );
+            }
+            elementCount += tree.getElements().size();
+        }
+        assertEquals(detectedStacks.size(), elementCount);
+    }
+
+    private static int windowsDuration(List<ProfileStack> detected) {
+        long duration = 0;
+        ProfileStack windowStart = detected.get(0);
+        ProfileStack windowEnd = detected.get(0);
+        for (ProfileStack stack : detected.subList(1, detected.size())) {
+            if (windowEnd.getSequence() + 1 != stack.getSequence()) {
+                duration += windowEnd.getDumpTime() - windowStart.getDumpTime();
+                windowStart = stack;
+            }
+            windowEnd = stack;
+        }
+        duration += windowEnd.getDumpTime() - windowStart.getDumpTime();
+        return Math.toIntExact(duration);
+    }
+
+    private static void assertElement(ProfileStackElement element, String code, int parentId,
+                                      int count, int duration, int durationChildExcluded) {
+        assertEquals(code, element.getCodeSignature());
+        assertEquals(parentId, element.getParentId());
+        assertEquals(count, element.getCount());
+        assertEquals(duration, element.getDuration());
+        assertEquals(durationChildExcluded, element.getDurationChildExcluded());
+    }
+
+    private static ProfileStack stack(int sequence, long dumpTime, String... codeSignatures) {
+        final ProfileStack stack = new ProfileStack();
+        stack.setSequence(sequence);
+        stack.setDumpTime(dumpTime);
+        stack.setStack(Arrays.asList(codeSignatures));
+        return stack;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.analysis.manual.endpoint.EndpointTraffic;
+import org.apache.skywalking.oap.server.core.analysis.manual.instance.InstanceTraffic;
+import org.apache.skywalking.oap.server.core.query.enumeration.Step;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.type.Endpoint;
+import org.apache.skywalking.oap.server.core.query.type.ServiceInstance;
+import org.apache.skywalking.oap.server.core.storage.query.IMetadataQueryDAO;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+
+public class MetadataCacheTest {
+    private static final long NOW = TimeBucket.getTimestamp(202210191200L);
+
+    private IMetadataQueryDAO dao;
+    private MetadataCache cache;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        dao = Mockito.mock(IMetadataQueryDAO.class);
+        cache = new MetadataCache(dao, 7, 100);
+        Mockito.when(dao.listInstanceTraffics(anyLong())).thenReturn(List.of(
+            instance("svc", "inst-1", 202210191150L, 202210180000L),
+            instance("svc", "inst-2", 202210190900L, 202210190800L)
+        ));
+        Mockito.when(dao.listEndpointTraffics(anyLong())).thenReturn(List.of(
+            endpoint("svc", "/user/list"),
+            endpoint("svc", "/order/user"),
+            endpoint("svc", "/user/get"),
+            endpoint("svc", "/health")
+        ));
+    }
+
+    @Test
+    public void testNotAvailableBeforeLoading() {
+        Assertions.assertNull(cache.listInstances(duration(NOW - TimeUnit.HOURS.toMillis(1), NOW), "svc"));
+        Assertions.assertNull(cache.findEndpoint("user", "svc", 10));
+    }
+
+    @Test
+    public void testListInstances() throws Exception {
+        cache.refresh(NOW);
+        Mockito.verify(dao).listEndpointTraffics(0);
+
+        List<ServiceInstance> instances = cache.listInstances(duration(NOW - TimeUnit.HOURS.toMillis(1), NOW), "svc");
+        Assertions.assertEquals(1, instances.size());
+        Assertions.assertEquals("inst-1", instances.get(0).getName());
+
+        instances = cache.listInstances(duration(NOW - TimeUnit.HOURS.toMillis(4), NOW), "svc");
+        Assertions.assertEquals(2, instances.size());
+
+        Assertions.assertTrue(cache.listInstances(duration(NOW - TimeUnit.HOURS.toMillis(1), NOW), "other").isEmpty());
+        // Older than the TTL, the cache doesn't cover it.
+        Assertions.assertNull(cache.listInstances(duration(NOW - TimeUnit.DAYS.toMillis(8), NOW), "svc"));
+    }
+
+    @Test
+    public void testFindEndpointWithPrefixFirst() throws Exception {
+        cache.refresh(NOW);
+
+        Assertions.assertEquals(
+            List.of("/user/get", "/user/list", "/order/user"), names(cache.findEndpoint("/user", "svc", 10)));
+        Assertions.assertEquals(
+            List.of("/order/user", "/user/get", "/user/list"), names(cache.findEndpoint("user", "svc", 10)));
+        Assertions.assertEquals(List.of("/user/get"), names(cache.findEndpoint("/user", "svc", 1)));
+        Assertions.assertEquals(4, cache.findEndpoint(null, "svc", 10).size());
+    }
+
+    @Test
+    public void testDeltaRefresh() throws Exception {
+        cache.refresh(NOW);
+        final long next = NOW + TimeUnit.SECONDS.toMillis(10);
+        Mockito.when(dao.listInstanceTraffics(anyLong())).thenReturn(List.of(
+            instance("svc", "inst-2", TimeBucket.getMinuteTimeBucket(next), 202210190800L)
+        ));
+        Mockito.when(dao.listEndpointTraffics(anyLong())).thenReturn(List.of(endpoint("svc", "/user/create")));
+        cache.refresh(next);
+
+        final long deltaStart = TimeBucket.getMinuteTimeBucket(NOW - TimeUnit.MINUTES.toMillis(10));
+        Mockito.verify(dao).listInstanceTraffics(deltaStart);
+        Mockito.verify(dao).listEndpointTraffics(deltaStart);
+        Assertions.assertEquals(2, cache.listInstances(duration(next - TimeUnit.HOURS.toMillis(1), next), "svc").size());
+        Assertions.assertEquals(
+            List.of("/user/create", "/user/get", "/user/list", "/order/user"), names(cache.findEndpoint("/user", "svc", 10)));
+    }
+
+    @Test
+    public void testDisabledWhenExceedingMaxSize() throws Exception {
+        cache = new MetadataCache(dao, 7, 5);
+        cache.refresh(NOW);
+
+        Assertions.assertNull(cache.findEndpoint("user", "svc", 10));
+        cache.refresh(NOW + TimeUnit.SECONDS.toMillis(10));
+        Mockito.verify(dao, Mockito.times(1)).listEndpointTraffics(anyLong());
+    }
+
+    private static InstanceTraffic instance(String serviceId, String name, long lastPing, long timeBucket) {
+        final InstanceTraffic traffic = new InstanceTraffic();
+        traffic.setServiceId(serviceId);
+        traffic.setName(name);
+        traffic.setLastPingTimestamp(lastPing);
+        traffic.setTimeBucket(timeBucket);
+        return traffic;
+    }
+
+    private static EndpointTraffic endpoint(String serviceId, String name) {
+        final EndpointTraffic traffic = new EndpointTraffic();
+        traffic.setServiceId(serviceId);
+        traffic.setName(name);
+        traffic.setTimeBucket(TimeBucket.getMinuteTimeBucket(NOW));
+        return traffic;
+    }
+
+    private static Duration duration(long start, long end) {
+        final Duration duration = new Duration();
+        duration.setStart(new DateTime(start).toString("yyyy-MM-dd HHmm"));
+        duration.setEnd(new DateTime(end).toString("yyyy-MM-dd HHmm"));
+        duration.setStep(Step.MINUTE);
+        return duration;
+    }
+
+    private static List<String> names(List<Endpoint> endpoints) {
+        return endpoints.stream().map(Endpoint::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.query.enumeration.Scope;
+import org.apache.skywalking.oap.server.core.query.enumeration.Step;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.input.Entity;
+import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
+import org.apache.skywalking.oap.server.core.query.type.KVInt;
+import org.apache.skywalking.oap.server.core.query.type.MetricsValues;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class MetricsQueryCacheTest {
+    private MetricsQueryCache cache;
+    private MetricsCondition condition;
+    private List<Duration> readDurations;
+    private List<String> labels;
+
+    @BeforeEach
+    public void setup() {
+        cache = new MetricsQueryCache(
+            1000, 0, Mockito.mock(CounterMetrics.class), Mockito.mock(CounterMetrics.class));
+        Entity entity = new Entity();
+        entity.setScope(Scope.Service);
+        entity.setServiceName("svc");
+        entity.setNormal(true);
+        condition = new MetricsCondition();
+        condition.setName("service_cpm");
+        condition.setEntity(entity);
+        readDurations = new ArrayList<>();
+        labels = null;
+    }
+
+    @Test
+    public void testReadOnlyOpenBuckets() throws Exception {
+        Duration duration = duration("2022-09-08 1000", "2022-09-08 1004");
+        List<MetricsValues> first = cache.read(condition, null, duration, this::read);
+        Assertions.assertEquals(5, first.get(0).getValues().getValues().size());
+
+        List<MetricsValues> second = cache.read(condition, null, duration("2022-09-08 1002", "2022-09-08 1006"), this::read);
+        Assertions.assertEquals(2, readDurations.size());
+        Assertions.assertEquals("2022-09-08 1005", readDurations.get(1).getStart());
+        List<KVInt> values = second.get(0).getValues().getValues();
+        Assertions.assertEquals(5, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            Assertions.assertEquals(202209081002L + i, values.get(i).getValue());
+        }
+
+        cache.read(condition, null, duration("2022-09-08 1000", "2022-09-08 1006"), this::read);
+        Assertions.assertEquals(2, readDurations.size());
+    }
+
+    @Test
+    public void testLabeledValues() throws Exception {
+        labels = Arrays.asList("p50", "p99");
+        cache.read(condition, labels, duration("2022-09-08 1000", "2022-09-08 1001"), this::read);
+        List<MetricsValues> result = cache.read(
+            condition, labels, duration("2022-09-08 1000", "2022-09-08 1002"), this::read);
+        Assertions.assertEquals("2022-09-08 1002", readDurations.get(1).getStart());
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertEquals("p99", result.get(1).getLabel());
+        Assertions.assertEquals(3, result.get(1).getValues().getValues().size());
+    }
+
+    @Test
+    public void testCachedValuesNotShared() throws Exception {
+        Duration duration = duration("2022-09-08 1000", "2022-09-08 1001");
+        cache.read(condition, null, duration, this::read).get(0).getValues().getValues().get(0).setValue(-1);
+        List<MetricsValues> cached = cache.read(condition, null, duration, this::read);
+        Assertions.assertEquals(1, readDurations.size());
+        cached.get(0).getValues().getValues().get(1).setValue(-1);
+
+        List<KVInt> values = cache.read(condition, null, duration, this::read).get(0).getValues().getValues();
+        Assertions.assertEquals(202209081000L, values.get(0).getValue());
+        Assertions.assertEquals(202209081001L, values.get(1).getValue());
+    }
+
+    @Test
+    public void testEmptyValuesNotCached() throws Exception {
+        Duration duration = duration("2022-09-08 1000", "2022-09-08 1001");
+        MetricsQueryCache.Reader emptyReader = d -> {
+            readDurations.add(d);
+            MetricsValues values = new MetricsValues();
+            d.assembleDurationPoints().forEach(p -> values.getValues().addKVInt(new KVInt(p.id("svc"), 0, true)));
+            return Arrays.asList(values);
+        };
+        cache.read(condition, null, duration, emptyReader);
+        cache.read(condition, null, duration, emptyReader);
+        Assertions.assertEquals(2, readDurations.size());
+        Assertions.assertEquals("2022-09-08 1000", readDurations.get(1).getStart());
+    }
+
+    private List<MetricsValues> read(Duration d) {
+        readDurations.add(d);
+        List<MetricsValues> result = new ArrayList<>();
+        for (String label : labels == null ? Arrays.asList((String) null) : labels) {
+            MetricsValues values = new MetricsValues();
+            values.setLabel(label);
+            d.assembleDurationPoints().forEach(
+                p -> values.getValues().addKVInt(new KVInt(p.id("svc"), p.getPoint(), false)));
+            result.add(values);
+        }
+        return result;
+    }
+
+    private Duration duration(String start, String end) {
+        Duration duration = new Duration();
+        duration.setStep(Step.MINUTE);
+        duration.setStart(start);
+        duration.setEnd(end);
+        return duration;
+    }
+}
@@ -21,7 +21,11 @@ package org.apache.skywalking.oap.server.library.client.elasticsearch;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.UnprocessedRequestException;
+import com.linecorp.armeria.common.util.Exceptions;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -32,6 +36,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -49,6 +54,7 @@ import org.apache.skywalking.library.elasticsearch.response.Index;
 import org.apache.skywalking.library.elasticsearch.response.IndexTemplate;
 import org.apache.skywalking.library.elasticsearch.response.Mappings;
 import org.apache.skywalking.library.elasticsearch.response.search.SearchResponse;
+import org.apache.skywalking.library.elasticsearch.routing.ShardRouter;
 import org.apache.skywalking.oap.server.library.client.Client;
 import org.apache.skywalking.oap.server.library.client.healthcheck.DelegatedHealthChecker;
 import org.apache.skywalking.oap.server.library.client.healthcheck.HealthCheckable;
@@ -89,6 +95,13 @@ public class ElasticSearchClient implements Client, HealthCheckable {
 
     private final int numHttpClientThread;
 
+    /**
+     * The refresh interval of the shard routing in seconds, the shard routing is disabled if it is not positive.
+     * It takes effect in the next {@link #connect()}.
+     */
+    @Setter
+    private volatile int shardRoutingRefreshInterval;
+
     private final AtomicReference<ElasticSearch> es = new AtomicReference<>();
 
     public ElasticSearchClient(String clusterNodes,
@@ -148,6 +161,9 @@ public class ElasticSearchClient implements Client, HealthCheckable {
         if (!Strings.isNullOrEmpty(password)) {
             cb.password(password);
         }
+        if (shardRoutingRefreshInterval > 0) {
+            cb.shardRoutingRefreshInterval(Duration.ofSeconds(shardRoutingRefreshInterval));
+        }
 
         final ElasticSearch newOne = cb.build();
         // Only swap the old / new after the new one established a new connection.
@@ -314,7 +330,47 @@ public class ElasticSearchClient implements Client, HealthCheckable {
         indexIds.forEach((indexName, ids) -> {
             map.put(indexNameConverter.apply(indexName), ids);
         });
-        return es.get().documents().mget(TYPE, map);
+        final ElasticSearch es = this.es.get();
+        final Optional<ShardRouter> router = es.shardRouter();
+        if (!router.isPresent()) {
+            return es.documents().mget(TYPE, map);
+        }
+
+        // Get the documents from the nodes holding their primary shards in parallel, the ids of unknown nodes are
+        // grouped by the null key.
+        final Map<Endpoint, Map<String, List<String>>> nodeIndexIds = new HashMap<>();
+        map.forEach((indexName, ids) -> ids.forEach(
+            id -> nodeIndexIds.computeIfAbsent(router.get().route(indexName, id), node -> new HashMap<>())
+                              .computeIfAbsent(indexName, index -> new ArrayList<>())
+                              .add(id)));
+        final List<CompletableFuture<Optional<Documents>>> futures =
+            nodeIndexIds.entrySet().stream()
+                        .map(it -> mget(es, it.getKey(), it.getValue()))
+                        .collect(Collectors.toList());
+        final List<Document> docs = new ArrayList<>();
+        futures.forEach(future -> future.join().ifPresent(documents -> documents.forEach(docs::add)));
+        final Documents documents = new Documents();
+        documents.setDocs(docs);
+        return Optional.of(documents);
+    }
+
+    private static CompletableFuture<Optional<Documents>> mget(final ElasticSearch es,
+                                                               final Endpoint node,
+                                                               final Map<String, List<String>> indexIds) {
+        if (node == null) {
+            return es.documents().mgetAsync(TYPE, indexIds);
+        }
+        return es.documents(node).mgetAsync(TYPE, indexIds).handle((result, exception) -> {
+            if (exception == null) {
+                return CompletableFuture.completedFuture(result);
+            }
+            // The node is unreachable since the last refresh of the routing, get the documents through any node.
+            if (Exceptions.peel(exception) instanceof UnprocessedRequestException) {
+                log.warn("Failed to connect to node {}, retry getting the documents through any node", node);
+                return es.documents().mgetAsync(TYPE, indexIds);
+            }
+            return CompletableFuture.<Optional<Documents>>failedFuture(exception);
+        }).thenCompose(Function.identity());
     }
 
     /**
@@ -68,7 +68,11 @@ public class JDBCClient implements Client, HealthCheckable {
 
     public Connection getConnection(boolean autoCommit) throws SQLException {
         Connection connection = dataSource.getConnection();
-        connection.setAutoCommit(autoCommit);
+        // The pool resets the auto-commit of the returned connections, setting it again costs a round trip in some
+        // drivers, such as MySQL without `useLocalSessionState`.
+        if (connection.getAutoCommit() != autoCommit) {
+            connection.setAutoCommit(autoCommit);
+        }
         return connection;
     }
 
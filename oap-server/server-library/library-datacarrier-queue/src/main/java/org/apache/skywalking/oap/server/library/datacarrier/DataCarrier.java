@@ -21,6 +21,7 @@ package org.apache.skywalking.oap.server.library.datacarrier;
 import java.util.Properties;
 import org.apache.skywalking.oap.server.library.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.oap.server.library.datacarrier.buffer.Channels;
+import org.apache.skywalking.oap.server.library.datacarrier.buffer.SpillSettings;
 import org.apache.skywalking.oap.server.library.datacarrier.consumer.ConsumeDriver;
 import org.apache.skywalking.oap.server.library.datacarrier.consumer.ConsumerPool;
 import org.apache.skywalking.oap.server.library.datacarrier.consumer.IConsumer;
@@ -71,6 +72,18 @@ public class DataCarrier<T> {
         return this;
     }
 
+    /**
+     * Spill the data to the memory mapped files when the buffers are full, and replay them after the buffers are
+     * drained by the consumers. It must be set before setting the consumers.
+     *
+     * @param settings of the spill files.
+     * @return DataCarrier instance for chain
+     */
+    public DataCarrier spill(SpillSettings<T> settings) {
+        this.channels.spill(this.name, settings);
+        return this;
+    }
+
     /**
      * produce data to buffer, using the given {@link BufferStrategy}.
      *
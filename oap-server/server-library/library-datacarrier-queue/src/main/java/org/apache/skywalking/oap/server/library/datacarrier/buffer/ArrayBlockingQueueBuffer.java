@@ -52,6 +52,15 @@ public class ArrayBlockingQueueBuffer<T> implements QueueBuffer<T> {
         return true;
     }
 
+    /**
+     * Save data into the queue if it is not full, regardless of the strategy.
+     *
+     * @return true if saved
+     */
+    boolean offer(T data) {
+        return queue.offer(data);
+    }
+
     @Override
     public void setStrategy(BufferStrategy strategy) {
         this.strategy = strategy;
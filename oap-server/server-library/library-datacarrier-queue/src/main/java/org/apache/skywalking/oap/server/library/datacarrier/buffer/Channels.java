@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.library.datacarrier.buffer;
 
+import java.io.File;
 import org.apache.skywalking.oap.server.library.datacarrier.partition.IDataPartitioner;
 
 /**
@@ -58,6 +59,25 @@ public class Channels<T> {
         return false;
     }
 
+    /**
+     * Spill the data to the memory mapped files when the buffers are full. The file of every channel is named as
+     * {@code name-index.spill} in the directory of the settings. This must be set before the consumers begin.
+     */
+    public void spill(String name, SpillSettings<T> settings) {
+        if (!settings.getDirectory().exists() && !settings.getDirectory().mkdirs()) {
+            throw new IllegalArgumentException("Can't create the spill directory " + settings.getDirectory());
+        }
+        for (int i = 0; i < bufferChannels.length; i++) {
+            if (bufferChannels[i] instanceof ArrayBlockingQueueBuffer) {
+                bufferChannels[i] = new SpillableQueueBuffer<>(
+                    (ArrayBlockingQueueBuffer<T>) bufferChannels[i],
+                    new File(settings.getDirectory(), name + "-" + i + ".spill"),
+                    settings
+                );
+            }
+        }
+    }
+
     public void setPartitioner(IDataPartitioner<T> dataPartitioner) {
         this.dataPartitioner = dataPartitioner;
     }
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.library.datacarrier.buffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A ring of length-prefixed records in a memory mapped file. The records are read in the order of writing. When the
+ * record doesn't fit in the tail of the file, a wrap marker is written and the record starts from the head of the file.
+ * <p>
+ * The file is truncated when it is opened, the records don't survive the restart, as this is a burst buffer rather than
+ * a persistent queue.
+ */
+class MappedSpillFile {
+    private static final int HEADER_SIZE = 4;
+    private static final int WRAP_MARKER = -1;
+
+    private final File file;
+    private final int capacity;
+    private final MappedByteBuffer buffer;
+    private int writePosition;
+    private int readPosition;
+    /**
+     * The writer is in the next round of the ring, behind the reader.
+     */
+    private boolean wrapped;
+    private int count;
+
+    MappedSpillFile(File file, int capacity) throws IOException {
+        this.file = file;
+        this.capacity = capacity;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(0);
+            raf.setLength(capacity);
+            buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+
+    /**
+     * @return false if there is no space for the record.
+     */
+    synchronized boolean append(byte[] record) {
+        final int size = HEADER_SIZE + record.length;
+        if (!wrapped) {
+            if (capacity - writePosition >= size) {
+                write(record);
+                return true;
+            }
+            if (readPosition < size) {
+                return false;
+            }
+            if (capacity - writePosition >= HEADER_SIZE) {
+                buffer.putInt(writePosition, WRAP_MARKER);
+            }
+            writePosition = 0;
+            wrapped = true;
+            write(record);
+            return true;
+        }
+        if (readPosition - writePosition < size) {
+            return false;
+        }
+        write(record);
+        return true;
+    }
+
+    /**
+     * @return the earliest record, or null if there is no record.
+     */
+    synchronized byte[] poll() {
+        if (count == 0) {
+            return null;
+        }
+        if (capacity - readPosition < HEADER_SIZE || buffer.getInt(readPosition) == WRAP_MARKER) {
+            readPosition = 0;
+            wrapped = false;
+        }
+        final int length = buffer.getInt(readPosition);
+        final byte[] record = new byte[length];
+        buffer.position(readPosition + HEADER_SIZE);
+        buffer.get(record);
+        readPosition += HEADER_SIZE + length;
+        if (--count == 0) {
+            // Restart from the head of the file to keep the largest continuous space.
+            writePosition = 0;
+            readPosition = 0;
+            wrapped = false;
+        }
+        return record;
+    }
+
+    synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    private void write(byte[] record) {
+        buffer.putInt(writePosition, record.length);
+        buffer.position(writePosition + HEADER_SIZE);
+        buffer.put(record);
+        writePosition += HEADER_SIZE + record.length;
+        count++;
+    }
+}
@@ -16,10 +16,13 @@
  *
  */
 
-package org.apache.skywalking.mqe.rt.operation.aggregatelabels;
+package org.apache.skywalking.oap.server.library.datacarrier.buffer;
 
-public interface AggregateLabelsFunc {
-    void combine(Double value);
+/**
+ * Serialize the data into bytes to be spilled into the file, and deserialize them when replaying.
+ */
+public interface SpillCodec<T> {
+    byte[] encode(T data);
 
-    Double getResult();
+    T decode(byte[] bytes);
 }
@@ -16,34 +16,24 @@
  *
  */
 
-package org.apache.skywalking.mqe.rt.operation.aggregatelabels;
+package org.apache.skywalking.oap.server.library.datacarrier.buffer;
 
-public class AvgAggregateLabelsFunc implements AggregateLabelsFunc {
-
-    private Double sum;
-    private Integer count = 0;
-
-    @Override
-    public void combine(final Double value) {
-        if (value == null) {
-            return;
-        }
-
-        if (sum == null) {
-            sum = value;
-        } else {
-            sum = sum + value;
-        }
-
-        count++;
-    }
-
-    @Override
-    public Double getResult() {
-        if (sum == null) {
-            return null;
-        }
-
-        return sum / count;
-    }
+/**
+ * Listen to the spilling and replaying of the {@link SpillableQueueBuffer}, to expose the metrics of the spill tier.
+ */
+public interface SpillListener {
+    /**
+     * The data is written into the spill file, as the in-memory buffer is full.
+     */
+    void onSpill();
+
+    /**
+     * The data is read from the spill file, and handed to the consumer.
+     */
+    void onReplay(int count);
+
+    /**
+     * The data is lost, as it can't be written into or read from the spill file.
+     */
+    void onSpillFailure();
 }
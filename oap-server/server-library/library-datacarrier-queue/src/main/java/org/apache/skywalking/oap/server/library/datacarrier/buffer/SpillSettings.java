@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.library.datacarrier.buffer;
+
+import java.io.File;
+
+/**
+ * The settings of spilling the overflow data of the {@link Channels} to the memory mapped files.
+ */
+public class SpillSettings<T> {
+    private final File directory;
+    private final int maxFileSize;
+    private final SpillCodec<T> codec;
+    private final SpillListener listener;
+
+    /**
+     * @param directory   to create the spill files in, one file per channel.
+     * @param maxFileSize the max size of the spill file of every channel, in bytes.
+     * @param codec       to serialize and deserialize the data.
+     * @param listener    of spilling and replaying.
+     */
+    public SpillSettings(File directory, int maxFileSize, SpillCodec<T> codec, SpillListener listener) {
+        this.directory = directory;
+        this.maxFileSize = maxFileSize;
+        this.codec = codec;
+        this.listener = listener;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public int getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public SpillCodec<T> getCodec() {
+        return codec;
+    }
+
+    public SpillListener getListener() {
+        return listener;
+    }
+}
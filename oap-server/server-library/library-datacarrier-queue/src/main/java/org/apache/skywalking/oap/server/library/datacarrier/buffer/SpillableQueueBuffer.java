@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.library.datacarrier.buffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The buffer spilling the data into a memory mapped file when the in-memory buffer is full, rather than dropping the
+ * data or blocking the producer. The spilled data is replayed to the consumer after the in-memory buffer is drained.
+ * The data is written into the file as long as there is any spilled data not replayed, to keep the order.
+ * <p>
+ * The file is created at the first spilling. When the file is full, or it can't be created, the data falls back to
+ * the {@link BufferStrategy} of the in-memory buffer.
+ */
+public class SpillableQueueBuffer<T> implements QueueBuffer<T> {
+    private final ArrayBlockingQueueBuffer<T> memoryBuffer;
+    private final File file;
+    private final SpillSettings<T> settings;
+    private volatile MappedSpillFile spillFile;
+    private volatile boolean spillFileUnavailable;
+
+    SpillableQueueBuffer(ArrayBlockingQueueBuffer<T> memoryBuffer, File file, SpillSettings<T> settings) {
+        this.memoryBuffer = memoryBuffer;
+        this.file = file;
+        this.settings = settings;
+    }
+
+    @Override
+    public boolean save(T data) {
+        MappedSpillFile spill = this.spillFile;
+        if ((spill == null || spill.isEmpty()) && memoryBuffer.offer(data)) {
+            return true;
+        }
+        spill = getOrCreateSpillFile();
+        if (spill != null) {
+            final byte[] bytes;
+            try {
+                bytes = settings.getCodec().encode(data);
+            } catch (RuntimeException e) {
+                settings.getListener().onSpillFailure();
+                return false;
+            }
+            if (spill.append(bytes)) {
+                settings.getListener().onSpill();
+                return true;
+            }
+        }
+        return memoryBuffer.save(data);
+    }
+
+    @Override
+    public void setStrategy(BufferStrategy strategy) {
+        memoryBuffer.setStrategy(strategy);
+    }
+
+    /**
+     * Obtain the data in memory first, then replay the spilled data, no more than the size of the in-memory buffer
+     * once.
+     */
+    @Override
+    public void obtain(List<T> consumeList) {
+        memoryBuffer.obtain(consumeList);
+        final MappedSpillFile spill = this.spillFile;
+        if (spill == null) {
+            return;
+        }
+        int replayed = 0;
+        byte[] bytes;
+        while (replayed < memoryBuffer.getBufferSize() && (bytes = spill.poll()) != null) {
+            try {
+                consumeList.add(settings.getCodec().decode(bytes));
+                replayed++;
+            } catch (RuntimeException e) {
+                settings.getListener().onSpillFailure();
+            }
+        }
+        if (replayed > 0) {
+            settings.getListener().onReplay(replayed);
+        }
+    }
+
+    @Override
+    public int getBufferSize() {
+        return memoryBuffer.getBufferSize();
+    }
+
+    /**
+     * @return the number of the data in the spill file.
+     */
+    public int getSpilledSize() {
+        final MappedSpillFile spill = this.spillFile;
+        return spill == null ? 0 : spill.size();
+    }
+
+    private MappedSpillFile getOrCreateSpillFile() {
+        if (spillFile != null || spillFileUnavailable) {
+            return spillFile;
+        }
+        synchronized (this) {
+            if (spillFile == null && !spillFileUnavailable) {
+                try {
+                    spillFile = new MappedSpillFile(file, settings.getMaxFileSize());
+                    file.deleteOnExit();
+                } catch (IOException | RuntimeException e) {
+                    spillFileUnavailable = true;
+                }
+            }
+            return spillFile;
+        }
+    }
+}
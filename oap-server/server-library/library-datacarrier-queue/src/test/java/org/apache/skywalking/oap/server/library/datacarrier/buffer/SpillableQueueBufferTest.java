@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.library.datacarrier.buffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.skywalking.oap.server.library.datacarrier.DataCarrier;
+import org.apache.skywalking.oap.server.library.datacarrier.SampleData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.powermock.reflect.Whitebox;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpillableQueueBufferTest {
+    @TempDir
+    File directory;
+
+    private final AtomicInteger spilled = new AtomicInteger();
+    private final AtomicInteger replayed = new AtomicInteger();
+
+    @Test
+    public void testMappedSpillFileWrap() throws IOException {
+        // 3 records of 4 + 10 bytes fit in the file.
+        MappedSpillFile file = new MappedSpillFile(new File(directory, "ring.spill"), 50);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(file.append(record(i)));
+        }
+        assertFalse(file.append(record(3)));
+
+        assertArrayEquals(record(0), file.poll());
+        assertArrayEquals(record(1), file.poll());
+        // Wrap to the head of the file.
+        assertTrue(file.append(record(4)));
+        assertTrue(file.append(record(5)));
+        assertFalse(file.append(record(6)));
+
+        assertArrayEquals(record(2), file.poll());
+        assertArrayEquals(record(4), file.poll());
+        assertArrayEquals(record(5), file.poll());
+        assertNull(file.poll());
+        assertTrue(file.isEmpty());
+    }
+
+    @Test
+    public void testSpillAndReplay() {
+        DataCarrier<SampleData> carrier = new DataCarrier<>("spill-test", "SPILL_TEST", 1, 10, BufferStrategy.IF_POSSIBLE);
+        carrier.spill(new SpillSettings<>(directory, 1024 * 1024, new SampleDataCodec(), new CountingListener()));
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(carrier.produce(new SampleData().setIntValue(i).setName("data" + i)));
+        }
+        assertEquals(15, spilled.get());
+        assertTrue(new File(directory, "spill-test-0.spill").exists());
+
+        Channels<SampleData> channels = Whitebox.getInternalState(carrier, "channels");
+        SpillableQueueBuffer<SampleData> buffer = (SpillableQueueBuffer<SampleData>) channels.getBuffer(0);
+        assertEquals(15, buffer.getSpilledSize());
+
+        List<SampleData> result = new ArrayList<>();
+        buffer.obtain(result);
+        // 10 in memory, and replay no more than the buffer size.
+        assertEquals(20, result.size());
+        buffer.obtain(result);
+        assertEquals(25, result.size());
+        assertEquals(15, replayed.get());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i, result.get(i).getIntValue());
+            assertEquals("data" + i, result.get(i).getName());
+        }
+
+        // Back to memory after the spill file is drained.
+        assertTrue(carrier.produce(new SampleData().setIntValue(25)));
+        assertEquals(15, spilled.get());
+    }
+
+    @Test
+    public void testFallbackWhenSpillFileIsFull() {
+        DataCarrier<SampleData> carrier = new DataCarrier<>("spill-full-test", "SPILL_FULL_TEST", 1, 2, BufferStrategy.IF_POSSIBLE);
+        // Every record costs 4 + 8 bytes, 2 of them fit.
+        carrier.spill(new SpillSettings<>(directory, 30, new SampleDataCodec(), new CountingListener()));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(carrier.produce(new SampleData().setIntValue(i).setName("data" + i)));
+        }
+        assertFalse(carrier.produce(new SampleData().setIntValue(4).setName("data4")));
+        assertEquals(2, spilled.get());
+    }
+
+    private static byte[] record(int i) {
+        return String.format("record-%03d", i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class SampleDataCodec implements SpillCodec<SampleData> {
+        @Override
+        public byte[] encode(final SampleData data) {
+            return (data.getIntValue() + "," + data.getName()).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public SampleData decode(final byte[] bytes) {
+            String[] values = new String(bytes, StandardCharsets.UTF_8).split(",");
+            return new SampleData().setIntValue(Integer.parseInt(values[0])).setName(values[1]);
+        }
+    }
+
+    private class CountingListener implements SpillListener {
+        @Override
+        public void onSpill() {
+            spilled.incrementAndGet();
+        }
+
+        @Override
+        public void onReplay(final int count) {
+            replayed.addAndGet(count);
+        }
+
+        @Override
+        public void onSpillFailure() {
+        }
+    }
+}
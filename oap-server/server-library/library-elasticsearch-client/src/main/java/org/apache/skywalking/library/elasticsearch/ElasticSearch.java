@@ -39,13 +39,17 @@ import java.io.InputStream;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.skywalking.library.elasticsearch.client.AliasClient;
+import org.apache.skywalking.library.elasticsearch.client.ClusterClient;
 import org.apache.skywalking.library.elasticsearch.client.DocumentClient;
 import org.apache.skywalking.library.elasticsearch.client.IndexClient;
 import org.apache.skywalking.library.elasticsearch.client.SearchClient;
@@ -55,6 +59,7 @@ import org.apache.skywalking.library.elasticsearch.requests.search.Search;
 import org.apache.skywalking.library.elasticsearch.requests.search.SearchParams;
 import org.apache.skywalking.library.elasticsearch.response.NodeInfo;
 import org.apache.skywalking.library.elasticsearch.response.search.SearchResponse;
+import org.apache.skywalking.library.elasticsearch.routing.ShardRouter;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
 
 @Slf4j
@@ -69,33 +74,64 @@ public final class ElasticSearch implements Closeable {
     @Getter
     private final CompletableFuture<ElasticSearchVersion> version;
 
+    private final SessionProtocol protocol;
+    private final AuthToken authToken;
+    private final Duration responseTimeout;
     private final EndpointGroup endpointGroup;
     private final ClientFactory clientFactory;
     private final Consumer<List<Endpoint>> healthyEndpointListener;
+    /**
+     * The clients to send requests to the specific nodes, see {@link #shardRouter}.
+     */
+    private final Map<Endpoint, WebClient> nodeClients = new ConcurrentHashMap<>();
 
     private final TemplateClient templateClient;
     private final IndexClient indexClient;
     private final DocumentClient documentClient;
     private final AliasClient aliasClient;
     private final SearchClient searchClient;
+    private final ClusterClient clusterClient;
+    private final Duration shardRoutingRefreshInterval;
+    private volatile ShardRouter shardRouter;
 
     ElasticSearch(SessionProtocol protocol,
                   String username, String password,
                   EndpointGroup endpointGroup,
                   ClientFactory clientFactory,
                   Consumer<Boolean> healthyListener,
-                  Duration responseTimeout) {
+                  Duration responseTimeout,
+                  Duration shardRoutingRefreshInterval) {
+        this.protocol = protocol;
         this.endpointGroup = endpointGroup;
         this.clientFactory = clientFactory;
+        this.responseTimeout = responseTimeout;
+        this.shardRoutingRefreshInterval = shardRoutingRefreshInterval;
         if (healthyListener != null) {
             healthyEndpointListener = it -> healthyListener.accept(!it.isEmpty());
         } else {
             healthyEndpointListener = it -> {
             };
         }
+        if (StringUtil.isNotBlank(username) && StringUtil.isNotBlank(password)) {
+            authToken = AuthToken.ofBasic(username, password);
+        } else {
+            authToken = null;
+        }
+
+        client = newClient(endpointGroup);
+        version = new CompletableFuture<>();
+
+        templateClient = new TemplateClient(version, client);
+        documentClient = new DocumentClient(version, client);
+        indexClient = new IndexClient(version, client);
+        aliasClient = new AliasClient(version, client);
+        searchClient = new SearchClient(version, client);
+        clusterClient = new ClusterClient(version, client);
+    }
 
+    private WebClient newClient(EndpointGroup endpoints) {
         final WebClientBuilder builder =
-            WebClient.builder(protocol, endpointGroup)
+            WebClient.builder(protocol, endpoints)
                      .factory(clientFactory)
                      .responseTimeout(responseTimeout)
                      .decorator(LoggingClient.builder()
@@ -104,17 +140,10 @@ public final class ElasticSearch implements Closeable {
                      .decorator(RetryingClient.builder(RetryRule.failsafe())
                                               .maxTotalAttempts(3)
                                               .newDecorator());
-        if (StringUtil.isNotBlank(username) && StringUtil.isNotBlank(password)) {
-            builder.auth(AuthToken.ofBasic(username, password));
+        if (authToken != null) {
+            builder.auth(authToken);
         }
-        client = builder.build();
-        version = new CompletableFuture<>();
-
-        templateClient = new TemplateClient(version, client);
-        documentClient = new DocumentClient(version, client);
-        indexClient = new IndexClient(version, client);
-        aliasClient = new AliasClient(version, client);
-        searchClient = new SearchClient(version, client);
+        return builder.build();
     }
 
     public static ElasticSearchBuilder builder() {
@@ -149,6 +178,9 @@ public final class ElasticSearch implements Closeable {
             }
             log.info("ElasticSearch version is: {}", v);
             version.complete(v);
+            if (shardRoutingRefreshInterval != null) {
+                shardRouter = new ShardRouter(clusterClient, shardRoutingRefreshInterval);
+            }
         });
         endpointGroup.whenReady().thenAccept(healthyEndpointListener);
         endpointGroup.addListener(healthyEndpointListener);
@@ -163,6 +195,27 @@ public final class ElasticSearch implements Closeable {
         return documentClient;
     }
 
+    /**
+     * @return the document client sending the requests to the {@code node} only.
+     */
+    public DocumentClient documents(Endpoint node) {
+        return new DocumentClient(version, client(node));
+    }
+
+    /**
+     * @return the client sending the requests to the {@code node} only.
+     */
+    public WebClient client(Endpoint node) {
+        return nodeClients.computeIfAbsent(node, this::newClient);
+    }
+
+    /**
+     * @return the shard router, if the shard routing is enabled and the client has connected.
+     */
+    public Optional<ShardRouter> shardRouter() {
+        return Optional.ofNullable(shardRouter);
+    }
+
     public IndexClient index() {
         return indexClient;
     }
@@ -193,6 +246,9 @@ public final class ElasticSearch implements Closeable {
 
     @Override
     public void close() {
+        if (shardRouter != null) {
+            shardRouter.close();
+        }
         endpointGroup.removeListener(healthyEndpointListener);
         clientFactory.close();
         endpointGroup.close();
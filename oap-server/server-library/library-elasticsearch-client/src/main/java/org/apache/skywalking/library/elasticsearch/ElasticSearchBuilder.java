@@ -72,6 +72,8 @@ public final class ElasticSearchBuilder {
 
     private int numHttpClientThread;
 
+    private Duration shardRoutingRefreshInterval;
+
     public ElasticSearchBuilder protocol(String protocol) {
         checkArgument(StringUtil.isNotBlank(protocol), "protocol cannot be blank");
         this.protocol = SessionProtocol.of(protocol);
@@ -145,6 +147,18 @@ public final class ElasticSearchBuilder {
         return this;
     }
 
+    /**
+     * Route the bulk and multi-get requests to the nodes holding the primary shards of the documents, and refresh the
+     * routing tables in this interval.
+     */
+    public ElasticSearchBuilder shardRoutingRefreshInterval(Duration shardRoutingRefreshInterval) {
+        requireNonNull(shardRoutingRefreshInterval, "shardRoutingRefreshInterval");
+        checkArgument(!shardRoutingRefreshInterval.isNegative() && !shardRoutingRefreshInterval.isZero(),
+                      "shardRoutingRefreshInterval must be positive");
+        this.shardRoutingRefreshInterval = shardRoutingRefreshInterval;
+        return this;
+    }
+
     @SneakyThrows
     public ElasticSearch build() {
         final List<Endpoint> endpoints =
@@ -203,7 +217,8 @@ public final class ElasticSearchBuilder {
             endpointGroup,
             clientFactory,
             healthyListener,
-            responseTimeout
+            responseTimeout,
+            shardRoutingRefreshInterval
         );
     }
 }
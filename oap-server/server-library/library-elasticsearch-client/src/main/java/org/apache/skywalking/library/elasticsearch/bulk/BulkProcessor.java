@@ -17,6 +17,9 @@
 
 package org.apache.skywalking.library.elasticsearch.bulk;
 
+import com.linecorp.armeria.client.Endpoint;
+import com.linecorp.armeria.client.UnprocessedRequestException;
+import com.linecorp.armeria.client.WebClient;
 import com.linecorp.armeria.common.HttpStatus;
 import com.linecorp.armeria.common.util.Exceptions;
 import io.netty.buffer.ByteBuf;
@@ -24,13 +27,17 @@ import io.netty.buffer.Unpooled;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +46,7 @@ import org.apache.skywalking.library.elasticsearch.requests.IndexRequest;
 import org.apache.skywalking.library.elasticsearch.requests.UpdateRequest;
 import org.apache.skywalking.library.elasticsearch.requests.factory.Codec;
 import org.apache.skywalking.library.elasticsearch.requests.factory.RequestFactory;
+import org.apache.skywalking.library.elasticsearch.routing.ShardRouter;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 import org.apache.skywalking.oap.server.library.util.RunnableWithExceptionProtection;
 
@@ -149,52 +157,11 @@ public final class BulkProcessor {
             return Collections.emptyList();
         }
         try {
-            int bufferOfBytes = 0;
-            Codec codec = es.get().version().get().codec();
-            final List<byte[]> bs = new ArrayList<>();
-            List<CompletableFuture<Void>> futures = new ArrayList<>();
-            List<ByteBuf> byteBufList = new ArrayList<>();
-            for (final Holder holder : batch) {
-                byte[] bytes = codec.encode(holder.request);
-                bs.add(bytes);
-                bs.add("\n".getBytes());
-                bufferOfBytes += bytes.length + 1;
-                if (bufferOfBytes >= batchOfBytes) {
-                    final ByteBuf content = Unpooled.wrappedBuffer(bs.toArray(new byte[0][]));
-                    byteBufList.add(content);
-                    bs.clear();
-                    bufferOfBytes = 0;
-                }
-            }
-            if (CollectionUtils.isNotEmpty(bs)) {
-                final ByteBuf content = Unpooled.wrappedBuffer(bs.toArray(new byte[0][]));
-                byteBufList.add(content);
-            }
-            for (final ByteBuf content : byteBufList) {
-                CompletableFuture<Void> future = es.get().version().thenCompose(v -> {
-                    try {
-                        final RequestFactory rf = v.requestFactory();
-                        return es.get().client().execute(rf.bulk().bulk(content)).aggregate().thenAccept(response -> {
-                            final HttpStatus status = response.status();
-                            if (status != HttpStatus.OK) {
-                                throw new RuntimeException(response.contentUtf8());
-                            }
-                        });
-                    } catch (Exception e) {
-                        return Exceptions.throwUnsafely(e);
-                    }
-                });
-                future.whenComplete((ignored, exception) -> {
-                    if (exception != null) {
-                        batch.stream().map(it -> it.future)
-                             .forEach(it -> it.completeExceptionally((Throwable) exception));
-                        log.error("Failed to execute requests in bulk", exception);
-                    } else {
-                        log.debug("Succeeded to execute {} requests in bulk", batch.size());
-                        batch.stream().map(it -> it.future).forEach(it -> it.complete(null));
-                    }
-                });
-                futures.add(future);
+            final ElasticSearch es = this.es.get();
+            final Codec codec = es.version().get().codec();
+            final List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (final Map.Entry<Endpoint, List<Holder>> group : groupByNode(es, batch).entrySet()) {
+                futures.addAll(flushToNode(es, codec, group.getKey(), group.getValue()));
             }
             return futures;
 
@@ -204,6 +171,111 @@ public final class BulkProcessor {
         }
     }
 
+    /**
+     * Group the requests by the node holding the primary shard of the document, so that the node indexes them
+     * without forwarding, the requests of unknown nodes are grouped by the {@code null} key.
+     */
+    private static Map<Endpoint, List<Holder>> groupByNode(final ElasticSearch es, final List<Holder> batch) {
+        final Optional<ShardRouter> router = es.shardRouter();
+        if (!router.isPresent()) {
+            return Collections.singletonMap(null, batch);
+        }
+        final Map<Endpoint, List<Holder>> groups = new HashMap<>();
+        for (final Holder holder : batch) {
+            final Endpoint node;
+            if (holder.request instanceof IndexRequest) {
+                final IndexRequest request = (IndexRequest) holder.request;
+                node = router.get().route(request.getIndex(), request.getRouting().orElse(request.getId()));
+            } else {
+                final UpdateRequest request = (UpdateRequest) holder.request;
+                node = router.get().route(request.getIndex(), request.getId());
+            }
+            groups.computeIfAbsent(node, it -> new ArrayList<>()).add(holder);
+        }
+        return groups;
+    }
+
+    /**
+     * Send the requests to the node in bulks of {@link #batchOfBytes} at most, in parallel.
+     */
+    private List<CompletableFuture<Void>> flushToNode(final ElasticSearch es,
+                                                      final Codec codec,
+                                                      final Endpoint node,
+                                                      final List<Holder> holders) throws Exception {
+        int bufferOfBytes = 0;
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        final List<byte[]> bs = new ArrayList<>();
+        List<Holder> chunk = new ArrayList<>();
+        for (final Holder holder : holders) {
+            byte[] bytes = codec.encode(holder.request);
+            bs.add(bytes);
+            bs.add("\n".getBytes());
+            chunk.add(holder);
+            bufferOfBytes += bytes.length + 1;
+            if (bufferOfBytes >= batchOfBytes) {
+                futures.add(flushChunk(es, node, bs.toArray(new byte[0][]), chunk));
+                bs.clear();
+                chunk = new ArrayList<>();
+                bufferOfBytes = 0;
+            }
+        }
+        if (CollectionUtils.isNotEmpty(bs)) {
+            futures.add(flushChunk(es, node, bs.toArray(new byte[0][]), chunk));
+        }
+        return futures;
+    }
+
+    private CompletableFuture<Void> flushChunk(final ElasticSearch es,
+                                               final Endpoint node,
+                                               final byte[][] content,
+                                               final List<Holder> chunk) {
+        CompletableFuture<Void> future = execute(es, node, content);
+        if (node != null) {
+            // The node is unreachable since the last refresh of the routing, send the requests to any node.
+            future = future.handle((ignored, exception) -> {
+                if (exception == null) {
+                    return CompletableFuture.<Void>completedFuture(null);
+                }
+                if (Exceptions.peel(exception) instanceof UnprocessedRequestException) {
+                    log.warn("Failed to connect to node {}, retry the bulk through any node", node);
+                    return execute(es, null, content);
+                }
+                return CompletableFuture.<Void>failedFuture(exception);
+            }).thenCompose(Function.identity());
+        }
+        future.whenComplete((ignored, exception) -> {
+            if (exception != null) {
+                chunk.stream().map(it -> it.future)
+                     .forEach(it -> it.completeExceptionally((Throwable) exception));
+                log.error("Failed to execute requests in bulk", exception);
+            } else {
+                log.debug("Succeeded to execute {} requests in bulk", chunk.size());
+                chunk.stream().map(it -> it.future).forEach(it -> it.complete(null));
+            }
+        });
+        return future;
+    }
+
+    private static CompletableFuture<Void> execute(final ElasticSearch es,
+                                                   final Endpoint node,
+                                                   final byte[][] content) {
+        final WebClient client = node == null ? es.client() : es.client(node);
+        return es.version().thenCompose(v -> {
+            try {
+                final RequestFactory rf = v.requestFactory();
+                final ByteBuf buf = Unpooled.wrappedBuffer(content);
+                return client.execute(rf.bulk().bulk(buf)).aggregate().thenAccept(response -> {
+                    final HttpStatus status = response.status();
+                    if (status != HttpStatus.OK) {
+                        throw new RuntimeException(response.contentUtf8());
+                    }
+                });
+            } catch (Exception e) {
+                return Exceptions.throwUnsafely(e);
+            }
+        });
+    }
+
     @RequiredArgsConstructor
     static class Holder {
         private final CompletableFuture<Void> future;
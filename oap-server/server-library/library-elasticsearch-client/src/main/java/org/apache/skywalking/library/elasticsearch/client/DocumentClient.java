@@ -87,6 +87,10 @@ public final class DocumentClient {
 
     @SneakyThrows
     public Optional<Documents> mget(String type, Map<String, List<String>> indexIds) {
+        return mgetAsync(type, indexIds).get();
+    }
+
+    public CompletableFuture<Optional<Documents>> mgetAsync(String type, Map<String, List<String>> indexIds) {
         final CompletableFuture<Optional<Documents>> future =
             version.thenCompose(
                 v -> client.execute(v.requestFactory().document().mget(type, indexIds))
@@ -111,7 +115,7 @@ public final class DocumentClient {
                 log.debug("Docs by indexIds {}: {}", indexIds, result);
             }
         });
-        return future.get();
+        return future;
     }
 
     @SneakyThrows
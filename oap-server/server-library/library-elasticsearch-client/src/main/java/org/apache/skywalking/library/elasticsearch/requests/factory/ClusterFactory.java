@@ -16,27 +16,18 @@
  *
  */
 
-package org.apache.skywalking.mqe.rt.operation.aggregatelabels;
+package org.apache.skywalking.library.elasticsearch.requests.factory;
 
-public class SumAggregateLabelsFunc implements AggregateLabelsFunc {
+import com.linecorp.armeria.common.HttpRequest;
 
-    private Double sum;
+public interface ClusterFactory {
+    /**
+     * Returns a request to get the shard count and the primary shard allocation of the {@code indices}.
+     */
+    HttpRequest routingTable(Iterable<String> indices);
 
-    @Override
-    public void combine(final Double value) {
-        if (value == null) {
-            return;
-        }
-
-        if (sum == null) {
-            sum = value;
-        } else {
-            sum = sum + value;
-        }
-    }
-
-    @Override
-    public Double getResult() {
-        return sum;
-    }
+    /**
+     * Returns a request to list the HTTP publish address of every node.
+     */
+    HttpRequest httpNodes();
 }
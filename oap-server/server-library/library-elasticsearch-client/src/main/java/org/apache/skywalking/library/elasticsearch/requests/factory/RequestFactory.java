@@ -59,4 +59,11 @@ public interface RequestFactory {
      * @see DocumentFactory
      */
     BulkFactory bulk();
+
+    /**
+     * Returns a {@link ClusterFactory} that is dedicated to compose cluster-related requests.
+     *
+     * @see ClusterFactory
+     */
+    ClusterFactory cluster();
 }
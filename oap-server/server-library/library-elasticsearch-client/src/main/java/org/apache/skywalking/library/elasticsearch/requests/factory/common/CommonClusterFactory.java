@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.library.elasticsearch.requests.factory.common;
+
+import com.google.common.base.Joiner;
+import com.linecorp.armeria.common.HttpRequest;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.library.elasticsearch.ElasticSearchVersion;
+import org.apache.skywalking.library.elasticsearch.requests.factory.ClusterFactory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Iterables.isEmpty;
+
+@RequiredArgsConstructor
+public final class CommonClusterFactory implements ClusterFactory {
+    private static final String ROUTING_TABLE_FILTER =
+        "metadata.indices.*.routing_num_shards,"
+            + "metadata.indices.*.settings.index.number_of_shards,"
+            + "metadata.indices.*.aliases,"
+            + "routing_table.indices.*.shards.*.shard,"
+            + "routing_table.indices.*.shards.*.primary,"
+            + "routing_table.indices.*.shards.*.state,"
+            + "routing_table.indices.*.shards.*.node";
+
+    private final ElasticSearchVersion version;
+
+    @Override
+    public HttpRequest routingTable(Iterable<String> indices) {
+        checkArgument(indices != null && !isEmpty(indices), "indices cannot be null or empty");
+
+        return HttpRequest.builder()
+                          .get("/_cluster/state/metadata,routing_table/{indices}")
+                          .pathParam("indices", Joiner.on(',').join(indices))
+                          .queryParam("ignore_unavailable", true)
+                          .queryParam("allow_no_indices", true)
+                          .queryParam("filter_path", ROUTING_TABLE_FILTER)
+                          .build();
+    }
+
+    @Override
+    public HttpRequest httpNodes() {
+        return HttpRequest.builder()
+                          .get("/_nodes/http")
+                          .queryParam("filter_path", "nodes.*.http.publish_address")
+                          .build();
+    }
+}
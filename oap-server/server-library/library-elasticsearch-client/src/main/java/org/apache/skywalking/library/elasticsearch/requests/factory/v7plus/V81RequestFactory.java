@@ -22,6 +22,7 @@ import lombok.experimental.Accessors;
 import org.apache.skywalking.library.elasticsearch.ElasticSearchVersion;
 import org.apache.skywalking.library.elasticsearch.requests.factory.AliasFactory;
 import org.apache.skywalking.library.elasticsearch.requests.factory.BulkFactory;
+import org.apache.skywalking.library.elasticsearch.requests.factory.ClusterFactory;
 import org.apache.skywalking.library.elasticsearch.requests.factory.DocumentFactory;
 import org.apache.skywalking.library.elasticsearch.requests.factory.IndexFactory;
 import org.apache.skywalking.library.elasticsearch.requests.factory.RequestFactory;
@@ -29,6 +30,7 @@ import org.apache.skywalking.library.elasticsearch.requests.factory.SearchFactor
 import org.apache.skywalking.library.elasticsearch.requests.factory.TemplateFactory;
 import org.apache.skywalking.library.elasticsearch.requests.factory.common.CommonAliasFactory;
 import org.apache.skywalking.library.elasticsearch.requests.factory.common.CommonBulkFactory;
+import org.apache.skywalking.library.elasticsearch.requests.factory.common.CommonClusterFactory;
 import org.apache.skywalking.library.elasticsearch.requests.factory.common.CommonSearchFactory;
 
 @Getter
@@ -40,6 +42,7 @@ public final class V81RequestFactory implements RequestFactory {
     private final DocumentFactory document;
     private final SearchFactory search;
     private final BulkFactory bulk;
+    private final ClusterFactory cluster;
 
     public V81RequestFactory(final ElasticSearchVersion version) {
         template = new V78TemplateFactory(version);
@@ -48,5 +51,6 @@ public final class V81RequestFactory implements RequestFactory {
         document = new V81DocumentFactory(version);
         search = new CommonSearchFactory(version);
         bulk = new CommonBulkFactory(version);
+        cluster = new CommonClusterFactory(version);
     }
 }
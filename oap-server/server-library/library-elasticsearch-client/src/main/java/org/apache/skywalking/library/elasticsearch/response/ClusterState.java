@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.library.elasticsearch.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * The metadata and routing table parts of the cluster state, filtered down to what the shard routing needs.
+ */
+@Data
+public final class ClusterState {
+    private Metadata metadata;
+
+    @JsonProperty("routing_table")
+    private RoutingTable routingTable;
+
+    @Data
+    public static final class Metadata {
+        private Map<String, IndexMetadata> indices = Collections.emptyMap();
+    }
+
+    @Data
+    public static final class IndexMetadata {
+        /**
+         * Absent in the clusters before 6.1, where it equals the number of shards.
+         */
+        @JsonProperty("routing_num_shards")
+        private int routingNumShards;
+        private Settings settings;
+        private List<String> aliases = Collections.emptyList();
+    }
+
+    @Data
+    public static final class Settings {
+        private IndexSettings index;
+    }
+
+    @Data
+    public static final class IndexSettings {
+        @JsonProperty("number_of_shards")
+        private int numberOfShards;
+    }
+
+    @Data
+    public static final class RoutingTable {
+        private Map<String, IndexRoutingTable> indices = Collections.emptyMap();
+    }
+
+    @Data
+    public static final class IndexRoutingTable {
+        /**
+         * key: shard id, value: the copies of the shard.
+         */
+        private Map<String, List<ShardRouting>> shards = Collections.emptyMap();
+    }
+
+    @Data
+    public static final class ShardRouting {
+        private int shard;
+        private boolean primary;
+        private String state;
+        private String node;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.library.elasticsearch.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Collections;
+import java.util.Map;
+import lombok.Data;
+
+@Data
+public final class Nodes {
+    /**
+     * key: node id.
+     */
+    private Map<String, Node> nodes = Collections.emptyMap();
+
+    @Data
+    public static final class Node {
+        private Http http;
+    }
+
+    @Data
+    public static final class Http {
+        /**
+         * {@code host:port}, or {@code hostname/ip:port} when the node is published by its hostname.
+         */
+        @JsonProperty("publish_address")
+        private String publishAddress;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.library.elasticsearch.routing;
+
+import com.google.common.collect.Iterables;
+import com.google.common.hash.Hashing;
+import com.linecorp.armeria.client.Endpoint;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.library.elasticsearch.client.ClusterClient;
+import org.apache.skywalking.library.elasticsearch.response.ClusterState;
+import org.apache.skywalking.library.elasticsearch.response.Nodes;
+import org.apache.skywalking.oap.server.library.util.RunnableWithExceptionProtection;
+
+/**
+ * ShardRouter locates the node holding the primary shard of a document, the same way ElasticSearch routes the
+ * document, so that the requests could be sent to that node directly, rather than through a coordinating node
+ * which forwards them again.
+ *
+ * The routing tables are loaded in the background, only for the indices looked up since the last refresh. A
+ * document of an index not loaded yet is not routed, and the caller should send it to any node as usual.
+ */
+@Slf4j
+public final class ShardRouter implements Closeable {
+    /**
+     * Keep the URL of the cluster state request short.
+     */
+    private static final int MAX_INDICES_PER_REQUEST = 50;
+
+    private final ClusterClient cluster;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Set<String> accessedIndices = ConcurrentHashMap.newKeySet();
+    private volatile Map<String, IndexRouting> routings = Collections.emptyMap();
+
+    public ShardRouter(final ClusterClient cluster, final Duration refreshInterval) {
+        this.cluster = cluster;
+        scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread thread = new Thread(r);
+            thread.setName("ElasticSearch ShardRouter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        scheduler.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+        scheduler.scheduleWithFixedDelay(
+            new RunnableWithExceptionProtection(
+                this::refresh,
+                t -> log.warn("Failed to refresh the shard routing, keep the previous one.", t)
+            ), refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param index   the physical index name or an alias of one index
+     * @param routing the custom routing value, or the document id when there is no custom routing
+     * @return the node holding the primary shard of the document, or null if it is unknown yet.
+     */
+    public Endpoint route(final String index, final String routing) {
+        accessedIndices.add(index);
+        final IndexRouting indexRouting = routings.get(index);
+        if (indexRouting == null) {
+            return null;
+        }
+        return indexRouting.primaries[shardId(routing, indexRouting.routingNumShards, indexRouting.numberOfShards)];
+    }
+
+    void refresh() {
+        final Set<String> indices = new HashSet<>(accessedIndices);
+        accessedIndices.removeAll(indices);
+        if (indices.isEmpty()) {
+            routings = Collections.emptyMap();
+            return;
+        }
+        try {
+            final Map<String, Endpoint> nodes = parseNodes(cluster.httpNodes());
+            final Map<String, IndexRouting> newRoutings = new HashMap<>();
+            for (final List<String> partition : Iterables.partition(indices, MAX_INDICES_PER_REQUEST)) {
+                newRoutings.putAll(parseRoutings(cluster.routingTable(partition), partition, nodes));
+            }
+            routings = newRoutings;
+        } catch (RuntimeException e) {
+            // Look them up again in the next round.
+            accessedIndices.addAll(indices);
+            throw e;
+        }
+    }
+
+    static Map<String, Endpoint> parseNodes(final Nodes nodes) {
+        final Map<String, Endpoint> endpoints = new HashMap<>();
+        nodes.getNodes().forEach((id, node) -> {
+            if (node.getHttp() == null || node.getHttp().getPublishAddress() == null) {
+                return;
+            }
+            // The address is `hostname/ip:port` if the node is published by its hostname.
+            final String address = node.getHttp().getPublishAddress();
+            endpoints.put(id, Endpoint.parse(address.substring(address.lastIndexOf('/') + 1)));
+        });
+        return endpoints;
+    }
+
+    /**
+     * @param names the requested index names, some of which could be aliases.
+     */
+    static Map<String, IndexRouting> parseRoutings(final ClusterState state,
+                                                   final List<String> names,
+                                                   final Map<String, Endpoint> nodes) {
+        if (state.getMetadata() == null || state.getRoutingTable() == null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, IndexRouting> indexRoutings = new HashMap<>();
+        final Map<String, String> aliasToIndex = new HashMap<>();
+        state.getMetadata().getIndices().forEach((index, metadata) -> {
+            final ClusterState.IndexRoutingTable table = state.getRoutingTable().getIndices().get(index);
+            if (table == null || metadata.getSettings() == null || metadata.getSettings().getIndex() == null) {
+                return;
+            }
+            final int numberOfShards = metadata.getSettings().getIndex().getNumberOfShards();
+            if (numberOfShards <= 0) {
+                return;
+            }
+            final Endpoint[] primaries = new Endpoint[numberOfShards];
+            table.getShards().values().forEach(copies -> copies.forEach(copy -> {
+                if (copy.isPrimary() && "STARTED".equals(copy.getState())
+                    && copy.getShard() >= 0 && copy.getShard() < numberOfShards) {
+                    primaries[copy.getShard()] = nodes.get(copy.getNode());
+                }
+            }));
+            final int routingNumShards =
+                metadata.getRoutingNumShards() > 0 ? metadata.getRoutingNumShards() : numberOfShards;
+            indexRoutings.put(index, new IndexRouting(numberOfShards, routingNumShards, primaries));
+            // An alias pointing to more than one index can't be routed.
+            metadata.getAliases().forEach(alias -> aliasToIndex.merge(alias, index, (a, b) -> ""));
+        });
+        final Map<String, IndexRouting> result = new HashMap<>();
+        for (final String name : names) {
+            final IndexRouting routing = indexRoutings.getOrDefault(
+                name, indexRoutings.get(aliasToIndex.getOrDefault(name, "")));
+            if (routing != null) {
+                result.put(name, routing);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The same as {@code OperationRouting#calculateScaledShardId} of ElasticSearch, without routing partitions.
+     */
+    static int shardId(final String routing, final int routingNumShards, final int numberOfShards) {
+        final int routingFactor = routingNumShards / numberOfShards;
+        return Math.floorMod(hash(routing), routingNumShards) / routingFactor;
+    }
+
+    /**
+     * The same as {@code Murmur3HashFunction#hash(String)} of ElasticSearch, which hashes the UTF-16 code units in
+     * little-endian order.
+     */
+    static int hash(final String routing) {
+        final byte[] bytes = new byte[routing.length() * 2];
+        for (int i = 0; i < routing.length(); i++) {
+            final char c = routing.charAt(i);
+            bytes[i * 2] = (byte) c;
+            bytes[i * 2 + 1] = (byte) (c >>> 8);
+        }
+        return Hashing.murmur3_32_fixed().hashBytes(bytes).asInt();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    @RequiredArgsConstructor
+    static final class IndexRouting {
+        final int numberOfShards;
+        final int routingNumShards;
+        /**
+         * The node of every primary shard, null if the shard is not started or the node has no HTTP address.
+         */
+        final Endpoint[] primaries;
+    }
+}
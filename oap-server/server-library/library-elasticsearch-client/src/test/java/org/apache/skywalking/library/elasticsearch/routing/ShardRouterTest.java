@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.library.elasticsearch.routing;
+
+import com.linecorp.armeria.client.Endpoint;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import org.apache.skywalking.library.elasticsearch.requests.factory.v7plus.codec.V7Codec;
+import org.apache.skywalking.library.elasticsearch.response.ClusterState;
+import org.apache.skywalking.library.elasticsearch.response.Nodes;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShardRouterTest {
+    private static final String NODES = "{\"nodes\":{"
+        + "\"n1\":{\"http\":{\"publish_address\":\"10.0.0.1:9200\"}},"
+        + "\"n2\":{\"http\":{\"publish_address\":\"es-2/10.0.0.2:9200\"}}}}";
+
+    private static final String CLUSTER_STATE = "{"
+        + "\"metadata\":{\"indices\":{"
+        + "\"sw_metrics-all-20231010\":{\"routing_num_shards\":640,"
+        + "\"settings\":{\"index\":{\"number_of_shards\":\"5\"}},\"aliases\":[\"sw_metrics-all\"]},"
+        + "\"sw_metrics-all-20231011\":{\"routing_num_shards\":640,"
+        + "\"settings\":{\"index\":{\"number_of_shards\":\"5\"}},\"aliases\":[\"sw_metrics-all\"]},"
+        + "\"sw_ui_template\":{\"settings\":{\"index\":{\"number_of_shards\":\"1\"}},\"aliases\":[\"sw_ui\"]}}},"
+        + "\"routing_table\":{\"indices\":{"
+        + "\"sw_metrics-all-20231010\":{\"shards\":{"
+        + "\"0\":[{\"shard\":0,\"primary\":true,\"state\":\"STARTED\",\"node\":\"n1\"}],"
+        + "\"1\":[{\"shard\":1,\"primary\":false,\"state\":\"STARTED\",\"node\":\"n1\"},"
+        + "{\"shard\":1,\"primary\":true,\"state\":\"STARTED\",\"node\":\"n2\"}],"
+        + "\"2\":[{\"shard\":2,\"primary\":true,\"state\":\"INITIALIZING\",\"node\":\"n1\"}],"
+        + "\"3\":[{\"shard\":3,\"primary\":true,\"state\":\"STARTED\",\"node\":\"n2\"}],"
+        + "\"4\":[{\"shard\":4,\"primary\":true,\"state\":\"STARTED\",\"node\":\"n1\"}]}},"
+        + "\"sw_metrics-all-20231011\":{\"shards\":{"
+        + "\"0\":[{\"shard\":0,\"primary\":true,\"state\":\"STARTED\",\"node\":\"n2\"}]}},"
+        + "\"sw_ui_template\":{\"shards\":{"
+        + "\"0\":[{\"shard\":0,\"primary\":true,\"state\":\"STARTED\",\"node\":\"n2\"}]}}}}}";
+
+    @Test
+    public void hashShouldBeTheSameAsElasticSearch() {
+        assertThat(ShardRouter.hash("hell")).isEqualTo(0x5a0cb7c3);
+        assertThat(ShardRouter.hash("hello")).isEqualTo(0xd7c31989);
+        assertThat(ShardRouter.hash("hello w")).isEqualTo(0x22ab2984);
+        assertThat(ShardRouter.hash("hello wo")).isEqualTo(0xdf0ca123);
+        assertThat(ShardRouter.hash("hello wor")).isEqualTo(0xe7744d61);
+        assertThat(ShardRouter.hash("The quick brown fox jumps over the lazy dog")).isEqualTo(0xe07db09c);
+        assertThat(ShardRouter.hash("The quick brown fox jumps over the lazy cog")).isEqualTo(0x4e63d2ad);
+    }
+
+    @Test
+    public void shardIdShouldBeScaledByRoutingFactor() {
+        // floorMod(0xd7c31989, 640) = 521, and the routing factor is 640 / 5 = 128.
+        assertThat(ShardRouter.shardId("hello", 640, 5)).isEqualTo(4);
+        // Without the routing shards of 7.x, the hash is modulo the number of shards.
+        assertThat(ShardRouter.shardId("hello", 5, 5)).isEqualTo(1);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(ShardRouter.shardId("id_" + i, 1024, 1)).isEqualTo(0);
+            assertThat(ShardRouter.shardId("id_" + i, 640, 5)).isBetween(0, 4);
+        }
+    }
+
+    @Test
+    public void parseRoutings() throws Exception {
+        final Map<String, Endpoint> nodes = ShardRouter.parseNodes(decode(NODES, Nodes.class));
+        assertThat(nodes).containsEntry("n1", Endpoint.of("10.0.0.1", 9200))
+                         .containsEntry("n2", Endpoint.of("10.0.0.2", 9200));
+
+        final Map<String, ShardRouter.IndexRouting> routings = ShardRouter.parseRoutings(
+            decode(CLUSTER_STATE, ClusterState.class),
+            Arrays.asList("sw_metrics-all-20231010", "sw_metrics-all", "sw_ui", "sw_metrics-all-20231012"),
+            nodes
+        );
+        // The alias of more than one index and the missing index are not routed.
+        assertThat(routings).containsOnlyKeys("sw_metrics-all-20231010", "sw_ui");
+
+        final ShardRouter.IndexRouting metrics = routings.get("sw_metrics-all-20231010");
+        assertThat(metrics.numberOfShards).isEqualTo(5);
+        assertThat(metrics.routingNumShards).isEqualTo(640);
+        assertThat(metrics.primaries).containsExactly(
+            Endpoint.of("10.0.0.1", 9200), Endpoint.of("10.0.0.2", 9200), null,
+            Endpoint.of("10.0.0.2", 9200), Endpoint.of("10.0.0.1", 9200)
+        );
+
+        final ShardRouter.IndexRouting template = routings.get("sw_ui");
+        assertThat(template.routingNumShards).isEqualTo(1);
+        assertThat(template.primaries).containsExactly(Endpoint.of("10.0.0.2", 9200));
+    }
+
+    private static <T> T decode(final String json, final Class<T> type) throws Exception {
+        return V7Codec.INSTANCE.decode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), type);
+    }
+}
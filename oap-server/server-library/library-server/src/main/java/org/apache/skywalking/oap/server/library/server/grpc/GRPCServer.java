@@ -38,6 +38,7 @@ import org.apache.skywalking.oap.server.library.server.Server;
 import org.apache.skywalking.oap.server.library.server.ServerException;
 import org.apache.skywalking.oap.server.library.server.grpc.ssl.DynamicSslContext;
 import org.apache.skywalking.oap.server.library.server.pool.CustomThreadFactory;
+import org.apache.skywalking.oap.server.library.util.VirtualThreads;
 
 @Slf4j
 public class GRPCServer implements Server {
@@ -53,6 +54,7 @@ public class GRPCServer implements Server {
     private String trustedCAsFile;
     private DynamicSslContext sslContext;
     private int threadPoolSize;
+    private boolean virtualThreadsEnabled;
     private static final Marker SERVER_START_MARKER = MarkerFactory.getMarker("Console");
 
     public GRPCServer(String host, int port) {
@@ -72,6 +74,14 @@ public class GRPCServer implements Server {
         this.threadPoolSize = threadPoolSize;
     }
 
+    /**
+     * Run the calls on the virtual threads when the JVM supports them. The thread pool size still bounds the number of
+     * the calls running concurrently.
+     */
+    public void setVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
     /**
      * Require for `server.crt` and `server.pem` for open ssl at server side.
      *
@@ -96,11 +106,10 @@ public class GRPCServer implements Server {
         if (maxMessageSize > 0) {
             nettyServerBuilder.maxInboundMessageSize(maxMessageSize);
         }
-        if (threadPoolSize > 0) {
-            ExecutorService executor = new ThreadPoolExecutor(
-                threadPoolSize, threadPoolSize, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
-                new CustomThreadFactory("grpcServerPool"), new CustomRejectedExecutionHandler()
-            );
+        ExecutorService executor = virtualThreadsEnabled ?
+            VirtualThreads.createExecutor("grpcServerVirtualThread", threadPoolSize, this::createPlatformExecutor) :
+            createPlatformExecutor();
+        if (executor != null) {
             nettyServerBuilder.executor(executor);
         }
 
@@ -111,6 +120,16 @@ public class GRPCServer implements Server {
         log.info(SERVER_START_MARKER, "Server started, host {} listening on {}", host, port);
     }
 
+    private ExecutorService createPlatformExecutor() {
+        if (threadPoolSize > 0) {
+            return new ThreadPoolExecutor(
+                threadPoolSize, threadPoolSize, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new CustomThreadFactory("grpcServerPool"), new CustomRejectedExecutionHandler()
+            );
+        }
+        return null;
+    }
+
     static class CustomRejectedExecutionHandler implements RejectedExecutionHandler {
         @Override
         public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.library.server.http;
 
 import com.google.common.collect.Sets;
+import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
@@ -37,11 +38,13 @@ import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.skywalking.oap.server.library.server.Server;
 import org.apache.skywalking.oap.server.library.server.ssl.PrivateKeyUtil;
+import org.apache.skywalking.oap.server.library.util.VirtualThreads;
 
 import static java.util.Objects.requireNonNull;
 
@@ -99,6 +102,16 @@ public class HTTPServer implements Server {
             sb.absoluteUriTransformer(this::transformAbsoluteURI);
         }
 
+        if (config.isVirtualThreadsEnabled()) {
+            // The blocking handlers, annotated by @Blocking, run on the virtual threads rather than the platform pool,
+            // and no more of them run concurrently than the threads of the platform pool.
+            final ScheduledExecutorService blockingTaskExecutor = VirtualThreads.createScheduledExecutor(
+                "httpServerVirtualThread", Flags.numCommonBlockingTaskThreads(), () -> null);
+            if (blockingTaskExecutor != null) {
+                sb.blockingTaskExecutor(blockingTaskExecutor, true);
+            }
+        }
+
         log.info("Server root context path: {}", contextPath);
     }
 
@@ -47,4 +47,10 @@ public class HTTPServerConfig {
     private String tlsCertChainPath;
 
     private boolean acceptProxyRequest;
+
+    /**
+     * Run the blocking handlers on the virtual threads when the JVM supports them.
+     */
+    @Builder.Default
+    private boolean virtualThreadsEnabled = false;
 }
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.library.server.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpResponseWriter;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * StreamingJsonResponse serializes the response object into JSON chunk by chunk, and writes the chunks into a
+ * streaming {@link HttpResponse}. The next chunk is serialized after the previous one has been consumed by the
+ * connection, so only one chunk of the body is held in memory, rather than the whole JSON string and its bytes. The
+ * serialization stops once the client goes away.
+ * <p>
+ * The serialization runs in the blocking task executor of the current request, as it waits for the connection.
+ */
+@Slf4j
+public class StreamingJsonResponse {
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    public static HttpResponse of(ObjectMapper mapper, Object value) {
+        return of(mapper, value, MediaType.JSON, DEFAULT_CHUNK_SIZE);
+    }
+
+    public static HttpResponse of(ObjectMapper mapper, Object value, MediaType contentType, int chunkSize) {
+        final HttpResponseWriter writer = HttpResponse.streaming();
+        writer.write(ResponseHeaders.builder(HttpStatus.OK).contentType(contentType).build());
+
+        final ServiceRequestContext ctx = ServiceRequestContext.currentOrNull();
+        if (ctx == null) {
+            // Out of a request, nobody consumes the chunks until the response is returned.
+            write(mapper, value, writer, chunkSize, false);
+        } else {
+            ctx.blockingTaskExecutor().execute(() -> write(mapper, value, writer, chunkSize, true));
+        }
+        return writer;
+    }
+
+    private static void write(ObjectMapper mapper,
+                              Object value,
+                              HttpResponseWriter writer,
+                              int chunkSize,
+                              boolean awaitConsumption) {
+        try (ChunkedOutputStream out = new ChunkedOutputStream(writer, chunkSize, awaitConsumption)) {
+            mapper.writeValue(out, value);
+        } catch (Throwable t) {
+            if (writer.isOpen()) {
+                log.error("Failed to write the streaming response.", t);
+            } else if (log.isDebugEnabled()) {
+                log.debug("The streaming response is aborted, as the client has gone.", t);
+            }
+            writer.abort(t);
+            return;
+        }
+        writer.close();
+    }
+
+    private static class ChunkedOutputStream extends OutputStream {
+        private final HttpResponseWriter writer;
+        private final boolean awaitConsumption;
+        private final byte[] buffer;
+        private int position;
+        private boolean closed;
+
+        private ChunkedOutputStream(HttpResponseWriter writer, int chunkSize, boolean awaitConsumption) {
+            this.writer = writer;
+            this.awaitConsumption = awaitConsumption;
+            this.buffer = new byte[chunkSize];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (position == buffer.length) {
+                writeChunk();
+            }
+            buffer[position++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (position == buffer.length) {
+                    writeChunk();
+                }
+                final int n = Math.min(length, buffer.length - position);
+                System.arraycopy(bytes, offset, buffer, position, n);
+                position += n;
+                offset += n;
+                length -= n;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            writeChunk();
+        }
+
+        private void writeChunk() throws IOException {
+            if (position == 0) {
+                return;
+            }
+            if (!writer.tryWrite(HttpData.copyOf(buffer, 0, position))) {
+                throw new IOException("The response stream has been closed.");
+            }
+            position = 0;
+            if (awaitConsumption) {
+                try {
+                    CompletableFuture.anyOf(writer.whenConsumed(), writer.whenComplete()).join();
+                } catch (CompletionException e) {
+                    throw new IOException("The response stream has been aborted.", e.getCause());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.library.server.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StreamingJsonResponseTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void testBodyOutOfRequest() throws Exception {
+        final Map<String, Object> value = newValue(2000);
+        for (final int chunkSize : new int[] {1, 7, 1024, StreamingJsonResponse.DEFAULT_CHUNK_SIZE}) {
+            final AggregatedHttpResponse response = StreamingJsonResponse.of(
+                MAPPER, value, MediaType.JSON, chunkSize).aggregate().join();
+            assertEquals(HttpStatus.OK, response.status());
+            assertEquals(MediaType.JSON, response.contentType());
+            assertEquals(MAPPER.writeValueAsString(value), response.contentUtf8());
+        }
+    }
+
+    @Test
+    public void testBodyInRequest() throws Exception {
+        final Map<String, Object> value = newValue(2000);
+        final ServiceRequestContext ctx = ServiceRequestContext.of(HttpRequest.of(HttpMethod.GET, "/api/v1/query"));
+        final HttpResponse response;
+        try (SafeCloseable ignored = ctx.push()) {
+            response = StreamingJsonResponse.of(MAPPER, value, MediaType.JSON, 1024);
+        }
+        assertEquals(MAPPER.writeValueAsString(value), response.aggregate().join().contentUtf8());
+    }
+
+    @Test
+    public void testEmptyBody() throws Exception {
+        final Map<String, Object> value = new LinkedHashMap<>();
+        assertEquals(
+            MAPPER.writeValueAsString(value), StreamingJsonResponse.of(MAPPER, value).aggregate().join().contentUtf8());
+    }
+
+    private static Map<String, Object> newValue(int size) {
+        final Map<String, Object> value = new LinkedHashMap<>();
+        value.put("status", "success");
+        final List<Map<String, Object>> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final Map<String, Object> series = new LinkedHashMap<>();
+            // Multi-byte characters split across the chunk boundaries.
+            series.put("metric", "service_cpm{service=\"\u670d\u52a1-" + i + "\"}");
+            series.put("value", new Object[] {i * 60L, String.valueOf(i * 1.5)});
+            result.add(series);
+        }
+        value.put("data", result);
+        return value;
+    }
+}
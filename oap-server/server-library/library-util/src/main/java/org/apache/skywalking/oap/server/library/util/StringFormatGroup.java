@@ -19,8 +19,11 @@
 package org.apache.skywalking.oap.server.library.util;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -34,13 +37,17 @@ import lombok.ToString;
 @ToString
 public class StringFormatGroup {
     private final List<PatternRule> rules;
+    @ToString.Exclude
+    private final Set<String> names;
 
     public StringFormatGroup() {
         rules = new ArrayList<>();
+        names = new HashSet<>();
     }
 
     public StringFormatGroup(int size) {
         rules = new ArrayList<>(size);
+        names = new HashSet<>(size);
     }
 
     /**
@@ -50,12 +57,11 @@ public class StringFormatGroup {
      * @param ruleRegex to match target string.
      */
     public void addRule(String name, String ruleRegex) {
-        for (PatternRule rule : rules) {
-            if (rule.name.equals(name)) {
-                return;
-            }
+        if (names.contains(name)) {
+            return;
         }
         PatternRule rule = new PatternRule(name, ruleRegex);
+        names.add(name);
         rules.add(rule);
     }
 
@@ -78,6 +84,13 @@ public class StringFormatGroup {
         rules.sort(comparator);
     }
 
+    /**
+     * @return the rules in the order of matching.
+     */
+    public List<PatternRule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+
     @Getter
     @RequiredArgsConstructor
     @EqualsAndHashCode
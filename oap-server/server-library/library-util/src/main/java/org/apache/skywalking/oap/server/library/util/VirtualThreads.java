@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.library.util;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * VirtualThreads creates the executors of the virtual threads, one new virtual thread per task, when the JVM supports
+ * them (JDK 21+). The virtual thread APIs are called through reflection, so it works with the Java 11 build. The
+ * platform executors are used when they are not available.
+ *
+ * The servers use the virtual threads only when they are enabled by the module configurations. The number of the tasks
+ * running concurrently is bounded like the platform pools, the tasks over the bound wait in their parked virtual
+ * threads until a permit is released.
+ */
+@Slf4j
+public final class VirtualThreads {
+    private static final int MIN_FEATURE_VERSION = 21;
+
+    /**
+     * {@code Thread.ofVirtual()}, null if not supported.
+     */
+    private static final Method OF_VIRTUAL;
+    /**
+     * {@code Thread.Builder#name(String, long)}.
+     */
+    private static final Method BUILDER_NAME;
+    /**
+     * {@code Thread.Builder#factory()}.
+     */
+    private static final Method BUILDER_FACTORY;
+    /**
+     * {@code Executors.newThreadPerTaskExecutor(ThreadFactory)}.
+     */
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method newThreadPerTaskExecutor = null;
+        if (Runtime.version().feature() >= MIN_FEATURE_VERSION) {
+            try {
+                final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                ofVirtual = Thread.class.getMethod("ofVirtual");
+                builderName = builderClass.getMethod("name", String.class, long.class);
+                builderFactory = builderClass.getMethod("factory");
+                newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            } catch (ReflectiveOperationException e) {
+                log.warn("The virtual threads are not available in JDK {}.", Runtime.version(), e);
+                ofVirtual = null;
+            }
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if the JVM supports the virtual threads.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * @param namePrefix       the prefix of the virtual thread names.
+     * @param maxConcurrency   the max number of the tasks running concurrently, not bounded if it's not positive.
+     * @param platformExecutor creates the executor when the virtual threads are not supported.
+     * @return an executor which starts a new virtual thread for every task, or the platform executor.
+     */
+    public static ExecutorService createExecutor(String namePrefix,
+                                                 int maxConcurrency,
+                                                 Supplier<ExecutorService> platformExecutor) {
+        if (!isSupported()) {
+            return platformExecutor.get();
+        }
+        try {
+            final ExecutorService executor = (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(
+                null, virtualThreadFactory(namePrefix));
+            log.info("Use the virtual threads for {}, max concurrency {}.", namePrefix, maxConcurrency);
+            return maxConcurrency > 0 ? new BoundedExecutor(executor, maxConcurrency) : executor;
+        } catch (ReflectiveOperationException e) {
+            log.warn("Failed to create the virtual thread executor for {}, use the platform threads.", namePrefix, e);
+            return platformExecutor.get();
+        }
+    }
+
+    /**
+     * The tasks are executed by new virtual threads, and the delayed or periodic tasks are executed by the single
+     * platform thread of the scheduler, as they are not expected to block.
+     *
+     * @param namePrefix       the prefix of the virtual thread names.
+     * @param maxConcurrency   the max number of the immediate tasks running concurrently, not bounded if it's not
+     *                         positive.
+     * @param platformExecutor creates the executor when the virtual threads are not supported.
+     * @return a scheduled executor which starts a new virtual thread for every immediate task, or the platform
+     * executor.
+     */
+    public static ScheduledExecutorService createScheduledExecutor(String namePrefix,
+                                                                   int maxConcurrency,
+                                                                   Supplier<ScheduledExecutorService> platformExecutor) {
+        if (!isSupported()) {
+            return platformExecutor.get();
+        }
+        final ExecutorService executor = createExecutor(namePrefix, maxConcurrency, () -> null);
+        if (executor == null) {
+            return platformExecutor.get();
+        }
+        return new VirtualThreadScheduledExecutor(
+            executor, Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, namePrefix + "-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            }));
+    }
+
+    private static ThreadFactory virtualThreadFactory(String namePrefix) throws ReflectiveOperationException {
+        Object builder = OF_VIRTUAL.invoke(null);
+        builder = BUILDER_NAME.invoke(builder, namePrefix + "-", 0L);
+        return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+    }
+
+    /**
+     * BoundedExecutor runs at most the given number of the tasks concurrently. Every task acquires a permit in its own
+     * thread before running, so the caller is never blocked.
+     */
+    static class BoundedExecutor extends AbstractExecutorService {
+        private final ExecutorService executor;
+        private final Semaphore permits;
+
+        BoundedExecutor(ExecutorService executor, int maxConcurrency) {
+            this.executor = executor;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            executor.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            executor.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return executor.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return executor.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return executor.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return executor.awaitTermination(timeout, unit);
+        }
+    }
+
+    private static class VirtualThreadScheduledExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+        private final ExecutorService executor;
+        private final ScheduledExecutorService scheduler;
+
+        private VirtualThreadScheduledExecutor(ExecutorService executor, ScheduledExecutorService scheduler) {
+            this.executor = executor;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            executor.execute(command);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            return scheduler.schedule(command, delay, unit);
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            return scheduler.schedule(callable, delay, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+            return scheduler.scheduleAtFixedRate(command, initialDelay, period, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            return scheduler.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+        }
+
+        @Override
+        public void shutdown() {
+            scheduler.shutdown();
+            executor.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            final List<Runnable> tasks = scheduler.shutdownNow();
+            tasks.addAll(executor.shutdownNow());
+            return tasks;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return scheduler.isShutdown() && executor.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return scheduler.isTerminated() && executor.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            final long deadline = System.nanoTime() + unit.toNanos(timeout);
+            return scheduler.awaitTermination(timeout, unit)
+                && executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
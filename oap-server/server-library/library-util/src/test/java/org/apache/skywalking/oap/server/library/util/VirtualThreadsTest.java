@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.library.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void testCreateExecutor() throws Exception {
+        final ExecutorService platform = Executors.newSingleThreadExecutor();
+        final ExecutorService executor = VirtualThreads.createExecutor("test", 0, () -> platform);
+        try {
+            if (VirtualThreads.isSupported()) {
+                assertNotSame(platform, executor);
+            } else {
+                assertSame(platform, executor);
+            }
+            final Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+            if (VirtualThreads.isSupported()) {
+                assertEquals("test-0", name.get(10, TimeUnit.SECONDS));
+            } else {
+                name.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            platform.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBoundedExecutor() throws Exception {
+        final ExecutorService executor = new VirtualThreads.BoundedExecutor(Executors.newCachedThreadPool(), 2);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch finished = new CountDownLatch(8);
+        try {
+            for (int i = 0; i < 8; i++) {
+                executor.execute(() -> {
+                    final int current = running.incrementAndGet();
+                    maxRunning.accumulateAndGet(current, Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    finished.countDown();
+                });
+            }
+            assertTrue(finished.await(10, TimeUnit.SECONDS));
+            assertEquals(2, maxRunning.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCreateScheduledExecutor() throws Exception {
+        final ScheduledExecutorService executor = VirtualThreads.createScheduledExecutor(
+            "test", 2, Executors::newSingleThreadScheduledExecutor);
+        try {
+            assertEquals(1, executor.submit(() -> 1).get(10, TimeUnit.SECONDS));
+            final ScheduledFuture<Integer> scheduled = executor.schedule(() -> 2, 10, TimeUnit.MILLISECONDS);
+            assertEquals(2, scheduled.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
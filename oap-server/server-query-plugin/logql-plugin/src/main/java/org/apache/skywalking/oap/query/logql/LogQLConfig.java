@@ -31,4 +31,8 @@ public class LogQLConfig extends ModuleConfig {
     private int restMaxThreads = 200;
     private long restIdleTimeOut = 30000;
     private int restAcceptQueueSize = 0;
+    /**
+     * The max number of the logs returned by one range query, the larger `limit` of the query is capped to it.
+     */
+    private int maxLogsPerQuery = 5000;
 }
@@ -79,7 +79,7 @@ public class LogQLProvider extends ModuleProvider {
         httpServer = new HTTPServer(httpServerConfig);
         httpServer.initialize();
         httpServer.addHandler(
-            new LogQLApiHandler(getManager()),
+            new LogQLApiHandler(getManager(), config),
             Arrays.asList(HttpMethod.POST, HttpMethod.GET)
         );
     }
@@ -40,6 +40,7 @@ import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.apache.skywalking.logql.rt.grammar.LogQLLexer;
 import org.apache.skywalking.logql.rt.grammar.LogQLParser;
+import org.apache.skywalking.oap.query.logql.LogQLConfig;
 import org.apache.skywalking.oap.query.logql.entity.LabelName;
 import org.apache.skywalking.oap.query.logql.entity.LogDirection;
 import org.apache.skywalking.oap.query.logql.entity.ResultStatus;
@@ -66,15 +67,18 @@ import org.apache.skywalking.oap.server.core.query.type.Log;
 import org.apache.skywalking.oap.server.core.query.type.Logs;
 import org.apache.skywalking.oap.server.core.query.type.Pagination;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.server.http.StreamingJsonResponse;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
 
 public class LogQLApiHandler {
 
     private final LogQueryService logQueryService;
     private final TagAutoCompleteQueryService tagAutoCompleteQueryService;
+    private final LogQLConfig config;
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
-    public LogQLApiHandler(ModuleManager moduleManager) {
+    public LogQLApiHandler(ModuleManager moduleManager, LogQLConfig config) {
+        this.config = config;
         this.logQueryService = moduleManager.find(CoreModule.NAME)
                                             .provider()
                                             .getService(LogQueryService.class);
@@ -170,7 +174,7 @@ public class LogQLApiHandler {
             serviceInstanceId,
             endpointId,
             traceScopeCondition,
-            new Pagination(1, limit),
+            new Pagination(1, rowLimit(limit)),
             direction.getOrder(),
             duration,
             tags,
@@ -212,7 +216,18 @@ public class LogQLApiHandler {
                 responseData.getResult().add(result);
             });
 
-        return successResponse(logRangeQueryRsp);
+        return StreamingJsonResponse.of(
+            MAPPER, logRangeQueryRsp, MediaType.JSON_UTF_8, StreamingJsonResponse.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Cap the limit of the query, so the logs more than the max are never read from the storage.
+     */
+    private int rowLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return config.getMaxLogsPerQuery();
+        }
+        return Math.min(limit, config.getMaxLogsPerQuery());
     }
 
     private long nano2Millis(Long nanosecond) {
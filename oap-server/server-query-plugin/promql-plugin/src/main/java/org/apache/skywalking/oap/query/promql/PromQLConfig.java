@@ -31,6 +31,20 @@ public class PromQLConfig extends ModuleConfig {
     private int restMaxThreads = 200;
     private long restIdleTimeOut = 30000;
     private int restAcceptQueueSize = 0;
+    /**
+     * The max number of the series read by one query, the query fails once it is exceeded. 0 means unlimited.
+     */
+    private int maxSeriesPerQuery = 10000;
+    /**
+     * The max number of the samples(points of all series) read by one query, the query fails once it is exceeded.
+     * 0 means unlimited.
+     */
+    private long maxSamplesPerQuery = 10_000_000L;
+    /**
+     * The number of threads to read the selectors of the both sides of binary expressions concurrently.
+     * 0 means the selectors are read one by one in the query thread.
+     */
+    private int evaluationParallelism = 4;
 
     // The following configs are used to build `/api/v1/status/buildinfo` API response.
     private String buildInfoVersion = "2.45.0"; // Declare compatibility with 2.45 LTS version APIs.
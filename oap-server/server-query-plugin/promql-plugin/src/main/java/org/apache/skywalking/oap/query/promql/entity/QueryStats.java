@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.query.promql.entity;
+
+import lombok.Data;
+
+/**
+ * The execution statistics of one expression query, returned in the response data when the `stats` param is set,
+ * the same as the Prometheus query API.
+ */
+@Data
+public class QueryStats {
+    private final Timings timings = new Timings();
+    private final Samples samples = new Samples();
+
+    @Data
+    public static class Timings {
+        /**
+         * Seconds to parse the expression.
+         */
+        private double queryPreparationTime;
+        /**
+         * Seconds to evaluate the expression, including the storage reads.
+         */
+        private double evalTotalTime;
+        /**
+         * The total seconds of the storage reads of all the selectors.
+         * It could be longer than the evalTotalTime as the selectors are read concurrently.
+         */
+        private double selectorReadTime;
+    }
+
+    @Data
+    public static class Samples {
+        private long totalQueryableSamples;
+        private int series;
+    }
+}
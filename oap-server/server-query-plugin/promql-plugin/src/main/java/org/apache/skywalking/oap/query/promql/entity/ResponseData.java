@@ -18,10 +18,13 @@
 
 package org.apache.skywalking.oap.query.promql.entity;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import org.apache.skywalking.oap.query.promql.entity.response.ResultType;
 
 @Data
 public class ResponseData {
     private ResultType resultType;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private QueryStats stats;
 }
@@ -19,17 +19,54 @@
 package org.apache.skywalking.oap.query.promql.entity;
 
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import org.apache.skywalking.oap.query.promql.entity.codec.TimeValuePairSerializer;
+import org.apache.skywalking.oap.query.promql.rt.PromOpUtils;
 
 @Data
 @JsonSerialize(using = TimeValuePairSerializer.class)
 public class TimeValuePair {
     private final long time;
     private final String value;
+    /**
+     * The raw value of a pair calculated by the expression operations, so the following operations don't need to
+     * parse the formatted value, and don't lose the precision of it.
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final double rawValue;
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final boolean calculated;
 
     public TimeValuePair(final long time, String value) {
         this.time = time;
         this.value = value;
+        this.rawValue = 0;
+        this.calculated = false;
+    }
+
+    public TimeValuePair(final long time, long value) {
+        this.time = time;
+        this.value = Long.toString(value);
+        this.rawValue = value;
+        this.calculated = true;
+    }
+
+    public TimeValuePair(final long time, double value) {
+        this.time = time;
+        this.value = PromOpUtils.formatDoubleValue(value);
+        this.rawValue = value;
+        this.calculated = true;
+    }
+
+    public double getDoubleValue() {
+        return calculated ? rawValue : Double.parseDouble(value);
     }
 }
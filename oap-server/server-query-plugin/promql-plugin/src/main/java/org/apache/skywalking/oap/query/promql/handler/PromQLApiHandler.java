@@ -36,9 +36,11 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
+import org.apache.skywalking.mqe.rt.OperandExecution;
 import org.apache.skywalking.oap.query.graphql.resolver.MetadataQueryV2;
 import org.apache.skywalking.oap.query.graphql.resolver.MetricsQuery;
 import org.apache.skywalking.oap.query.graphql.resolver.RecordsQuery;
@@ -49,6 +51,7 @@ import org.apache.skywalking.oap.query.promql.entity.LabelValuePair;
 import org.apache.skywalking.oap.query.promql.entity.MetricInstantData;
 import org.apache.skywalking.oap.query.promql.entity.MetricMetadata;
 import org.apache.skywalking.oap.query.promql.entity.MetricRangeData;
+import org.apache.skywalking.oap.query.promql.entity.QueryStats;
 import org.apache.skywalking.oap.query.promql.entity.TimeValuePair;
 import org.apache.skywalking.oap.query.promql.entity.response.BuildInfoRsp;
 import org.apache.skywalking.oap.query.promql.entity.response.ExprQueryRsp;
@@ -86,6 +89,7 @@ import org.apache.skywalking.oap.server.core.query.type.ServiceInstance;
 import org.apache.skywalking.oap.server.core.storage.annotation.Column;
 import org.apache.skywalking.oap.server.core.storage.annotation.ValueColumnMetadata;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.server.http.StreamingJsonResponse;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.promql.rt.grammar.PromQLLexer;
 import org.apache.skywalking.promql.rt.grammar.PromQLParser;
@@ -97,6 +101,10 @@ public class PromQLApiHandler {
     private final MetricsQuery metricsQuery;
     private final RecordsQuery recordsQuery;
     private final PromQLConfig config;
+    /**
+     * Reads the selectors of binary expressions concurrently, see {@link OperandExecution}.
+     */
+    private final ForkJoinPool selectorExecutor;
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
     public PromQLApiHandler(ModuleManager moduleManager, PromQLConfig config) {
@@ -104,6 +112,8 @@ public class PromQLApiHandler {
         this.metricsQuery = new MetricsQuery(moduleManager);
         this.recordsQuery = new RecordsQuery(moduleManager);
         this.config = config;
+        this.selectorExecutor = OperandExecution.newExecutor(
+            config.getEvaluationParallelism(), "PromQLSelectorExecutor");
     }
 
     @Get
@@ -288,7 +298,9 @@ public class PromQLApiHandler {
     public HttpResponse query(
         @Param("query") String query,
         @Param("time") Optional<String> time,
-        @Param("timeout") Optional<String> timeout) throws IOException {
+        @Param("timeout") Optional<String> timeout,
+        @Param("stats") Optional<String> stats) throws IOException {
+        long parseStart = System.nanoTime();
         long endTS = System.currentTimeMillis();
         if (time.isPresent()) {
             endTS = formatTimestamp2Millis(time.get());
@@ -311,9 +323,10 @@ public class PromQLApiHandler {
             response.setError(e.getMessage());
             return jsonResponse(response);
         }
-        PromQLExprQueryVisitor visitor = new PromQLExprQueryVisitor(
-            metricsQuery, recordsQuery, duration, QueryType.INSTANT);
+        PromQLExprQueryVisitor visitor = newVisitor(duration, QueryType.INSTANT);
+        long evalStart = System.nanoTime();
         ParseResult parseResult = visitor.visit(tree);
+        long evalEnd = System.nanoTime();
 
         if (parseResult == null) {
             response.setStatus(ResultStatus.ERROR);
@@ -338,7 +351,10 @@ public class PromQLApiHandler {
             response.setErrorType(parseResult.getErrorType());
             response.setError(parseResult.getErrorInfo());
         }
-        return jsonResponse(response);
+        if (stats.isPresent() && response.getData() != null) {
+            response.getData().setStats(buildStats(visitor, evalStart - parseStart, evalEnd - evalStart));
+        }
+        return streamingJsonResponse(response);
     }
 
     /**
@@ -353,7 +369,9 @@ public class PromQLApiHandler {
         @Param("start") String start,
         @Param("end") String end,
         @Param("step") Optional<String> step,
-        @Param("timeout") Optional<String> timeout) throws IOException {
+        @Param("timeout") Optional<String> timeout,
+        @Param("stats") Optional<String> stats) throws IOException {
+        long parseStart = System.nanoTime();
         long startTS = formatTimestamp2Millis(start);
         long endTS = formatTimestamp2Millis(end);
         Duration duration = DurationUtils.timestamp2Duration(startTS, endTS);
@@ -373,9 +391,10 @@ public class PromQLApiHandler {
             return jsonResponse(response);
         }
 
-        PromQLExprQueryVisitor visitor = new PromQLExprQueryVisitor(
-            metricsQuery, recordsQuery, duration, QueryType.RANGE);
+        PromQLExprQueryVisitor visitor = newVisitor(duration, QueryType.RANGE);
+        long evalStart = System.nanoTime();
         ParseResult parseResult = visitor.visit(tree);
+        long evalEnd = System.nanoTime();
 
         if (parseResult == null) {
             response.setStatus(ResultStatus.ERROR);
@@ -395,7 +414,10 @@ public class PromQLApiHandler {
             response.setErrorType(parseResult.getErrorType());
             response.setError(parseResult.getErrorInfo());
         }
-        return jsonResponse(response);
+        if (stats.isPresent() && response.getData() != null) {
+            response.getData().setStats(buildStats(visitor, evalStart - parseStart, evalEnd - evalStart));
+        }
+        return streamingJsonResponse(response);
     }
 
     @Get
@@ -413,12 +435,36 @@ public class PromQLApiHandler {
         return jsonResponse(buildInfoRsp);
     }
 
+    private PromQLExprQueryVisitor newVisitor(Duration duration, QueryType queryType) {
+        return new PromQLExprQueryVisitor(
+            metricsQuery, recordsQuery, duration, queryType,
+            config.getMaxSeriesPerQuery(), config.getMaxSamplesPerQuery(), selectorExecutor
+        );
+    }
+
+    private static QueryStats buildStats(PromQLExprQueryVisitor visitor, long preparationNanos, long evalNanos) {
+        QueryStats queryStats = new QueryStats();
+        queryStats.getTimings().setQueryPreparationTime(preparationNanos / 1e9);
+        queryStats.getTimings().setEvalTotalTime(evalNanos / 1e9);
+        queryStats.getTimings().setSelectorReadTime(visitor.getSelectorReadNanos() / 1e9);
+        queryStats.getSamples().setTotalQueryableSamples(visitor.getSampleCount());
+        queryStats.getSamples().setSeries(visitor.getSeriesCount());
+        return queryStats;
+    }
+
     private HttpResponse jsonResponse(QueryResponse response) throws JsonProcessingException {
         return HttpResponse.of(ResponseHeaders.builder(HttpStatus.OK)
                                               .contentType(MediaType.JSON)
                                               .build(), HttpData.ofUtf8(MAPPER.writeValueAsString(response)));
     }
 
+    /**
+     * Write the response of the expression queries in chunks, as the matrix of many series could be large.
+     */
+    private HttpResponse streamingJsonResponse(QueryResponse response) {
+        return StreamingJsonResponse.of(MAPPER, response);
+    }
+
     private void buildVectorRsp(ParseResult parseResult, ExprQueryRsp response) {
         MetricRspData exprRspData = new MetricRspData();
         response.setData(exprRspData);
@@ -21,7 +21,6 @@ package org.apache.skywalking.oap.query.promql.rt;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.apache.skywalking.oap.query.promql.entity.MetricRangeData;
 import org.apache.skywalking.oap.query.promql.entity.TimeValuePair;
 import org.apache.skywalking.oap.query.promql.rt.exception.IllegalExpressionException;
@@ -38,24 +37,25 @@ import org.joda.time.format.PeriodFormatter;
 import org.joda.time.format.PeriodFormatterBuilder;
 
 public class PromOpUtils {
+    private static final ThreadLocal<DecimalFormat> DOUBLE_FORMAT = ThreadLocal.withInitial(() -> new DecimalFormat("#.##"));
 
     static MetricsRangeResult matrixScalarBinaryOp(MetricsRangeResult matrix, ScalarResult scalar, int opType) {
         MetricsRangeResult result = new MetricsRangeResult();
         result.setResultType(ParseResultType.METRICS_RANGE);
-        matrix.getMetricDataList().forEach(metricData -> {
+        final double scalarValue = scalar.getValue();
+        for (MetricRangeData metricData : matrix.getMetricDataList()) {
             MetricRangeData newData = new MetricRangeData();
             result.getMetricDataList().add(newData);
             newData.setMetric(metricData.getMetric());
-            List<TimeValuePair> newValues = metricData.getValues().stream().map(value -> {
-                double v = Double.parseDouble(value.getValue());
-                return new TimeValuePair(
-                    value.getTime(),
-                    formatDoubleValue(scalarBinaryOp(v, scalar.getValue(), opType))
-                );
-
-            }).collect(Collectors.toList());
+            List<TimeValuePair> values = metricData.getValues();
+            List<TimeValuePair> newValues = new ArrayList<>(values.size());
+            for (int j = 0, size = values.size(); j < size; j++) {
+                TimeValuePair value = values.get(j);
+                newValues.add(new TimeValuePair(
+                    value.getTime(), scalarBinaryOp(value.getDoubleValue(), scalarValue, opType)));
+            }
             newData.setValues(newValues);
-        });
+        }
         return result;
     }
 
@@ -67,31 +67,35 @@ public class PromOpUtils {
         for (int i = 0; i < matrixLeft.getMetricDataList().size(); i++) {
             MetricRangeData dataLeft = matrixLeft.getMetricDataList().get(i);
             MetricRangeData dataRight = matrixRight.getMetricDataList().get(i);
-            if (!dataLeft.getMetric().getLabels().equals(dataRight.getMetric().getLabels())) {
-                throw new IllegalExpressionException(
-                    "The metric info result left in conformity with right.");
-            }
-            if (dataLeft.getValues().size() != dataRight.getValues().size()) {
-                throw new IllegalExpressionException(
-                    "The metric value range left in conformity with right.");
-            }
+            checkConformity(dataLeft, dataRight);
             MetricRangeData newData = new MetricRangeData();
             result.getMetricDataList().add(newData);
             newData.setMetric(dataLeft.getMetric());
-            List<TimeValuePair> newValues = new ArrayList<>();
+            List<TimeValuePair> valuesLeft = dataLeft.getValues();
+            List<TimeValuePair> valuesRight = dataRight.getValues();
+            List<TimeValuePair> newValues = new ArrayList<>(valuesLeft.size());
             newData.setValues(newValues);
-            for (int j = 0; j < dataLeft.getValues().size(); j++) {
-                double lv = Double.parseDouble(dataLeft.getValues().get(j).getValue());
-                double rv = Double.parseDouble(dataRight.getValues().get(j).getValue());
+            for (int j = 0, size = valuesLeft.size(); j < size; j++) {
+                TimeValuePair left = valuesLeft.get(j);
                 newValues.add(new TimeValuePair(
-                    dataLeft.getValues().get(j).getTime(),
-                    formatDoubleValue(scalarBinaryOp(lv, rv, opType))
-                ));
+                    left.getTime(), scalarBinaryOp(left.getDoubleValue(), valuesRight.get(j).getDoubleValue(), opType)));
             }
         }
         return result;
     }
 
+    private static void checkConformity(MetricRangeData dataLeft,
+                                        MetricRangeData dataRight) throws IllegalExpressionException {
+        if (!dataLeft.getMetric().getLabels().equals(dataRight.getMetric().getLabels())) {
+            throw new IllegalExpressionException(
+                "The metric info result left in conformity with right.");
+        }
+        if (dataLeft.getValues().size() != dataRight.getValues().size()) {
+            throw new IllegalExpressionException(
+                "The metric value range left in conformity with right.");
+        }
+    }
+
     static double scalarBinaryOp(double leftValue, double rightValue, int opType) {
         double calculatedResult = 0;
         switch (opType) {
@@ -146,20 +150,21 @@ public class PromOpUtils {
     static MetricsRangeResult matrixScalarCompareOp(MetricsRangeResult matrix, ScalarResult scalar, int opType) {
         MetricsRangeResult result = new MetricsRangeResult();
         result.setResultType(ParseResultType.METRICS_RANGE);
-        matrix.getMetricDataList().forEach(metricData -> {
+        final double scalarValue = scalar.getValue();
+        for (MetricRangeData metricData : matrix.getMetricDataList()) {
             MetricRangeData newData = new MetricRangeData();
             result.getMetricDataList().add(newData);
             newData.setMetric(metricData.getMetric());
-            List<TimeValuePair> newValues = metricData.getValues()
-                                                      .stream()
-                                                      .filter(timeValuePair -> scalarCompareOp(
-                                                          Double.parseDouble(timeValuePair.getValue()),
-                                                          scalar.getValue(), opType
-                                                      ) == 1)
-                                                      .collect(
-                                                          Collectors.toList());
+            List<TimeValuePair> values = metricData.getValues();
+            List<TimeValuePair> newValues = new ArrayList<>();
+            for (int j = 0, size = values.size(); j < size; j++) {
+                TimeValuePair value = values.get(j);
+                if (scalarCompareOp(value.getDoubleValue(), scalarValue, opType) == 1) {
+                    newValues.add(value);
+                }
+            }
             newData.setValues(newValues);
-        });
+        }
         return result;
     }
 
@@ -171,64 +176,64 @@ public class PromOpUtils {
         for (int i = 0; i < matrixLeft.getMetricDataList().size(); i++) {
             MetricRangeData dataLeft = matrixLeft.getMetricDataList().get(i);
             MetricRangeData dataRight = matrixRight.getMetricDataList().get(i);
-            if (!dataLeft.getMetric().getLabels().equals(dataRight.getMetric().getLabels())) {
-                throw new IllegalExpressionException(
-                    "The metric info result left in conformity with right.");
-            }
-            if (dataLeft.getValues().size() != dataRight.getValues().size()) {
-                throw new IllegalExpressionException(
-                    "The metric value range left in conformity with right.");
-            }
+            checkConformity(dataLeft, dataRight);
             MetricRangeData newData = new MetricRangeData();
             result.getMetricDataList().add(newData);
             newData.setMetric(dataLeft.getMetric());
+            List<TimeValuePair> valuesLeft = dataLeft.getValues();
+            List<TimeValuePair> valuesRight = dataRight.getValues();
             List<TimeValuePair> newValues = new ArrayList<>();
             newData.setValues(newValues);
-            for (int j = 0; j < dataLeft.getValues().size(); j++) {
-                double lv = Double.parseDouble(dataLeft.getValues().get(j).getValue());
-                double rv = Double.parseDouble(dataRight.getValues().get(j).getValue());
-                if (scalarCompareOp(lv, rv, opType) == 1) {
-                    newValues.add(dataLeft.getValues().get(j));
+            for (int j = 0, size = valuesLeft.size(); j < size; j++) {
+                TimeValuePair left = valuesLeft.get(j);
+                if (scalarCompareOp(left.getDoubleValue(), valuesRight.get(j).getDoubleValue(), opType) == 1) {
+                    newValues.add(left);
                 }
             }
         }
         return result;
     }
 
-    public static List<TimeValuePair> buildMatrixValues(Duration duration, String singleValue) {
+    /**
+     * Build the timestamps in seconds of the points in the duration. The series of one query share the time axis,
+     * so it is built once instead of parsing the time buckets of every series.
+     */
+    static long[] buildTimeAxis(Duration duration) {
         List<PointOfTime> times = duration.assembleDurationPoints();
-        List<TimeValuePair> values = new ArrayList<>(times.size());
-        for (PointOfTime time : times) {
-            long retTimestampSec = DurationUtils.INSTANCE.parseToDateTime(
-                                                    duration.getStep(), time.getPoint())
-                                                         .getMillis() / 1000;
-            TimeValuePair value = new TimeValuePair(
-                retTimestampSec, singleValue);
-            values.add(value);
+        long[] timeAxis = new long[times.size()];
+        for (int i = 0; i < timeAxis.length; i++) {
+            timeAxis[i] = DurationUtils.INSTANCE.parseToDateTime(
+                duration.getStep(), times.get(i).getPoint()).getMillis() / 1000;
+        }
+        return timeAxis;
+    }
+
+    public static List<TimeValuePair> buildMatrixValues(Duration duration, String singleValue) {
+        return buildMatrixValues(buildTimeAxis(duration), singleValue);
+    }
+
+    static List<TimeValuePair> buildMatrixValues(long[] timeAxis, String singleValue) {
+        List<TimeValuePair> values = new ArrayList<>(timeAxis.length);
+        for (long time : timeAxis) {
+            values.add(new TimeValuePair(time, singleValue));
         }
         return values;
     }
 
-    static List<TimeValuePair> buildMatrixValues(Duration duration, MetricsValues metricsValues) {
-        List<PointOfTime> times = duration.assembleDurationPoints();
-        List<TimeValuePair> values = new ArrayList<>(times.size());
-        for (int i = 0; i < times.size(); i++) {
-            long retTimestampSec = DurationUtils.INSTANCE.parseToDateTime(
-                                                    duration.getStep(), times.get(i).getPoint())
-                                                         .getMillis() / 1000;
-            KVInt kvInt = metricsValues.getValues().getValues().get(i);
+    static List<TimeValuePair> buildMatrixValues(long[] timeAxis, MetricsValues metricsValues) {
+        List<KVInt> kvInts = metricsValues.getValues().getValues();
+        List<TimeValuePair> values = new ArrayList<>(timeAxis.length);
+        for (int i = 0; i < timeAxis.length; i++) {
+            KVInt kvInt = kvInts.get(i);
             if (!kvInt.isEmptyValue()) {
-                TimeValuePair value = new TimeValuePair(
-                    retTimestampSec, Long.toString(kvInt.getValue()));
-                values.add(value);
+                values.add(new TimeValuePair(timeAxis[i], kvInt.getValue()));
             }
         }
         return values;
     }
 
     public static String formatDoubleValue(double v) {
-        DecimalFormat format = new DecimalFormat("#.##");
-        return format.format(v);
+        return DOUBLE_FORMAT.get().format(v);
     }
 
     /**
@@ -25,7 +25,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.mqe.rt.OperandExecution;
 import org.apache.skywalking.oap.query.graphql.resolver.MetricsQuery;
 import org.apache.skywalking.oap.query.graphql.resolver.RecordsQuery;
 import org.apache.skywalking.oap.query.promql.entity.ErrorType;
@@ -59,6 +64,7 @@ import org.apache.skywalking.promql.rt.grammar.PromQLParser;
 import org.apache.skywalking.promql.rt.grammar.PromQLParserBaseVisitor;
 
 import static org.apache.skywalking.oap.query.promql.rt.PromOpUtils.buildMatrixValues;
+import static org.apache.skywalking.oap.query.promql.rt.PromOpUtils.buildTimeAxis;
 import static org.apache.skywalking.oap.query.promql.rt.PromOpUtils.formatDuration;
 import static org.apache.skywalking.oap.query.promql.rt.PromOpUtils.matrixBinaryOp;
 import static org.apache.skywalking.oap.query.promql.rt.PromOpUtils.matrixCompareOp;
@@ -72,25 +78,76 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
     private final MetricsQuery metricsQuery;
     private final RecordsQuery recordsQuery;
     private final PromQLApiHandler.QueryType queryType;
-    private Duration duration;
+    /**
+     * The max number of the series read by the query, 0 means unlimited.
+     */
+    private final int maxSeries;
+    /**
+     * The max number of the samples(points of all series) read by the query, 0 means unlimited.
+     */
+    private final long maxSamples;
+    /**
+     * Executor to read the selectors of the both sides of a binary expression concurrently.
+     * Null means the selectors are read one by one in the caller thread.
+     */
+    private final Executor selectorExecutor;
+    private final AtomicInteger seriesCount = new AtomicInteger();
+    private final AtomicLong sampleCount = new AtomicLong();
+    private final LongAdder selectorReadNanos = new LongAdder();
+    private final Duration duration;
 
     public PromQLExprQueryVisitor(final MetricsQuery metricsQuery,
                                   final RecordsQuery recordsQuery,
                                   final Duration duration,
                                   final PromQLApiHandler.QueryType queryType) {
+        this(metricsQuery, recordsQuery, duration, queryType, 0, 0, null);
+    }
+
+    public PromQLExprQueryVisitor(final MetricsQuery metricsQuery,
+                                  final RecordsQuery recordsQuery,
+                                  final Duration duration,
+                                  final PromQLApiHandler.QueryType queryType,
+                                  final int maxSeries,
+                                  final long maxSamples,
+                                  final Executor selectorExecutor) {
         this.metricsQuery = metricsQuery;
         this.recordsQuery = recordsQuery;
         this.duration = duration;
         this.queryType = queryType;
+        this.maxSeries = maxSeries;
+        this.maxSamples = maxSamples;
+        this.selectorExecutor = selectorExecutor;
+    }
+
+    /**
+     * @return the number of the series read by the query.
+     */
+    public int getSeriesCount() {
+        return seriesCount.get();
+    }
+
+    /**
+     * @return the number of the samples read by the query.
+     */
+    public long getSampleCount() {
+        return sampleCount.get();
+    }
+
+    /**
+     * @return the total nanoseconds of the storage reads of all the selectors.
+     */
+    public long getSelectorReadNanos() {
+        return selectorReadNanos.sum();
     }
 
     @Override
     public ParseResult visitAddSubOp(PromQLParser.AddSubOpContext ctx) {
-        ParseResult left = visit(ctx.expression(0));
+        ParseResult[] operands = visitOperands(ctx.expression(0), ctx.expression(1));
+        ParseResult left = operands[0];
         if (StringUtil.isNotBlank(left.getErrorInfo())) {
             return left;
         }
-        ParseResult right = visit(ctx.expression(1));
+        ParseResult right = operands[1];
         if (StringUtil.isNotBlank(right.getErrorInfo())) {
             return right;
         }
@@ -100,11 +157,12 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
 
     @Override
     public ParseResult visitMulDivModOp(PromQLParser.MulDivModOpContext ctx) {
-        ParseResult left = visit(ctx.expression(0));
+        ParseResult[] operands = visitOperands(ctx.expression(0), ctx.expression(1));
+        ParseResult left = operands[0];
         if (StringUtil.isNotBlank(left.getErrorInfo())) {
             return left;
         }
-        ParseResult right = visit(ctx.expression(1));
+        ParseResult right = operands[1];
         if (StringUtil.isNotBlank(right.getErrorInfo())) {
             return right;
         }
@@ -114,11 +172,12 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
 
     @Override
     public ParseResult visitCompareOp(PromQLParser.CompareOpContext ctx) {
-        ParseResult left = visit(ctx.expression(0));
+        ParseResult[] operands = visitOperands(ctx.expression(0), ctx.expression(1));
+        ParseResult left = operands[0];
         if (StringUtil.isNotBlank(left.getErrorInfo())) {
             return left;
         }
-        ParseResult right = visit(ctx.expression(1));
+        ParseResult right = operands[1];
         if (StringUtil.isNotBlank(right.getErrorInfo())) {
             return right;
         }
@@ -173,8 +232,20 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
         return result;
     }
 
+    private ParseResult[] visitOperands(PromQLParser.ExpressionContext leftCtx,
+                                        PromQLParser.ExpressionContext rightCtx) {
+        return OperandExecution.visitOperands(
+            selectorExecutor, PromQLParser.MetricInstantContext.class, leftCtx, rightCtx, this::visit,
+            ParseResult[]::new
+        );
+    }
+
     @Override
     public ParseResult visitMetricInstant(PromQLParser.MetricInstantContext ctx) {
+        return queryMetricInstant(ctx, duration);
+    }
+
+    private ParseResult queryMetricInstant(PromQLParser.MetricInstantContext ctx, Duration duration) {
         ParseResult result = new ParseResult();
         try {
             String metricName = ctx.metricName().getText();
@@ -215,15 +286,15 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
             matrixResult.setResultType(ParseResultType.METRICS_RANGE);
             if (StringUtil.isNotBlank(labelMap.get(LabelName.TOP_N))) {
                 if (Column.ValueDataType.SAMPLED_RECORD == dataType) {
-                    queryRecords(metricName, layer, scope, labelMap, matrixResult);
+                    queryRecords(metricName, layer, scope, labelMap, duration, matrixResult);
                 } else {
-                    queryTopN(metricName, layer, scope, labelMap, matrixResult);
+                    queryTopN(metricName, layer, scope, labelMap, duration, matrixResult);
                 }
             } else {
                 if (Column.ValueDataType.COMMON_VALUE == dataType) {
-                    metricsValuesQuery(metricName, layer, scope, labelMap, matrixResult);
+                    metricsValuesQuery(metricName, layer, scope, labelMap, duration, matrixResult);
                 } else if (Column.ValueDataType.LABELED_VALUE == dataType) {
-                    labeledMetricsValuesQuery(metricName, layer, scope, labelMap, matrixResult);
+                    labeledMetricsValuesQuery(metricName, layer, scope, labelMap, duration, matrixResult);
                 }
             }
             return matrixResult;
@@ -251,8 +322,8 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
         String timeRange = ctx.DURATION().getText().toUpperCase();
         long endTS = System.currentTimeMillis();
         long startTS = endTS - formatDuration(timeRange).getMillis();
-        duration = DurationUtils.timestamp2Duration(startTS, endTS);
-        ParseResult result = visit(ctx.metricInstant());
+        Duration rangeDuration = DurationUtils.timestamp2Duration(startTS, endTS);
+        ParseResult result = queryMetricInstant(ctx.metricInstant(), rangeDuration);
         result.setRangeExpression(true);
         return result;
     }
@@ -273,13 +344,35 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
         }
     }
 
+    /**
+     * Count the series and samples read by the query, and abort the query before building their values once any limit
+     * is exceeded.
+     */
+    private void checkLimits(int newSeries, int points) throws IllegalExpressionException {
+        int series = seriesCount.addAndGet(newSeries);
+        if (maxSeries > 0 && series > maxSeries) {
+            throw new IllegalExpressionException(
+                "The query reads " + series + " series, exceeds the limit " + maxSeries + ".");
+        }
+        long samples = sampleCount.addAndGet((long) newSeries * points);
+        if (maxSamples > 0 && samples > maxSamples) {
+            throw new IllegalExpressionException(
+                "The query reads " + samples + " samples, exceeds the limit " + maxSamples + ".");
+        }
+    }
+
     private void queryTopN(String metricName,
                            Layer layer,
                            Scope scope,
                            Map<LabelName, String> labelMap,
+                           Duration duration,
                            MetricsRangeResult matrixResult) throws IOException, IllegalExpressionException {
         TopNCondition topNCondition = buildTopNCondition(metricName, layer, scope, labelMap);
+        long start = System.nanoTime();
         List<SelectedRecord> selectedRecords = metricsQuery.sortMetrics(topNCondition, duration);
+        selectorReadNanos.add(System.nanoTime() - start);
+        long[] timeAxis = buildTimeAxis(duration);
+        checkLimits(selectedRecords.size(), timeAxis.length);
         for (SelectedRecord selectedRecord : selectedRecords) {
             MetricRangeData metricData = new MetricRangeData();
             MetricInfo metricInfo = buildMetricInfo(metricName, layer, scope, labelMap,
@@ -287,7 +380,7 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
                                                     Optional.ofNullable(selectedRecord.getName()), Optional.empty()
             );
             metricData.setMetric(metricInfo);
-            metricData.setValues(buildMatrixValues(duration, String.valueOf(selectedRecord.getValue())));
+            metricData.setValues(buildMatrixValues(timeAxis, String.valueOf(selectedRecord.getValue())));
             matrixResult.getMetricDataList().add(metricData);
         }
     }
@@ -296,9 +389,14 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
                               Layer layer,
                               Scope scope,
                               Map<LabelName, String> labelMap,
+                              Duration duration,
                               MetricsRangeResult matrixResult) throws IOException, IllegalExpressionException {
         RecordCondition recordCondition = buildRecordCondition(metricName, layer, scope, labelMap);
+        long start = System.nanoTime();
         List<Record> records = recordsQuery.readRecords(recordCondition, duration);
+        selectorReadNanos.add(System.nanoTime() - start);
+        long[] timeAxis = buildTimeAxis(duration);
+        checkLimits(records.size(), timeAxis.length);
         for (Record record : records) {
             MetricRangeData metricData = new MetricRangeData();
             MetricInfo metricInfo = buildMetricInfo(metricName, layer, scope, labelMap,
@@ -306,7 +404,7 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
                                                     Optional.ofNullable(record.getName())
             );
             metricData.setMetric(metricInfo);
-            metricData.setValues(buildMatrixValues(duration, String.valueOf(record.getValue())));
+            metricData.setValues(buildMatrixValues(timeAxis, String.valueOf(record.getValue())));
             matrixResult.getMetricDataList().add(metricData);
         }
     }
@@ -315,15 +413,20 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
                                     Layer layer,
                                     Scope scope,
                                     Map<LabelName, String> labelMap,
+                                    Duration duration,
                                     MetricsRangeResult matrixResult) throws IOException, IllegalExpressionException {
+        long[] timeAxis = buildTimeAxis(duration);
+        checkLimits(1, timeAxis.length);
         MetricsCondition metricsCondition = buildMetricsCondition(metricName, layer, scope, labelMap);
+        long start = System.nanoTime();
         MetricsValues metricsValues = metricsQuery.readMetricsValues(
             metricsCondition, duration);
+        selectorReadNanos.add(System.nanoTime() - start);
         MetricRangeData metricData = new MetricRangeData();
         MetricInfo metricInfo = buildMetricInfo(
             metricName, layer, scope, labelMap, Optional.empty(), Optional.empty(), Optional.empty());
         metricData.setMetric(metricInfo);
-        metricData.setValues(buildMatrixValues(duration, metricsValues));
+        metricData.setValues(buildMatrixValues(timeAxis, metricsValues));
         matrixResult.getMetricDataList().add(metricData);
     }
 
@@ -331,6 +434,7 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
                                            Layer layer,
                                            Scope scope,
                                            Map<LabelName, String> labelMap,
+                                           Duration duration,
                                            MetricsRangeResult matrixResult) throws IOException, IllegalExpressionException {
         MetricsCondition metricsCondition = buildMetricsCondition(metricName, layer, scope, labelMap);
         Map<String, String> relabelMap = new HashMap<>();
@@ -352,8 +456,12 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
                 relabelMap.put(queryLabelList.get(i), queryLabelList.get(i));
             }
         }
+        long start = System.nanoTime();
         List<MetricsValues> metricsValuesList = metricsQuery.readLabeledMetricsValues(
             metricsCondition, queryLabelList, duration);
+        selectorReadNanos.add(System.nanoTime() - start);
+        long[] timeAxis = buildTimeAxis(duration);
+        checkLimits(metricsValuesList.size(), timeAxis.length);
 
         for (MetricsValues metricsValues : metricsValuesList) {
             MetricRangeData metricData = new MetricRangeData();
@@ -367,7 +475,7 @@ public class PromQLExprQueryVisitor extends PromQLParserBaseVisitor<ParseResult>
                 Optional.empty()
             );
             metricData.setMetric(metricInfo);
-            metricData.setValues(buildMatrixValues(duration, metricsValues));
+            metricData.setValues(buildMatrixValues(timeAxis, metricsValues));
             matrixResult.getMetricDataList().add(metricData);
         }
     }
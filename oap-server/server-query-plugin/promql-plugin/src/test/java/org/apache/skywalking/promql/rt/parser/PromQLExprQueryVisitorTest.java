@@ -18,15 +18,19 @@
 
 package org.apache.skywalking.promql.rt.parser;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import lombok.SneakyThrows;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.apache.skywalking.oap.query.graphql.resolver.MetricsQuery;
 import org.apache.skywalking.oap.query.graphql.resolver.RecordsQuery;
+import org.apache.skywalking.oap.query.promql.entity.ErrorType;
 import org.apache.skywalking.oap.query.promql.entity.TimeValuePair;
 import org.apache.skywalking.oap.query.promql.handler.PromQLApiHandler;
 import org.apache.skywalking.oap.query.promql.rt.result.ParseResultType;
@@ -48,6 +52,7 @@ import org.apache.skywalking.promql.rt.grammar.PromQLLexer;
 import org.apache.skywalking.promql.rt.grammar.PromQLParser;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mockito;
@@ -115,6 +120,14 @@ public class PromQLExprQueryVisitorTest {
                 "service_cpm{service='serviceA', layer='GENERAL'} > 1",
                 ParseResultType.METRICS_RANGE,
                 List.of(new TimeValuePair(TIME_2023022012, "2"))
+            },
+            {
+                "MetricsScalarChainedOp",
+                PromQLApiHandler.QueryType.RANGE,
+                "service_cpm{service='serviceA', layer='GENERAL'} / 3 * 3",
+                ParseResultType.METRICS_RANGE,
+                List.of(new TimeValuePair(TIME_2023022010, "0"), new TimeValuePair(TIME_2023022011, "1"),
+                        new TimeValuePair(TIME_2023022012, "2"))
             }
         });
     }
@@ -179,4 +192,54 @@ public class PromQLExprQueryVisitorTest {
                 Assertions.fail();
         }
     }
+
+    @Test
+    public void testSeriesLimit() throws IOException {
+        PromQLLexer lexer = new PromQLLexer(CharStreams.fromString(
+            "service_cpm{service='serviceA', layer='GENERAL'} + service_cpm{service='serviceB', layer='GENERAL'}"));
+        PromQLParser parser = new PromQLParser(new CommonTokenStream(lexer));
+        PromQLExprQueryVisitor visitor = new PromQLExprQueryVisitor(
+            metricsQuery, recordsQuery, duration, PromQLApiHandler.QueryType.RANGE, 1, 0, null);
+        ParseResult parseResult = visitor.visit(parser.expression());
+        Assertions.assertEquals(ErrorType.BAD_DATA, parseResult.getErrorType());
+        Assertions.assertEquals("The query reads 2 series, exceeds the limit 1.", parseResult.getErrorInfo());
+        // The 2nd series is not read from the storage.
+        Mockito.verify(metricsQuery, Mockito.times(1))
+               .readMetricsValues(any(MetricsCondition.class), any(Duration.class));
+    }
+
+    @Test
+    public void testSampleLimit() {
+        PromQLLexer lexer = new PromQLLexer(CharStreams.fromString(
+            "service_cpm{service='serviceA', layer='GENERAL'} + service_cpm{service='serviceB', layer='GENERAL'}"));
+        PromQLParser parser = new PromQLParser(new CommonTokenStream(lexer));
+        PromQLExprQueryVisitor visitor = new PromQLExprQueryVisitor(
+            metricsQuery, recordsQuery, duration, PromQLApiHandler.QueryType.RANGE, 0, 5, null);
+        ParseResult parseResult = visitor.visit(parser.expression());
+        Assertions.assertEquals(ErrorType.BAD_DATA, parseResult.getErrorType());
+        Assertions.assertEquals("The query reads 6 samples, exceeds the limit 5.", parseResult.getErrorInfo());
+    }
+
+    @Test
+    public void testConcurrentSelectors() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            PromQLLexer lexer = new PromQLLexer(CharStreams.fromString(
+                "service_cpm{service='serviceA', layer='GENERAL'} * 2 - service_cpm{service='serviceA', layer='GENERAL'}"));
+            PromQLParser parser = new PromQLParser(new CommonTokenStream(lexer));
+            PromQLExprQueryVisitor visitor = new PromQLExprQueryVisitor(
+                metricsQuery, recordsQuery, duration, PromQLApiHandler.QueryType.RANGE, 0, 0, executor);
+            ParseResult parseResult = visitor.visit(parser.expression());
+            Assertions.assertEquals(ParseResultType.METRICS_RANGE, parseResult.getResultType());
+            Assertions.assertEquals(
+                List.of(new TimeValuePair(TIME_2023022010, "0"), new TimeValuePair(TIME_2023022011, "1"),
+                        new TimeValuePair(TIME_2023022012, "2")),
+                ((MetricsRangeResult) parseResult).getMetricDataList().get(0).getValues()
+            );
+            Assertions.assertEquals(2, visitor.getSeriesCount());
+            Assertions.assertEquals(6, visitor.getSampleCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
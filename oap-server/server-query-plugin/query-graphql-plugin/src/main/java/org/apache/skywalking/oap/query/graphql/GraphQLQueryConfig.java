@@ -32,4 +32,9 @@ public class GraphQLQueryConfig extends ModuleConfig {
     private int maxQueryComplexity = 1000;
     private boolean enableUpdateUITemplate = false;
     private boolean enableOnDemandPodLog = false;
+    /**
+     * The number of threads to evaluate the independent operands of MQE binary expressions concurrently.
+     * 0 means the operands are evaluated sequentially in the query thread.
+     */
+    private int mqeEvaluationParallelism = 4;
 }
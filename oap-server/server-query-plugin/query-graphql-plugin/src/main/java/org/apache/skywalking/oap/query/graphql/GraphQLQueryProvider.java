@@ -106,7 +106,7 @@ public class GraphQLQueryProvider extends ModuleProvider {
                       * manipulate metrics data in the query stage.
                       */
                      .file("query-protocol/metrics-v3.graphqls")
-                     .resolvers(new MetricsExpressionQuery(getManager()))
+                     .resolvers(new MetricsExpressionQuery(getManager(), config.getMqeEvaluationParallelism()))
                      ////////
                      //Deprecated Queries
                      ////////
@@ -121,6 +121,7 @@ public class GraphQLQueryProvider extends ModuleProvider {
                      .resolvers(new MetricsQuery(getManager()))
                      ////////
                      .file("query-protocol/trace.graphqls")
+                     .file("trace-batch.graphqls")
                      .resolvers(new TraceQuery(getManager()))
                      .file("query-protocol/alarm.graphqls")
                      .resolvers(new AlarmQuery(getManager()))
@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.mqe.rt.exception.IllegalExpressionException;
 import org.apache.skywalking.mqe.rt.grammar.MQEParser;
@@ -64,8 +65,9 @@ public class MQEVisitor extends MQEVisitorBase {
     public MQEVisitor(final MetricsQuery metricsQuery,
                       final RecordsQuery recordsQuery,
                       final Entity entity,
-                      final Duration duration) {
-        super(duration.getStep());
+                      final Duration duration,
+                      final Executor operandExecutor) {
+        super(duration.getStep(), operandExecutor);
         this.metricsQuery = metricsQuery;
         this.recordsQuery = recordsQuery;
         this.entity = entity;
@@ -21,10 +21,12 @@ package org.apache.skywalking.oap.query.graphql.resolver;
 import graphql.kickstart.tools.GraphQLQueryResolver;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
 import java.text.DecimalFormat;
+import java.util.concurrent.ForkJoinPool;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.apache.skywalking.oap.query.graphql.mqe.rt.MQEVisitor;
+import org.apache.skywalking.mqe.rt.OperandExecution;
 import org.apache.skywalking.mqe.rt.exception.ParseErrorListener;
 import org.apache.skywalking.mqe.rt.type.ExpressionResult;
 import org.apache.skywalking.mqe.rt.type.ExpressionResultType;
@@ -38,11 +40,16 @@ public class MetricsExpressionQuery implements GraphQLQueryResolver {
     private final MetricsQuery metricsQuery;
     private final RecordsQuery recordsQuery;
     private final DecimalFormat valueFormat = new DecimalFormat();
+    /**
+     * Evaluates the independent operands of binary expressions concurrently, see {@link OperandExecution}.
+     */
+    private final ForkJoinPool operandExecutor;
 
-    public MetricsExpressionQuery(ModuleManager moduleManager) {
+    public MetricsExpressionQuery(ModuleManager moduleManager, int evaluationParallelism) {
         this.metricsQuery = new MetricsQuery(moduleManager);
         this.recordsQuery = new RecordsQuery(moduleManager);
         this.valueFormat.setGroupingUsed(false);
+        this.operandExecutor = OperandExecution.newExecutor(evaluationParallelism, "MQEOperandExecutor");
     }
 
     public ExpressionResult execExpression(String expression, Entity entity, Duration duration) {
@@ -60,7 +67,7 @@ public class MetricsExpressionQuery implements GraphQLQueryResolver {
             errorResult.setError(e.getMessage());
             return errorResult;
         }
-        MQEVisitor visitor = new MQEVisitor(metricsQuery, recordsQuery, entity, duration);
+        MQEVisitor visitor = new MQEVisitor(metricsQuery, recordsQuery, entity, duration, operandExecutor);
         ExpressionResult parseResult = visitor.visit(tree);
 
         parseResult.getResults().forEach(mqeValues -> {
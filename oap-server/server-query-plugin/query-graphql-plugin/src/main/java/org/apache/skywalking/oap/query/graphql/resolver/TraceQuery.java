@@ -21,6 +21,7 @@ package org.apache.skywalking.oap.query.graphql.resolver;
 import graphql.kickstart.tools.GraphQLQueryResolver;
 import com.google.common.base.Strings;
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.CoreModule;
@@ -89,6 +90,10 @@ public class TraceQuery implements GraphQLQueryResolver {
         return getQueryService().queryTrace(traceId);
     }
 
+    public List<Trace> queryTraces(final List<String> traceIds) throws IOException {
+        return getQueryService().queryTraces(traceIds);
+    }
+
     public Set<String> queryTraceTagAutocompleteKeys(final Duration queryDuration) throws IOException {
         return getTagQueryService().queryTagAutocompleteKeys(TagType.TRACE, queryDuration);
     }
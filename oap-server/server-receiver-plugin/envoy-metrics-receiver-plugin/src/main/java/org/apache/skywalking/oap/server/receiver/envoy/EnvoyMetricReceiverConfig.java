@@ -28,10 +28,12 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.Getter;
+import lombok.Setter;
 import org.apache.skywalking.oap.meter.analyzer.prometheus.rule.Rule;
 import org.apache.skywalking.oap.meter.analyzer.prometheus.rule.Rules;
 import org.apache.skywalking.oap.server.library.module.ModuleConfig;
 import org.apache.skywalking.oap.server.library.module.ModuleStartException;
+import org.apache.skywalking.oap.server.receiver.envoy.als.k8s.K8SServiceRegistry;
 import org.apache.skywalking.oap.server.receiver.envoy.metrics.adapters.ClusterManagerMetricsAdapter;
 
 public class EnvoyMetricReceiverConfig extends ModuleConfig {
@@ -67,6 +69,13 @@ public class EnvoyMetricReceiverConfig extends ModuleConfig {
     private final ServiceMetaInfoFactory serviceMetaInfoFactory = new ServiceMetaInfoFactoryImpl();
     @Getter
     private final ClusterManagerMetricsAdapter clusterManagerMetricsAdapter = new ClusterManagerMetricsAdapter(this);
+    /**
+     * The registry shared by the k8s-mesh HTTP and TCP analyses. It is built by the provider only when any of them is
+     * enabled, so that the Pods and Services are watched once.
+     */
+    @Getter
+    @Setter
+    private K8SServiceRegistry k8sServiceRegistry;
 
     public List<String> getAlsHTTPAnalysis() {
         if (Strings.isNullOrEmpty(alsHTTPAnalysis)) {
@@ -31,6 +31,7 @@ import org.apache.skywalking.oap.server.library.module.ModuleStartException;
 import org.apache.skywalking.oap.server.library.module.ServiceNotProvidedException;
 import org.apache.skywalking.oap.server.library.server.ServerException;
 import org.apache.skywalking.oap.server.library.server.grpc.GRPCServer;
+import org.apache.skywalking.oap.server.receiver.envoy.als.k8s.K8SServiceRegistry;
 import org.apache.skywalking.oap.server.receiver.envoy.als.mx.FieldsHelper;
 import org.apache.skywalking.oap.server.receiver.sharing.server.SharingServerModule;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
@@ -42,6 +43,8 @@ public class EnvoyMetricReceiverProvider extends ModuleProvider {
     protected GRPCServer grpcServer;
     protected GRPCHandlerRegister receiverGRPCHandlerRegister;
 
+    private static final String K8S_MESH_ANALYSIS = "k8s-mesh";
+
     protected String fieldMappingFile = "metadata-service-mapping.yaml";
 
     @Override
@@ -134,6 +137,10 @@ public class EnvoyMetricReceiverProvider extends ModuleProvider {
                     .find(SharingServerModule.NAME)
                     .provider()
                     .getService(GRPCHandlerRegister.class);
+        if (config.getAlsHTTPAnalysis().contains(K8S_MESH_ANALYSIS)
+            || config.getAlsTCPAnalysis().contains(K8S_MESH_ANALYSIS)) {
+            config.setK8sServiceRegistry(new K8SServiceRegistry(config));
+        }
         final var handler = new AccessLogServiceGRPCHandler(getManager(), config);
         service.addHandler(handler);
         service.addHandler(new AccessLogServiceGRPCHandlerV3(handler));
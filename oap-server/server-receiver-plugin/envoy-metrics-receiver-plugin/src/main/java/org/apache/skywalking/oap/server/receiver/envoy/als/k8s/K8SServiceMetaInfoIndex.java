@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.envoy.als.k8s;
+
+import io.fabric8.kubernetes.api.model.EndpointAddress;
+import io.fabric8.kubernetes.api.model.EndpointSubset;
+import io.fabric8.kubernetes.api.model.Endpoints;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.NodeAddress;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodIP;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.library.kubernetes.ObjectID;
+import org.apache.skywalking.oap.server.library.util.StringUtil;
+import org.apache.skywalking.oap.server.receiver.envoy.als.ServiceMetaInfo;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import static java.util.Objects.isNull;
+
+/**
+ * K8SServiceMetaInfoIndex maps the IPs of the Pods to their {@link ServiceMetaInfo}, and the IPs of the Nodes. The
+ * index is maintained incrementally from the informer events of Pods, Services, Endpoints and Nodes, so the lookups
+ * never reach the API server.
+ *
+ * The informer events are applied under one lock, the lookups read the concurrent maps directly.
+ */
+@Slf4j
+public class K8SServiceMetaInfoIndex implements AutoCloseable {
+    private static final long RESYNC_PERIOD = Duration.ofMinutes(10).toMillis();
+
+    private final BiFunction<Service, Pod, ServiceMetaInfo> composer;
+    private final List<SharedIndexInformer<?>> informers;
+
+    private final Map<String/* ip */, Pod> podByIP = new HashMap<>();
+    private final Map<String/* ip */, ObjectID /* Endpoints */> endpointsByIP = new HashMap<>();
+    private final Map<ObjectID /* Endpoints */, Set<String>> ipsByEndpoints = new HashMap<>();
+    private final Map<ObjectID /* Service */, Service> serviceByID = new HashMap<>();
+    private final Map<String/* Node name */, Set<String>> ipsByNode = new HashMap<>();
+
+    private final Map<String/* ip */, ServiceMetaInfo> serviceMetaInfoByIP = new ConcurrentHashMap<>();
+    private final Set<String> nodeIPs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Start the informers of the resources in all namespaces.
+     *
+     * @param client   to watch the resources.
+     * @param composer composes the {@link ServiceMetaInfo} of the Pod, which is selected by the Service.
+     */
+    public K8SServiceMetaInfoIndex(final KubernetesClient client,
+                                   final BiFunction<Service, Pod, ServiceMetaInfo> composer) {
+        this.composer = composer;
+        this.informers = List.of(
+            client.services().inAnyNamespace().inform(handler(this::onService), RESYNC_PERIOD),
+            client.pods().inAnyNamespace().inform(handler(this::onPod), RESYNC_PERIOD),
+            client.endpoints().inAnyNamespace().inform(handler(this::onEndpoints), RESYNC_PERIOD),
+            client.nodes().inform(handler(this::onNode), RESYNC_PERIOD)
+        );
+    }
+
+    /**
+     * @return the {@link ServiceMetaInfo} of the Pod IP, or null if the IP isn't selected by any Service.
+     */
+    public ServiceMetaInfo findService(final String ip) {
+        return serviceMetaInfoByIP.get(ip);
+    }
+
+    public boolean isNode(final String ip) {
+        return nodeIPs.contains(ip);
+    }
+
+    public boolean hasSynced() {
+        return informers.stream().allMatch(SharedIndexInformer::hasSynced);
+    }
+
+    @Override
+    public void close() {
+        informers.forEach(SharedIndexInformer::stop);
+    }
+
+    synchronized void onPod(final Pod oldPod, final Pod newPod) {
+        final Set<String> oldIPs = podIPs(oldPod);
+        final Set<String> newIPs = podIPs(newPod);
+        for (final String ip : oldIPs) {
+            if (!newIPs.contains(ip) && isSameObject(podByIP.get(ip), oldPod)) {
+                podByIP.remove(ip);
+                reindex(ip);
+            }
+        }
+        for (final String ip : newIPs) {
+            podByIP.put(ip, newPod);
+            reindex(ip);
+        }
+    }
+
+    synchronized void onEndpoints(final Endpoints oldEndpoints, final Endpoints newEndpoints) {
+        final ObjectID id = objectID(newEndpoints != null ? newEndpoints : oldEndpoints);
+        if (id == null) {
+            return;
+        }
+        final Set<String> oldIPs = ipsByEndpoints.getOrDefault(id, Collections.emptySet());
+        final Set<String> newIPs = endpointsIPs(newEndpoints);
+        for (final String ip : oldIPs) {
+            if (!newIPs.contains(ip) && id.equals(endpointsByIP.get(ip))) {
+                endpointsByIP.remove(ip);
+                reindex(ip);
+            }
+        }
+        for (final String ip : newIPs) {
+            endpointsByIP.put(ip, id);
+            reindex(ip);
+        }
+        if (newIPs.isEmpty()) {
+            ipsByEndpoints.remove(id);
+        } else {
+            ipsByEndpoints.put(id, newIPs);
+        }
+    }
+
+    synchronized void onService(final Service oldService, final Service newService) {
+        final ObjectID id = objectID(newService != null ? newService : oldService);
+        if (id == null) {
+            return;
+        }
+        if (newService == null) {
+            serviceByID.remove(id);
+        } else {
+            serviceByID.put(id, newService);
+        }
+        // The Endpoints share the same name with the Service.
+        ipsByEndpoints.getOrDefault(id, Collections.emptySet()).forEach(this::reindex);
+    }
+
+    synchronized void onNode(final Node oldNode, final Node newNode) {
+        final Node node = newNode != null ? newNode : oldNode;
+        if (node.getMetadata() == null) {
+            return;
+        }
+        final String name = node.getMetadata().getName();
+        final Set<String> oldIPs = ipsByNode.getOrDefault(name, Collections.emptySet());
+        final Set<String> newIPs = nodeIPs(newNode);
+        oldIPs.stream().filter(ip -> !newIPs.contains(ip)).forEach(nodeIPs::remove);
+        nodeIPs.addAll(newIPs);
+        if (newIPs.isEmpty()) {
+            ipsByNode.remove(name);
+        } else {
+            ipsByNode.put(name, newIPs);
+        }
+    }
+
+    /**
+     * Compose the {@link ServiceMetaInfo} of the IP again, once any of its Pod, Endpoints and Service changes.
+     */
+    private void reindex(final String ip) {
+        final Pod pod = podByIP.get(ip);
+        final ObjectID serviceID = endpointsByIP.get(ip);
+        final Service service = serviceID == null ? null : serviceByID.get(serviceID);
+        if (pod == null || service == null) {
+            serviceMetaInfoByIP.remove(ip);
+            return;
+        }
+        final ServiceMetaInfo serviceMetaInfo = composer.apply(service, pod);
+        if (serviceMetaInfo == null) {
+            serviceMetaInfoByIP.remove(ip);
+            return;
+        }
+        serviceMetaInfoByIP.put(ip, serviceMetaInfo);
+    }
+
+    private static Set<String> podIPs(final Pod pod) {
+        if (pod == null || pod.getMetadata() == null || pod.getStatus() == null) {
+            return Collections.emptySet();
+        }
+        final Set<String> ips = new HashSet<>();
+        if (StringUtil.isNotBlank(pod.getStatus().getPodIP())) {
+            ips.add(pod.getStatus().getPodIP());
+        }
+        if (pod.getStatus().getPodIPs() != null) {
+            pod.getStatus().getPodIPs().stream()
+               .map(PodIP::getIp)
+               .filter(StringUtil::isNotBlank)
+               .forEach(ips::add);
+        }
+        return ips;
+    }
+
+    private static Set<String> endpointsIPs(final Endpoints endpoints) {
+        if (endpoints == null || endpoints.getSubsets() == null) {
+            return Collections.emptySet();
+        }
+        final Set<String> ips = new HashSet<>();
+        for (final EndpointSubset subset : endpoints.getSubsets()) {
+            if (subset.getAddresses() == null) {
+                continue;
+            }
+            subset.getAddresses().stream()
+                  .map(EndpointAddress::getIp)
+                  .filter(StringUtil::isNotBlank)
+                  .forEach(ips::add);
+        }
+        return ips;
+    }
+
+    private static Set<String> nodeIPs(final Node node) {
+        if (node == null || node.getStatus() == null || node.getStatus().getAddresses() == null) {
+            return Collections.emptySet();
+        }
+        final Set<String> ips = new HashSet<>();
+        node.getStatus().getAddresses().stream()
+            .map(NodeAddress::getAddress)
+            .filter(StringUtil::isNotBlank)
+            .forEach(ips::add);
+        return ips;
+    }
+
+    private static ObjectID objectID(final HasMetadata resource) {
+        if (resource == null || isNull(resource.getMetadata())) {
+            return null;
+        }
+        return ObjectID
+            .builder()
+            .name(resource.getMetadata().getName())
+            .namespace(resource.getMetadata().getNamespace())
+            .build();
+    }
+
+    private static boolean isSameObject(final Pod indexed, final Pod pod) {
+        return indexed != null && Objects.equals(objectID(indexed), objectID(pod));
+    }
+
+    /**
+     * Adapt the informer events into the changes from the old resource to the new one, null for absence.
+     */
+    private static <T> ResourceEventHandler<T> handler(final BiConsumer<T, T> onChange) {
+        return new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(final T obj) {
+                apply(null, obj);
+            }
+
+            @Override
+            public void onUpdate(final T oldObj, final T newObj) {
+                apply(oldObj, newObj);
+            }
+
+            @Override
+            public void onDelete(final T obj, final boolean deletedFinalStateUnknown) {
+                apply(obj, null);
+            }
+
+            private void apply(final T oldObj, final T newObj) {
+                try {
+                    onChange.accept(oldObj, newObj);
+                } catch (Exception e) {
+                    log.error("Failed to index the change of {}.", newObj != null ? newObj : oldObj, e);
+                }
+            }
+        };
+    }
+}
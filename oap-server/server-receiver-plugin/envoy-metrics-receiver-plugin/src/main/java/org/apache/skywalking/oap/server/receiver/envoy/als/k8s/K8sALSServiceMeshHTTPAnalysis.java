@@ -60,7 +60,7 @@ public class K8sALSServiceMeshHTTPAnalysis extends AbstractALSAnalyzer {
     @SneakyThrows
     public void init(ModuleManager manager, EnvoyMetricReceiverConfig config) {
         this.config = config;
-        k8sServiceRegistry = new K8SServiceRegistry(config);
+        k8sServiceRegistry = config.getK8sServiceRegistry();
         istioServiceRegistry = new IstioServiceEntryRegistry(config);
     }
 
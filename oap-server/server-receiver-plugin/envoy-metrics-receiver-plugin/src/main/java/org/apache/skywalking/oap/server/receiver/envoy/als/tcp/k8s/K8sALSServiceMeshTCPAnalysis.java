@@ -59,7 +59,7 @@ public class K8sALSServiceMeshTCPAnalysis extends AbstractTCPAccessLogAnalyzer {
     @SneakyThrows
     public void init(ModuleManager manager, EnvoyMetricReceiverConfig config) {
         this.config = config;
-        k8sServiceRegistry = new K8SServiceRegistry(config);
+        k8sServiceRegistry = config.getK8sServiceRegistry();
         istioServiceRegistry = new IstioServiceEntryRegistry(config);
     }
 
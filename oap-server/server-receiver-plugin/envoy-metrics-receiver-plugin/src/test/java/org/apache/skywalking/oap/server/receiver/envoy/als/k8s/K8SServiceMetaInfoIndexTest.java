@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.envoy.als.k8s;
+
+import io.fabric8.kubernetes.api.model.Endpoints;
+import io.fabric8.kubernetes.api.model.EndpointsBuilder;
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.NodeBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import org.apache.skywalking.oap.server.receiver.envoy.als.ServiceMetaInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@EnableKubernetesMockClient(crud = true)
+public class K8SServiceMetaInfoIndexTest {
+    private static final String NAMESPACE = "default";
+
+    private KubernetesClient client;
+    private K8SServiceMetaInfoIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new K8SServiceMetaInfoIndex(
+            client,
+            (service, pod) -> new ServiceMetaInfo(service.getMetadata().getName(), pod.getMetadata().getName())
+        );
+        await().atMost(10, TimeUnit.SECONDS).until(index::hasSynced);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        index.close();
+    }
+
+    @Test
+    public void testPodChurn() {
+        client.services().inNamespace(NAMESPACE).resource(service("productpage")).create();
+        client.pods().inNamespace(NAMESPACE).resource(pod("productpage-v1-a", "10.44.2.54")).create();
+        client.endpoints().inNamespace(NAMESPACE).resource(endpoints("productpage", "10.44.2.54")).create();
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> index.findService("10.44.2.54") != null);
+        assertEquals("productpage", index.findService("10.44.2.54").getServiceName());
+        assertEquals("productpage-v1-a", index.findService("10.44.2.54").getServiceInstanceName());
+
+        // The Pod is replaced by a new one with another IP.
+        client.pods().inNamespace(NAMESPACE).withName("productpage-v1-a").delete();
+        client.pods().inNamespace(NAMESPACE).resource(pod("productpage-v1-b", "10.44.2.60")).create();
+        client.endpoints().inNamespace(NAMESPACE).resource(endpoints("productpage", "10.44.2.60")).update();
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> index.findService("10.44.2.60") != null);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> index.findService("10.44.2.54") == null);
+        assertEquals("productpage-v1-b", index.findService("10.44.2.60").getServiceInstanceName());
+
+        client.services().inNamespace(NAMESPACE).withName("productpage").delete();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> index.findService("10.44.2.60") == null);
+    }
+
+    @Test
+    public void testNodes() {
+        client.nodes().resource(node("node-1", "10.128.0.2")).create();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> index.isNode("10.128.0.2"));
+
+        client.nodes().resource(node("node-1", "10.128.0.3")).update();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> index.isNode("10.128.0.3"));
+        assertFalse(index.isNode("10.128.0.2"));
+
+        client.nodes().withName("node-1").delete();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> !index.isNode("10.128.0.3"));
+    }
+
+    private static Service service(final String name) {
+        return new ServiceBuilder()
+            .withNewMetadata().withName(name).withNamespace(NAMESPACE).endMetadata()
+            .withNewSpec().addToSelector("app", name).endSpec()
+            .build();
+    }
+
+    private static Pod pod(final String name, final String ip) {
+        return new PodBuilder()
+            .withNewMetadata().withName(name).withNamespace(NAMESPACE).addToLabels("app", "productpage").endMetadata()
+            .withNewStatus().withPodIP(ip).endStatus()
+            .build();
+    }
+
+    private static Endpoints endpoints(final String name, final String ip) {
+        return new EndpointsBuilder()
+            .withNewMetadata().withName(name).withNamespace(NAMESPACE).endMetadata()
+            .addNewSubset().addNewAddress().withIp(ip).endAddress().endSubset()
+            .build();
+    }
+
+    private static Node node(final String name, final String ip) {
+        return new NodeBuilder()
+            .withNewMetadata().withName(name).endMetadata()
+            .withNewStatus().addNewAddress().withType("InternalIP").withAddress(ip).endAddress().endStatus()
+            .build();
+    }
+}
@@ -218,6 +218,7 @@ public class EBPFProfilingServiceHandler extends EBPFProfilingServiceGrpc.EBPFPr
         Tuple2<String, List<EBPFProfilingStackMetadata>> order = orderMetadataAndSetToData(onCPU.getStacksList(), COMMON_STACK_TYPE_ORDER);
         data.setStackIdList(order._1);
         data.setTargetType(EBPFProfilingTargetType.ON_CPU);
+        data.setDumpCount(onCPU.getDumpCount());
         data.setDataBinary(EBPFOnCPUProfiling.newBuilder()
                 .addAllStacks(order._2)
                 .setDumpCount(onCPU.getDumpCount())
@@ -228,6 +229,8 @@ public class EBPFProfilingServiceHandler extends EBPFProfilingServiceGrpc.EBPFPr
         Tuple2<String, List<EBPFProfilingStackMetadata>> order = orderMetadataAndSetToData(offCPUProfiling.getStacksList(), COMMON_STACK_TYPE_ORDER);
         data.setStackIdList(order._1);
         data.setTargetType(EBPFProfilingTargetType.OFF_CPU);
+        data.setDumpCount(offCPUProfiling.getSwitchCount());
+        data.setDuration(offCPUProfiling.getDuration());
         data.setDataBinary(EBPFOffCPUProfiling.newBuilder()
                 .addAllStacks(order._2)
                 .setSwitchCount(offCPUProfiling.getSwitchCount())
@@ -30,6 +30,7 @@ import org.apache.skywalking.oap.server.library.module.ModuleProvider;
 import org.apache.skywalking.oap.server.library.module.ServiceNotProvidedException;
 import org.apache.skywalking.oap.server.receiver.sharing.server.SharingServerModule;
 import org.apache.skywalking.oap.server.receiver.trace.module.TraceModule;
+import org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.SegmentIngestionQueue;
 import org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.grpc.SpanAttachedEventReportServiceHandler;
 import org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.grpc.TraceSegmentReportServiceHandler;
 import org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.grpc.TraceSegmentReportServiceHandlerCompat;
@@ -37,6 +38,7 @@ import org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.rest.
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
 
 public class TraceModuleProvider extends ModuleProvider {
+    private TraceReceiverModuleConfig config;
 
     @Override
     public String name() {
@@ -49,8 +51,18 @@ public class TraceModuleProvider extends ModuleProvider {
     }
 
     @Override
-    public ConfigCreator newConfigCreator() {
-        return null;
+    public ConfigCreator<TraceReceiverModuleConfig> newConfigCreator() {
+        return new ConfigCreator<TraceReceiverModuleConfig>() {
+            @Override
+            public Class<TraceReceiverModuleConfig> type() {
+                return TraceReceiverModuleConfig.class;
+            }
+
+            @Override
+            public void onInitialized(TraceReceiverModuleConfig initialized) {
+                config = initialized;
+            }
+        };
     }
 
     @Override
@@ -67,7 +79,8 @@ public class TraceModuleProvider extends ModuleProvider {
                                                               .provider()
                                                               .getService(HTTPHandlerRegister.class);
 
-        TraceSegmentReportServiceHandler traceSegmentReportServiceHandler = new TraceSegmentReportServiceHandler(getManager());
+        SegmentIngestionQueue ingestionQueue = new SegmentIngestionQueue(getManager(), config);
+        TraceSegmentReportServiceHandler traceSegmentReportServiceHandler = new TraceSegmentReportServiceHandler(getManager(), ingestionQueue);
         grpcHandlerRegister.addHandler(traceSegmentReportServiceHandler);
         grpcHandlerRegister.addHandler(new TraceSegmentReportServiceHandlerCompat(traceSegmentReportServiceHandler));
         grpcHandlerRegister.addHandler(new SpanAttachedEventReportServiceHandler(getManager()));
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.library.module.ModuleConfig;
+
+@Getter
+@Setter
+public class TraceReceiverModuleConfig extends ModuleConfig {
+    /**
+     * The number of analysis threads of the received segments. The segments of one trace are always analyzed by the
+     * same thread. Use the number of the processors when it is not positive.
+     */
+    private int ingestionShards = 0;
+    /**
+     * The max number of the queued segments of every analysis thread.
+     */
+    private int ingestionBufferSize = 10_000;
+    /**
+     * When the queued segments reach this ratio of the buffer size, the segments which wouldn't be sampled are shed,
+     * and the streaming reports stop reading new segments until the queue drains below it.
+     */
+    private double ingestionSheddingWatermark = 0.8;
+}
@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.oap.server.analyzer.module.AnalyzerModule;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.ISegmentParserService;
+import org.apache.skywalking.oap.server.library.datacarrier.DataCarrier;
+import org.apache.skywalking.oap.server.library.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.oap.server.library.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.oap.server.library.datacarrier.partition.IDataPartitioner;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.receiver.trace.provider.TraceReceiverModuleConfig;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+
+/**
+ * SegmentIngestionQueue moves the segment analysis out of the receiver threads. The segments are sharded by the trace
+ * ID into the bounded queues, each queue is analyzed by its own thread.
+ *
+ * Once the queued segments reach the shedding watermark, the segments which wouldn't be sampled are shed, and the
+ * queue is not {@link #isWritable()} until it drains below the watermark. A segment is rejected when its queue is
+ * full, and a batch of segments is rejected as a whole when any of its queues doesn't have room for them.
+ */
+@Slf4j
+public class SegmentIngestionQueue {
+    public enum Admission {
+        ACCEPTED,
+        /**
+         * Dropped, as the queue is over the shedding watermark and the segment wouldn't be sampled.
+         */
+        SHED,
+        /**
+         * Dropped, as the queue is full.
+         */
+        REJECTED
+    }
+
+    private final ISegmentParserService segmentParserService;
+    private final DataCarrier<QueuedSegment> dataCarrier;
+    private final int shards;
+    private final int bufferSize;
+    private final int sheddingWatermark;
+    private final AtomicInteger[] queued;
+    private final AtomicInteger saturatedShards = new AtomicInteger();
+    private final Queue<Runnable> writableListeners = new ConcurrentLinkedQueue<>();
+
+    private final HistogramMetrics queueWaitHistogram;
+    private final HistogramMetrics analysisHistogram;
+    private final CounterMetrics errorCounter;
+    private final CounterMetrics shedCounter;
+    private final CounterMetrics rejectedCounter;
+
+    public SegmentIngestionQueue(ModuleManager moduleManager, TraceReceiverModuleConfig config) {
+        this(
+            moduleManager.find(AnalyzerModule.NAME).provider().getService(ISegmentParserService.class),
+            moduleManager.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class),
+            config
+        );
+    }
+
+    public SegmentIngestionQueue(ISegmentParserService segmentParserService,
+                                 MetricsCreator metricsCreator,
+                                 TraceReceiverModuleConfig config) {
+        this.segmentParserService = segmentParserService;
+        this.shards = config.getIngestionShards() > 0 ?
+            config.getIngestionShards() : Runtime.getRuntime().availableProcessors();
+        this.bufferSize = Math.max(1, config.getIngestionBufferSize());
+        this.sheddingWatermark = Math.max(1, (int) (bufferSize * config.getIngestionSheddingWatermark()));
+        this.queued = new AtomicInteger[shards];
+        for (int i = 0; i < shards; i++) {
+            queued[i] = new AtomicInteger();
+        }
+
+        queueWaitHistogram = metricsCreator.createHistogramMetric(
+            "trace_ingestion_queue_wait_latency", "The latency of the trace segments waiting for analysis",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        analysisHistogram = metricsCreator.createHistogramMetric(
+            "trace_analysis_latency", "The latency of the trace segment analysis",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        errorCounter = metricsCreator.createCounter(
+            "trace_analysis_error_count", "The error number of trace analysis",
+            new MetricsTag.Keys("protocol"), new MetricsTag.Values("grpc")
+        );
+        shedCounter = metricsCreator.createCounter(
+            "trace_ingestion_shed_count", "The number of the unsampled trace segments shed under load",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        rejectedCounter = metricsCreator.createCounter(
+            "trace_ingestion_rejected_count", "The number of the trace segments rejected by the full queue",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+
+        dataCarrier = new DataCarrier<>("SegmentIngestion", "SegmentIngestion", shards, bufferSize, BufferStrategy.IF_POSSIBLE);
+        dataCarrier.setPartitioner(new ShardPartitioner());
+        dataCarrier.consume(new AnalysisConsumer(), shards);
+    }
+
+    /**
+     * Queue the segment for analysis, without blocking.
+     */
+    public Admission offer(SegmentObject segment) {
+        final int shard = shardOf(segment);
+        if (shouldShed(segment, shard)) {
+            shedCounter.inc();
+            return Admission.SHED;
+        }
+        if (!reserve(shard, 1) || !produce(segment, shard)) {
+            rejectedCounter.inc();
+            return Admission.REJECTED;
+        }
+        return Admission.ACCEPTED;
+    }
+
+    /**
+     * Queue the segments of a batch for analysis, without blocking. The batch is admitted as a whole, the room of all
+     * the segments is reserved in their queues before any of them is queued. So a rejected batch could be retried
+     * without any segment analyzed twice.
+     *
+     * @return {@link Admission#ACCEPTED} if all the segments, except the shed ones, are queued, or {@link
+     * Admission#REJECTED} if none of them is queued, as any queue doesn't have room for its segments.
+     */
+    public Admission offerAll(List<SegmentObject> segments) {
+        final int[] segmentShards = new int[segments.size()];
+        final int[] reserved = new int[shards];
+        int shed = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            final int shard = shardOf(segments.get(i));
+            if (shouldShed(segments.get(i), shard)) {
+                segmentShards[i] = -1;
+                shed++;
+            } else {
+                segmentShards[i] = shard;
+                reserved[shard]++;
+            }
+        }
+        for (int shard = 0; shard < shards; shard++) {
+            if (reserved[shard] > 0 && !reserve(shard, reserved[shard])) {
+                for (int s = 0; s < shard; s++) {
+                    release(s, reserved[s]);
+                }
+                rejectedCounter.inc(segments.size() - shed);
+                return Admission.REJECTED;
+            }
+        }
+        if (shed > 0) {
+            shedCounter.inc(shed);
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            if (segmentShards[i] >= 0 && !produce(segments.get(i), segmentShards[i])) {
+                rejectedCounter.inc();
+            }
+        }
+        return Admission.ACCEPTED;
+    }
+
+    private int shardOf(SegmentObject segment) {
+        return Math.floorMod(segment.getTraceId().hashCode(), shards);
+    }
+
+    private boolean shouldShed(SegmentObject segment, int shard) {
+        return queued[shard].get() >= sheddingWatermark && !segmentParserService.isSampled(segment);
+    }
+
+    /**
+     * Reserve the room of the segments in the queue of the shard.
+     *
+     * @return false if the queue doesn't have enough room.
+     */
+    private boolean reserve(int shard, int count) {
+        final AtomicInteger counter = queued[shard];
+        while (true) {
+            final int size = counter.get();
+            if (size + count > bufferSize) {
+                return false;
+            }
+            if (counter.compareAndSet(size, size + count)) {
+                if (size < sheddingWatermark && size + count >= sheddingWatermark) {
+                    saturatedShards.incrementAndGet();
+                }
+                return true;
+            }
+        }
+    }
+
+    private void release(int shard, int count) {
+        if (count <= 0) {
+            return;
+        }
+        final int size = queued[shard].getAndAdd(-count);
+        if (size >= sheddingWatermark && size - count < sheddingWatermark) {
+            saturatedShards.decrementAndGet();
+        }
+    }
+
+    /**
+     * Queue the segment whose room has been reserved. The reserved room is released if the segment can't be queued,
+     * which shouldn't happen, as the reserved segments never exceed the buffer of the shard.
+     */
+    private boolean produce(SegmentObject segment, int shard) {
+        if (dataCarrier.produce(new QueuedSegment(segment, shard, System.nanoTime()))) {
+            return true;
+        }
+        release(shard, 1);
+        return false;
+    }
+
+    /**
+     * @return true if no queue reaches the shedding watermark.
+     */
+    public boolean isWritable() {
+        return saturatedShards.get() <= 0;
+    }
+
+    /**
+     * Run the listener once the queue is writable. It runs immediately in the caller thread if the queue is writable
+     * now, otherwise in the analysis thread which drains the queue.
+     */
+    public void whenWritable(Runnable listener) {
+        writableListeners.add(listener);
+        if (isWritable()) {
+            notifyWritable();
+        }
+    }
+
+    private void notifyWritable() {
+        Runnable listener;
+        while (isWritable() && (listener = writableListeners.poll()) != null) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class QueuedSegment {
+        private final SegmentObject segment;
+        private final int shard;
+        private final long queuedNanos;
+    }
+
+    private static class ShardPartitioner implements IDataPartitioner<QueuedSegment> {
+        @Override
+        public int partition(int total, QueuedSegment data) {
+            return data.shard % total;
+        }
+
+        @Override
+        public int maxRetryCount() {
+            return 1;
+        }
+    }
+
+    private class AnalysisConsumer implements IConsumer<QueuedSegment> {
+        @Override
+        public void consume(List<QueuedSegment> data) {
+            for (final QueuedSegment queuedSegment : data) {
+                queueWaitHistogram.observe((System.nanoTime() - queuedSegment.queuedNanos) / 1.0E9D);
+                HistogramMetrics.Timer timer = analysisHistogram.createTimer();
+                try {
+                    segmentParserService.send(queuedSegment.segment);
+                } catch (Exception e) {
+                    errorCounter.inc();
+                    log.error(e.getMessage(), e);
+                } finally {
+                    timer.finish();
+                    release(queuedSegment.shard, 1);
+                }
+            }
+            notifyWritable();
+        }
+
+        @Override
+        public void onError(List<QueuedSegment> data, Throwable t) {
+            log.error(t.getMessage(), t);
+        }
+    }
+}
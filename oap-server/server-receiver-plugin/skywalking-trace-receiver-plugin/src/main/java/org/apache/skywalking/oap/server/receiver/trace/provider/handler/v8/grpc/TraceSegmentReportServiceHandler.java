@@ -19,33 +19,34 @@
 package org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.grpc;
 
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.network.common.v3.Commands;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentCollection;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 import org.apache.skywalking.apm.network.language.agent.v3.TraceSegmentReportServiceGrpc;
-import org.apache.skywalking.oap.server.analyzer.module.AnalyzerModule;
-import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.ISegmentParserService;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.server.grpc.GRPCHandler;
+import org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.SegmentIngestionQueue;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
-import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
+/**
+ * The segments are handed to the {@link SegmentIngestionQueue} and analyzed out of the gRPC threads. The streaming
+ * report stops reading the next segment while the queue is over its shedding watermark. The sync report is admitted
+ * as a whole, and fails with {@link Status#RESOURCE_EXHAUSTED} without any segment queued if the queue is full.
+ */
 @Slf4j
 public class TraceSegmentReportServiceHandler extends TraceSegmentReportServiceGrpc.TraceSegmentReportServiceImplBase implements GRPCHandler {
     private HistogramMetrics histogram;
-    private CounterMetrics errorCounter;
 
-    private ISegmentParserService segmentParserService;
+    private SegmentIngestionQueue ingestionQueue;
 
-    public TraceSegmentReportServiceHandler(ModuleManager moduleManager) {
-        this.segmentParserService = moduleManager.find(AnalyzerModule.NAME)
-                                                 .provider()
-                                                 .getService(ISegmentParserService.class);
+    public TraceSegmentReportServiceHandler(ModuleManager moduleManager, SegmentIngestionQueue ingestionQueue) {
+        this.ingestionQueue = ingestionQueue;
 
         MetricsCreator metricsCreator = moduleManager.find(TelemetryModule.NAME)
                                                      .provider()
@@ -54,13 +55,19 @@ public class TraceSegmentReportServiceHandler extends TraceSegmentReportServiceG
             "trace_in_latency", "The process latency of trace data",
             new MetricsTag.Keys("protocol"), new MetricsTag.Values("grpc")
         );
-        errorCounter = metricsCreator.createCounter("trace_analysis_error_count", "The error number of trace analysis",
-                                                    new MetricsTag.Keys("protocol"), new MetricsTag.Values("grpc")
-        );
     }
 
     @Override
     public StreamObserver<SegmentObject> collect(StreamObserver<Commands> responseObserver) {
+        final ServerCallStreamObserver<Commands> serverCallObserver;
+        if (responseObserver instanceof ServerCallStreamObserver) {
+            serverCallObserver = (ServerCallStreamObserver<Commands>) responseObserver;
+            serverCallObserver.disableAutoRequest();
+            serverCallObserver.request(1);
+        } else {
+            serverCallObserver = null;
+        }
+
         return new StreamObserver<SegmentObject>() {
             @Override
             public void onNext(SegmentObject segment) {
@@ -70,13 +77,16 @@ public class TraceSegmentReportServiceHandler extends TraceSegmentReportServiceG
 
                 HistogramMetrics.Timer timer = histogram.createTimer();
                 try {
-                    segmentParserService.send(segment);
-                } catch (Exception e) {
-                    errorCounter.inc();
-                    log.error(e.getMessage(), e);
+                    if (ingestionQueue.offer(segment) == SegmentIngestionQueue.Admission.REJECTED) {
+                        log.debug("segment {} is rejected by the full ingestion queue", segment.getTraceSegmentId());
+                    }
                 } finally {
                     timer.finish();
                 }
+                if (serverCallObserver != null) {
+                    // Read the next segment only when the analysis catches up.
+                    ingestionQueue.whenWritable(() -> serverCallObserver.request(1));
+                }
             }
 
             @Override
@@ -105,18 +115,22 @@ public class TraceSegmentReportServiceHandler extends TraceSegmentReportServiceG
             log.debug("received {} segments", request.getSegmentsCount());
         }
 
-        request.getSegmentsList().forEach(segment -> {
-            HistogramMetrics.Timer timer = histogram.createTimer();
-            try {
-                segmentParserService.send(segment);
-            } catch (Exception e) {
-                errorCounter.inc();
-                log.error(e.getMessage(), e);
-            } finally {
-                timer.finish();
-            }
-        });
+        final long startNanos = System.nanoTime();
+        final SegmentIngestionQueue.Admission admission = ingestionQueue.offerAll(request.getSegmentsList());
+        // Keep one observation per segment, as the latency count is the number of the received segments.
+        final double latency = (System.nanoTime() - startNanos) / 1.0E9D / Math.max(1, request.getSegmentsCount());
+        for (int i = 0; i < request.getSegmentsCount(); i++) {
+            histogram.observe(latency);
+        }
 
+        if (admission == SegmentIngestionQueue.Admission.REJECTED) {
+            // None of the segments is queued, so the agent could report the collection again.
+            responseObserver.onError(
+                Status.RESOURCE_EXHAUSTED
+                    .withDescription(request.getSegmentsCount() + " segments are rejected, the trace analysis is overloaded.")
+                    .asRuntimeException());
+            return;
+        }
         responseObserver.onNext(Commands.newBuilder().build());
         responseObserver.onCompleted();
     }
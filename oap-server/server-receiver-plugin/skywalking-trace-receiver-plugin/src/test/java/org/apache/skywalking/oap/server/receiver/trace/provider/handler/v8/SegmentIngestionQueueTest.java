@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.ISegmentParserService;
+import org.apache.skywalking.oap.server.receiver.trace.provider.TraceReceiverModuleConfig;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SegmentIngestionQueueTest {
+    @Test
+    public void testAnalyzedOutOfReceiverThread() throws InterruptedException {
+        final CountDownLatch analyzed = new CountDownLatch(1);
+        final Thread receiverThread = Thread.currentThread();
+        final Thread[] analysisThread = new Thread[1];
+        final SegmentIngestionQueue queue = new SegmentIngestionQueue(new ISegmentParserService() {
+            @Override
+            public void send(final SegmentObject segment) {
+                analysisThread[0] = Thread.currentThread();
+                analyzed.countDown();
+            }
+        }, new MetricsCreatorNoop(), config(1, 10, 0.8));
+
+        Assertions.assertEquals(SegmentIngestionQueue.Admission.ACCEPTED, queue.offer(segment("trace-1")));
+        Assertions.assertTrue(analyzed.await(10, TimeUnit.SECONDS));
+        Assertions.assertNotSame(receiverThread, analysisThread[0]);
+    }
+
+    @Test
+    public void testSheddingAndBackpressure() throws InterruptedException {
+        final CountDownLatch blocking = new CountDownLatch(1);
+        final SegmentIngestionQueue queue = new SegmentIngestionQueue(new ISegmentParserService() {
+            @Override
+            public void send(final SegmentObject segment) {
+                try {
+                    blocking.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public boolean isSampled(final SegmentObject segment) {
+                return !segment.getTraceId().startsWith("unsampled");
+            }
+        }, new MetricsCreatorNoop(), config(1, 4, 0.5));
+
+        Assertions.assertEquals(SegmentIngestionQueue.Admission.ACCEPTED, queue.offer(segment("unsampled-1")));
+        Assertions.assertTrue(queue.isWritable());
+        Assertions.assertEquals(SegmentIngestionQueue.Admission.ACCEPTED, queue.offer(segment("sampled-1")));
+        Assertions.assertFalse(queue.isWritable());
+
+        // Over the watermark, the unsampled segments are shed, the others are queued until the buffer is full.
+        Assertions.assertEquals(SegmentIngestionQueue.Admission.SHED, queue.offer(segment("unsampled-2")));
+        Assertions.assertEquals(SegmentIngestionQueue.Admission.ACCEPTED, queue.offer(segment("sampled-2")));
+        Assertions.assertEquals(SegmentIngestionQueue.Admission.ACCEPTED, queue.offer(segment("sampled-3")));
+        Assertions.assertEquals(SegmentIngestionQueue.Admission.REJECTED, queue.offer(segment("sampled-4")));
+
+        final CountDownLatch writable = new CountDownLatch(1);
+        queue.whenWritable(writable::countDown);
+        Assertions.assertEquals(1, writable.getCount());
+
+        blocking.countDown();
+        Assertions.assertTrue(writable.await(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(queue.isWritable());
+    }
+
+    @Test
+    public void testBatchAdmittedAsAWhole() throws InterruptedException {
+        final CountDownLatch blocking = new CountDownLatch(1);
+        final List<String> analyzed = new CopyOnWriteArrayList<>();
+        final CountDownLatch drained = new CountDownLatch(4);
+        final SegmentIngestionQueue queue = new SegmentIngestionQueue(new ISegmentParserService() {
+            @Override
+            public void send(final SegmentObject segment) {
+                try {
+                    blocking.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                analyzed.add(segment.getTraceId());
+                drained.countDown();
+            }
+        }, new MetricsCreatorNoop(), config(1, 4, 1));
+
+        Assertions.assertEquals(
+            SegmentIngestionQueue.Admission.ACCEPTED,
+            queue.offerAll(Arrays.asList(segment("trace-1"), segment("trace-2"), segment("trace-3")))
+        );
+        // No room for the whole batch, none of its segments is queued.
+        Assertions.assertEquals(
+            SegmentIngestionQueue.Admission.REJECTED,
+            queue.offerAll(Arrays.asList(segment("trace-4"), segment("trace-5")))
+        );
+        Assertions.assertEquals(SegmentIngestionQueue.Admission.ACCEPTED, queue.offer(segment("trace-6")));
+        Assertions.assertEquals(SegmentIngestionQueue.Admission.REJECTED, queue.offer(segment("trace-7")));
+
+        blocking.countDown();
+        Assertions.assertTrue(drained.await(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(Arrays.asList("trace-1", "trace-2", "trace-3", "trace-6"), analyzed);
+        Assertions.assertTrue(queue.isWritable());
+    }
+
+    private static TraceReceiverModuleConfig config(int shards, int bufferSize, double watermark) {
+        final TraceReceiverModuleConfig config = new TraceReceiverModuleConfig();
+        config.setIngestionShards(shards);
+        config.setIngestionBufferSize(bufferSize);
+        config.setIngestionSheddingWatermark(watermark);
+        return config;
+    }
+
+    private static SegmentObject segment(String traceId) {
+        return SegmentObject.newBuilder().setTraceId(traceId).setTraceSegmentId(traceId + ".0").build();
+    }
+}
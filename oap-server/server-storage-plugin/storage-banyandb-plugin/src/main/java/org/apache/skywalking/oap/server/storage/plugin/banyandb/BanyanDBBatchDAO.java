@@ -18,19 +18,30 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.banyandb;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
 import org.apache.skywalking.banyandb.v1.client.MeasureBulkWriteProcessor;
 import org.apache.skywalking.banyandb.v1.client.StreamBulkWriteProcessor;
 import org.apache.skywalking.oap.server.core.storage.AbstractDAO;
 import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
 import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
 import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 import org.apache.skywalking.oap.server.storage.plugin.banyandb.measure.BanyanDBMeasureInsertRequest;
 import org.apache.skywalking.oap.server.storage.plugin.banyandb.measure.BanyanDBMeasureUpdateRequest;
 import org.apache.skywalking.oap.server.storage.plugin.banyandb.stream.BanyanDBStreamInsertRequest;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
 public class BanyanDBBatchDAO extends AbstractDAO<BanyanDBStorageClient> implements IBatchDAO {
     private static final Object STREAM_SYNCHRONIZER = new Object();
@@ -39,17 +50,33 @@ public class BanyanDBBatchDAO extends AbstractDAO<BanyanDBStorageClient> impleme
 
     private MeasureBulkWriteProcessor measureBulkWriteProcessor;
 
+    private final ModuleManager moduleManager;
+
     private final int maxBulkSize;
 
     private final int flushInterval;
 
     private final int concurrency;
 
-    public BanyanDBBatchDAO(BanyanDBStorageClient client, int maxBulkSize, int flushInterval, int concurrency) {
+    /**
+     * Shared by stream and measure writes, as both of them go through the same gRPC channel.
+     */
+    private final BanyanDBWriteWindow writeWindow;
+
+    private final Map<String, WriteMetrics> writeMetrics = new ConcurrentHashMap<>();
+
+    private volatile MetricsCreator metricsCreator;
+
+    public BanyanDBBatchDAO(BanyanDBStorageClient client, ModuleManager moduleManager, BanyanDBStorageConfig config) {
         super(client);
-        this.maxBulkSize = maxBulkSize;
-        this.flushInterval = flushInterval;
-        this.concurrency = concurrency;
+        this.moduleManager = moduleManager;
+        this.maxBulkSize = config.getMaxBulkSize();
+        this.flushInterval = config.getFlushInterval();
+        this.concurrency = config.getConcurrentWriteThreads();
+        this.writeWindow = new BanyanDBWriteWindow(
+            maxBulkSize, config.getMaxInFlightWrites(), maxBulkSize * concurrency,
+            config.getWriteLatencyThreshold()
+        );
     }
 
     @Override
@@ -61,30 +88,106 @@ public class BanyanDBBatchDAO extends AbstractDAO<BanyanDBStorageClient> impleme
         }
     }
 
+    /**
+     * The requests are grouped by the target group and stream/measure, and submitted group by group,
+     * so the bulk processors receive the writes of one series continuously. Each group is admitted by the
+     * {@link BanyanDBWriteWindow}, which blocks the persistence thread when the server falls behind.
+     */
     @Override
     public CompletableFuture<Void> flush(List<PrepareRequest> prepareRequests) {
-        if (CollectionUtils.isNotEmpty(prepareRequests)) {
-            return CompletableFuture.allOf(prepareRequests.stream().map((Function<PrepareRequest, CompletableFuture<Void>>) r -> {
-                if (r instanceof BanyanDBStreamInsertRequest) {
-                    return getStreamBulkWriteProcessor().add(((BanyanDBStreamInsertRequest) r).getStreamWrite());
-                } else if (r instanceof BanyanDBMeasureInsertRequest) {
-                    return getMeasureBulkWriteProcessor().add(((BanyanDBMeasureInsertRequest) r).getMeasureWrite())
-                                                         .whenComplete((v, throwable) -> {
-                                                             if (throwable == null) {
-                                                                 // Insert completed
-                                                                 ((BanyanDBMeasureInsertRequest) r).onInsertCompleted();
-                                                             }
-                                                         });
-                } else if (r instanceof BanyanDBMeasureUpdateRequest) {
-                    return getMeasureBulkWriteProcessor().add(((BanyanDBMeasureUpdateRequest) r).getMeasureWrite());
+        if (CollectionUtils.isEmpty(prepareRequests)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Map<String, List<PrepareRequest>> groups = new LinkedHashMap<>();
+        for (PrepareRequest r : prepareRequests) {
+            String target = r instanceof BanyanDBWriteRequest
+                ? ((BanyanDBWriteRequest) r).getGroup() + "/" + ((BanyanDBWriteRequest) r).getName()
+                : "";
+            groups.computeIfAbsent(target, k -> new ArrayList<>()).add(r);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+        for (Map.Entry<String, List<PrepareRequest>> group : groups.entrySet()) {
+            futures.add(flushGroup(group.getKey(), group.getValue()));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    private CompletableFuture<Void> flushGroup(String target, List<PrepareRequest> requests) {
+        final int size = requests.size();
+        try {
+            writeWindow.acquire(size);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        final WriteMetrics metrics = getWriteMetrics(target);
+        final AtomicBoolean success = new AtomicBoolean(true);
+        final long startTime = System.currentTimeMillis();
+        CompletableFuture<?>[] futures = new CompletableFuture[size];
+        for (int i = 0; i < size; i++) {
+            CompletableFuture<Void> future;
+            try {
+                future = write(requests.get(i));
+            } catch (Throwable t) {
+                // Fail this write only, the permits are released once all writes of the group complete.
+                future = CompletableFuture.failedFuture(t);
+            }
+            futures[i] = future.whenComplete((v, throwable) -> {
+                if (throwable != null) {
+                    success.set(false);
+                    metrics.rejected.inc();
                 }
-                return CompletableFuture.completedFuture(null);
-            }).toArray(CompletableFuture[]::new));
+            });
         }
+        return CompletableFuture.allOf(futures).whenComplete((v, throwable) -> {
+            long latency = System.currentTimeMillis() - startTime;
+            writeWindow.release(size, latency, success.get());
+            metrics.latency.observe(latency / 1000d);
+        });
+    }
 
+    private CompletableFuture<Void> write(PrepareRequest r) {
+        if (r instanceof BanyanDBStreamInsertRequest) {
+            return getStreamBulkWriteProcessor().add(((BanyanDBStreamInsertRequest) r).getStreamWrite());
+        } else if (r instanceof BanyanDBMeasureInsertRequest) {
+            return getMeasureBulkWriteProcessor().add(((BanyanDBMeasureInsertRequest) r).getMeasureWrite())
+                                                 .whenComplete((v, throwable) -> {
+                                                     if (throwable == null) {
+                                                         // Insert completed
+                                                         ((BanyanDBMeasureInsertRequest) r).onInsertCompleted();
+                                                     }
+                                                 });
+        } else if (r instanceof BanyanDBMeasureUpdateRequest) {
+            return getMeasureBulkWriteProcessor().add(((BanyanDBMeasureUpdateRequest) r).getMeasureWrite());
+        }
         return CompletableFuture.completedFuture(null);
     }
 
+    private WriteMetrics getWriteMetrics(String target) {
+        return writeMetrics.computeIfAbsent(target, t -> {
+            if (metricsCreator == null) {
+                metricsCreator = moduleManager.find(TelemetryModule.NAME)
+                                              .provider()
+                                              .getService(MetricsCreator.class);
+            }
+            MetricsTag.Keys keys = new MetricsTag.Keys("target");
+            MetricsTag.Values values = new MetricsTag.Values(t);
+            return new WriteMetrics(
+                metricsCreator.createHistogramMetric(
+                    "banyandb_write_latency", "The latency of the bulk write of a BanyanDB stream/measure",
+                    keys, values
+                ),
+                metricsCreator.createCounter(
+                    "banyandb_write_rejected_count", "The number of writes rejected by BanyanDB",
+                    keys, values
+                )
+            );
+        });
+    }
+
     private StreamBulkWriteProcessor getStreamBulkWriteProcessor() {
         if (streamBulkWriteProcessor == null) {
             synchronized (STREAM_SYNCHRONIZER) {
@@ -106,4 +209,10 @@ public class BanyanDBBatchDAO extends AbstractDAO<BanyanDBStorageClient> impleme
         }
         return measureBulkWriteProcessor;
     }
+
+    @RequiredArgsConstructor
+    private static class WriteMetrics {
+        private final HistogramMetrics latency;
+        private final CounterMetrics rejected;
+    }
 }
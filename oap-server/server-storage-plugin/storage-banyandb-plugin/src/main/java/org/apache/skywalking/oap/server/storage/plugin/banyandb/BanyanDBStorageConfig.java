@@ -45,6 +45,20 @@ public class BanyanDBStorageConfig extends ModuleConfig {
      * Concurrent consumer threads for batch writing.
      */
     private int concurrentWriteThreads = 2;
+    /**
+     * The upper bound of the writes submitted to BanyanDB but not acknowledged yet.
+     * The in-flight window grows and shrinks between {@link #maxBulkSize} and this value by the observed write latency.
+     *
+     * @since 10.0.0
+     */
+    private int maxInFlightWrites = 100000;
+    /**
+     * The in-flight window shrinks when a bulk write of a stream/measure takes longer than this threshold.
+     * In the timeunit of milliseconds.
+     *
+     * @since 10.0.0
+     */
+    private long writeLatencyThreshold = 3000;
     /**
      * Max size of {@link org.apache.skywalking.oap.server.core.query.type.ProfileTask} to be fetched
      * in a single request.
@@ -125,9 +125,7 @@ public class BanyanDBStorageProvider extends ModuleProvider {
 
         // Stream
         this.registerServiceImplementation(
-            IBatchDAO.class, new BanyanDBBatchDAO(client, config.getMaxBulkSize(), config.getFlushInterval(),
-                                                  config.getConcurrentWriteThreads()
-            ));
+            IBatchDAO.class, new BanyanDBBatchDAO(client, getManager(), config));
         this.registerServiceImplementation(StorageDAO.class, new BanyanDBStorageDAO(client));
         this.registerServiceImplementation(INetworkAddressAliasDAO.class, new BanyanDBNetworkAddressAliasDAO(client));
         this.registerServiceImplementation(ITraceQueryDAO.class, new BanyanDBTraceQueryDAO(client));
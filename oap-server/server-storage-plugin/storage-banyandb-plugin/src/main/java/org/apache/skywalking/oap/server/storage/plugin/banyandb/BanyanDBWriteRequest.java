@@ -16,29 +16,21 @@
  *
  */
 
-package org.apache.skywalking.mqe.rt.operation.aggregatelabels;
+package org.apache.skywalking.oap.server.storage.plugin.banyandb;
 
-public class MinAggregateLabelsFunc implements AggregateLabelsFunc {
-
-    private Double min;
-
-    @Override
-    public void combine(final Double value) {
-        if (value == null) {
-            return;
-        }
-
-        if (min == null) {
-            min = value;
-        } else {
-            if (value < min) {
-                min = value;
-            }
-        }
-    }
+/**
+ * BanyanDBWriteRequest is implemented by all prepared write requests of BanyanDB,
+ * it exposes the target group and the stream/measure name, which are used to group
+ * the writes and tag the write metrics in {@link BanyanDBBatchDAO}.
+ */
+public interface BanyanDBWriteRequest {
+    /**
+     * @return the group of the target stream/measure.
+     */
+    String getGroup();
 
-    @Override
-    public Double getResult() {
-        return min;
-    }
+    /**
+     * @return the name of the target stream/measure.
+     */
+    String getName();
 }
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.banyandb;
+
+import lombok.Getter;
+
+/**
+ * BanyanDBWriteWindow limits the number of in-flight writes submitted to the bulk processors.
+ * The size of the window is adjusted by the observed server-side latency in an AIMD(additive-increase,
+ * multiplicative-decrease) way, so the write throughput keeps up with the server capacity without manual tuning.
+ * <p>
+ * A batch is always admitted when there is nothing in flight, even if it is larger than the window,
+ * to avoid starving a large measure.
+ */
+public class BanyanDBWriteWindow {
+    private final int minSize;
+    private final int maxSize;
+    private final long latencyThresholdInMs;
+    @Getter
+    private int size;
+    @Getter
+    private int inFlight;
+
+    /**
+     * @param minSize              the lower bound and the additive step of the window.
+     * @param maxSize              the upper bound of the window.
+     * @param initialSize          the window size before any latency is observed.
+     * @param latencyThresholdInMs the window shrinks when a batch takes longer than this threshold.
+     */
+    public BanyanDBWriteWindow(int minSize, int maxSize, int initialSize, long latencyThresholdInMs) {
+        this.minSize = Math.max(1, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.size = Math.min(this.maxSize, Math.max(this.minSize, initialSize));
+        this.latencyThresholdInMs = latencyThresholdInMs;
+    }
+
+    /**
+     * Block until the window has enough room for the given number of writes.
+     */
+    public synchronized void acquire(int writes) throws InterruptedException {
+        while (inFlight > 0 && inFlight + writes > size) {
+            wait();
+        }
+        inFlight += writes;
+    }
+
+    /**
+     * Return the writes to the window, and adjust the window by the latency of the finished batch.
+     *
+     * @param success false if any write of the batch is rejected by the server.
+     */
+    public synchronized void release(int writes, long latencyInMs, boolean success) {
+        inFlight = Math.max(0, inFlight - writes);
+        if (!success || latencyInMs > latencyThresholdInMs) {
+            size = Math.max(minSize, size / 2);
+        } else if (inFlight + writes >= size) {
+            // Only grow when the window is actually the bottleneck.
+            size = Math.min(maxSize, size + minSize);
+        }
+        notifyAll();
+    }
+}
@@ -23,10 +23,13 @@ import lombok.RequiredArgsConstructor;
 import org.apache.skywalking.banyandb.v1.client.MeasureWrite;
 import org.apache.skywalking.oap.server.core.storage.SessionCacheCallback;
 import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
+import org.apache.skywalking.oap.server.storage.plugin.banyandb.BanyanDBWriteRequest;
 
 @RequiredArgsConstructor
 @Getter
-public class BanyanDBMeasureInsertRequest implements InsertRequest {
+public class BanyanDBMeasureInsertRequest implements InsertRequest, BanyanDBWriteRequest {
+    private final String group;
+    private final String name;
     private final MeasureWrite measureWrite;
     private final SessionCacheCallback callback;
 
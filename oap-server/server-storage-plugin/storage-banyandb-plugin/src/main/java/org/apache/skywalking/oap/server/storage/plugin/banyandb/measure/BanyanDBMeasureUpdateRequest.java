@@ -23,10 +23,13 @@ import lombok.RequiredArgsConstructor;
 import org.apache.skywalking.banyandb.v1.client.MeasureWrite;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.library.client.request.UpdateRequest;
+import org.apache.skywalking.oap.server.storage.plugin.banyandb.BanyanDBWriteRequest;
 
 @RequiredArgsConstructor
 @Getter
-public class BanyanDBMeasureUpdateRequest implements UpdateRequest {
+public class BanyanDBMeasureUpdateRequest implements UpdateRequest, BanyanDBWriteRequest {
+    private final String group;
+    private final String name;
     private final MeasureWrite measureWrite;
 
     @Override
@@ -199,6 +199,48 @@ public class BanyanDBMetadataQueryDAO extends AbstractBanyanDBDAO implements IMe
         return endpoints;
     }
 
+    @Override
+    public List<InstanceTraffic> listInstanceTraffics(final long lastPingStartTimeBucket) throws IOException {
+        MeasureQueryResponse resp = query(InstanceTraffic.INDEX_NAME,
+                INSTANCE_TRAFFIC_TAGS,
+                Collections.emptySet(),
+                new QueryBuilder<MeasureQuery>() {
+                    @Override
+                    protected void apply(MeasureQuery query) {
+                        query.and(gte(InstanceTraffic.LAST_PING_TIME_BUCKET, lastPingStartTimeBucket));
+                    }
+                });
+
+        final List<InstanceTraffic> traffics = new ArrayList<>();
+        MetadataRegistry.Schema schema = MetadataRegistry.INSTANCE.findMetadata(InstanceTraffic.INDEX_NAME, DownSampling.Minute);
+        for (final DataPoint dataPoint : resp.getDataPoints()) {
+            traffics.add(new InstanceTraffic.Builder().storage2Entity(new BanyanDBConverter.StorageToMeasure(schema, dataPoint)));
+        }
+        return traffics;
+    }
+
+    @Override
+    public List<EndpointTraffic> listEndpointTraffics(final long startTimeBucket) throws IOException {
+        final TimestampRange timestampRange = new TimestampRange(
+            TimeBucket.getTimestamp(startTimeBucket), System.currentTimeMillis());
+        MeasureQueryResponse resp = query(EndpointTraffic.INDEX_NAME,
+                ENDPOINT_TRAFFIC_TAGS,
+                Collections.emptySet(),
+                timestampRange,
+                new QueryBuilder<MeasureQuery>() {
+                    @Override
+                    protected void apply(MeasureQuery query) {
+                    }
+                });
+
+        final List<EndpointTraffic> traffics = new ArrayList<>();
+        MetadataRegistry.Schema schema = MetadataRegistry.INSTANCE.findMetadata(EndpointTraffic.INDEX_NAME, DownSampling.Minute);
+        for (final DataPoint dataPoint : resp.getDataPoints()) {
+            traffics.add(new EndpointTraffic.Builder().storage2Entity(new BanyanDBConverter.StorageToMeasure(schema, dataPoint)));
+        }
+        return traffics;
+    }
+
     @Override
     public List<Process> listProcesses(String serviceId, ProfilingSupportStatus supportStatus, long lastPingStartTimeBucket, long lastPingEndTimeBucket) throws IOException {
         MeasureQueryResponse resp = query(ProcessTraffic.INDEX_NAME,
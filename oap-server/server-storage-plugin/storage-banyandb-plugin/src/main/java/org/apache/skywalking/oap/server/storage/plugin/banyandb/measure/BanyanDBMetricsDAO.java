@@ -161,7 +161,8 @@ public class BanyanDBMetricsDAO extends AbstractBanyanDBDAO implements IMetricsD
         if (model.getBanyanDBModelExtension().isStoreIDTag()) {
             toStorage.acceptID(metrics.id().build());
         }
-        return new BanyanDBMeasureInsertRequest(toStorage.obtain(), callback);
+        return new BanyanDBMeasureInsertRequest(
+            schema.getMetadata().getGroup(), schema.getMetadata().name(), toStorage.obtain(), callback);
     }
 
     @Override
@@ -179,7 +180,8 @@ public class BanyanDBMetricsDAO extends AbstractBanyanDBDAO implements IMetricsD
         if (model.getBanyanDBModelExtension().isStoreIDTag()) {
             toStorage.acceptID(metrics.id().build());
         }
-        return new BanyanDBMeasureUpdateRequest(toStorage.obtain());
+        return new BanyanDBMeasureUpdateRequest(
+            schema.getMetadata().getGroup(), schema.getMetadata().name(), toStorage.obtain());
     }
 
     private static class AnalyticalResult {
@@ -19,16 +19,25 @@
 package org.apache.skywalking.oap.server.storage.plugin.banyandb.stream;
 
 import com.google.common.collect.ImmutableSet;
+import org.apache.skywalking.banyandb.v1.client.DataPoint;
+import org.apache.skywalking.banyandb.v1.client.MeasureQuery;
+import org.apache.skywalking.banyandb.v1.client.MeasureQueryResponse;
 import org.apache.skywalking.banyandb.v1.client.RowEntity;
 import org.apache.skywalking.banyandb.v1.client.StreamQuery;
 import org.apache.skywalking.banyandb.v1.client.StreamQueryResponse;
+import org.apache.skywalking.banyandb.v1.client.TimestampRange;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
 import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingDataRecord;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingStackRecord;
 import org.apache.skywalking.oap.server.core.storage.profiling.ebpf.IEBPFProfilingDataDAO;
 import org.apache.skywalking.oap.server.storage.plugin.banyandb.BanyanDBConverter;
 import org.apache.skywalking.oap.server.storage.plugin.banyandb.BanyanDBStorageClient;
+import org.apache.skywalking.oap.server.storage.plugin.banyandb.MetadataRegistry;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -40,6 +49,13 @@ public class BanyanDBEBPFProfilingDataDAO extends AbstractBanyanDBDAO implements
             EBPFProfilingDataRecord.TARGET_TYPE,
             EBPFProfilingDataRecord.DATA_BINARY,
             EBPFProfilingDataRecord.TASK_ID);
+    private static final Set<String> STACK_TAGS = ImmutableSet.of(EBPFProfilingStackRecord.SCHEDULE_ID,
+            EBPFProfilingStackRecord.STACK_ID_LIST,
+            EBPFProfilingStackRecord.TASK_ID,
+            EBPFProfilingStackRecord.TARGET_TYPE,
+            EBPFProfilingStackRecord.DATA_BINARY,
+            EBPFProfilingStackRecord.DUMP_COUNT,
+            EBPFProfilingStackRecord.DURATION);
 
     public BanyanDBEBPFProfilingDataDAO(BanyanDBStorageClient client) {
         super(client);
@@ -67,6 +83,36 @@ public class BanyanDBEBPFProfilingDataDAO extends AbstractBanyanDBDAO implements
         return records;
     }
 
+    @Override
+    public List<EBPFProfilingStackRecord> queryStacks(List<String> scheduleIdList, long startTimeBucket, long endTimeBucket) throws IOException {
+        final TimestampRange timestampRange = new TimestampRange(
+            TimeBucket.getTimestamp(startTimeBucket), TimeBucket.getTimestamp(endTimeBucket));
+        List<EBPFProfilingStackRecord> stacks = new ArrayList<>();
+        for (final String scheduleId : scheduleIdList) {
+            MeasureQueryResponse resp = query(EBPFProfilingStackRecord.INDEX_NAME,
+                    STACK_TAGS,
+                    Collections.emptySet(),
+                    timestampRange,
+                    new QueryBuilder<MeasureQuery>() {
+                        @Override
+                        protected void apply(MeasureQuery query) {
+                            query.and(eq(EBPFProfilingStackRecord.SCHEDULE_ID, scheduleId));
+                        }
+                    }
+            );
+
+            stacks.addAll(resp.getDataPoints().stream().map(this::buildStackRecord).collect(Collectors.toList()));
+        }
+
+        return stacks;
+    }
+
+    private EBPFProfilingStackRecord buildStackRecord(DataPoint dataPoint) {
+        final EBPFProfilingStackRecord.Builder builder = new EBPFProfilingStackRecord.Builder();
+        return builder.storage2Entity(new BanyanDBConverter.StorageToMeasure(
+            MetadataRegistry.INSTANCE.findMetadata(EBPFProfilingStackRecord.INDEX_NAME, DownSampling.Minute), dataPoint));
+    }
+
     private EBPFProfilingDataRecord buildDataRecord(RowEntity rowEntity) {
         final EBPFProfilingDataRecord.Builder builder = new EBPFProfilingDataRecord.Builder();
         return builder.storage2Entity(new BanyanDBConverter.StorageToStream(EBPFProfilingDataRecord.INDEX_NAME, rowEntity));
@@ -53,6 +53,7 @@ public class BanyanDBRecordDAO extends AbstractBanyanDBDAO implements IRecordDAO
         Convert2Storage<StreamWrite> convert2Storage = new BanyanDBConverter.StreamToStorage(schema, streamWrite);
         storageBuilder.entity2Storage(record, convert2Storage);
 
-        return new BanyanDBStreamInsertRequest(convert2Storage.obtain());
+        return new BanyanDBStreamInsertRequest(
+            schema.getMetadata().getGroup(), schema.getMetadata().name(), convert2Storage.obtain());
     }
 }
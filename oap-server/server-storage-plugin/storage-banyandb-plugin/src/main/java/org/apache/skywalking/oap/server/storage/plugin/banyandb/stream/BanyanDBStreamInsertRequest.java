@@ -22,10 +22,13 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.apache.skywalking.banyandb.v1.client.StreamWrite;
 import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
+import org.apache.skywalking.oap.server.storage.plugin.banyandb.BanyanDBWriteRequest;
 
 @RequiredArgsConstructor
 @Getter
-public class BanyanDBStreamInsertRequest implements InsertRequest {
+public class BanyanDBStreamInsertRequest implements InsertRequest, BanyanDBWriteRequest {
+    private final String group;
+    private final String name;
     private final StreamWrite streamWrite;
 
     @Override
@@ -51,6 +51,10 @@ import java.util.Set;
 import static java.util.Objects.nonNull;
 
 public class BanyanDBTraceQueryDAO extends AbstractBanyanDBDAO implements ITraceQueryDAO {
+    /**
+     * The max segments of every trace fetched by {@link #queryByTraceIds(List)}.
+     */
+    private static final int SEGMENT_QUERY_MAX_SIZE_PER_TRACE = 200;
     private static final Set<String> BASIC_TAGS = ImmutableSet.of(SegmentRecord.TRACE_ID,
             SegmentRecord.IS_ERROR,
             SegmentRecord.SERVICE_ID,
@@ -186,6 +190,22 @@ public class BanyanDBTraceQueryDAO extends AbstractBanyanDBDAO implements ITrace
         return buildRecords(resp);
     }
 
+    @Override
+    public List<SegmentRecord> queryByTraceIds(List<String> traceIds) throws IOException {
+        if (CollectionUtils.isEmpty(traceIds)) {
+            return Collections.emptyList();
+        }
+        StreamQueryResponse resp = query(SegmentRecord.INDEX_NAME, TAGS,
+            new QueryBuilder<StreamQuery>() {
+                @Override
+                public void apply(StreamQuery query) {
+                    query.and(in(SegmentRecord.TRACE_ID, traceIds));
+                    query.setLimit(SEGMENT_QUERY_MAX_SIZE_PER_TRACE * traceIds.size());
+                }
+            });
+        return buildRecords(resp);
+    }
+
     @Override
     public List<SegmentRecord> queryBySegmentIdList(List<String> segmentIdList) throws IOException {
         StreamQueryResponse resp = query(SegmentRecord.INDEX_NAME, TAGS,
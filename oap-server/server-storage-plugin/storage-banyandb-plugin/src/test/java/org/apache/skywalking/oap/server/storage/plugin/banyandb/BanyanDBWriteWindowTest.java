@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.banyandb;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BanyanDBWriteWindowTest {
+    @Test
+    public void testGrowWhenSaturatedAndFast() throws InterruptedException {
+        BanyanDBWriteWindow window = new BanyanDBWriteWindow(10, 100, 20, 1000);
+        window.acquire(20);
+        Assertions.assertEquals(20, window.getInFlight());
+        window.release(20, 10, true);
+        Assertions.assertEquals(0, window.getInFlight());
+        Assertions.assertEquals(30, window.getSize());
+    }
+
+    @Test
+    public void testShrinkWhenSlowOrRejected() throws InterruptedException {
+        BanyanDBWriteWindow window = new BanyanDBWriteWindow(10, 100, 80, 1000);
+        window.acquire(10);
+        window.release(10, 2000, true);
+        Assertions.assertEquals(40, window.getSize());
+        window.acquire(10);
+        window.release(10, 10, false);
+        Assertions.assertEquals(20, window.getSize());
+        window.acquire(10);
+        window.release(10, 2000, true);
+        Assertions.assertEquals(10, window.getSize());
+        window.acquire(10);
+        window.release(10, 2000, true);
+        Assertions.assertEquals(10, window.getSize());
+    }
+
+    @Test
+    public void testAdmitLargeBatchWhenIdle() throws InterruptedException {
+        BanyanDBWriteWindow window = new BanyanDBWriteWindow(10, 100, 10, 1000);
+        window.acquire(500);
+        Assertions.assertEquals(500, window.getInFlight());
+    }
+
+    @Test
+    public void testBlockUntilReleased() throws InterruptedException {
+        BanyanDBWriteWindow window = new BanyanDBWriteWindow(10, 100, 10, 1000);
+        window.acquire(10);
+        Thread writer = new Thread(() -> {
+            try {
+                window.acquire(5);
+            } catch (InterruptedException ignored) {
+            }
+        });
+        writer.start();
+        writer.join(200);
+        Assertions.assertTrue(writer.isAlive());
+        window.release(10, 10, true);
+        writer.join(1000);
+        Assertions.assertFalse(writer.isAlive());
+        Assertions.assertEquals(5, window.getInFlight());
+    }
+}
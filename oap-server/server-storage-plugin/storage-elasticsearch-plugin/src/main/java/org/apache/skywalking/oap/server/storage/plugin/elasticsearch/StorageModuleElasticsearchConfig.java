@@ -161,4 +161,20 @@ public class StorageModuleElasticsearchConfig extends ModuleConfig {
      * if enabled, custom routing values will be used, to reduce the number of shards that need to be searched.
      */
     private boolean enableCustomRouting = false;
+
+    /**
+     * If enabled, the bulk and multi-get requests are sent to the nodes holding the primary shards of the documents
+     * directly, rather than to any node which forwards them again. The HTTP publish addresses of the data nodes
+     * must be reachable from the OAP.
+     *
+     * @since 10.0.0
+     */
+    private boolean enableShardRouting = false;
+
+    /**
+     * The refresh interval of the shard allocation of the indices being written, in seconds.
+     *
+     * @since 10.0.0
+     */
+    private int shardRoutingRefreshInterval = 30;
 }
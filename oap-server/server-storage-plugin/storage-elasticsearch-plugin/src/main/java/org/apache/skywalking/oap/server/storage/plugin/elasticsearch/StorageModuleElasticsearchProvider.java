@@ -189,6 +189,9 @@ public class StorageModuleElasticsearchProvider extends ModuleProvider {
             config.getSocketTimeout(), config.getResponseTimeout(),
             config.getNumHttpClientThread()
         );
+        if (config.isEnableShardRouting()) {
+            elasticSearchClient.setShardRoutingRefreshInterval(config.getShardRoutingRefreshInterval());
+        }
         modelInstaller = new StorageEsInstaller(elasticSearchClient, getManager(), config);
 
         this.registerServiceImplementation(
@@ -22,7 +22,9 @@ import org.apache.skywalking.library.elasticsearch.requests.search.BoolQueryBuil
 import org.apache.skywalking.library.elasticsearch.requests.search.Query;
 import org.apache.skywalking.library.elasticsearch.requests.search.Search;
 import org.apache.skywalking.library.elasticsearch.requests.search.SearchBuilder;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingDataRecord;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingStackRecord;
 import org.apache.skywalking.oap.server.core.storage.profiling.ebpf.IEBPFProfilingDataDAO;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchScroller;
@@ -66,4 +68,27 @@ public class EBPFProfilingDataEsDAO extends EsDAO implements IEBPFProfilingDataD
             .build();
         return scroller.scroll();
     }
+
+    @Override
+    public List<EBPFProfilingStackRecord> queryStacks(List<String> scheduleIdList, long startTimeBucket, long endTimeBucket) {
+        final String index =
+                IndexController.LogicIndicesRegister.getPhysicalTableName(EBPFProfilingStackRecord.INDEX_NAME);
+        final BoolQueryBuilder query = Query.bool();
+        if (IndexController.LogicIndicesRegister.isMergedTable(EBPFProfilingStackRecord.INDEX_NAME)) {
+            query.must(Query.term(IndexController.LogicIndicesRegister.METRIC_TABLE_NAME, EBPFProfilingStackRecord.INDEX_NAME));
+        }
+        final SearchBuilder search = Search.builder().query(query).size(scrollingBatchSize);
+        query.must(Query.terms(EBPFProfilingStackRecord.SCHEDULE_ID, scheduleIdList));
+        query.must(Query.range(Metrics.TIME_BUCKET).gte(startTimeBucket).lte(endTimeBucket));
+
+        final var scroller = ElasticSearchScroller
+            .<EBPFProfilingStackRecord>builder()
+            .client(getClient())
+            .search(search.build())
+            .index(index)
+            .resultConverter(hit -> new EBPFProfilingStackRecord.Builder().storage2Entity(
+                new ElasticSearchConverter.ToEntity(EBPFProfilingStackRecord.INDEX_NAME, hit.getSource())))
+            .build();
+        return scroller.scroll();
+    }
 }
@@ -258,6 +258,54 @@ public class MetadataQueryEsDAO extends EsDAO implements IMetadataQueryDAO {
         return scroller.scroll();
     }
 
+    @Override
+    public List<InstanceTraffic> listInstanceTraffics(final long lastPingStartTimeBucket) {
+        final String index =
+            IndexController.LogicIndicesRegister.getPhysicalTableName(InstanceTraffic.INDEX_NAME);
+
+        final BoolQueryBuilder query =
+            Query.bool()
+                 .must(Query.range(InstanceTraffic.LAST_PING_TIME_BUCKET).gte(lastPingStartTimeBucket));
+        if (IndexController.LogicIndicesRegister.isMergedTable(InstanceTraffic.INDEX_NAME)) {
+            query.must(Query.term(IndexController.LogicIndicesRegister.METRIC_TABLE_NAME, InstanceTraffic.INDEX_NAME));
+        }
+        final SearchBuilder search = Search.builder().query(query).size(scrollingBatchSize);
+
+        final var scroller = ElasticSearchScroller
+            .<InstanceTraffic>builder()
+            .client(getClient())
+            .search(search.build())
+            .index(index)
+            .resultConverter(hit -> new InstanceTraffic.Builder().storage2Entity(
+                new ElasticSearchConverter.ToEntity(InstanceTraffic.INDEX_NAME, hit.getSource())))
+            .build();
+        return scroller.scroll();
+    }
+
+    @Override
+    public List<EndpointTraffic> listEndpointTraffics(final long startTimeBucket) {
+        final String index =
+            IndexController.LogicIndicesRegister.getPhysicalTableName(EndpointTraffic.INDEX_NAME);
+
+        final BoolQueryBuilder query =
+            Query.bool()
+                 .must(Query.range(EndpointTraffic.TIME_BUCKET).gte(startTimeBucket));
+        if (IndexController.LogicIndicesRegister.isMergedTable(EndpointTraffic.INDEX_NAME)) {
+            query.must(Query.term(IndexController.LogicIndicesRegister.METRIC_TABLE_NAME, EndpointTraffic.INDEX_NAME));
+        }
+        final SearchBuilder search = Search.builder().query(query).size(scrollingBatchSize);
+
+        final var scroller = ElasticSearchScroller
+            .<EndpointTraffic>builder()
+            .client(getClient())
+            .search(search.build())
+            .index(index)
+            .resultConverter(hit -> new EndpointTraffic.Builder().storage2Entity(
+                new ElasticSearchConverter.ToEntity(EndpointTraffic.INDEX_NAME, hit.getSource())))
+            .build();
+        return scroller.scroll();
+    }
+
     @Override
     public List<Process> listProcesses(String serviceId, ProfilingSupportStatus supportStatus, long lastPingStartTimeBucket, long lastPingEndTimeBucket) {
         final String index =
@@ -43,6 +43,7 @@ import org.apache.skywalking.oap.server.core.query.type.TraceBrief;
 import org.apache.skywalking.oap.server.core.query.type.TraceState;
 import org.apache.skywalking.oap.server.core.storage.query.ITraceQueryDAO;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchScroller;
 import org.apache.skywalking.oap.server.library.util.BooleanUtils;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
@@ -195,6 +196,35 @@ public class TraceQueryEsDAO extends EsDAO implements ITraceQueryDAO {
         return buildRecords(response);
     }
 
+    @Override
+    public List<SegmentRecord> queryByTraceIds(List<String> traceIds) throws IOException {
+        if (CollectionUtils.isEmpty(traceIds)) {
+            return Collections.emptyList();
+        }
+        final String index =
+            IndexController.LogicIndicesRegister.getPhysicalTableName(SegmentRecord.INDEX_NAME);
+
+        final SearchBuilder search =
+            Search.builder()
+                  .query(Query.terms(SegmentRecord.TRACE_ID, traceIds))
+                  .size(segmentQueryMaxSize);
+
+        SearchParams searchParams = new SearchParams();
+        RoutingUtils.addRoutingValuesToSearchParam(searchParams, traceIds);
+
+        final var scroller = ElasticSearchScroller
+            .<SegmentRecord>builder()
+            .client(getClient())
+            .search(search.build())
+            .index(index)
+            .params(searchParams)
+            .queryMaxSize(segmentQueryMaxSize * traceIds.size())
+            .resultConverter(hit -> new SegmentRecord.Builder().storage2Entity(
+                new ElasticSearchConverter.ToEntity(SegmentRecord.INDEX_NAME, hit.getSource())))
+            .build();
+        return scroller.scroll();
+    }
+
     @Override
     public List<SegmentRecord> queryBySegmentIdList(List<String> segmentIdList) throws IOException {
         final String index =
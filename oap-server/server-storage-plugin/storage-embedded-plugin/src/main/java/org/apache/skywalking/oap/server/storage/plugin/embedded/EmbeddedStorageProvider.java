@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.storage.EmptyStorageService;
+import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
+import org.apache.skywalking.oap.server.core.storage.IHistoryDeleteDAO;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilderFactory;
+import org.apache.skywalking.oap.server.core.storage.StorageDAO;
+import org.apache.skywalking.oap.server.core.storage.StorageException;
+import org.apache.skywalking.oap.server.core.storage.StorageModule;
+import org.apache.skywalking.oap.server.core.storage.management.UIMenuManagementDAO;
+import org.apache.skywalking.oap.server.core.storage.management.UITemplateManagementDAO;
+import org.apache.skywalking.oap.server.core.storage.model.ModelCreator;
+import org.apache.skywalking.oap.server.core.storage.query.ILogQueryDAO;
+import org.apache.skywalking.oap.server.core.storage.query.IMetadataQueryDAO;
+import org.apache.skywalking.oap.server.core.storage.query.IMetricsQueryDAO;
+import org.apache.skywalking.oap.server.core.storage.query.ITraceQueryDAO;
+import org.apache.skywalking.oap.server.library.module.ModuleDefine;
+import org.apache.skywalking.oap.server.library.module.ModuleProvider;
+import org.apache.skywalking.oap.server.library.module.ModuleStartException;
+import org.apache.skywalking.oap.server.library.module.Service;
+import org.apache.skywalking.oap.server.library.module.ServiceNotProvidedException;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.dao.EmbeddedBatchDAO;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.dao.EmbeddedHistoryDeleteDAO;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.dao.EmbeddedLogQueryDAO;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.dao.EmbeddedMetadataQueryDAO;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.dao.EmbeddedMetricsQueryDAO;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.dao.EmbeddedStorageDAO;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.dao.EmbeddedTraceQueryDAO;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.dao.EmbeddedUIMenuManagementDAO;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.dao.EmbeddedUITemplateManagementDAO;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+
+/**
+ * EmbeddedStorageProvider keeps the data in the OAP process, through the {@link EmbeddedStore}, for the single node and
+ * the edge deployments which don't run an external database.
+ *
+ * The metrics, the metadata, the traces, the logs and the UI management data are readable. The other queries, such as
+ * the alarms, the topology and the profiling, return the empty results.
+ */
+@Slf4j
+public class EmbeddedStorageProvider extends ModuleProvider {
+    private EmbeddedStorageConfig config;
+    private EmbeddedStore store;
+    /**
+     * The simple names of the services which return the empty results.
+     */
+    private final List<String> emptyServices = new ArrayList<>();
+
+    @Override
+    public String name() {
+        return "embedded";
+    }
+
+    @Override
+    public Class<? extends ModuleDefine> module() {
+        return StorageModule.class;
+    }
+
+    @Override
+    public ConfigCreator<EmbeddedStorageConfig> newConfigCreator() {
+        return new ConfigCreator<EmbeddedStorageConfig>() {
+            @Override
+            public Class<EmbeddedStorageConfig> type() {
+                return EmbeddedStorageConfig.class;
+            }
+
+            @Override
+            public void onInitialized(final EmbeddedStorageConfig initialized) {
+                config = initialized;
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void prepare() throws ServiceNotProvidedException, ModuleStartException {
+        // The segment is mapped as a whole, it can't be larger than the max size of a mapped buffer.
+        final long segmentSize = (long) config.getSegmentSize() * 1024 * 1024;
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE) {
+            throw new ModuleStartException(
+                "The segmentSize of the embedded storage should be between 1 and 2047 MB, but it is "
+                    + config.getSegmentSize());
+        }
+        store = new EmbeddedStore(config.getPath(), (int) segmentSize);
+
+        final Map<Class<? extends Service>, Service> services = new HashMap<>();
+        services.put(StorageBuilderFactory.class, new StorageBuilderFactory.Default());
+        services.put(IBatchDAO.class, new EmbeddedBatchDAO(store));
+        services.put(StorageDAO.class, new EmbeddedStorageDAO(store));
+        services.put(IHistoryDeleteDAO.class, new EmbeddedHistoryDeleteDAO(store));
+        services.put(IMetricsQueryDAO.class, new EmbeddedMetricsQueryDAO(store));
+        services.put(IMetadataQueryDAO.class, new EmbeddedMetadataQueryDAO(store, config.getMetadataQueryMaxSize()));
+        services.put(ITraceQueryDAO.class, new EmbeddedTraceQueryDAO(store));
+        services.put(ILogQueryDAO.class, new EmbeddedLogQueryDAO(store));
+        services.put(UITemplateManagementDAO.class, new EmbeddedUITemplateManagementDAO(store));
+        services.put(UIMenuManagementDAO.class, new EmbeddedUIMenuManagementDAO(store));
+
+        for (final Class<?> service : new StorageModule().services()) {
+            final Class<? extends Service> serviceType = (Class<? extends Service>) service;
+            if (services.containsKey(serviceType)) {
+                this.registerServiceImplementation(serviceType, services.get(serviceType));
+            } else {
+                this.registerServiceImplementation(serviceType, EmptyStorageService.of(service));
+                emptyServices.add(service.getSimpleName());
+            }
+        }
+    }
+
+    @Override
+    public void start() throws ModuleStartException {
+        try {
+            store.open();
+            final ModelCreator modelCreator = getManager().find(CoreModule.NAME)
+                                                          .provider()
+                                                          .getService(ModelCreator.class);
+            modelCreator.addModelListener(model -> store.register(model));
+        } catch (IOException | StorageException e) {
+            throw new ModuleStartException(e.getMessage(), e);
+        }
+        log.warn(
+            "The embedded storage doesn't support the queries of the alarms, the TopN records, the topology, " +
+                "the profiling and the processes yet, they always return the empty results. " +
+                "The services returning the empty results: {}", emptyServices);
+    }
+
+    @Override
+    public void notifyAfterCompleted() {
+    }
+
+    @Override
+    public String[] requiredModules() {
+        return new String[] {CoreModule.NAME};
+    }
+}
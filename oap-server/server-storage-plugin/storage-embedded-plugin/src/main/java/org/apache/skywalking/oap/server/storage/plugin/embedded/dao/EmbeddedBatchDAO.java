@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.dao;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
+import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
+import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+
+/**
+ * EmbeddedBatchDAO writes the requests into the store in the caller thread, there is no network round trip to wait
+ * for. The written logs are forced to the disk once at the end of every flush period.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class EmbeddedBatchDAO implements IBatchDAO {
+    private final EmbeddedStore store;
+
+    @Override
+    public void insert(final InsertRequest insertRequest) {
+        execute(insertRequest);
+    }
+
+    @Override
+    public CompletableFuture<Void> flush(final List<PrepareRequest> prepareRequests) {
+        for (final PrepareRequest prepareRequest : prepareRequests) {
+            execute(prepareRequest);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void endOfFlush() {
+        store.force();
+    }
+
+    private void execute(final PrepareRequest prepareRequest) {
+        final EmbeddedRequest request = (EmbeddedRequest) prepareRequest;
+        try {
+            request.apply(store);
+        } catch (IOException e) {
+            log.error("Failed to write the embedded storage", e);
+            if (!request.isInsert()) {
+                request.onUpdateFailure();
+            }
+            return;
+        }
+        if (request.isInsert()) {
+            request.onInsertCompleted();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.dao;
+
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.server.core.storage.IHistoryDeleteDAO;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+
+/**
+ * The embedded storage partitions the data by day, the expired data are dropped by the whole partitions.
+ */
+@RequiredArgsConstructor
+public class EmbeddedHistoryDeleteDAO implements IHistoryDeleteDAO {
+    private final EmbeddedStore store;
+
+    @Override
+    public void deleteHistory(final Model model, final String timeBucketColumnName, final int ttl) throws IOException {
+        store.deleteHistory(model, ttl);
+    }
+}
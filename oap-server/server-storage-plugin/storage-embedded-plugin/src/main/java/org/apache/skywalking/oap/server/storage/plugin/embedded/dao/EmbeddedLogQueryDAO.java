@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.dao;
+
+import com.google.common.base.Strings;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.server.core.analysis.IDManager;
+import org.apache.skywalking.oap.server.core.analysis.manual.log.AbstractLogRecord;
+import org.apache.skywalking.oap.server.core.analysis.manual.log.LogRecord;
+import org.apache.skywalking.oap.server.core.analysis.manual.searchtag.Tag;
+import org.apache.skywalking.oap.server.core.query.enumeration.Order;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.input.TraceScopeCondition;
+import org.apache.skywalking.oap.server.core.query.type.ContentType;
+import org.apache.skywalking.oap.server.core.query.type.Log;
+import org.apache.skywalking.oap.server.core.query.type.Logs;
+import org.apache.skywalking.oap.server.core.storage.query.ILogQueryDAO;
+import org.apache.skywalking.oap.server.library.util.CollectionUtils;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+
+import static java.util.stream.Collectors.toList;
+import static org.apache.skywalking.oap.server.storage.plugin.embedded.dao.EmbeddedRecordScanner.longValue;
+
+/**
+ * The logs are scanned from the record table. The keywords of the content are not supported.
+ */
+@RequiredArgsConstructor
+public class EmbeddedLogQueryDAO implements ILogQueryDAO {
+    private final EmbeddedStore store;
+
+    @Override
+    public Logs queryLogs(final String serviceId,
+                          final String serviceInstanceId,
+                          final String endpointId,
+                          final TraceScopeCondition relatedTrace,
+                          final Order queryOrder,
+                          final int from,
+                          final int limit,
+                          final Duration duration,
+                          final List<Tag> tags,
+                          final List<String> keywordsOfContent,
+                          final List<String> excludingKeywordsOfContent) {
+        Predicate<Map<String, Object>> filter = row -> true;
+        if (!Strings.isNullOrEmpty(serviceId)) {
+            filter = filter.and(row -> serviceId.equals(row.get(AbstractLogRecord.SERVICE_ID)));
+        }
+        if (!Strings.isNullOrEmpty(serviceInstanceId)) {
+            filter = filter.and(row -> serviceInstanceId.equals(row.get(AbstractLogRecord.SERVICE_INSTANCE_ID)));
+        }
+        if (!Strings.isNullOrEmpty(endpointId)) {
+            filter = filter.and(row -> endpointId.equals(row.get(AbstractLogRecord.ENDPOINT_ID)));
+        }
+        if (relatedTrace != null) {
+            if (!Strings.isNullOrEmpty(relatedTrace.getTraceId())) {
+                filter = filter.and(row -> relatedTrace.getTraceId().equals(row.get(AbstractLogRecord.TRACE_ID)));
+            }
+            if (!Strings.isNullOrEmpty(relatedTrace.getSegmentId())) {
+                filter = filter.and(
+                    row -> relatedTrace.getSegmentId().equals(row.get(AbstractLogRecord.TRACE_SEGMENT_ID)));
+            }
+            if (relatedTrace.getSpanId() != null) {
+                filter = filter.and(row -> longValue(row, AbstractLogRecord.SPAN_ID) == relatedTrace.getSpanId());
+            }
+        }
+        if (CollectionUtils.isNotEmpty(tags)) {
+            final List<String> tagsInString = tags.stream().map(Tag::toString).collect(toList());
+            filter = filter.and(row -> EmbeddedRecordScanner.hasTags(row, AbstractLogRecord.TAGS, tagsInString));
+        }
+        final Comparator<Map<String, Object>> order = Comparator.comparingLong(
+            row -> longValue(row, AbstractLogRecord.TIMESTAMP));
+
+        return new Logs(
+            EmbeddedRecordScanner.page(
+                EmbeddedRecordScanner.scan(store, LogRecord.INDEX_NAME, duration, AbstractLogRecord.TIME_BUCKET, filter),
+                Order.ASC.equals(queryOrder) ? order : order.reversed(), from, limit
+            ).stream().map(this::buildLog).collect(toList())
+        );
+    }
+
+    private Log buildLog(final Map<String, Object> row) {
+        final Log log = new Log();
+        log.setServiceId((String) row.get(AbstractLogRecord.SERVICE_ID));
+        log.setServiceInstanceId((String) row.get(AbstractLogRecord.SERVICE_INSTANCE_ID));
+        log.setEndpointId((String) row.get(AbstractLogRecord.ENDPOINT_ID));
+        if (log.getEndpointId() != null) {
+            log.setEndpointName(IDManager.EndpointID.analysisId(log.getEndpointId()).getEndpointName());
+        }
+        log.setTraceId((String) row.get(AbstractLogRecord.TRACE_ID));
+        log.setTimestamp(longValue(row, AbstractLogRecord.TIMESTAMP));
+        log.setContentType(ContentType.instanceOf((int) longValue(row, AbstractLogRecord.CONTENT_TYPE)));
+        log.setContent(Objects.toString(row.get(AbstractLogRecord.CONTENT), null));
+        final String dataBinaryBase64 = (String) row.get(AbstractLogRecord.TAGS_RAW_DATA);
+        if (!Strings.isNullOrEmpty(dataBinaryBase64)) {
+            parserDataBinary(dataBinaryBase64, log.getTags());
+        }
+        return log;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.dao;
+
+import com.google.common.base.Strings;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.analysis.manual.endpoint.EndpointTraffic;
+import org.apache.skywalking.oap.server.core.analysis.manual.instance.InstanceTraffic;
+import org.apache.skywalking.oap.server.core.analysis.manual.service.ServiceTraffic;
+import org.apache.skywalking.oap.server.core.query.enumeration.Language;
+import org.apache.skywalking.oap.server.core.query.enumeration.ProfilingSupportStatus;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.type.Attribute;
+import org.apache.skywalking.oap.server.core.query.type.Endpoint;
+import org.apache.skywalking.oap.server.core.query.type.Process;
+import org.apache.skywalking.oap.server.core.query.type.Service;
+import org.apache.skywalking.oap.server.core.query.type.ServiceInstance;
+import org.apache.skywalking.oap.server.core.storage.query.IMetadataQueryDAO;
+import org.apache.skywalking.oap.server.core.storage.type.HashMapConverter;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+
+import static java.util.stream.Collectors.toList;
+import static org.apache.skywalking.oap.server.core.analysis.manual.instance.InstanceTraffic.PropertyUtil.LANGUAGE;
+
+/**
+ * The metadata are scanned from the traffic tables. The processes are not supported by the embedded storage yet.
+ */
+@RequiredArgsConstructor
+public class EmbeddedMetadataQueryDAO implements IMetadataQueryDAO {
+    private final EmbeddedStore store;
+    private final int metadataQueryMaxSize;
+
+    @Override
+    public List<Service> listServices() {
+        return store.scan(ServiceTraffic.INDEX_NAME, row -> true, metadataQueryMaxSize)
+                    .stream()
+                    .map(EmbeddedMetadataQueryDAO::buildService)
+                    .collect(toList());
+    }
+
+    @Override
+    public List<ServiceInstance> listInstances(final Duration duration, final String serviceId) {
+        final long startMinuteTimeBucket;
+        final long endMinuteTimeBucket;
+        if (duration != null) {
+            startMinuteTimeBucket = TimeBucket.getMinuteTimeBucket(duration.getStartTimestamp());
+            endMinuteTimeBucket = TimeBucket.getMinuteTimeBucket(duration.getEndTimestamp());
+        } else {
+            startMinuteTimeBucket = Long.MIN_VALUE;
+            endMinuteTimeBucket = Long.MAX_VALUE;
+        }
+        return store.scan(
+                        InstanceTraffic.INDEX_NAME,
+                        row -> Objects.equals(serviceId, row.get(InstanceTraffic.SERVICE_ID))
+                            && longValue(row, InstanceTraffic.LAST_PING_TIME_BUCKET) >= startMinuteTimeBucket
+                            && longValue(row, InstanceTraffic.TIME_BUCKET) < endMinuteTimeBucket,
+                        metadataQueryMaxSize
+                    )
+                    .stream()
+                    .map(EmbeddedMetadataQueryDAO::buildInstance)
+                    .collect(toList());
+    }
+
+    @Override
+    public ServiceInstance getInstance(final String instanceId) {
+        final Map<String, Object> row = store.get(InstanceTraffic.INDEX_NAME, instanceId);
+        return row == null ? null : buildInstance(row);
+    }
+
+    @Override
+    public List<ServiceInstance> getInstances(final List<String> instanceIds) {
+        return instanceIds.stream()
+                          .map(this::getInstance)
+                          .filter(Objects::nonNull)
+                          .collect(toList());
+    }
+
+    @Override
+    public List<Endpoint> findEndpoint(final String keyword, final String serviceId, final int limit) {
+        return store.scan(
+                        EndpointTraffic.INDEX_NAME,
+                        row -> Objects.equals(serviceId, row.get(EndpointTraffic.SERVICE_ID))
+                            && (Strings.isNullOrEmpty(keyword)
+                            || String.valueOf(row.get(EndpointTraffic.NAME)).contains(keyword)),
+                        limit
+                    )
+                    .stream()
+                    .map(row -> {
+                        final var endpointTraffic = new EndpointTraffic.Builder().storage2Entity(
+                            new HashMapConverter.ToEntity(row));
+                        Endpoint endpoint = new Endpoint();
+                        endpoint.setId(endpointTraffic.id().build());
+                        endpoint.setName(endpointTraffic.getName());
+                        return endpoint;
+                    })
+                    .collect(toList());
+    }
+
+    @Override
+    public List<InstanceTraffic> listInstanceTraffics(final long lastPingStartTimeBucket) {
+        return store.scan(
+                        InstanceTraffic.INDEX_NAME,
+                        row -> longValue(row, InstanceTraffic.LAST_PING_TIME_BUCKET) >= lastPingStartTimeBucket,
+                        Integer.MAX_VALUE
+                    )
+                    .stream()
+                    .map(row -> new InstanceTraffic.Builder().storage2Entity(new HashMapConverter.ToEntity(row)))
+                    .collect(toList());
+    }
+
+    @Override
+    public List<EndpointTraffic> listEndpointTraffics(final long startTimeBucket) {
+        return store.scan(
+                        EndpointTraffic.INDEX_NAME,
+                        row -> longValue(row, EndpointTraffic.TIME_BUCKET) >= startTimeBucket,
+                        Integer.MAX_VALUE
+                    )
+                    .stream()
+                    .map(row -> new EndpointTraffic.Builder().storage2Entity(new HashMapConverter.ToEntity(row)))
+                    .collect(toList());
+    }
+
+    @Override
+    public List<Process> listProcesses(final String serviceId,
+                                       final ProfilingSupportStatus supportStatus,
+                                       final long lastPingStartTimeBucket,
+                                       final long lastPingEndTimeBucket) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Process> listProcesses(final String serviceInstanceId,
+                                       final Duration duration,
+                                       final boolean includeVirtual) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Process> listProcesses(final String agentId) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public long getProcessCount(final String serviceId,
+                                final ProfilingSupportStatus profilingSupportStatus,
+                                final long lastPingStartTimeBucket,
+                                final long lastPingEndTimeBucket) {
+        return 0;
+    }
+
+    @Override
+    public long getProcessCount(final String instanceId) {
+        return 0;
+    }
+
+    @Override
+    public Process getProcess(final String processId) {
+        return null;
+    }
+
+    private static long longValue(final Map<String, Object> row, final String columnName) {
+        final Object value = row.get(columnName);
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    private static Service buildService(final Map<String, Object> row) {
+        final var serviceTraffic = new ServiceTraffic.Builder().storage2Entity(new HashMapConverter.ToEntity(row));
+
+        Service service = new Service();
+        service.setId(serviceTraffic.getServiceId());
+        service.setName(serviceTraffic.getName());
+        service.setShortName(serviceTraffic.getShortName());
+        service.setGroup(serviceTraffic.getGroup());
+        service.getLayers().add(serviceTraffic.getLayer().name());
+        return service;
+    }
+
+    private static ServiceInstance buildInstance(final Map<String, Object> row) {
+        final var instanceTraffic = new InstanceTraffic.Builder().storage2Entity(new HashMapConverter.ToEntity(row));
+
+        ServiceInstance serviceInstance = new ServiceInstance();
+        serviceInstance.setId(instanceTraffic.id().build());
+        serviceInstance.setName(instanceTraffic.getName());
+        serviceInstance.setInstanceUUID(serviceInstance.getId());
+
+        JsonObject properties = instanceTraffic.getProperties();
+        if (properties != null) {
+            for (Map.Entry<String, JsonElement> property : properties.entrySet()) {
+                String key = property.getKey();
+                String value = property.getValue().getAsString();
+                if (key.equals(LANGUAGE)) {
+                    serviceInstance.setLanguage(Language.value(value));
+                } else {
+                    serviceInstance.getAttributes().add(new Attribute(key, value));
+                }
+            }
+        } else {
+            serviceInstance.setLanguage(Language.UNKNOWN);
+        }
+        return serviceInstance;
+    }
+}
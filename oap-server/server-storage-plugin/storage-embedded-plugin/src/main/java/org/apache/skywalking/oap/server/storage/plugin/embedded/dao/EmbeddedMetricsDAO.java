@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.storage.IMetricsDAO;
+import org.apache.skywalking.oap.server.core.storage.SessionCacheCallback;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.core.storage.type.HashMapConverter;
+import org.apache.skywalking.oap.server.core.storage.type.StorageBuilder;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+
+@RequiredArgsConstructor
+public class EmbeddedMetricsDAO implements IMetricsDAO {
+    private final EmbeddedStore store;
+    private final StorageBuilder<Metrics> storageBuilder;
+
+    @Override
+    public List<Metrics> multiGet(final Model model, final List<Metrics> metrics) {
+        final List<Metrics> result = new ArrayList<>(metrics.size());
+        for (final Metrics metric : metrics) {
+            final Map<String, Object> row = store.get(model.getName(), metric.id().build());
+            if (row != null) {
+                result.add(storageBuilder.storage2Entity(new HashMapConverter.ToEntity(row)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public EmbeddedRequest prepareBatchInsert(final Model model,
+                                              final Metrics metrics,
+                                              final SessionCacheCallback callback) {
+        return new EmbeddedRequest(
+            model, metrics.id().build(), EmbeddedStorageDAO.toRow(storageBuilder, metrics), true, callback);
+    }
+
+    @Override
+    public EmbeddedRequest prepareBatchUpdate(final Model model,
+                                              final Metrics metrics,
+                                              final SessionCacheCallback callback) {
+        return new EmbeddedRequest(
+            model, metrics.id().build(), EmbeddedStorageDAO.toRow(storageBuilder, metrics), false, callback);
+    }
+}
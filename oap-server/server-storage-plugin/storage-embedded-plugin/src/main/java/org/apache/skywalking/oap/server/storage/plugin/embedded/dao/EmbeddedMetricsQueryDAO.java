@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.dao;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
+import org.apache.skywalking.oap.server.core.query.type.HeatMap;
+import org.apache.skywalking.oap.server.core.query.type.KVInt;
+import org.apache.skywalking.oap.server.core.query.type.MetricsValues;
+import org.apache.skywalking.oap.server.core.storage.annotation.ValueColumnMetadata;
+import org.apache.skywalking.oap.server.core.storage.query.IMetricsQueryDAO;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+
+/**
+ * The metrics are read by the IDs of the points of the duration, only the value column is read from the store.
+ */
+@RequiredArgsConstructor
+public class EmbeddedMetricsQueryDAO implements IMetricsQueryDAO {
+    private final EmbeddedStore store;
+
+    @Override
+    public MetricsValues readMetricsValues(final MetricsCondition condition,
+                                           final String valueColumnName,
+                                           final Duration duration) {
+        final var metricsValues = new MetricsValues();
+        // Label is null, because in readMetricsValues, no label parameter.
+        final var intValues = metricsValues.getValues();
+        final var ids = ids(condition, duration);
+        for (final String id : ids) {
+            final Object value = store.value(condition.getName(), id, valueColumnName);
+            if (value instanceof Number) {
+                final var kv = new KVInt();
+                kv.setId(id);
+                kv.setValue(((Number) value).longValue());
+                intValues.addKVInt(kv);
+            }
+        }
+
+        metricsValues.setValues(
+            Util.sortValues(intValues, ids, ValueColumnMetadata.INSTANCE.getDefaultValue(condition.getName()))
+        );
+        return metricsValues;
+    }
+
+    @Override
+    public List<MetricsValues> readLabeledMetricsValues(final MetricsCondition condition,
+                                                        final String valueColumnName,
+                                                        final List<String> labels,
+                                                        final Duration duration) {
+        final var idMap = new HashMap<String, DataTable>();
+        final var ids = ids(condition, duration);
+        for (final String id : ids) {
+            final Object value = store.value(condition.getName(), id, valueColumnName);
+            if (value != null) {
+                DataTable multipleValues = new DataTable(5);
+                multipleValues.toObject((String) value);
+                idMap.put(id, multipleValues);
+            }
+        }
+
+        return Util.sortValues(
+            Util.composeLabelValue(condition, labels, ids, idMap),
+            ids,
+            ValueColumnMetadata.INSTANCE.getDefaultValue(condition.getName())
+        );
+    }
+
+    @Override
+    public HeatMap readHeatMap(final MetricsCondition condition,
+                               final String valueColumnName,
+                               final Duration duration) {
+        final var heatMap = new HeatMap();
+        final var ids = ids(condition, duration);
+        final int defaultValue = ValueColumnMetadata.INSTANCE.getDefaultValue(condition.getName());
+        for (final String id : ids) {
+            final Object value = store.value(condition.getName(), id, valueColumnName);
+            if (value != null) {
+                heatMap.buildColumn(id, (String) value, defaultValue);
+            }
+        }
+        heatMap.fixMissingColumns(ids, defaultValue);
+        return heatMap;
+    }
+
+    private static List<String> ids(final MetricsCondition condition, final Duration duration) {
+        final var entityId = condition.getEntity().buildId();
+        return duration.assembleDurationPoints()
+                       .stream()
+                       .map(pointOfTime -> pointOfTime.id(entityId))
+                       .collect(Collectors.toList());
+    }
+}
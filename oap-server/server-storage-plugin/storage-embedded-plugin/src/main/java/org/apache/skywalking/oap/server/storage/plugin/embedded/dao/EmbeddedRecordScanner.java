@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.dao;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The records are scanned from the partitions of the days in the duration, or from all partitions within the TTL if
+ * the duration is absent, then sorted and paged in memory.
+ */
+final class EmbeddedRecordScanner {
+    private EmbeddedRecordScanner() {
+    }
+
+    static List<Map<String, Object>> scan(final EmbeddedStore store,
+                                          final String modelName,
+                                          final Duration duration,
+                                          final String timeBucketColumnName,
+                                          final Predicate<Map<String, Object>> filter) {
+        if (duration == null) {
+            return store.scan(modelName, filter, Integer.MAX_VALUE);
+        }
+        final long startTimeBucket = duration.getStartTimeBucketInSec();
+        final long endTimeBucket = duration.getEndTimeBucketInSec();
+        return store.scan(
+            modelName,
+            TimeBucket.getTimeBucket(duration.getStartTimestamp(), DownSampling.Day),
+            TimeBucket.getTimeBucket(duration.getEndTimestamp(), DownSampling.Day),
+            filter.and(row -> {
+                final long timeBucket = longValue(row, timeBucketColumnName);
+                return timeBucket >= startTimeBucket && timeBucket <= endTimeBucket;
+            }),
+            Integer.MAX_VALUE
+        );
+    }
+
+    static List<Map<String, Object>> page(final List<Map<String, Object>> rows,
+                                          final Comparator<Map<String, Object>> order,
+                                          final int from,
+                                          final int limit) {
+        return rows.stream().sorted(order).skip(from).limit(limit).collect(toList());
+    }
+
+    static long longValue(final Map<String, Object> row, final String columnName) {
+        final Object value = row.get(columnName);
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    /**
+     * @return true if the row has all tags, which are kept as the list of the key=value strings.
+     */
+    static boolean hasTags(final Map<String, Object> row, final String columnName, final List<String> tags) {
+        final Object value = row.get(columnName);
+        return value instanceof List && ((List<?>) value).containsAll(tags);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.dao;
+
+import java.io.IOException;
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.server.core.storage.SessionCacheCallback;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
+import org.apache.skywalking.oap.server.library.client.request.UpdateRequest;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+
+/**
+ * EmbeddedRequest is the row to be written into the {@link EmbeddedStore}. The insert and the update are the same
+ * upsert in the store.
+ */
+@RequiredArgsConstructor
+public class EmbeddedRequest implements InsertRequest, UpdateRequest {
+    private final Model model;
+    private final String id;
+    private final Map<String, Object> row;
+    @Getter
+    private final boolean insert;
+    private final SessionCacheCallback callback;
+
+    void apply(final EmbeddedStore store) throws IOException {
+        store.write(model, id, row);
+    }
+
+    @Override
+    public void onInsertCompleted() {
+        if (callback != null) {
+            callback.onInsertCompleted();
+        }
+    }
+
+    @Override
+    public void onUpdateFailure() {
+        if (callback != null) {
+            callback.onUpdateFailure();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.dao;
+
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.server.core.storage.IManagementDAO;
+import org.apache.skywalking.oap.server.core.storage.IMetricsDAO;
+import org.apache.skywalking.oap.server.core.storage.INoneStreamDAO;
+import org.apache.skywalking.oap.server.core.storage.IRecordDAO;
+import org.apache.skywalking.oap.server.core.storage.StorageDAO;
+import org.apache.skywalking.oap.server.core.storage.StorageData;
+import org.apache.skywalking.oap.server.core.storage.type.HashMapConverter;
+import org.apache.skywalking.oap.server.core.storage.type.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+
+@RequiredArgsConstructor
+public class EmbeddedStorageDAO implements StorageDAO {
+    private final EmbeddedStore store;
+
+    @Override
+    public IMetricsDAO newMetricsDao(final StorageBuilder storageBuilder) {
+        return new EmbeddedMetricsDAO(store, storageBuilder);
+    }
+
+    @Override
+    public IRecordDAO newRecordDao(final StorageBuilder storageBuilder) {
+        return (model, record) -> new EmbeddedRequest(
+            model, record.id().build(), toRow(storageBuilder, record), true, null);
+    }
+
+    @Override
+    public INoneStreamDAO newNoneStreamDao(final StorageBuilder storageBuilder) {
+        return (model, noneStream) -> store.write(model, noneStream.id().build(), toRow(storageBuilder, noneStream));
+    }
+
+    @Override
+    public IManagementDAO newManagementDao(final StorageBuilder storageBuilder) {
+        return (model, storageData) -> {
+            final String id = storageData.id().build();
+            if (store.get(model.getName(), id) != null) {
+                return;
+            }
+            store.write(model, id, toRow(storageBuilder, storageData));
+        };
+    }
+
+    /**
+     * Convert the entity to the row. The complex objects are kept in their storage formats, the same as the other
+     * storage implementations, so the row could be read back through {@link HashMapConverter.ToEntity}.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> toRow(final StorageBuilder storageBuilder, final StorageData entity) {
+        final HashMapConverter.ToStorage toStorage = new HashMapConverter.ToStorage();
+        storageBuilder.entity2Storage(entity, toStorage);
+        final Map<String, Object> row = toStorage.obtain();
+        row.replaceAll((column, value) -> {
+            if (value == null || value instanceof String || value instanceof Integer
+                || value instanceof Long || value instanceof Double || value instanceof List) {
+                return value;
+            } else if (value instanceof StorageDataComplexObject) {
+                return ((StorageDataComplexObject<?>) value).toStorageData();
+            } else if (value instanceof Number) {
+                return ((Number) value).doubleValue();
+            }
+            return value.toString();
+        });
+        return row;
+    }
+}
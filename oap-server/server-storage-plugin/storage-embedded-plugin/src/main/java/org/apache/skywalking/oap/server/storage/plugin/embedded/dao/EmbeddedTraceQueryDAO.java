@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.dao;
+
+import com.google.common.base.Strings;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.server.core.analysis.IDManager;
+import org.apache.skywalking.oap.server.core.analysis.manual.searchtag.Tag;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.type.BasicTrace;
+import org.apache.skywalking.oap.server.core.query.type.QueryOrder;
+import org.apache.skywalking.oap.server.core.query.type.Span;
+import org.apache.skywalking.oap.server.core.query.type.TraceBrief;
+import org.apache.skywalking.oap.server.core.query.type.TraceState;
+import org.apache.skywalking.oap.server.core.storage.query.ITraceQueryDAO;
+import org.apache.skywalking.oap.server.core.storage.type.HashMapConverter;
+import org.apache.skywalking.oap.server.library.util.BooleanUtils;
+import org.apache.skywalking.oap.server.library.util.CollectionUtils;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+
+import static java.util.stream.Collectors.toList;
+import static org.apache.skywalking.oap.server.storage.plugin.embedded.dao.EmbeddedRecordScanner.longValue;
+
+/**
+ * The segments are scanned from the record table. The traces without the segment concept are not supported, as the
+ * embedded storage only receives the native segments.
+ */
+@RequiredArgsConstructor
+public class EmbeddedTraceQueryDAO implements ITraceQueryDAO {
+    private final EmbeddedStore store;
+
+    @Override
+    public TraceBrief queryBasicTraces(final Duration duration,
+                                       final long minDuration,
+                                       final long maxDuration,
+                                       final String serviceId,
+                                       final String serviceInstanceId,
+                                       final String endpointId,
+                                       final String traceId,
+                                       final int limit,
+                                       final int from,
+                                       final TraceState traceState,
+                                       final QueryOrder queryOrder,
+                                       final List<Tag> tags) {
+        Predicate<Map<String, Object>> filter = row -> true;
+        if (minDuration != 0) {
+            filter = filter.and(row -> longValue(row, SegmentRecord.LATENCY) >= minDuration);
+        }
+        if (maxDuration != 0) {
+            filter = filter.and(row -> longValue(row, SegmentRecord.LATENCY) <= maxDuration);
+        }
+        if (!Strings.isNullOrEmpty(serviceId)) {
+            filter = filter.and(row -> serviceId.equals(row.get(SegmentRecord.SERVICE_ID)));
+        }
+        if (!Strings.isNullOrEmpty(serviceInstanceId)) {
+            filter = filter.and(row -> serviceInstanceId.equals(row.get(SegmentRecord.SERVICE_INSTANCE_ID)));
+        }
+        if (!Strings.isNullOrEmpty(endpointId)) {
+            filter = filter.and(row -> endpointId.equals(row.get(SegmentRecord.ENDPOINT_ID)));
+        }
+        if (!Strings.isNullOrEmpty(traceId)) {
+            filter = filter.and(row -> traceId.equals(row.get(SegmentRecord.TRACE_ID)));
+        }
+        if (CollectionUtils.isNotEmpty(tags)) {
+            final List<String> tagsInString = tags.stream().map(Tag::toString).collect(toList());
+            filter = filter.and(row -> EmbeddedRecordScanner.hasTags(row, SegmentRecord.TAGS, tagsInString));
+        }
+        switch (traceState) {
+            case ERROR:
+                filter = filter.and(row -> longValue(row, SegmentRecord.IS_ERROR) == BooleanUtils.TRUE);
+                break;
+            case SUCCESS:
+                filter = filter.and(row -> longValue(row, SegmentRecord.IS_ERROR) == BooleanUtils.FALSE);
+                break;
+        }
+        final String orderColumnName = queryOrder == QueryOrder.BY_DURATION ?
+            SegmentRecord.LATENCY : SegmentRecord.START_TIME;
+        final Comparator<Map<String, Object>> order = Comparator.comparingLong(row -> longValue(row, orderColumnName));
+
+        final List<BasicTrace> traces = new ArrayList<>();
+        for (final Map<String, Object> row : EmbeddedRecordScanner.page(
+            EmbeddedRecordScanner.scan(store, SegmentRecord.INDEX_NAME, duration, SegmentRecord.TIME_BUCKET, filter),
+            order.reversed(), from, limit
+        )) {
+            final BasicTrace basicTrace = new BasicTrace();
+            basicTrace.setSegmentId((String) row.get(SegmentRecord.SEGMENT_ID));
+            basicTrace.setStart(String.valueOf(longValue(row, SegmentRecord.START_TIME)));
+            basicTrace.getEndpointNames().add(
+                IDManager.EndpointID.analysisId((String) row.get(SegmentRecord.ENDPOINT_ID)).getEndpointName());
+            basicTrace.setDuration((int) longValue(row, SegmentRecord.LATENCY));
+            basicTrace.setError(BooleanUtils.valueToBoolean((int) longValue(row, SegmentRecord.IS_ERROR)));
+            basicTrace.getTraceIds().add((String) row.get(SegmentRecord.TRACE_ID));
+            traces.add(basicTrace);
+        }
+        return new TraceBrief(traces);
+    }
+
+    @Override
+    public List<SegmentRecord> queryByTraceId(final String traceId) {
+        return queryByTraceIds(Collections.singletonList(traceId));
+    }
+
+    @Override
+    public List<SegmentRecord> queryByTraceIds(final List<String> traceIds) {
+        final Set<String> traceIdSet = new HashSet<>(traceIds);
+        return scan(row -> traceIdSet.contains(row.get(SegmentRecord.TRACE_ID)));
+    }
+
+    @Override
+    public List<SegmentRecord> queryBySegmentIdList(final List<String> segmentIdList) {
+        // The segment ID is the ID of the row.
+        return segmentIdList.stream()
+                            .map(segmentId -> store.get(SegmentRecord.INDEX_NAME, segmentId))
+                            .filter(Objects::nonNull)
+                            .map(EmbeddedTraceQueryDAO::buildRecord)
+                            .collect(toList());
+    }
+
+    @Override
+    public List<SegmentRecord> queryByTraceIdWithInstanceId(final List<String> traceIdList,
+                                                            final List<String> instanceIdList) {
+        final Set<String> traceIdSet = new HashSet<>(traceIdList);
+        final Set<String> instanceIdSet = new HashSet<>(instanceIdList);
+        return scan(row -> traceIdSet.contains(row.get(SegmentRecord.TRACE_ID))
+            && instanceIdSet.contains(row.get(SegmentRecord.SERVICE_INSTANCE_ID)));
+    }
+
+    @Override
+    public List<Span> doFlexibleTraceQuery(final String traceId) {
+        return Collections.emptyList();
+    }
+
+    private List<SegmentRecord> scan(final Predicate<Map<String, Object>> filter) {
+        return store.scan(SegmentRecord.INDEX_NAME, filter, Integer.MAX_VALUE)
+                    .stream()
+                    .map(EmbeddedTraceQueryDAO::buildRecord)
+                    .collect(toList());
+    }
+
+    private static SegmentRecord buildRecord(final Map<String, Object> row) {
+        return new SegmentRecord.Builder().storage2Entity(new HashMapConverter.ToEntity(row));
+    }
+}
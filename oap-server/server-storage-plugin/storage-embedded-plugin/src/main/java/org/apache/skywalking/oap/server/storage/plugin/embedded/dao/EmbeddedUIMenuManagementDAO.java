@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.dao;
+
+import java.io.IOException;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.server.core.management.ui.menu.UIMenu;
+import org.apache.skywalking.oap.server.core.storage.management.UIMenuManagementDAO;
+import org.apache.skywalking.oap.server.core.storage.type.HashMapConverter;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+
+@RequiredArgsConstructor
+public class EmbeddedUIMenuManagementDAO implements UIMenuManagementDAO {
+    private final EmbeddedStore store;
+
+    @Override
+    public UIMenu getMenu(final String id) {
+        final Map<String, Object> row = store.get(UIMenu.INDEX_NAME, id);
+        return row == null ? null : new UIMenu.Builder().storage2Entity(new HashMapConverter.ToEntity(row));
+    }
+
+    @Override
+    public void saveMenu(final UIMenu menu) throws IOException {
+        store.write(
+            store.model(UIMenu.INDEX_NAME), menu.id().build(), EmbeddedStorageDAO.toRow(new UIMenu.Builder(), menu));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.dao;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.management.ui.template.UITemplate;
+import org.apache.skywalking.oap.server.core.query.input.DashboardSetting;
+import org.apache.skywalking.oap.server.core.query.type.DashboardConfiguration;
+import org.apache.skywalking.oap.server.core.query.type.TemplateChangeStatus;
+import org.apache.skywalking.oap.server.core.storage.management.UITemplateManagementDAO;
+import org.apache.skywalking.oap.server.core.storage.type.HashMapConverter;
+import org.apache.skywalking.oap.server.library.util.BooleanUtils;
+import org.apache.skywalking.oap.server.library.util.StringUtil;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+
+import static java.util.stream.Collectors.toList;
+
+@Slf4j
+@RequiredArgsConstructor
+public class EmbeddedUITemplateManagementDAO implements UITemplateManagementDAO {
+    private final EmbeddedStore store;
+
+    @Override
+    public DashboardConfiguration getTemplate(final String id) {
+        if (StringUtil.isEmpty(id)) {
+            return null;
+        }
+        final UITemplate uiTemplate = get(id);
+        return uiTemplate == null ? null : new DashboardConfiguration().fromEntity(uiTemplate);
+    }
+
+    @Override
+    public List<DashboardConfiguration> getAllTemplates(final Boolean includingDisabled) {
+        return store.scan(UITemplate.INDEX_NAME, row -> true, Integer.MAX_VALUE)
+                    .stream()
+                    .map(row -> new UITemplate.Builder().storage2Entity(new HashMapConverter.ToEntity(row)))
+                    .filter(uiTemplate -> includingDisabled || uiTemplate.getDisabled() == BooleanUtils.FALSE)
+                    .map(uiTemplate -> new DashboardConfiguration().fromEntity(uiTemplate))
+                    .collect(toList());
+    }
+
+    @Override
+    public TemplateChangeStatus addTemplate(final DashboardSetting setting) {
+        return write(setting.toEntity());
+    }
+
+    @Override
+    public TemplateChangeStatus changeTemplate(final DashboardSetting setting) {
+        return write(setting.toEntity());
+    }
+
+    @Override
+    public TemplateChangeStatus disableTemplate(final String id) {
+        final UITemplate uiTemplate = get(id);
+        if (uiTemplate == null) {
+            return TemplateChangeStatus.builder().status(false).id(id).message("Can't find the template").build();
+        }
+        uiTemplate.setDisabled(BooleanUtils.TRUE);
+        return write(uiTemplate);
+    }
+
+    private UITemplate get(final String id) {
+        final Map<String, Object> row = store.get(UITemplate.INDEX_NAME, id);
+        return row == null ? null : new UITemplate.Builder().storage2Entity(new HashMapConverter.ToEntity(row));
+    }
+
+    private TemplateChangeStatus write(final UITemplate uiTemplate) {
+        try {
+            store.write(
+                store.model(UITemplate.INDEX_NAME), uiTemplate.id().build(),
+                EmbeddedStorageDAO.toRow(new UITemplate.Builder(), uiTemplate)
+            );
+            return TemplateChangeStatus.builder().status(true).id(uiTemplate.getTemplateId()).build();
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+            return TemplateChangeStatus.builder()
+                                       .status(false)
+                                       .id(uiTemplate.getTemplateId())
+                                       .message("Can't add/update the template")
+                                       .build();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.engine;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Column keeps the values of one column of a {@link ColumnarPartition}, indexed by the row number. The integral and
+ * floating values are kept in the primitive arrays, so a metric value column costs 8 bytes per row rather than a boxed
+ * object. The column falls back to the object array once a value of the other type arrives.
+ */
+final class Column {
+    private static final int UNSET = 0;
+    private static final int LONG = 1;
+    private static final int DOUBLE = 2;
+    private static final int OBJECT = 3;
+
+    private int type = UNSET;
+    /**
+     * All integral values are {@link Integer}, they are read back as {@link Integer} too.
+     */
+    private boolean intValues = true;
+    private long[] longs;
+    private double[] doubles;
+    private Object[] objects;
+    private final BitSet present = new BitSet();
+
+    void set(final int row, final Object value) {
+        if (value == null) {
+            present.clear(row);
+            return;
+        }
+        if (type == UNSET) {
+            type = typeOf(value);
+        } else if (type != OBJECT && type != typeOf(value)) {
+            toObjects();
+        }
+        switch (type) {
+            case LONG:
+                longs = ensureCapacity(longs, row);
+                longs[row] = ((Number) value).longValue();
+                intValues &= value instanceof Integer;
+                break;
+            case DOUBLE:
+                doubles = ensureCapacity(doubles, row);
+                doubles[row] = ((Number) value).doubleValue();
+                break;
+            default:
+                objects = ensureCapacity(objects, row);
+                objects[row] = value;
+        }
+        present.set(row);
+    }
+
+    Object get(final int row) {
+        if (!present.get(row)) {
+            return null;
+        }
+        switch (type) {
+            case LONG:
+                if (intValues) {
+                    return (int) longs[row];
+                }
+                return longs[row];
+            case DOUBLE:
+                return doubles[row];
+            default:
+                return objects[row];
+        }
+    }
+
+    void clear(final int row) {
+        present.clear(row);
+        if (type == OBJECT && row < objects.length) {
+            objects[row] = null;
+        }
+    }
+
+    private void toObjects() {
+        final int length = type == LONG ? longs.length : doubles.length;
+        final Object[] boxed = new Object[length];
+        for (int row = present.nextSetBit(0); row >= 0 && row < length; row = present.nextSetBit(row + 1)) {
+            boxed[row] = get(row);
+        }
+        objects = boxed;
+        longs = null;
+        doubles = null;
+        type = OBJECT;
+    }
+
+    private static int typeOf(final Object value) {
+        if (value instanceof Long || value instanceof Integer) {
+            return LONG;
+        } else if (value instanceof Double) {
+            return DOUBLE;
+        }
+        return OBJECT;
+    }
+
+    private static long[] ensureCapacity(final long[] array, final int row) {
+        if (array == null) {
+            return new long[Math.max(16, row + 1)];
+        }
+        return row < array.length ? array : Arrays.copyOf(array, Math.max(array.length * 2, row + 1));
+    }
+
+    private static double[] ensureCapacity(final double[] array, final int row) {
+        if (array == null) {
+            return new double[Math.max(16, row + 1)];
+        }
+        return row < array.length ? array : Arrays.copyOf(array, Math.max(array.length * 2, row + 1));
+    }
+
+    private static Object[] ensureCapacity(final Object[] array, final int row) {
+        if (array == null) {
+            return new Object[Math.max(16, row + 1)];
+        }
+        return row < array.length ? array : Arrays.copyOf(array, Math.max(array.length * 2, row + 1));
+    }
+}
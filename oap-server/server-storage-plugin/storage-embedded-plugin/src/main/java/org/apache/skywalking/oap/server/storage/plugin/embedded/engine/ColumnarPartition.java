@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * ColumnarPartition holds the rows of one model in one day, or all rows of a model which is not time series. Every
+ * column is kept in its own {@link Column}, and the rows are located through the ID index. The slots of the removed
+ * rows are reused by the following inserts.
+ *
+ * The partition is not thread safe, {@link EmbeddedTable} guards it.
+ */
+final class ColumnarPartition {
+    private final Map<String, Integer> index = new HashMap<>();
+    private final Map<String, Column> columns = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    private final ArrayDeque<Integer> freeRows = new ArrayDeque<>();
+
+    void put(final String id, final Map<String, Object> row) {
+        Integer rowNum = index.get(id);
+        if (rowNum == null) {
+            rowNum = freeRows.isEmpty() ? ids.size() : freeRows.pop();
+            if (rowNum == ids.size()) {
+                ids.add(id);
+            } else {
+                ids.set(rowNum, id);
+            }
+            index.put(id, rowNum);
+        }
+        for (final Map.Entry<String, Column> column : columns.entrySet()) {
+            if (!row.containsKey(column.getKey())) {
+                column.getValue().clear(rowNum);
+            }
+        }
+        for (final Map.Entry<String, Object> value : row.entrySet()) {
+            columns.computeIfAbsent(value.getKey(), name -> new Column()).set(rowNum, value.getValue());
+        }
+    }
+
+    boolean remove(final String id) {
+        final Integer rowNum = index.remove(id);
+        if (rowNum == null) {
+            return false;
+        }
+        columns.values().forEach(column -> column.clear(rowNum));
+        ids.set(rowNum, null);
+        freeRows.push(rowNum);
+        return true;
+    }
+
+    boolean contains(final String id) {
+        return index.containsKey(id);
+    }
+
+    Map<String, Object> get(final String id) {
+        final Integer rowNum = index.get(id);
+        return rowNum == null ? null : row(rowNum);
+    }
+
+    /**
+     * Read one column of the row without building the whole row.
+     *
+     * @return the value, or null if the row or the column doesn't exist.
+     */
+    Object value(final String id, final String columnName) {
+        final Integer rowNum = index.get(id);
+        final Column column = columns.get(columnName);
+        return rowNum == null || column == null ? null : column.get(rowNum);
+    }
+
+    void forEach(final BiConsumer<String, Map<String, Object>> consumer) {
+        for (int rowNum = 0; rowNum < ids.size(); rowNum++) {
+            final String id = ids.get(rowNum);
+            if (id != null) {
+                consumer.accept(id, row(rowNum));
+            }
+        }
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    private Map<String, Object> row(final int rowNum) {
+        final Map<String, Object> row = new HashMap<>(columns.size() * 2);
+        for (final Map.Entry<String, Column> column : columns.entrySet()) {
+            final Object value = column.getValue().get(rowNum);
+            if (value != null) {
+                row.put(column.getKey(), value);
+            }
+        }
+        return row;
+    }
+}
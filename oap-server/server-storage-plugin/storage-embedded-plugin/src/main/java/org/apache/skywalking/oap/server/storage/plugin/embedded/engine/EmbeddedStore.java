@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.engine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.storage.StorageData;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.library.util.StringUtil;
+
+/**
+ * EmbeddedStore is a log-structured store in the OAP process.
+ *
+ * <ul>
+ *     <li>All rows are kept in the columnar {@link EmbeddedTable}s, partitioned by day, and written to the
+ *     {@link SegmentLog} of the day too. The logs are replayed when the store opens.</li>
+ *     <li>The metrics, the records and the data which are not time series are written to the separated logs, as they
+ *     expire by the different TTLs.</li>
+ *     <li>The TTL drops the whole partitions and the segment files of the expired days, no row is deleted one by
+ *     one.</li>
+ * </ul>
+ *
+ * The store keeps nothing on the disk if the path is empty, which is the in-memory mode.
+ */
+@Slf4j
+public class EmbeddedStore {
+    /**
+     * The partition of the rows which are not time series.
+     */
+    private static final long PERMANENT = 0L;
+    private static final String METADATA = "metadata";
+    private static final String METRICS = "metrics";
+    private static final String RECORDS = "records";
+
+    private final Path root;
+    private final int segmentSize;
+    private final Map<String, Model> models = new ConcurrentHashMap<>();
+    private final Map<String, EmbeddedTable> tables = new ConcurrentHashMap<>();
+    private final Map<Path, SegmentLog> logs = new ConcurrentHashMap<>();
+
+    public EmbeddedStore(final String path, final int segmentSize) {
+        this.root = StringUtil.isBlank(path) ? null : Paths.get(path);
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Replay the logs into the tables, and compact the log of the data which are not time series, as that log is never
+     * dropped by the TTL.
+     */
+    public void open() throws IOException {
+        if (root == null) {
+            log.info("The embedded storage runs in the in-memory mode, all data are lost after restart.");
+            return;
+        }
+        Files.createDirectories(root);
+        for (final String kind : new String[] {METADATA, METRICS, RECORDS}) {
+            for (final long day : days(kind)) {
+                SegmentLog.replay(dir(kind, day), buffer -> {
+                    final RowCodec.Entry entry = RowCodec.decode(buffer);
+                    table(entry.getModelName()).put(day, entry.getId(), entry.getRow(), false);
+                });
+            }
+        }
+        if (Files.isDirectory(dir(METADATA, PERMANENT))) {
+            log(METADATA, PERMANENT).rewrite(segmentLog -> {
+                for (final Map.Entry<String, EmbeddedTable> table : tables.entrySet()) {
+                    final IOException[] error = new IOException[1];
+                    table.getValue().forEach(PERMANENT, (id, row) -> {
+                        try {
+                            segmentLog.append(RowCodec.encode(RowCodec.PUT, table.getKey(), id, row));
+                        } catch (IOException e) {
+                            error[0] = e;
+                        }
+                    });
+                    if (error[0] != null) {
+                        throw error[0];
+                    }
+                }
+            });
+        }
+        log.info("The embedded storage opened at {}, {} tables loaded.", root, tables.size());
+    }
+
+    public void register(final Model model) {
+        models.put(model.getName(), model);
+    }
+
+    public Model model(final String modelName) {
+        return models.get(modelName);
+    }
+
+    /**
+     * Insert or replace the row.
+     */
+    public void write(final Model model, final String id, final Map<String, Object> row) throws IOException {
+        final long day = partitionOf(model, row);
+        if (root != null) {
+            log(kindOf(model, day), day).append(RowCodec.encode(RowCodec.PUT, model.getName(), id, row));
+        }
+        // The ID of the record or the time relative model is written only once, it is always in the same partition.
+        table(model.getName()).put(
+            day, id, row, day != PERMANENT && !model.isRecord() && !model.isTimeRelativeID());
+    }
+
+    /**
+     * @return the row of the ID, or null if it doesn't exist.
+     */
+    public Map<String, Object> get(final String modelName, final String id) {
+        final EmbeddedTable table = tables.get(modelName);
+        return table == null ? null : table.get(id);
+    }
+
+    /**
+     * @return the value of the column of the row, or null if it doesn't exist.
+     */
+    public Object value(final String modelName, final String id, final String columnName) {
+        final EmbeddedTable table = tables.get(modelName);
+        return table == null ? null : table.value(id, columnName);
+    }
+
+    /**
+     * @return at most limit rows matching the filter.
+     */
+    public List<Map<String, Object>> scan(final String modelName,
+                                          final Predicate<Map<String, Object>> filter,
+                                          final int limit) {
+        final EmbeddedTable table = tables.get(modelName);
+        return table == null ? Collections.emptyList() : table.scan(filter, limit);
+    }
+
+    /**
+     * @param startDay the day time bucket of the first partition to scan.
+     * @param endDay   the day time bucket of the last partition to scan.
+     * @return at most limit rows matching the filter, in the partitions between the days.
+     */
+    public List<Map<String, Object>> scan(final String modelName,
+                                          final long startDay,
+                                          final long endDay,
+                                          final Predicate<Map<String, Object>> filter,
+                                          final int limit) {
+        final EmbeddedTable table = tables.get(modelName);
+        return table == null ? Collections.emptyList() : table.scan(startDay, endDay, filter, limit);
+    }
+
+    /**
+     * Flush all written logs to the disk.
+     */
+    public void force() {
+        logs.values().forEach(SegmentLog::force);
+    }
+
+    /**
+     * Drop the partitions and the segment files of the days before or at the deadline. The data which are not time
+     * series never expire.
+     */
+    public void deleteHistory(final Model model, final int ttl) throws IOException {
+        if (!model.isTimeSeries()) {
+            return;
+        }
+        final long deadline = TimeBucket.getTimeBucket(
+            System.currentTimeMillis() - TimeUnit.DAYS.toMillis(ttl), DownSampling.Day);
+        final EmbeddedTable table = tables.get(model.getName());
+        if (table != null) {
+            table.dropPartitions(deadline);
+        }
+        // All metrics, or all records, of one day share the log, which could be dropped once no table holds that day.
+        dropLogs(model.isRecord() ? RECORDS : METRICS, deadline);
+    }
+
+    private void dropLogs(final String kind, final long deadline) throws IOException {
+        if (root == null) {
+            return;
+        }
+        for (final long day : days(kind)) {
+            if (day > deadline) {
+                break;
+            }
+            if (tables.entrySet().stream().noneMatch(
+                table -> isKindOf(table.getKey(), kind) && table.getValue().hasPartition(day))) {
+                final Path dir = dir(kind, day);
+                final SegmentLog segmentLog = logs.remove(dir);
+                (segmentLog != null ? segmentLog : new SegmentLog(dir, segmentSize)).delete();
+                log.info("The expired segment log {} is deleted.", dir);
+            }
+        }
+    }
+
+    private long partitionOf(final Model model, final Map<String, Object> row) {
+        if (!model.isTimeSeries()) {
+            return PERMANENT;
+        }
+        final Object timeBucket = row.get(StorageData.TIME_BUCKET);
+        if ((model.isRecord() || model.isTimeRelativeID()) && timeBucket instanceof Number) {
+            return TimeBucket.getTimeBucket(
+                TimeBucket.getTimestamp(((Number) timeBucket).longValue()), DownSampling.Day);
+        }
+        // The rows without the time bucket in the ID are kept in the latest partition, as long as they are updated.
+        return TimeBucket.getTimeBucket(System.currentTimeMillis(), DownSampling.Day);
+    }
+
+    private boolean isKindOf(final String modelName, final String kind) {
+        final Model model = models.get(modelName);
+        // The table replayed but not registered yet is considered to hold the data, its log is kept.
+        return model == null || model.isRecord() == RECORDS.equals(kind);
+    }
+
+    private static String kindOf(final Model model, final long day) {
+        if (day == PERMANENT) {
+            return METADATA;
+        }
+        return model.isRecord() ? RECORDS : METRICS;
+    }
+
+    private EmbeddedTable table(final String modelName) {
+        return tables.computeIfAbsent(modelName, name -> new EmbeddedTable());
+    }
+
+    private SegmentLog log(final String kind, final long day) {
+        return logs.computeIfAbsent(dir(kind, day), dir -> new SegmentLog(dir, segmentSize));
+    }
+
+    private Path dir(final String kind, final long day) {
+        return root.resolve(kind).resolve(String.valueOf(day));
+    }
+
+    /**
+     * @return the days of the logs of the kind, in ascending order.
+     */
+    private List<Long> days(final String kind) throws IOException {
+        final Path dir = root.resolve(kind);
+        if (!Files.isDirectory(dir)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> days = Files.list(dir)) {
+            return days.map(day -> day.getFileName().toString())
+                       .filter(day -> day.chars().allMatch(Character::isDigit))
+                       .map(Long::parseLong)
+                       .sorted()
+                       .collect(Collectors.toList());
+        }
+    }
+}
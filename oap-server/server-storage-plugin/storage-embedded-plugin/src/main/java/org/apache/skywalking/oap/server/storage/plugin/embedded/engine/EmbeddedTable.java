@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * EmbeddedTable holds all rows of one model, partitioned by the day time bucket. The partition of day 0 holds the rows
+ * which are not time series. The partitions are visited from the latest day, and the latest row wins when the same ID
+ * exists in multiple partitions.
+ */
+final class EmbeddedTable {
+    private final NavigableMap<Long, ColumnarPartition> partitions = new TreeMap<>(Collections.reverseOrder());
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param unique true if the row should be moved out of the other partitions, as its ID doesn't include the time
+     *               bucket.
+     */
+    void put(final long day, final String id, final Map<String, Object> row, final boolean unique) {
+        lock.writeLock().lock();
+        try {
+            if (unique) {
+                for (final Map.Entry<Long, ColumnarPartition> partition : partitions.entrySet()) {
+                    if (partition.getKey() != day) {
+                        partition.getValue().remove(id);
+                    }
+                }
+            }
+            partitions.computeIfAbsent(day, d -> new ColumnarPartition()).put(id, row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Map<String, Object> get(final String id) {
+        lock.readLock().lock();
+        try {
+            for (final ColumnarPartition partition : partitions.values()) {
+                final Map<String, Object> row = partition.get(id);
+                if (row != null) {
+                    return row;
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Object value(final String id, final String columnName) {
+        lock.readLock().lock();
+        try {
+            for (final ColumnarPartition partition : partitions.values()) {
+                if (partition.contains(id)) {
+                    return partition.value(id, columnName);
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the rows matching the filter, from the latest partition. Limit is the max number of the rows.
+     */
+    List<Map<String, Object>> scan(final Predicate<Map<String, Object>> filter, final int limit) {
+        lock.readLock().lock();
+        try {
+            return scan(partitions.values(), filter, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the rows matching the filter in the partitions of the days between the start and the end, both
+     * inclusive, from the latest partition. Limit is the max number of the rows.
+     */
+    List<Map<String, Object>> scan(final long startDay,
+                                   final long endDay,
+                                   final Predicate<Map<String, Object>> filter,
+                                   final int limit) {
+        lock.readLock().lock();
+        try {
+            return scan(partitions.subMap(endDay, true, startDay, true).values(), filter, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Map<String, Object>> scan(final Collection<ColumnarPartition> scanned,
+                                                  final Predicate<Map<String, Object>> filter,
+                                                  final int limit) {
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        final Set<String> visited = new HashSet<>();
+        for (final ColumnarPartition partition : scanned) {
+            partition.forEach((id, row) -> {
+                if (rows.size() < limit && visited.add(id) && filter.test(row)) {
+                    rows.add(row);
+                }
+            });
+            if (rows.size() >= limit) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    void forEach(final long day, final BiConsumer<String, Map<String, Object>> consumer) {
+        lock.readLock().lock();
+        try {
+            final ColumnarPartition partition = partitions.get(day);
+            if (partition != null) {
+                partition.forEach(consumer);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the time series partitions of the days before or at the deadline.
+     */
+    void dropPartitions(final long deadlineDay) {
+        lock.writeLock().lock();
+        try {
+            partitions.tailMap(deadlineDay, true).headMap(0L, false).clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean hasPartition(final long day) {
+        lock.readLock().lock();
+        try {
+            return partitions.containsKey(day);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.engine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * RowCodec encodes the row changes as the entries of the {@link SegmentLog}. The values are tagged by their types, so
+ * the entries could be replayed without the model definitions.
+ */
+final class RowCodec {
+    static final byte PUT = 1;
+
+    private static final byte NULL = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte STRING = 4;
+    private static final byte STRING_LIST = 5;
+
+    private RowCodec() {
+    }
+
+    static byte[] encode(final byte op, final String modelName, final String id, final Map<String, Object> row) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(op);
+            writeString(out, modelName);
+            writeString(out, id);
+            if (op == PUT) {
+                out.writeShort(row.size());
+                for (final Map.Entry<String, Object> value : row.entrySet()) {
+                    writeString(out, value.getKey());
+                    writeValue(out, value.getValue());
+                }
+            }
+        } catch (IOException e) {
+            // Never happens on the in-memory stream.
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Entry decode(final ByteBuffer buffer) {
+        final byte op = buffer.get();
+        final String modelName = readString(buffer);
+        final String id = readString(buffer);
+        Map<String, Object> row = null;
+        if (op == PUT) {
+            final int size = buffer.getShort() & 0xFFFF;
+            row = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                final String column = readString(buffer);
+                final Object value = readValue(buffer);
+                if (value != null) {
+                    row.put(column, value);
+                }
+            }
+        }
+        return new Entry(op, modelName, id, row);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeValue(final DataOutputStream out, final Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof List) {
+            final List<Object> values = (List<Object>) value;
+            out.writeByte(STRING_LIST);
+            out.writeInt(values.size());
+            for (final Object element : values) {
+                writeString(out, String.valueOf(element));
+            }
+        } else {
+            out.writeByte(STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private static Object readValue(final ByteBuffer buffer) {
+        final byte type = buffer.get();
+        switch (type) {
+            case NULL:
+                return null;
+            case INT:
+                return buffer.getInt();
+            case LONG:
+                return buffer.getLong();
+            case DOUBLE:
+                return buffer.getDouble();
+            case STRING_LIST:
+                final int size = buffer.getInt();
+                final List<String> values = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    values.add(readString(buffer));
+                }
+                return values;
+            case STRING:
+                return readString(buffer);
+            default:
+                throw new IllegalStateException("Unknown value type " + type);
+        }
+    }
+
+    /**
+     * Unlike {@link DataOutputStream#writeUTF(String)}, the string could be longer than 64KB, such as the segment
+     * binary.
+     */
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class Entry {
+        private final byte op;
+        private final String modelName;
+        private final String id;
+        private final Map<String, Object> row;
+    }
+}
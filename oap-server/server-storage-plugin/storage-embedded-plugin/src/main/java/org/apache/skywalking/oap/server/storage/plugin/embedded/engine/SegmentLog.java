@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SegmentLog is an append-only log in a directory, written through the memory-mapped segment files. A segment is
+ * rolled to the next one when it is full. Every entry is written as the length, the CRC32 of the body and the body,
+ * the replay stops at the first entry which is not completely written.
+ *
+ * The mapped segments are released by the GC, the deleted segment files are reclaimed by the file system after that.
+ */
+@Slf4j
+final class SegmentLog {
+    private static final String SUFFIX = ".seg";
+    private static final int HEADER_SIZE = 8;
+
+    private final Path dir;
+    private final int segmentSize;
+    private MappedByteBuffer current;
+    private long currentSeq = -1;
+    private boolean dirty;
+
+    SegmentLog(final Path dir, final int segmentSize) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+    }
+
+    synchronized void append(final byte[] entry) throws IOException {
+        if (current == null) {
+            openLast();
+        }
+        if (current == null || current.remaining() < HEADER_SIZE + entry.length) {
+            roll(HEADER_SIZE + entry.length);
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(entry);
+        final int position = current.position();
+        current.position(position + HEADER_SIZE);
+        current.put(entry);
+        current.putInt(position + 4, (int) crc.getValue());
+        // The length is written at last, so the entry is visible to the replay only when it is complete.
+        current.putInt(position, entry.length);
+        dirty = true;
+    }
+
+    /**
+     * Flush the written entries of the current segment to the disk.
+     */
+    synchronized void force() {
+        if (current != null && dirty) {
+            current.force();
+            dirty = false;
+        }
+    }
+
+    /**
+     * Rewrite the log by the given writer into the new segments, and delete the old segments after that.
+     */
+    synchronized void rewrite(final LogWriter writer) throws IOException {
+        final List<Path> oldSegments = segments(dir);
+        roll(HEADER_SIZE);
+        writer.write(this);
+        force();
+        for (final Path segment : oldSegments) {
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    synchronized void delete() throws IOException {
+        current = null;
+        dirty = false;
+        if (Files.exists(dir)) {
+            for (final Path segment : segments(dir)) {
+                Files.deleteIfExists(segment);
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /**
+     * Read all complete entries of the log in the written order.
+     */
+    static void replay(final Path dir, final Consumer<ByteBuffer> consumer) throws IOException {
+        for (final Path segment : segments(dir)) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), consumer);
+            }
+        }
+    }
+
+    private void openLast() throws IOException {
+        final List<Path> segments = segments(dir);
+        if (segments.isEmpty()) {
+            return;
+        }
+        final Path last = segments.get(segments.size() - 1);
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            current = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        currentSeq = seqOf(last);
+        current.position(scan(current.duplicate(), entry -> {
+        }));
+    }
+
+    private void roll(final int minSize) throws IOException {
+        force();
+        if (currentSeq < 0) {
+            final List<Path> segments = segments(dir);
+            currentSeq = segments.isEmpty() ? -1 : seqOf(segments.get(segments.size() - 1));
+        }
+        currentSeq++;
+        Files.createDirectories(dir);
+        final Path segment = dir.resolve(currentSeq + SUFFIX);
+        try (FileChannel channel = FileChannel.open(
+            segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            current = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, minSize));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Roll the segment log to {}", segment);
+        }
+    }
+
+    /**
+     * @return the position after the last complete entry.
+     */
+    private static int scan(final ByteBuffer buffer, final Consumer<ByteBuffer> consumer) {
+        while (buffer.remaining() >= HEADER_SIZE) {
+            final int position = buffer.position();
+            final int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.remaining() - HEADER_SIZE) {
+                break;
+            }
+            final ByteBuffer entry = buffer.duplicate();
+            entry.position(position + HEADER_SIZE).limit(position + HEADER_SIZE + length);
+            final CRC32 crc = new CRC32();
+            crc.update(entry.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            consumer.accept(entry.slice());
+            buffer.position(position + HEADER_SIZE + length);
+        }
+        return buffer.position();
+    }
+
+    private static List<Path> segments(final Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                        .sorted((a, b) -> Long.compare(seqOf(a), seqOf(b)))
+                        .collect(Collectors.toList());
+        }
+    }
+
+    private static long seqOf(final Path segment) {
+        final String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    interface LogWriter {
+        void write(SegmentLog log) throws IOException;
+    }
+}
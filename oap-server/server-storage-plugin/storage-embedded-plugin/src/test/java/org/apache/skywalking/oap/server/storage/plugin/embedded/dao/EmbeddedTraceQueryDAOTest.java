@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.dao;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.IDManager;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.analysis.manual.searchtag.Tag;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.query.enumeration.Step;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.type.BasicTrace;
+import org.apache.skywalking.oap.server.core.query.type.QueryOrder;
+import org.apache.skywalking.oap.server.core.query.type.TraceState;
+import org.apache.skywalking.oap.server.core.storage.model.BanyanDBModelExtension;
+import org.apache.skywalking.oap.server.core.storage.model.ElasticSearchModelExtension;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.core.storage.model.SQLDatabaseModelExtension;
+import org.apache.skywalking.oap.server.storage.plugin.embedded.engine.EmbeddedStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EmbeddedTraceQueryDAOTest {
+    private static final Model SEGMENT = new Model(
+        SegmentRecord.INDEX_NAME, new ArrayList<>(), 0, DownSampling.Second, false, SegmentRecord.class, true,
+        new SQLDatabaseModelExtension(), new BanyanDBModelExtension(), new ElasticSearchModelExtension()
+    );
+    private static final String SERVICE_ID = IDManager.ServiceID.buildId("service", true);
+
+    private final long now = System.currentTimeMillis();
+    private EmbeddedStore store;
+    private EmbeddedTraceQueryDAO traceQueryDAO;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        store = new EmbeddedStore("", 1024);
+        store.open();
+        traceQueryDAO = new EmbeddedTraceQueryDAO(store);
+
+        write("segment-1", "trace-1", now, 10, false, "http.method=GET");
+        write("segment-2", "trace-1", now, 30, true, "http.method=POST");
+        write("segment-3", "trace-2", now, 20, false, "http.method=GET");
+        // Out of the queried duration.
+        write("segment-4", "trace-3", now - TimeUnit.DAYS.toMillis(1), 40, false, "http.method=GET");
+    }
+
+    @Test
+    public void testQueryBasicTraces() throws IOException {
+        final Duration duration = duration();
+
+        List<BasicTrace> traces = traceQueryDAO.queryBasicTraces(
+            duration, 0, 0, SERVICE_ID, null, null, null, 2, 0, TraceState.ALL, QueryOrder.BY_DURATION, null
+        ).getTraces();
+        assertEquals(List.of("segment-2", "segment-3"), traces.stream().map(BasicTrace::getSegmentId).collect(toList()));
+        assertEquals("/endpoint", traces.get(0).getEndpointNames().get(0));
+
+        traces = traceQueryDAO.queryBasicTraces(
+            duration, 0, 0, SERVICE_ID, null, null, null, 10, 1, TraceState.ALL, QueryOrder.BY_DURATION, null
+        ).getTraces();
+        assertEquals(List.of("segment-3", "segment-1"), traces.stream().map(BasicTrace::getSegmentId).collect(toList()));
+
+        traces = traceQueryDAO.queryBasicTraces(
+            duration, 0, 0, null, null, null, null, 10, 0, TraceState.ERROR, QueryOrder.BY_START_TIME, null
+        ).getTraces();
+        assertEquals(List.of("segment-2"), traces.stream().map(BasicTrace::getSegmentId).collect(toList()));
+
+        traces = traceQueryDAO.queryBasicTraces(
+            null, 15, 0, null, null, null, null, 10, 0, TraceState.ALL, QueryOrder.BY_DURATION,
+            List.of(new Tag("http.method", "GET"))
+        ).getTraces();
+        assertEquals(List.of("segment-4", "segment-3"), traces.stream().map(BasicTrace::getSegmentId).collect(toList()));
+    }
+
+    @Test
+    public void testQuerySegments() throws IOException {
+        final List<SegmentRecord> segments = traceQueryDAO.queryByTraceId("trace-1");
+        assertEquals(
+            List.of("segment-1", "segment-2"),
+            segments.stream().map(SegmentRecord::getSegmentId).sorted().collect(toList())
+        );
+        assertArrayEquals(
+            "segment-1".getBytes(StandardCharsets.UTF_8),
+            segments.stream().filter(segment -> segment.getSegmentId().equals("segment-1")).findFirst()
+                    .orElseThrow().getDataBinary()
+        );
+
+        assertEquals(3, traceQueryDAO.queryByTraceIds(List.of("trace-1", "trace-2", "trace-4")).size());
+        assertEquals(
+            List.of("segment-3", "segment-4"),
+            traceQueryDAO.queryBySegmentIdList(List.of("segment-3", "segment-4", "segment-5"))
+                         .stream().map(SegmentRecord::getSegmentId).collect(toList())
+        );
+        assertEquals(
+            List.of("segment-3"),
+            traceQueryDAO.queryByTraceIdWithInstanceId(List.of("trace-2", "trace-3"), List.of("instance-segment-3"))
+                         .stream().map(SegmentRecord::getSegmentId).collect(toList())
+        );
+    }
+
+    private void write(final String segmentId,
+                       final String traceId,
+                       final long startTime,
+                       final int latency,
+                       final boolean isError,
+                       final String tag) throws IOException {
+        final SegmentRecord segment = new SegmentRecord();
+        segment.setSegmentId(segmentId);
+        segment.setTraceId(traceId);
+        segment.setServiceId(SERVICE_ID);
+        segment.setServiceInstanceId("instance-" + segmentId);
+        segment.setEndpointId(IDManager.EndpointID.buildId(SERVICE_ID, "/endpoint"));
+        segment.setStartTime(startTime);
+        segment.setLatency(latency);
+        segment.setIsError(isError ? 1 : 0);
+        segment.setTimeBucket(TimeBucket.getRecordTimeBucket(startTime));
+        segment.setDataBinary(segmentId.getBytes(StandardCharsets.UTF_8));
+        segment.setTags(List.of(tag));
+        store.write(SEGMENT, segmentId, EmbeddedStorageDAO.toRow(new SegmentRecord.Builder(), segment));
+    }
+
+    private Duration duration() {
+        final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm")
+                                                             .withZone(ZoneId.systemDefault());
+        final Duration duration = new Duration();
+        duration.setStep(Step.MINUTE);
+        duration.setStart(formatter.format(Instant.ofEpochMilli(now - TimeUnit.MINUTES.toMillis(15))));
+        duration.setEnd(formatter.format(Instant.ofEpochMilli(now + TimeUnit.MINUTES.toMillis(1))));
+        return duration;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.embedded.engine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.analysis.record.Record;
+import org.apache.skywalking.oap.server.core.analysis.management.ManagementData;
+import org.apache.skywalking.oap.server.core.storage.model.BanyanDBModelExtension;
+import org.apache.skywalking.oap.server.core.storage.model.ElasticSearchModelExtension;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.core.storage.model.SQLDatabaseModelExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmbeddedStoreTest {
+    private static final Model METRICS = model("metrics", DownSampling.Minute, Metrics.class, true);
+    private static final Model TRAFFIC = model("traffic", DownSampling.Minute, Metrics.class, false);
+    private static final Model RECORD = model("record", DownSampling.Second, Record.class, true);
+    private static final Model TEMPLATE = model("template", DownSampling.None, ManagementData.class, false);
+
+    @TempDir
+    Path path;
+
+    @Test
+    public void testUpsertInMemory() throws IOException {
+        final EmbeddedStore store = new EmbeddedStore("", 1024);
+        store.open();
+        final long timeBucket = TimeBucket.getMinuteTimeBucket(System.currentTimeMillis());
+
+        store.write(METRICS, "a", row(timeBucket, 1));
+        store.write(METRICS, "b", row(timeBucket, 2));
+        final Map<String, Object> updated = row(timeBucket, 3);
+        updated.put("labels", List.of("x", "y"));
+        store.write(METRICS, "a", updated);
+
+        assertEquals(3, store.value(METRICS.getName(), "a", "value"));
+        assertEquals(List.of("x", "y"), store.get(METRICS.getName(), "a").get("labels"));
+        assertNull(store.get(METRICS.getName(), "b").get("labels"));
+        assertEquals(2, store.scan(METRICS.getName(), row -> true, 10).size());
+
+        store.write(RECORD, "r", row(timeBucket * 100, 1));
+        assertEquals(1, store.value(RECORD.getName(), "r", "value"));
+    }
+
+    @Test
+    public void testReplay() throws IOException {
+        final long timeBucket = TimeBucket.getMinuteTimeBucket(System.currentTimeMillis());
+        final EmbeddedStore store = new EmbeddedStore(path.toString(), 1024);
+        store.open();
+        // Larger than the segment, the segments are rolled.
+        for (int i = 0; i < 100; i++) {
+            store.write(METRICS, "id" + i, row(timeBucket, i));
+        }
+        final Map<String, Object> template = new HashMap<>();
+        template.put("configuration", "{}");
+        template.put("disabled", 0);
+        store.write(TEMPLATE, "t", template);
+        store.write(TEMPLATE, "t", template);
+        store.write(RECORD, "r", row(timeBucket * 100, 1));
+        store.force();
+
+        final EmbeddedStore reopened = new EmbeddedStore(path.toString(), 1024);
+        reopened.open();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, reopened.value(METRICS.getName(), "id" + i, "value"));
+            assertEquals(timeBucket, reopened.value(METRICS.getName(), "id" + i, "time_bucket"));
+        }
+        assertEquals(template, reopened.get(TEMPLATE.getName(), "t"));
+        final long day = TimeBucket.getTimeBucket(System.currentTimeMillis(), DownSampling.Day);
+        assertEquals(1, reopened.scan(RECORD.getName(), day, day, row -> true, 10).size());
+        assertEquals(0, reopened.scan(RECORD.getName(), day - 1, day - 1, row -> true, 10).size());
+        // The metadata log is compacted, only the latest row is kept.
+        final List<String> entries = new ArrayList<>();
+        SegmentLog.replay(path.resolve("metadata").resolve("0"), buffer -> entries.add(RowCodec.decode(buffer).getId()));
+        assertEquals(List.of("t"), entries);
+    }
+
+    @Test
+    public void testDeleteHistory() throws IOException {
+        final long now = System.currentTimeMillis();
+        final long expired = TimeBucket.getMinuteTimeBucket(now - TimeUnit.DAYS.toMillis(10));
+        final long current = TimeBucket.getMinuteTimeBucket(now);
+        final EmbeddedStore store = new EmbeddedStore(path.toString(), 1024);
+        store.open();
+        List.of(METRICS, TRAFFIC, RECORD).forEach(store::register);
+        store.write(METRICS, "expired", row(expired, 1));
+        store.write(METRICS, "current", row(current, 2));
+        store.write(TRAFFIC, "service", row(expired, 3));
+        store.write(RECORD, "expired", row(expired * 100, 4));
+        store.write(RECORD, "current", row(current * 100, 5));
+        store.force();
+
+        store.deleteHistory(METRICS, 7);
+        assertNull(store.get(METRICS.getName(), "expired"));
+        assertEquals(2, store.value(METRICS.getName(), "current", "value"));
+        final Path expiredDay = path.resolve("metrics").resolve(
+            String.valueOf(TimeBucket.getTimeBucket(now - TimeUnit.DAYS.toMillis(10), DownSampling.Day)));
+        assertFalse(Files.exists(expiredDay));
+        // The traffic is kept in the partition of the day it is written, not expired.
+        store.deleteHistory(TRAFFIC, 7);
+        assertTrue(store.get(TRAFFIC.getName(), "service") != null);
+
+        store.deleteHistory(RECORD, 3);
+        assertNull(store.get(RECORD.getName(), "expired"));
+        assertEquals(5, store.value(RECORD.getName(), "current", "value"));
+        assertFalse(Files.exists(path.resolve("records").resolve(
+            String.valueOf(TimeBucket.getTimeBucket(now - TimeUnit.DAYS.toMillis(10), DownSampling.Day)))));
+    }
+
+    private static Map<String, Object> row(final long timeBucket, final int value) {
+        final Map<String, Object> row = new HashMap<>();
+        row.put("time_bucket", timeBucket);
+        row.put("value", value);
+        row.put("summation", value * 1.5D);
+        row.put("entity_id", "entity-" + value);
+        return row;
+    }
+
+    private static Model model(final String name,
+                               final DownSampling downSampling,
+                               final Class<?> streamClass,
+                               final boolean timeRelativeID) {
+        return new Model(
+            name, new ArrayList<>(), 0, downSampling, false, streamClass, timeRelativeID,
+            new SQLDatabaseModelExtension(), new BanyanDBModelExtension(), new ElasticSearchModelExtension()
+        );
+    }
+}
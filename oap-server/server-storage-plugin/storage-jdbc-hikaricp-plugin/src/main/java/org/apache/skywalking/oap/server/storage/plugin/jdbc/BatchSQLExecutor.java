@@ -27,6 +27,7 @@ import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
 import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
 import org.apache.skywalking.oap.server.library.client.request.UpdateRequest;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -42,6 +43,19 @@ public class BatchSQLExecutor implements InsertRequest, UpdateRequest {
     private final List<PrepareRequest> prepareRequests;
 
     public void invoke(int maxBatchSqlSize) throws Exception {
+        if (prepareRequests.size() == 0) {
+            return;
+        }
+        try (final var connection = jdbcClient.getConnection()) {
+            invoke(connection, maxBatchSqlSize);
+        }
+    }
+
+    /**
+     * Execute the batch through the given connection, so the batches of the different SQL in a flush share one
+     * connection and its statement cache, rather than borrowing a connection from the pool for every SQL.
+     */
+    public void invoke(Connection connection, int maxBatchSqlSize) throws Exception {
         if (log.isDebugEnabled()) {
             log.debug("execute sql batch. sql by key size: {}", prepareRequests.size());
         }
@@ -50,8 +64,7 @@ public class BatchSQLExecutor implements InsertRequest, UpdateRequest {
         }
         final var sql = prepareRequests.get(0).toString();
         final var bulkRequest = new ArrayList<PrepareRequest>(maxBatchSqlSize);
-        try (final var connection = jdbcClient.getConnection();
-             final var preparedStatement = connection.prepareStatement(sql)) {
+        try (final var preparedStatement = connection.prepareStatement(sql)) {
             var pendingCount = 0;
             for (final var prepareRequest : prepareRequests) {
                 final var sqlExecutor = (SQLExecutor) prepareRequest;
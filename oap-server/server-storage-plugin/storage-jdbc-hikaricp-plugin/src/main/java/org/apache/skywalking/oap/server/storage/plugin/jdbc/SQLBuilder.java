@@ -18,11 +18,20 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.jdbc;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * SQLBuilder
  */
 public class SQLBuilder {
     private static final String LINE_END = System.lineSeparator();
+    /**
+     * The placeholders of the IN conditions, indexed by the exponent of the padded size.
+     */
+    private static final String[] IN_PLACEHOLDERS = new String[Integer.SIZE];
 
     private final StringBuilder text;
 
@@ -48,4 +57,45 @@ public class SQLBuilder {
     public String toString() {
         return text.toString();
     }
+
+    /**
+     * Build the placeholders of the IN condition, such as `(?,?,?,?)`. The number of the placeholders is padded up to
+     * the power of 2, so the statements of the different sizes share a few SQL shapes in the statement caches of the
+     * driver and the database. The parameters should be padded by {@link #padInParameters(List)} accordingly.
+     *
+     * @param size of the values in the condition, should be positive.
+     */
+    public static String inPlaceholders(int size) {
+        final int exponent = paddedExponent(size);
+        String placeholders = IN_PLACEHOLDERS[exponent];
+        if (placeholders == null) {
+            placeholders = Collections.nCopies(1 << exponent, "?")
+                                      .stream()
+                                      .collect(Collectors.joining(",", "(", ")"));
+            IN_PLACEHOLDERS[exponent] = placeholders;
+        }
+        return placeholders;
+    }
+
+    /**
+     * Pad the parameters of the IN condition built by {@link #inPlaceholders(int)}, by repeating the last value, which
+     * doesn't change the result of the condition.
+     */
+    public static List<Object> padInParameters(List<?> values) {
+        final int paddedSize = 1 << paddedExponent(values.size());
+        final List<Object> parameters = new ArrayList<>(paddedSize);
+        parameters.addAll(values);
+        final Object last = values.get(values.size() - 1);
+        while (parameters.size() < paddedSize) {
+            parameters.add(last);
+        }
+        return parameters;
+    }
+
+    private static int paddedExponent(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("The size of the IN condition should be positive, but " + size);
+        }
+        return Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+    }
 }
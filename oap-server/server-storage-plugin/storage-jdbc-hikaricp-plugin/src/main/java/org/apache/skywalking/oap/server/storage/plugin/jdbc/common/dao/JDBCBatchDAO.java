@@ -29,6 +29,7 @@ import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.BatchSQLExecutor;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -72,15 +73,19 @@ public class JDBCBatchDAO implements IBatchDAO {
         }
 
         final var batchRequestsOfSql = sqls.stream().collect(Collectors.groupingBy(Function.identity()));
-        batchRequestsOfSql.forEach((sql, requests) -> {
-            try {
-                final var batchSQLExecutor = new BatchSQLExecutor(jdbcClient, requests);
-                batchSQLExecutor.invoke(maxBatchSqlSize);
-            } catch (Exception e) {
-                // Just to avoid one execution failure makes the rest of batch failure.
-                log.error(e.getMessage(), e);
-            }
-        });
+        try (final var connection = jdbcClient.getConnection()) {
+            batchRequestsOfSql.forEach((sql, requests) -> {
+                try {
+                    final var batchSQLExecutor = new BatchSQLExecutor(jdbcClient, requests);
+                    batchSQLExecutor.invoke(connection, maxBatchSqlSize);
+                } catch (Exception e) {
+                    // Just to avoid one execution failure makes the rest of batch failure.
+                    log.error(e.getMessage(), e);
+                }
+            });
+        } catch (SQLException e) {
+            log.error("Failed to get the connection to execute the batch", e);
+        }
         if (log.isDebugEnabled()) {
             log.debug("execute sql statements done, data size: {}, maxBatchSqlSize: {}", prepareRequests.size(), maxBatchSqlSize);
         }
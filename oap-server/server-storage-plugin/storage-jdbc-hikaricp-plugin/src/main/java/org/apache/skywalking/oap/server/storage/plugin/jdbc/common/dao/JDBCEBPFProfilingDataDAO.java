@@ -22,10 +22,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.apache.skywalking.oap.server.core.analysis.DownSampling;
 import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingDataRecord;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingStackRecord;
 import org.apache.skywalking.oap.server.core.storage.profiling.ebpf.IEBPFProfilingDataDAO;
 import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCClient;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.common.JDBCEntityConverters;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.common.JDBCTableInstaller;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.common.SQLAndParameters;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.common.TableHelper;
@@ -66,6 +69,44 @@ public class JDBCEBPFProfilingDataDAO implements IEBPFProfilingDataDAO {
         return results;
     }
 
+    @Override
+    @SneakyThrows
+    public List<EBPFProfilingStackRecord> queryStacks(List<String> scheduleIdList, long startTimeBucket, long endTimeBucket) {
+        final var tables = tableHelper.getTablesForRead(
+            EBPFProfilingStackRecord.INDEX_NAME, startTimeBucket, endTimeBucket
+        );
+        final var results = new ArrayList<EBPFProfilingStackRecord>();
+
+        for (final var table : tables) {
+            final var sql = new StringBuilder();
+            final var conditions = new StringBuilder();
+            final var parameters = new ArrayList<>(scheduleIdList.size() + 3);
+            sql.append("select * from ").append(table);
+            conditions.append(" where ").append(JDBCTableInstaller.TABLE_COLUMN).append(" = ? ");
+            parameters.add(EBPFProfilingStackRecord.INDEX_NAME);
+
+            appendConditions(conditions, parameters, EBPFProfilingStackRecord.SCHEDULE_ID, scheduleIdList);
+            appendCondition(conditions, parameters, Metrics.TIME_BUCKET, ">=", startTimeBucket);
+            appendCondition(conditions, parameters, Metrics.TIME_BUCKET, "<=", endTimeBucket);
+            sql.append(conditions);
+
+            results.addAll(
+                jdbcClient.executeQuery(
+                    sql.toString(),
+                    resultSet -> {
+                        final var stacks = new ArrayList<EBPFProfilingStackRecord>();
+                        while (resultSet.next()) {
+                            stacks.add(new EBPFProfilingStackRecord.Builder().storage2Entity(JDBCEntityConverters.toEntity(resultSet)));
+                        }
+                        return stacks;
+                    },
+                    parameters.toArray(new Object[0])
+                )
+            );
+        }
+        return results;
+    }
+
     protected SQLAndParameters buildSQL(
         final List<String> scheduleIdList,
         final long beginTime,
@@ -244,6 +244,52 @@ public class JDBCMetadataQueryDAO implements IMetadataQueryDAO {
         return results.stream().limit(limit).collect(toList());
     }
 
+    @Override
+    @SneakyThrows
+    public List<InstanceTraffic> listInstanceTraffics(final long lastPingStartTimeBucket) {
+        final var results = new ArrayList<InstanceTraffic>();
+        final var tables = tableHelper.getTablesWithinTTL(InstanceTraffic.INDEX_NAME);
+
+        for (String table : tables) {
+            final var sql = "select * from " + table + " where "
+                + JDBCTableInstaller.TABLE_COLUMN + " = ? and "
+                + InstanceTraffic.LAST_PING_TIME_BUCKET + " >= ?";
+            results.addAll(
+                jdbcClient.executeQuery(
+                    sql, resultSet -> {
+                        final var traffics = new ArrayList<InstanceTraffic>();
+                        while (resultSet.next()) {
+                            traffics.add(new InstanceTraffic.Builder().storage2Entity(JDBCEntityConverters.toEntity(resultSet)));
+                        }
+                        return traffics;
+                    }, InstanceTraffic.INDEX_NAME, lastPingStartTimeBucket));
+        }
+        return results;
+    }
+
+    @Override
+    @SneakyThrows
+    public List<EndpointTraffic> listEndpointTraffics(final long startTimeBucket) {
+        final var results = new ArrayList<EndpointTraffic>();
+        final var tables = tableHelper.getTablesWithinTTL(EndpointTraffic.INDEX_NAME);
+
+        for (String table : tables) {
+            final var sql = "select * from " + table + " where "
+                + JDBCTableInstaller.TABLE_COLUMN + " = ? and "
+                + EndpointTraffic.TIME_BUCKET + " >= ?";
+            results.addAll(
+                jdbcClient.executeQuery(
+                    sql, resultSet -> {
+                        final var traffics = new ArrayList<EndpointTraffic>();
+                        while (resultSet.next()) {
+                            traffics.add(new EndpointTraffic.Builder().storage2Entity(JDBCEntityConverters.toEntity(resultSet)));
+                        }
+                        return traffics;
+                    }, EndpointTraffic.INDEX_NAME, startTimeBucket));
+        }
+        return results;
+    }
+
     @Override
     @SneakyThrows
     public List<Process> listProcesses(String serviceId, ProfilingSupportStatus supportStatus, long lastPingStartTimeBucket, long lastPingEndTimeBucket) {
@@ -44,21 +44,32 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Slf4j
 public class JDBCSQLExecutor {
+    /**
+     * The statements of a model only differ in the day-suffixed table names. The rest parts, the columns and values of
+     * the INSERT statement and the SET clause of the UPDATE statement, are built once per model.
+     */
+    private static final Map<String, String> INSERT_COLUMNS_AND_VALUES = new ConcurrentHashMap<>();
+    private static final Map<String, String> UPDATE_SET_CLAUSES = new ConcurrentHashMap<>();
+
     protected <T extends StorageData> List<StorageData> getByIDs(JDBCClient h2Client,
                                                                  String modelName,
                                                                  List<String> ids,
                                                                  StorageBuilder<T> storageBuilder) throws Exception {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
         final var tables = getModelTables(h2Client, modelName);
         final var storageDataList = new ArrayList<StorageData>();
 
         for (var table : tables) {
             final var sql = new SQLBuilder("SELECT * FROM " + table + " WHERE id in ")
-                .append(ids.stream().map(it -> "?").collect(Collectors.joining(",", "(", ")")));
+                .append(SQLBuilder.inPlaceholders(ids.size()));
             h2Client.executeQuery(sql.toString(), resultSet -> {
                 StorageData storageData;
                 while ((storageData = toStorageData(resultSet, modelName, storageBuilder)) != null) {
@@ -66,7 +77,7 @@ public class JDBCSQLExecutor {
                 }
 
                 return null;
-            }, ids.toArray());
+            }, SQLBuilder.padInParameters(ids).toArray());
         }
         return storageDataList;
     }
@@ -137,37 +148,36 @@ public class JDBCSQLExecutor {
                                                                     Map<String, Object> objectMap,
                                                                     SessionCacheCallback onCompleteCallback) {
         final var table = TableHelper.getTable(model, timeBucket);
-        final var sqlBuilder = new SQLBuilder("INSERT INTO " + table);
         final var columns = model.getColumns();
-        final var columnNames =
-            Stream.concat(
-                      Stream.of(JDBCTableInstaller.ID_COLUMN, JDBCTableInstaller.TABLE_COLUMN),
-                      columns
-                          .stream()
-                          .map(ModelColumn::getColumnName)
-                          .map(ColumnName::getStorageName))
-                  .collect(Collectors.toList());
-        sqlBuilder.append(columnNames.stream().collect(Collectors.joining(",", "(", ")")));
-        sqlBuilder.append(" VALUES ");
-        sqlBuilder.append(columnNames.stream().map(it -> "?").collect(Collectors.joining(",", "(", ")")));
+        final var columnsAndValues = INSERT_COLUMNS_AND_VALUES.computeIfAbsent(model.getName(), name -> {
+            final var columnNames =
+                Stream.concat(
+                          Stream.of(JDBCTableInstaller.ID_COLUMN, JDBCTableInstaller.TABLE_COLUMN),
+                          columns
+                              .stream()
+                              .map(ModelColumn::getColumnName)
+                              .map(ColumnName::getStorageName))
+                      .collect(Collectors.toList());
+            return new SQLBuilder()
+                .append(columnNames.stream().collect(Collectors.joining(",", "(", ")")))
+                .append(" VALUES ")
+                .append(columnNames.stream().map(it -> "?").collect(Collectors.joining(",", "(", ")")))
+                .toString();
+        });
 
-        final var param =
-            Stream.concat(
-                      Stream.of(TableHelper.generateId(model, metrics.id().build()), model.getName()),
-                      columns
-                          .stream()
-                          .map(ModelColumn::getColumnName)
-                          .map(ColumnName::getName)
-                          .map(objectMap::get)
-                          .map(it -> {
-                              if (it instanceof StorageDataComplexObject) {
-                                  return ((StorageDataComplexObject) it).toStorageData();
-                              }
-                              return it;
-                          }))
-                  .collect(Collectors.toList());
+        final var param = new ArrayList<>(columns.size() + 2);
+        param.add(TableHelper.generateId(model, metrics.id().build()));
+        param.add(model.getName());
+        for (final var column : columns) {
+            final var value = objectMap.get(column.getColumnName().getName());
+            if (value instanceof StorageDataComplexObject) {
+                param.add(((StorageDataComplexObject) value).toStorageData());
+            } else {
+                param.add(value);
+            }
+        }
 
-        return new SQLExecutor(sqlBuilder.toString(), param, onCompleteCallback);
+        return new SQLExecutor("INSERT INTO " + table + columnsAndValues, param, onCompleteCallback);
     }
 
     private <T extends StorageData> List<SQLExecutor> buildAdditionalInsertExecutor(Model model, String tableName,
@@ -230,26 +240,25 @@ public class JDBCSQLExecutor {
         storageBuilder.entity2Storage(metrics, toStorage);
         final var objectMap = toStorage.obtain();
         final var table = TableHelper.getTable(model, timeBucket);
-        final var sqlBuilder = new StringBuilder("UPDATE " + table + " SET ");
         final var columns = model.getColumns();
-        final var queries = new ArrayList<String>();
-        final var param = new ArrayList<>();
+        final var setClause = UPDATE_SET_CLAUSES.computeIfAbsent(
+            model.getName(),
+            name -> columns.stream()
+                           .map(column -> column.getColumnName().getStorageName() + " = ?")
+                           .collect(Collectors.joining(", ", " SET ", " WHERE id = ?"))
+        );
+        final var param = new ArrayList<>(columns.size() + 1);
         for (final var column : columns) {
-            final var columnName = column.getColumnName().getName();
-            queries.add(column.getColumnName().getStorageName() + " = ?");
-
-            final var value = objectMap.get(columnName);
+            final var value = objectMap.get(column.getColumnName().getName());
             if (value instanceof StorageDataComplexObject) {
                 param.add(((StorageDataComplexObject) value).toStorageData());
             } else {
                 param.add(value);
             }
         }
-        sqlBuilder.append(queries.stream().collect(Collectors.joining(", ")));
-        sqlBuilder.append(" WHERE id = ?");
         param.add(TableHelper.generateId(model, metrics.id().build()));
 
-        return new SQLExecutor(sqlBuilder.toString(), param, callback);
+        return new SQLExecutor("UPDATE " + table + setClause, param, callback);
     }
 
     private static ArrayList<String> getModelTables(JDBCClient h2Client, String modelName) throws Exception {
@@ -251,6 +251,34 @@ public class JDBCTraceQueryDAO implements ITraceQueryDAO {
         return segmentRecords;
     }
 
+    @SneakyThrows
+    @Override
+    public List<SegmentRecord> queryByTraceIds(List<String> traceIds) throws IOException {
+        final var tables = tableHelper.getTablesWithinTTL(SegmentRecord.INDEX_NAME);
+        final var segmentRecords = new ArrayList<SegmentRecord>();
+        if (traceIds.isEmpty()) {
+            return segmentRecords;
+        }
+        final ArrayList<String> conditions = new ArrayList<>();
+        conditions.add(SegmentRecord.INDEX_NAME);
+        conditions.addAll(traceIds);
+
+        for (String table : tables) {
+            jdbcClient.executeQuery(
+                DETAIL_SELECT_QUERY + " from " + table + " where " +
+                    JDBCTableInstaller.TABLE_COLUMN + " = ? and " +
+                    SegmentRecord.TRACE_ID + " in " +
+                    traceIds.stream().map(it -> "?").collect(Collectors.joining(",", "(", ")")),
+                resultSet -> {
+                    segmentRecords.addAll(buildRecords(resultSet));
+                    return null;
+                },
+                conditions.toArray()
+            );
+        }
+        return segmentRecords;
+    }
+
     @SneakyThrows
     @Override
     public List<SegmentRecord> queryBySegmentIdList(List<String> segmentIdList) throws IOException {
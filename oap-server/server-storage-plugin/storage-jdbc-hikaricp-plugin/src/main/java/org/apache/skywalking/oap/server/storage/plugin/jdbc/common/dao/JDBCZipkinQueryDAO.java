@@ -46,6 +46,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
 
@@ -275,43 +276,30 @@ public class JDBCZipkinQueryDAO implements IZipkinQueryDAO {
         }
 
         final var tables = tableHelper.getTablesWithinTTL(ZipkinSpanRecord.INDEX_NAME);
-        final var traces = new ArrayList<List<Span>>();
+        // The spans of one trace could be across the tables, group them of all tables.
+        final Map<String, List<Span>> groupedByTraceId = new LinkedHashMap<>();
 
         for (String table : tables) {
             StringBuilder sql = new StringBuilder();
-            List<Object> condition = new ArrayList<>(5);
+            List<Object> condition = new ArrayList<>(traceIds.size() + 1);
             sql.append("select * from ").append(table);
             sql.append(" where ");
             sql.append(JDBCTableInstaller.TABLE_COLUMN).append(" = ?");
             condition.add(ZipkinSpanRecord.INDEX_NAME);
 
-            int i = 0;
-            sql.append(" and ");
-            for (final String traceId : traceIds) {
-                sql.append(ZipkinSpanRecord.TRACE_ID).append(" = ?");
-                condition.add(traceId);
-                if (i != traceIds.size() - 1) {
-                    sql.append(" or ");
-                }
-                i++;
-            }
+            sql.append(" and ").append(ZipkinSpanRecord.TRACE_ID).append(" in ");
+            sql.append(traceIds.stream().map(it -> "?").collect(Collectors.joining(",", "(", ")")));
+            condition.addAll(traceIds);
 
             sql.append(" order by ").append(ZipkinSpanRecord.TIMESTAMP_MILLIS).append(" desc");
 
-            traces.addAll(
-                h2Client.executeQuery(sql.toString(), this::buildTraces, condition.toArray(new Object[0]))
-            );
-        }
-        return traces;
-    }
-
-    private List<List<Span>> buildTraces(ResultSet resultSet) throws SQLException {
-        Map<String, List<Span>> groupedByTraceId = new LinkedHashMap<String, List<Span>>();
-        while (resultSet.next()) {
-            Span span = buildSpan(resultSet);
-            String traceId = span.traceId();
-            groupedByTraceId.putIfAbsent(traceId, new ArrayList<>());
-            groupedByTraceId.get(traceId).add(span);
+            h2Client.executeQuery(sql.toString(), resultSet -> {
+                while (resultSet.next()) {
+                    Span span = buildSpan(resultSet);
+                    groupedByTraceId.computeIfAbsent(span.traceId(), id -> new ArrayList<>()).add(span);
+                }
+                return null;
+            }, condition.toArray(new Object[0]));
         }
         return new ArrayList<>(groupedByTraceId.values());
     }
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SQLBuilderTest {
+    @Test
+    public void testInPlaceholders() {
+        assertEquals("(?)", SQLBuilder.inPlaceholders(1));
+        assertEquals("(?,?)", SQLBuilder.inPlaceholders(2));
+        assertEquals("(?,?,?,?)", SQLBuilder.inPlaceholders(3));
+        assertEquals("(?,?,?,?)", SQLBuilder.inPlaceholders(4));
+        assertEquals(2048 * 2 + 1, SQLBuilder.inPlaceholders(2000).length());
+        assertSame(SQLBuilder.inPlaceholders(5), SQLBuilder.inPlaceholders(8));
+        assertThrows(IllegalArgumentException.class, () -> SQLBuilder.inPlaceholders(0));
+    }
+
+    @Test
+    public void testPadInParameters() {
+        assertEquals(Collections.singletonList("a"), SQLBuilder.padInParameters(Collections.singletonList("a")));
+        assertEquals(Arrays.asList("a", "b", "c", "c"), SQLBuilder.padInParameters(Arrays.asList("a", "b", "c")));
+        assertEquals(Arrays.asList("a", "b", "c", "d"), SQLBuilder.padInParameters(Arrays.asList("a", "b", "c", "d")));
+    }
+}
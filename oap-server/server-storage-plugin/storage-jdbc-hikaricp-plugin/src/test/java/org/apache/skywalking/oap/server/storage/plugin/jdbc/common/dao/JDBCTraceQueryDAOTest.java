@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.common.dao;
+
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCClient;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.common.JDBCTableInstaller;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.common.TableHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JDBCTraceQueryDAOTest {
+    private static final List<String> TABLES = Arrays.asList("segment_20230317", "segment_20230318");
+
+    private JDBCClient jdbcClient;
+    private JDBCTraceQueryDAO traceQueryDAO;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        final var properties = new Properties();
+        properties.setProperty("jdbcUrl", "jdbc:h2:mem:trace_query;DB_CLOSE_DELAY=-1");
+        properties.setProperty("dataSource.user", "sa");
+
+        jdbcClient = new JDBCClient(properties);
+        jdbcClient.connect();
+
+        final var tableHelper = mock(TableHelper.class);
+        when(tableHelper.getTablesWithinTTL(SegmentRecord.INDEX_NAME)).thenReturn(TABLES);
+        traceQueryDAO = new JDBCTraceQueryDAO(mock(ModuleManager.class), jdbcClient, tableHelper);
+
+        for (final String table : TABLES) {
+            jdbcClient.execute("create table " + table + " (" +
+                                   JDBCTableInstaller.TABLE_COLUMN + " varchar(100), " +
+                                   SegmentRecord.SEGMENT_ID + " varchar(100), " +
+                                   SegmentRecord.TRACE_ID + " varchar(100), " +
+                                   SegmentRecord.ENDPOINT_ID + " varchar(100), " +
+                                   SegmentRecord.SERVICE_ID + " varchar(100), " +
+                                   SegmentRecord.SERVICE_INSTANCE_ID + " varchar(100), " +
+                                   SegmentRecord.START_TIME + " bigint, " +
+                                   SegmentRecord.LATENCY + " int, " +
+                                   SegmentRecord.IS_ERROR + " int, " +
+                                   SegmentRecord.DATA_BINARY + " varchar(1000))");
+        }
+        insertSegment(TABLES.get(0), "segment-1", "trace-1");
+        insertSegment(TABLES.get(1), "segment-2", "trace-1");
+        insertSegment(TABLES.get(1), "segment-3", "trace-2");
+        insertSegment(TABLES.get(1), "segment-4", "trace-3");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (final String table : TABLES) {
+            jdbcClient.execute("drop table " + table);
+        }
+        jdbcClient.shutdown();
+    }
+
+    @Test
+    void queryByTraceIds() throws IOException {
+        final List<String> segmentIds = segmentIds(traceQueryDAO.queryByTraceIds(Arrays.asList("trace-1", "trace-2")));
+
+        // The segments of a trace could be in different daily tables.
+        assertThat(segmentIds).containsExactlyInAnyOrder("segment-1", "segment-2", "segment-3");
+        final List<String> segmentIdsPerTrace = segmentIds(traceQueryDAO.queryByTraceId("trace-1"));
+        segmentIdsPerTrace.addAll(segmentIds(traceQueryDAO.queryByTraceId("trace-2")));
+        assertThat(segmentIds).containsExactlyInAnyOrderElementsOf(segmentIdsPerTrace);
+
+        assertThat(traceQueryDAO.queryByTraceIds(Collections.singletonList("trace-absent"))).isEmpty();
+        assertThat(traceQueryDAO.queryByTraceIds(Collections.emptyList())).isEmpty();
+    }
+
+    private static List<String> segmentIds(final List<SegmentRecord> segments) {
+        return segments.stream().map(SegmentRecord::getSegmentId).collect(toList());
+    }
+
+    private void insertSegment(final String table, final String segmentId, final String traceId) throws SQLException {
+        jdbcClient.executeUpdate(
+            "insert into " + table + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            SegmentRecord.INDEX_NAME, segmentId, traceId, "endpoint", "service", "instance", 1L, 10, 0, ""
+        );
+    }
+}
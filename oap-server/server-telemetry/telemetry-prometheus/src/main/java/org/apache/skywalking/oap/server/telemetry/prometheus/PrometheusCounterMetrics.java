@@ -18,37 +18,28 @@
 
 package org.apache.skywalking.oap.server.telemetry.prometheus;
 
-import io.prometheus.client.Counter;
 import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
 /**
  * Counter metrics in Prometheus implementor.
  */
-public class PrometheusCounterMetrics extends BaseMetrics<Counter, Counter.Child> implements CounterMetrics {
+public class PrometheusCounterMetrics implements CounterMetrics {
+    private final StripedCounterCollector.Child metrics;
 
     public PrometheusCounterMetrics(String name, String tips, MetricsTag.Keys labels, MetricsTag.Values values) {
-        super(name, tips, labels, values);
+        this.metrics = StripedCollector.getOrRegister(
+            name, StripedCounterCollector.class, () -> new StripedCounterCollector(name, tips, labels)
+        ).child(values);
     }
 
     @Override
     public void inc() {
-        Counter.Child metrics = this.getMetric();
-        if (metrics != null) {
-            metrics.inc();
-        }
+        metrics.inc();
     }
 
     @Override
     public void inc(double value) {
-        Counter.Child metrics = this.getMetric();
-        if (metrics != null) {
-            metrics.inc(value);
-        }
-    }
-
-    @Override
-    protected Counter create(String[] labelNames) {
-        return Counter.build().name(name).help(tips).labelNames(labelNames).register();
+        metrics.inc(value);
     }
 }
@@ -18,7 +18,6 @@
 
 package org.apache.skywalking.oap.server.telemetry.prometheus;
 
-import io.prometheus.client.Histogram;
 import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
@@ -26,35 +25,17 @@ import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
  * HistogramMetrics metrics in Prometheus implementor.
  */
 public class PrometheusHistogramMetrics extends HistogramMetrics {
-    private InnerMetricObject inner;
-    private final double[] buckets;
+    private final StripedHistogramCollector.Child metrics;
 
     public PrometheusHistogramMetrics(String name, String tips, MetricsTag.Keys labels, MetricsTag.Values values,
         double... buckets) {
-        inner = new InnerMetricObject(name, tips, labels, values);
-        this.buckets = buckets;
+        this.metrics = StripedCollector.getOrRegister(
+            name, StripedHistogramCollector.class, () -> new StripedHistogramCollector(name, tips, labels, buckets)
+        ).child(values);
     }
 
     @Override
     public void observe(double value) {
-        Histogram.Child metrics = inner.getMetric();
-        if (metrics != null) {
-            metrics.observe(value);
-        }
-    }
-
-    class InnerMetricObject extends BaseMetrics<Histogram, Histogram.Child> {
-        public InnerMetricObject(String name, String tips, MetricsTag.Keys labels, MetricsTag.Values values) {
-            super(name, tips, labels, values);
-        }
-
-        @Override
-        protected Histogram create(String[] labelNames) {
-            Histogram.Builder builder = Histogram.build().name(name).help(tips);
-            if (builder != null && buckets.length > 0) {
-                builder = builder.buckets(buckets);
-            }
-            return builder.labelNames(labelNames).register();
-        }
+        metrics.observe(value);
     }
 }
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.telemetry.prometheus;
+
+import io.prometheus.client.Collector;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.apache.skywalking.oap.server.telemetry.api.TelemetryRelatedContext;
+
+/**
+ * StripedCollector is a Prometheus collector of a metric family, whose children are resolved once the metrics are
+ * created and record the values through the striped cells, {@link java.util.concurrent.atomic.LongAdder} and {@link
+ * java.util.concurrent.atomic.DoubleAdder}. The recording has no lock, volatile check or object creation, the cells
+ * are summed up when the family is collected.
+ *
+ * The SkyWalking native label, sw_backend_instance, is added in collecting, as the instance ID is not ready when most
+ * of the metrics are created. Nothing is collected before the ID is set, as same as the lazily resolved {@link
+ * BaseMetrics}.
+ *
+ * @param <C> the type of the children.
+ */
+public abstract class StripedCollector<C> extends Collector implements Collector.Describable {
+    private static final Map<String, StripedCollector<?>> ALL_COLLECTORS = new ConcurrentHashMap<>();
+    private static final String INSTANCE_LABEL = "sw_backend_instance";
+
+    protected final String name;
+    protected final String help;
+    private final List<String> labelNames;
+    private final Map<List<String>, C> children = new ConcurrentHashMap<>();
+
+    protected StripedCollector(String name, String help, MetricsTag.Keys labels) {
+        this.name = name;
+        this.help = help;
+        List<String> labelNames = new ArrayList<>(labels.getKeys().length + 1);
+        labelNames.add(INSTANCE_LABEL);
+        labelNames.addAll(Arrays.asList(labels.getKeys()));
+        this.labelNames = Collections.unmodifiableList(labelNames);
+    }
+
+    /**
+     * Get the registered collector of the name, or create and register it to the default registry. Metrics name
+     * should be unique, the first created collector decides the label names and other settings.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends StripedCollector<?>> T getOrRegister(String name, Class<T> type, Supplier<T> creator) {
+        final StripedCollector<?> collector = ALL_COLLECTORS.computeIfAbsent(name, n -> creator.get().register());
+        if (!type.isInstance(collector)) {
+            throw new IllegalArgumentException(
+                "Metrics " + name + " has been registered as " + collector.getClass().getSimpleName());
+        }
+        return (T) collector;
+    }
+
+    /**
+     * @return the child of the label values, the metrics created with the same label values share the child.
+     */
+    C child(MetricsTag.Values values) {
+        if (values.getValues().length != labelNames.size() - 1) {
+            throw new IllegalArgumentException("Incorrect number of labels of metrics " + name);
+        }
+        return children.computeIfAbsent(Arrays.asList(values.getValues()), v -> newChild());
+    }
+
+    protected abstract C newChild();
+
+    protected abstract Type type();
+
+    /**
+     * Add the samples of the child into the list.
+     */
+    protected abstract void collect(C child, List<String> labelNames, List<String> labelValues,
+                                    List<MetricFamilySamples.Sample> samples);
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        final String instanceId = TelemetryRelatedContext.INSTANCE.getId();
+        if (instanceId == null) {
+            return Collections.emptyList();
+        }
+        final List<MetricFamilySamples.Sample> samples = new ArrayList<>();
+        children.forEach((values, child) -> {
+            final List<String> labelValues = new ArrayList<>(values.size() + 1);
+            labelValues.add(instanceId);
+            labelValues.addAll(values);
+            collect(child, labelNames, labelValues, samples);
+        });
+        return Collections.singletonList(new MetricFamilySamples(name, type(), help, samples));
+    }
+
+    @Override
+    public List<MetricFamilySamples> describe() {
+        return Collections.singletonList(
+            new MetricFamilySamples(name, type(), help, Collections.emptyList()));
+    }
+}
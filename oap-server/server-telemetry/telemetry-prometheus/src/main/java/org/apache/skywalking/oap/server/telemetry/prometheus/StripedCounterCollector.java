@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.telemetry.prometheus;
+
+import java.util.List;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+
+/**
+ * The counter family of {@link PrometheusCounterMetrics}.
+ */
+public class StripedCounterCollector extends StripedCollector<StripedCounterCollector.Child> {
+    StripedCounterCollector(String name, String help, MetricsTag.Keys labels) {
+        super(name, help, labels);
+    }
+
+    @Override
+    protected Child newChild() {
+        return new Child();
+    }
+
+    @Override
+    protected Type type() {
+        return Type.COUNTER;
+    }
+
+    @Override
+    protected void collect(Child child, List<String> labelNames, List<String> labelValues,
+                           List<MetricFamilySamples.Sample> samples) {
+        samples.add(new MetricFamilySamples.Sample(name, labelNames, labelValues, child.get()));
+    }
+
+    public static class Child {
+        /**
+         * The increments by 1, the most common case, are counted separately to avoid the double CAS.
+         */
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder amount = new DoubleAdder();
+
+        public void inc() {
+            count.increment();
+        }
+
+        public void inc(double value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Amount to increment must be non-negative.");
+            }
+            amount.add(value);
+        }
+
+        public double get() {
+            return count.sum() + amount.sum();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.telemetry.prometheus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+
+/**
+ * The histogram family of {@link PrometheusHistogramMetrics}. Every bucket of a child counts the observations in
+ * itself only, the cumulative counts are calculated in collecting.
+ */
+public class StripedHistogramCollector extends StripedCollector<StripedHistogramCollector.Child> {
+    /**
+     * The default buckets of the Prometheus client.
+     */
+    private static final double[] DEFAULT_BUCKETS = {
+        .005, .01, .025, .05, .075, .1, .25, .5, .75, 1, 2.5, 5, 7.5, 10
+    };
+
+    private final double[] upperBounds;
+    private final String[] upperBoundLabels;
+
+    StripedHistogramCollector(String name, String help, MetricsTag.Keys labels, double... buckets) {
+        super(name, help, labels);
+        for (String label : labels.getKeys()) {
+            if ("le".equals(label)) {
+                throw new IllegalArgumentException("Histogram cannot have a label named 'le'.");
+            }
+        }
+        if (buckets == null || buckets.length == 0) {
+            buckets = DEFAULT_BUCKETS;
+        }
+        for (int i = 0; i < buckets.length - 1; i++) {
+            if (buckets[i] >= buckets[i + 1]) {
+                throw new IllegalStateException("Histogram buckets must be in increasing order: "
+                                                    + buckets[i] + " >= " + buckets[i + 1]);
+            }
+        }
+        if (buckets[buckets.length - 1] == Double.POSITIVE_INFINITY) {
+            upperBounds = buckets.clone();
+        } else {
+            upperBounds = Arrays.copyOf(buckets, buckets.length + 1);
+            upperBounds[buckets.length] = Double.POSITIVE_INFINITY;
+        }
+        upperBoundLabels = new String[upperBounds.length];
+        for (int i = 0; i < upperBounds.length; i++) {
+            upperBoundLabels[i] = doubleToGoString(upperBounds[i]);
+        }
+    }
+
+    @Override
+    protected Child newChild() {
+        return new Child(upperBounds);
+    }
+
+    @Override
+    protected Type type() {
+        return Type.HISTOGRAM;
+    }
+
+    @Override
+    protected void collect(Child child, List<String> labelNames, List<String> labelValues,
+                           List<MetricFamilySamples.Sample> samples) {
+        final List<String> bucketLabelNames = new ArrayList<>(labelNames);
+        bucketLabelNames.add("le");
+        long cumulativeCount = 0;
+        for (int i = 0; i < upperBounds.length; i++) {
+            cumulativeCount += child.counts[i].sum();
+            final List<String> bucketLabelValues = new ArrayList<>(labelValues);
+            bucketLabelValues.add(upperBoundLabels[i]);
+            samples.add(new MetricFamilySamples.Sample(
+                name + "_bucket", bucketLabelNames, bucketLabelValues, cumulativeCount));
+        }
+        samples.add(new MetricFamilySamples.Sample(name + "_count", labelNames, labelValues, cumulativeCount));
+        samples.add(new MetricFamilySamples.Sample(name + "_sum", labelNames, labelValues, child.sum.sum()));
+    }
+
+    public static class Child {
+        private final double[] upperBounds;
+        private final LongAdder[] counts;
+        private final DoubleAdder sum = new DoubleAdder();
+
+        private Child(double[] upperBounds) {
+            this.upperBounds = upperBounds;
+            this.counts = new LongAdder[upperBounds.length];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        public void observe(double value) {
+            int bucket = Arrays.binarySearch(upperBounds, value);
+            if (bucket < 0) {
+                // The insertion point is the first upper bound greater than the value.
+                // NaN is sorted after the +Inf, and counted in the +Inf bucket.
+                bucket = Math.min(-bucket - 1, upperBounds.length - 1);
+            }
+            counts[bucket].increment();
+            sum.add(value);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.telemetry.prometheus;
+
+import io.prometheus.client.CollectorRegistry;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.apache.skywalking.oap.server.telemetry.api.TelemetryRelatedContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class PrometheusMetricsCreatorTest {
+    private static final String INSTANCE = "oap-0";
+
+    private final MetricsCreator creator = new PrometheusMetricsCreator();
+
+    @BeforeAll
+    public static void setup() {
+        TelemetryRelatedContext.INSTANCE.setId(INSTANCE);
+    }
+
+    @Test
+    public void testCounter() {
+        CounterMetrics first = creator.createCounter(
+            "test_counter", "test", new MetricsTag.Keys("status"), new MetricsTag.Values("new"));
+        CounterMetrics shared = creator.createCounter(
+            "test_counter", "test", new MetricsTag.Keys("status"), new MetricsTag.Values("new"));
+        CounterMetrics other = creator.createCounter(
+            "test_counter", "test", new MetricsTag.Keys("status"), new MetricsTag.Values("cached"));
+        first.inc();
+        shared.inc(2.5);
+        other.inc();
+
+        Assertions.assertEquals(3.5, sample("test_counter", new String[] {"sw_backend_instance", "status"},
+                                            new String[] {INSTANCE, "new"}));
+        Assertions.assertEquals(1, sample("test_counter", new String[] {"sw_backend_instance", "status"},
+                                          new String[] {INSTANCE, "cached"}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> first.inc(-1));
+    }
+
+    @Test
+    public void testHistogram() {
+        HistogramMetrics histogram = creator.createHistogramMetric(
+            "test_histogram", "test", new MetricsTag.Keys("level"), new MetricsTag.Values("1"), 1, 5);
+        histogram.observe(0.5);
+        histogram.observe(1);
+        histogram.observe(3);
+        histogram.observe(10);
+
+        String[] bucketLabels = {"sw_backend_instance", "level", "le"};
+        Assertions.assertEquals(2, sample("test_histogram_bucket", bucketLabels, new String[] {INSTANCE, "1", "1.0"}));
+        Assertions.assertEquals(3, sample("test_histogram_bucket", bucketLabels, new String[] {INSTANCE, "1", "5.0"}));
+        Assertions.assertEquals(4, sample("test_histogram_bucket", bucketLabels, new String[] {INSTANCE, "1", "+Inf"}));
+
+        String[] labels = {"sw_backend_instance", "level"};
+        Assertions.assertEquals(4, sample("test_histogram_count", labels, new String[] {INSTANCE, "1"}));
+        Assertions.assertEquals(14.5, sample("test_histogram_sum", labels, new String[] {INSTANCE, "1"}));
+    }
+
+    @Test
+    public void testConflictType() {
+        creator.createCounter("test_conflict", "test", MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> creator.createHistogramMetric(
+            "test_conflict", "test", MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE));
+    }
+
+    private static Double sample(String name, String[] labelNames, String[] labelValues) {
+        return CollectorRegistry.defaultRegistry.getSampleValue(name, labelNames, labelValues);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.benchmark;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * BenchmarkReport includes the sustained throughput, the latency of the stages and the allocation rate in the
+ * measurement. The latency is in millisecond.
+ *
+ * The stages are
+ * <pre>
+ * receive: the generators send the data into the analyzers, including the analysis and L1 enqueue.
+ * L1:      the L1 aggregation merges a batch of metrics.
+ * remote:  the remote service receives the metrics from the L1 aggregation of the OAP nodes.
+ * L2:      the L2 aggregation merges a batch of metrics.
+ * persist: the persistence timer prepares and executes the bulk of the storage.
+ * </pre>
+ * The stages other than receive are read from the telemetry, which requires the prometheus telemetry provider.
+ */
+@Getter
+public class BenchmarkReport {
+    private final double durationSeconds;
+    private final List<WorkloadReport> workloads = new ArrayList<>();
+    private final Map<String, LatencyReport> stages = new LinkedHashMap<>();
+    private final Map<String, Double> rowsPerSecond = new LinkedHashMap<>();
+    /**
+     * -1 if not supported by the JVM.
+     */
+    private final double allocatedBytesPerSecond;
+    private final double gcPerSecond;
+    /**
+     * The ratio of the time of GC in the measurement.
+     */
+    private final double gcTimeRatio;
+
+    BenchmarkReport(List<Workload> workloadList, BenchmarkSnapshot start, BenchmarkSnapshot end) {
+        final long nanos = end.getNanoTime() - start.getNanoTime();
+        final double seconds = nanos / (double) TimeUnit.SECONDS.toNanos(1);
+        durationSeconds = seconds;
+
+        Distribution receive = Distribution.EMPTY;
+        for (final Workload workload : workloadList) {
+            final Workload.State state = end.getWorkloads().get(workload.getName())
+                                            .minus(start.getWorkloads().get(workload.getName()));
+            workloads.add(new WorkloadReport(
+                workload.getName(), workload.getRate(), state.perSecond(nanos), state.getFailures(),
+                new LatencyReport(state.getLatency())
+            ));
+            receive = receive.plus(state.getLatency());
+        }
+        stages.put("receive", new LatencyReport(receive));
+        stages.put("L1", stage(start, end, "metrics_aggregation_latency", ImmutableMap.of("level", "1")));
+        stages.put("remote", stage(start, end, "remote_in_latency", ImmutableMap.of()));
+        stages.put("L2", stage(start, end, "metrics_aggregation_latency", ImmutableMap.of("level", "2")));
+        stages.put("persist", stage(start, end, "persistence_timer_bulk_all_latency", ImmutableMap.of()));
+        stages.put("persist-prepare", stage(start, end, "persistence_timer_bulk_prepare_latency", ImmutableMap.of()));
+        stages.put("persist-execute", stage(start, end, "persistence_timer_bulk_execute_latency", ImmutableMap.of()));
+
+        rowsPerSecond.put("L1", counter(start, end, "metrics_aggregation", "1") / seconds);
+        rowsPerSecond.put("L2", counter(start, end, "metrics_aggregation", "2") / seconds);
+        rowsPerSecond.put("persist", (end.getPersistedRows() - start.getPersistedRows()) / seconds);
+
+        allocatedBytesPerSecond = start.getAllocatedBytes() < 0 || end.getAllocatedBytes() < 0
+            ? -1 : (end.getAllocatedBytes() - start.getAllocatedBytes()) / seconds;
+        gcPerSecond = (end.getGcCount() - start.getGcCount()) / seconds;
+        gcTimeRatio = (end.getGcMillis() - start.getGcMillis()) / (double) TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static LatencyReport stage(BenchmarkSnapshot start, BenchmarkSnapshot end,
+                                       String name, Map<String, String> labels) {
+        return new LatencyReport(end.histogram(name, labels).minus(start.histogram(name, labels)));
+    }
+
+    private static double counter(BenchmarkSnapshot start, BenchmarkSnapshot end, String name, String level) {
+        final Map<String, String> labels = ImmutableMap.of("level", level, "dimensionality", "minute");
+        return end.counter(name, labels) - start.counter(name, labels);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class WorkloadReport {
+        private final String name;
+        private final int targetRate;
+        private final double achievedRate;
+        private final long failures;
+        private final LatencyReport receiveLatency;
+    }
+
+    @Getter
+    public static class LatencyReport {
+        private final long count;
+        private final double mean;
+        private final double p50;
+        private final double p90;
+        private final double p99;
+
+        LatencyReport(Distribution distribution) {
+            count = distribution.getCount();
+            mean = toMillis(distribution.mean());
+            p50 = toMillis(distribution.quantile(0.5));
+            p90 = toMillis(distribution.quantile(0.9));
+            p99 = toMillis(distribution.quantile(0.99));
+        }
+
+        private static double toMillis(double seconds) {
+            return seconds * 1000;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.CharStreams;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.benchmark.storage.BenchmarkBatchDAO;
+import org.apache.skywalking.module.DataGeneratorConfig;
+import org.apache.skywalking.oap.server.analyzer.module.AnalyzerModule;
+import org.apache.skywalking.oap.server.analyzer.provider.meter.process.IMeterProcessService;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.ISegmentParserService;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.source.SourceReceiver;
+import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
+import org.apache.skywalking.oap.server.core.storage.StorageModule;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.server.pool.CustomThreadFactory;
+import org.apache.skywalking.oap.server.library.util.ResourceUtils;
+import org.apache.skywalking.oap.server.library.util.StringUtil;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCollector;
+import org.apache.skywalking.restapi.LogRequest;
+import org.apache.skywalking.restapi.SegmentRequest;
+
+/**
+ * BenchmarkRunner drives the generated segments, logs and meters into the OAP core in process at the configured rates,
+ * and reports the sustained throughput, the latency of the stages and the allocation rate after the measurement.
+ *
+ * Use the {@code benchmark} storage to measure the capacity of the OAP core only, and the {@code prometheus} telemetry
+ * to report the latency of the stages other than receive.
+ */
+@Slf4j
+public class BenchmarkRunner {
+    private static final long TICK_MILLIS = 100;
+
+    private final DataGeneratorConfig config;
+    private final MetricsCollector metricsCollector;
+    private final IBatchDAO batchDAO;
+    private final List<Workload> workloads = new ArrayList<>();
+
+    public BenchmarkRunner(ModuleManager manager, DataGeneratorConfig config) throws IOException {
+        this.config = config;
+        if (config.getBenchmarkSegmentRate() > 0) {
+            final ISegmentParserService segmentParserService =
+                manager.find(AnalyzerModule.NAME).provider().getService(ISegmentParserService.class);
+            final String template = readTemplate(config.getBenchmarkSegmentTemplate());
+            workloads.add(new Workload("segment", config.getBenchmarkSegmentRate(), () -> {
+                final SegmentRequest request = parseTemplate(template, SegmentRequest.class);
+                request.init("");
+                return () -> request.next(null).forEach(segment -> segmentParserService.send(segment.getSegmentObject()));
+            }));
+        }
+        if (config.getBenchmarkLogRate() > 0) {
+            final SourceReceiver sourceReceiver =
+                manager.find(CoreModule.NAME).provider().getService(SourceReceiver.class);
+            final String template = readTemplate(config.getBenchmarkLogTemplate());
+            workloads.add(new Workload("log", config.getBenchmarkLogRate(), () -> {
+                final LogRequest request = parseTemplate(template, LogRequest.class);
+                return () -> sourceReceiver.receive(request.next(null));
+            }));
+        }
+        if (config.getBenchmarkMeterRate() > 0) {
+            final IMeterProcessService meterProcessService =
+                manager.find(AnalyzerModule.NAME).provider().getService(IMeterProcessService.class);
+            final MeterGenerator generator = new MeterGenerator(meterProcessService);
+            workloads.add(new Workload("meter", config.getBenchmarkMeterRate(), () -> generator));
+        }
+
+        metricsCollector = manager.find(TelemetryModule.NAME).provider().getService(MetricsCollector.class);
+        batchDAO = manager.find(StorageModule.NAME).provider().getService(IBatchDAO.class);
+    }
+
+    /**
+     * The template is read from the file system, or the classpath if the file doesn't exist.
+     */
+    private static String readTemplate(String template) throws IOException {
+        final File file = new File(template);
+        if (file.isFile()) {
+            return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        }
+        try (Reader reader = ResourceUtils.read(template)) {
+            return CharStreams.toString(reader);
+        }
+    }
+
+    /**
+     * The generators are not thread safe, every ticker uses its own generators parsed from the template.
+     */
+    @SneakyThrows
+    private static <T> T parseTemplate(String template, Class<T> type) {
+        return new ObjectMapper().readValue(template, type);
+    }
+
+    public void start() {
+        if (workloads.isEmpty()) {
+            log.warn("The benchmark is enabled, but no data to generate.");
+            return;
+        }
+        if (!(batchDAO instanceof BenchmarkBatchDAO)) {
+            log.warn("The benchmark runs with the storage {}, the capacity of the storage is included.",
+                     batchDAO.getClass().getSimpleName());
+        }
+        final Thread thread = new Thread(this::run, "benchmark-runner");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        final int threads = Math.max(config.getBenchmarkThreads(), 1);
+        final ScheduledExecutorService executor =
+            Executors.newScheduledThreadPool(threads * workloads.size(), new CustomThreadFactory("benchmark"));
+        for (final Workload workload : workloads) {
+            for (int i = 0; i < threads; i++) {
+                final int share = workload.getRate() / threads + (i < workload.getRate() % threads ? 1 : 0);
+                executor.scheduleAtFixedRate(
+                    workload.newTicker(share, TICK_MILLIS), 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+        try {
+            log.info("Benchmark warms up for {} seconds", config.getBenchmarkWarmupSeconds());
+            TimeUnit.SECONDS.sleep(config.getBenchmarkWarmupSeconds());
+            final BenchmarkSnapshot start = snapshot();
+            log.info("Benchmark measures for {} seconds", config.getBenchmarkDurationSeconds());
+            TimeUnit.SECONDS.sleep(config.getBenchmarkDurationSeconds());
+            final BenchmarkSnapshot end = snapshot();
+            report(new BenchmarkReport(workloads, start, end));
+        } catch (InterruptedException e) {
+            log.warn("Benchmark is interrupted");
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BenchmarkSnapshot snapshot() {
+        final long persistedRows =
+            batchDAO instanceof BenchmarkBatchDAO ? ((BenchmarkBatchDAO) batchDAO).getPersistedRows() : 0;
+        return BenchmarkSnapshot.take(workloads, metricsCollector, persistedRows);
+    }
+
+    private void report(BenchmarkReport report) {
+        try {
+            final ObjectMapper objectMapper = new ObjectMapper();
+            final String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+            log.info("Benchmark report:\n{}", json);
+            if (StringUtil.isNotEmpty(config.getBenchmarkReportFile())) {
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(config.getBenchmarkReportFile()), report);
+            }
+        } catch (IOException e) {
+            log.error("Failed to write the benchmark report", e);
+        }
+    }
+}
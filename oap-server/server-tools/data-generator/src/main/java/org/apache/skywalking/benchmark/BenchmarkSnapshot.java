@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.server.telemetry.api.MetricFamily;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCollector;
+
+/**
+ * BenchmarkSnapshot is the state of the workloads, the telemetry and the JVM at a moment, the report is the difference
+ * between the snapshots of the start and the end of the measurement.
+ */
+@Getter
+@RequiredArgsConstructor
+class BenchmarkSnapshot {
+    private final long nanoTime;
+    private final Map<String, Workload.State> workloads;
+    private final List<MetricFamily> telemetry;
+    private final long persistedRows;
+    /**
+     * The allocated bytes of all live threads, -1 if not supported by the JVM.
+     */
+    private final long allocatedBytes;
+    private final long gcCount;
+    private final long gcMillis;
+
+    static BenchmarkSnapshot take(List<Workload> workloads, MetricsCollector collector, long persistedRows) {
+        final Map<String, Workload.State> states = new LinkedHashMap<>();
+        workloads.forEach(workload -> states.put(workload.getName(), workload.snapshot()));
+        final List<MetricFamily> telemetry = new ArrayList<>();
+        collector.collect().forEach(telemetry::add);
+
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(gc.getCollectionCount(), 0);
+            gcMillis += Math.max(gc.getCollectionTime(), 0);
+        }
+        return new BenchmarkSnapshot(
+            System.nanoTime(), states, telemetry, persistedRows, allocatedBytes(), gcCount, gcMillis);
+    }
+
+    private static long allocatedBytes() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        final com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (!allocation.isThreadAllocatedMemorySupported() || !allocation.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long sum = 0;
+        for (final long bytes : allocation.getThreadAllocatedBytes(allocation.getAllThreadIds())) {
+            sum += Math.max(bytes, 0);
+        }
+        return sum;
+    }
+
+    Distribution histogram(String name, Map<String, String> labels) {
+        return Distribution.fromTelemetry(telemetry, name, labels);
+    }
+
+    /**
+     * @return the sum of the counter samples, whose labels include the given ones.
+     */
+    double counter(String name, Map<String, String> labels) {
+        double sum = 0;
+        for (final MetricFamily family : telemetry) {
+            if (!name.equals(family.name)) {
+                continue;
+            }
+            for (final MetricFamily.Sample sample : family.samples) {
+                if (Distribution.matches(sample, labels)) {
+                    sum += sample.value;
+                }
+            }
+        }
+        return sum;
+    }
+}
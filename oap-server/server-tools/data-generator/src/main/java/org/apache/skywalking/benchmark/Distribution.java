@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.server.telemetry.api.MetricFamily;
+
+/**
+ * Distribution is the snapshot of a latency histogram, the counts are not cumulative, and the latency is in second.
+ */
+@RequiredArgsConstructor
+public class Distribution {
+    public static final Distribution EMPTY = new Distribution(new double[0], new long[0], 0);
+
+    /**
+     * The upper bounds of the buckets in ascending order.
+     */
+    private final double[] bounds;
+    private final long[] counts;
+    @Getter
+    private final double sum;
+
+    public long getCount() {
+        return Arrays.stream(counts).sum();
+    }
+
+    /**
+     * @return the mean latency, or 0 if no observation.
+     */
+    public double mean() {
+        final long count = getCount();
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /**
+     * @param quantile in (0, 1].
+     * @return the upper bound of the bucket including the quantile, or 0 if no observation.
+     */
+    public double quantile(double quantile) {
+        final long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        final double rank = quantile * count;
+        long accumulated = 0;
+        for (int i = 0; i < counts.length; i++) {
+            accumulated += counts[i];
+            if (accumulated >= rank) {
+                return bounds[i];
+            }
+        }
+        return bounds[bounds.length - 1];
+    }
+
+    /**
+     * @return the observations after the previous snapshot.
+     */
+    public Distribution minus(Distribution previous) {
+        if (previous.counts.length != counts.length) {
+            return this;
+        }
+        final long[] delta = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            delta[i] = counts[i] - previous.counts[i];
+        }
+        return new Distribution(bounds, delta, sum - previous.sum);
+    }
+
+    /**
+     * @return the observations of both distributions, which have the same bounds.
+     */
+    public Distribution plus(Distribution other) {
+        if (counts.length == 0) {
+            return other;
+        }
+        if (other.counts.length != counts.length) {
+            return this;
+        }
+        final long[] merged = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            merged[i] = counts[i] + other.counts[i];
+        }
+        return new Distribution(bounds, merged, sum + other.sum);
+    }
+
+    /**
+     * Merge the histogram samples of the family, whose labels include the given ones, into one distribution.
+     *
+     * @param families of the telemetry.
+     * @param name     of the histogram.
+     * @param labels   to match, such as {@code level=1}.
+     */
+    public static Distribution fromTelemetry(Iterable<MetricFamily> families, String name, Map<String, String> labels) {
+        final TreeMap<Double, Long> cumulativeCounts = new TreeMap<>();
+        double sum = 0;
+        for (final MetricFamily family : families) {
+            if (!name.equals(family.name)) {
+                continue;
+            }
+            for (final MetricFamily.Sample sample : family.samples) {
+                if (!matches(sample, labels)) {
+                    continue;
+                }
+                if (sample.name.equals(name + "_bucket")) {
+                    final String le = sample.labelValues.get(sample.labelNames.indexOf("le"));
+                    final double bound = "+Inf".equals(le) ? Double.POSITIVE_INFINITY : Double.parseDouble(le);
+                    cumulativeCounts.merge(bound, (long) sample.value, Long::sum);
+                } else if (sample.name.equals(name + "_sum")) {
+                    sum += sample.value;
+                }
+            }
+        }
+        if (cumulativeCounts.isEmpty()) {
+            return EMPTY;
+        }
+        final double[] bounds = new double[cumulativeCounts.size()];
+        final long[] counts = new long[cumulativeCounts.size()];
+        int i = 0;
+        long previous = 0;
+        for (final Map.Entry<Double, Long> entry : cumulativeCounts.entrySet()) {
+            bounds[i] = entry.getKey();
+            counts[i] = entry.getValue() - previous;
+            previous = entry.getValue();
+            i++;
+        }
+        return new Distribution(bounds, counts, sum);
+    }
+
+    static boolean matches(MetricFamily.Sample sample, Map<String, String> labels) {
+        for (final Map.Entry<String, String> label : labels.entrySet()) {
+            final List<String> names = sample.labelNames;
+            final int index = names.indexOf(label.getKey());
+            if (index < 0 || !label.getValue().equals(sample.labelValues.get(index))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.benchmark;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * LatencyRecorder records the latency of the generators sending the data into the OAP core, which is the receive
+ * stage of the pipeline.
+ */
+class LatencyRecorder {
+    private static final double[] BOUNDS = {
+        0.00001, 0.000025, 0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5,
+        1, Double.POSITIVE_INFINITY
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS.length);
+    private final DoubleAdder sum = new DoubleAdder();
+
+    void record(long nanos) {
+        final double seconds = nanos / 1.0E9D;
+        int i = 0;
+        while (seconds > BOUNDS[i]) {
+            i++;
+        }
+        counts.incrementAndGet(i);
+        sum.add(seconds);
+    }
+
+    Distribution snapshot() {
+        final long[] snapshot = new long[BOUNDS.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return new Distribution(BOUNDS, snapshot, sum.sum());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.skywalking.apm.network.language.agent.v3.Label;
+import org.apache.skywalking.apm.network.language.agent.v3.MeterData;
+import org.apache.skywalking.apm.network.language.agent.v3.MeterSingleValue;
+import org.apache.skywalking.oap.server.analyzer.provider.meter.process.IMeterProcessService;
+import org.apache.skywalking.oap.server.analyzer.provider.meter.process.MeterProcessor;
+
+/**
+ * MeterGenerator reports the thread pool meters, which are analyzed by the {@code threadpool} meter analyzer rules,
+ * of the service instances in turn.
+ */
+class MeterGenerator implements Runnable {
+    private static final int SERVICES = 10;
+    private static final int INSTANCES_PER_SERVICE = 10;
+    private static final String[] METRIC_TYPES = {"core_pool_size", "max_pool_size", "pool_size", "active_count"};
+
+    private final IMeterProcessService meterProcessService;
+    private final AtomicLong sequence = new AtomicLong();
+
+    MeterGenerator(IMeterProcessService meterProcessService) {
+        this.meterProcessService = meterProcessService;
+    }
+
+    @Override
+    public void run() {
+        final long index = sequence.getAndIncrement() % (SERVICES * INSTANCES_PER_SERVICE);
+        final String service = "benchmark_meter_service_" + index % SERVICES;
+        final String instance = service + "_instance_" + index / SERVICES;
+        final long timestamp = System.currentTimeMillis();
+
+        final MeterProcessor processor = meterProcessService.createProcessor();
+        for (final String metricType : METRIC_TYPES) {
+            processor.read(
+                MeterData.newBuilder()
+                         .setService(service)
+                         .setServiceInstance(instance)
+                         .setTimestamp(timestamp)
+                         .setSingleValue(
+                             MeterSingleValue.newBuilder()
+                                             .setName("thread_pool")
+                                             .addLabels(Label.newBuilder().setName("metric_type").setValue(metricType))
+                                             .addLabels(Label.newBuilder().setName("pool_name").setValue("benchmark"))
+                                             .setValue(ThreadLocalRandom.current().nextInt(200)))
+                         .build());
+        }
+        processor.process();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Workload generates one kind of data at the target rate.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class Workload {
+    @Getter
+    private final String name;
+    /**
+     * The target generated data per second.
+     */
+    @Getter
+    private final int rate;
+    /**
+     * Creates the generator for every ticker, the generator sends one data into the OAP core for every run.
+     */
+    private final Supplier<Runnable> generatorFactory;
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LatencyRecorder latency = new LatencyRecorder();
+
+    /**
+     * @param rate       the share of the target rate.
+     * @param tickMillis the period of the ticker.
+     * @return a ticker sends the data of the rate share in every period, the fraction is carried to the next tick.
+     */
+    Runnable newTicker(int rate, long tickMillis) {
+        final double dataPerTick = rate * tickMillis / 1000.0;
+        final Runnable generator = generatorFactory.get();
+        return new Runnable() {
+            private double quota;
+
+            @Override
+            public void run() {
+                quota += dataPerTick;
+                while (quota >= 1 && !Thread.currentThread().isInterrupted()) {
+                    quota--;
+                    generate(generator);
+                }
+            }
+        };
+    }
+
+    private void generate(Runnable generator) {
+        final long start = System.nanoTime();
+        try {
+            generator.run();
+            generated.increment();
+        } catch (Exception e) {
+            failures.increment();
+            log.debug("Failed to generate {}", name, e);
+        } finally {
+            latency.record(System.nanoTime() - start);
+        }
+    }
+
+    State snapshot() {
+        return new State(generated.sum(), failures.sum(), latency.snapshot());
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class State {
+        private final long generated;
+        private final long failures;
+        private final Distribution latency;
+
+        State minus(State previous) {
+            return new State(
+                generated - previous.generated, failures - previous.failures, latency.minus(previous.latency));
+        }
+
+        double perSecond(long nanos) {
+            return generated / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.benchmark.storage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
+import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
+import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
+
+/**
+ * BenchmarkBatchDAO discards the requests, after the simulated flush latency, and counts the persisted rows.
+ */
+public class BenchmarkBatchDAO implements IBatchDAO {
+    private final int flushLatency;
+    private final LongAdder persistedRows = new LongAdder();
+
+    public BenchmarkBatchDAO(int flushLatency) {
+        this.flushLatency = flushLatency;
+    }
+
+    @Override
+    public void insert(InsertRequest insertRequest) {
+        persistedRows.increment();
+        insertRequest.onInsertCompleted();
+    }
+
+    @Override
+    public CompletableFuture<Void> flush(List<PrepareRequest> prepareRequests) {
+        if (flushLatency > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(flushLatency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (final PrepareRequest request : prepareRequests) {
+            if (request instanceof InsertRequest) {
+                ((InsertRequest) request).onInsertCompleted();
+            }
+        }
+        persistedRows.add(prepareRequests.size());
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * @return the number of rows flushed since the start.
+     */
+    public long getPersistedRows() {
+        return persistedRows.sum();
+    }
+}
@@ -16,8 +16,17 @@
  *
  */
 
-package org.apache.skywalking.mqe.rt.operation.aggregatelabels;
+package org.apache.skywalking.benchmark.storage;
 
-public interface AggregateLabelsFuncFactory {
-     AggregateLabelsFunc getAggregateLabelsFunc();
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.library.module.ModuleConfig;
+
+@Getter
+@Setter
+public class BenchmarkStorageConfig extends ModuleConfig {
+    /**
+     * The simulated latency of a bulk flush in milliseconds, 0 means the flush completes immediately.
+     */
+    private int flushLatency = 0;
 }
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.benchmark.storage;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.storage.IManagementDAO;
+import org.apache.skywalking.oap.server.core.storage.IMetricsDAO;
+import org.apache.skywalking.oap.server.core.storage.INoneStreamDAO;
+import org.apache.skywalking.oap.server.core.storage.IRecordDAO;
+import org.apache.skywalking.oap.server.core.storage.SessionCacheCallback;
+import org.apache.skywalking.oap.server.core.storage.StorageDAO;
+import org.apache.skywalking.oap.server.core.storage.StorageData;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.core.storage.type.HashMapConverter;
+import org.apache.skywalking.oap.server.core.storage.type.StorageBuilder;
+
+/**
+ * BenchmarkStorageDAO converts the entities to the rows as the real storage implementations, but never reads the
+ * existing rows, all metrics are considered as new ones.
+ */
+public class BenchmarkStorageDAO implements StorageDAO {
+    @Override
+    public IMetricsDAO newMetricsDao(final StorageBuilder storageBuilder) {
+        return new IMetricsDAO() {
+            @Override
+            public List<Metrics> multiGet(final Model model, final List<Metrics> metrics) {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public BenchmarkRequest prepareBatchInsert(final Model model,
+                                                       final Metrics metrics,
+                                                       final SessionCacheCallback callback) {
+                return new BenchmarkRequest(toRow(storageBuilder, metrics), callback);
+            }
+
+            @Override
+            public BenchmarkRequest prepareBatchUpdate(final Model model,
+                                                       final Metrics metrics,
+                                                       final SessionCacheCallback callback) {
+                return new BenchmarkRequest(toRow(storageBuilder, metrics), callback);
+            }
+        };
+    }
+
+    @Override
+    public IRecordDAO newRecordDao(final StorageBuilder storageBuilder) {
+        return (model, record) -> new BenchmarkRequest(toRow(storageBuilder, record), null);
+    }
+
+    @Override
+    public INoneStreamDAO newNoneStreamDao(final StorageBuilder storageBuilder) {
+        return (model, noneStream) -> toRow(storageBuilder, noneStream);
+    }
+
+    @Override
+    public IManagementDAO newManagementDao(final StorageBuilder storageBuilder) {
+        return (model, storageData) -> toRow(storageBuilder, storageData);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toRow(final StorageBuilder storageBuilder, final StorageData entity) {
+        final HashMapConverter.ToStorage toStorage = new HashMapConverter.ToStorage();
+        storageBuilder.entity2Storage(entity, toStorage);
+        return toStorage.obtain();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.benchmark.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.storage.EmptyStorageService;
+import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilderFactory;
+import org.apache.skywalking.oap.server.core.storage.StorageDAO;
+import org.apache.skywalking.oap.server.core.storage.StorageModule;
+import org.apache.skywalking.oap.server.library.module.ModuleDefine;
+import org.apache.skywalking.oap.server.library.module.ModuleProvider;
+import org.apache.skywalking.oap.server.library.module.Service;
+import org.apache.skywalking.oap.server.library.module.ServiceNotProvidedException;
+
+/**
+ * BenchmarkStorageProvider is an in-memory storage for the benchmark, which converts the entities as the real storage
+ * and discards them, so the capacity of the OAP core could be measured without the storage server. All query DAOs
+ * return the empty results.
+ */
+@Slf4j
+public class BenchmarkStorageProvider extends ModuleProvider {
+    private BenchmarkStorageConfig config;
+
+    @Override
+    public String name() {
+        return "benchmark";
+    }
+
+    @Override
+    public Class<? extends ModuleDefine> module() {
+        return StorageModule.class;
+    }
+
+    @Override
+    public ConfigCreator<BenchmarkStorageConfig> newConfigCreator() {
+        return new ConfigCreator<BenchmarkStorageConfig>() {
+            @Override
+            public Class<BenchmarkStorageConfig> type() {
+                return BenchmarkStorageConfig.class;
+            }
+
+            @Override
+            public void onInitialized(final BenchmarkStorageConfig initialized) {
+                config = initialized;
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void prepare() throws ServiceNotProvidedException {
+        this.registerServiceImplementation(StorageBuilderFactory.class, new StorageBuilderFactory.Default());
+        this.registerServiceImplementation(IBatchDAO.class, new BenchmarkBatchDAO(config.getFlushLatency()));
+        this.registerServiceImplementation(StorageDAO.class, new BenchmarkStorageDAO());
+
+        for (final Class<?> service : new StorageModule().services()) {
+            if (service == StorageBuilderFactory.class || service == IBatchDAO.class || service == StorageDAO.class) {
+                continue;
+            }
+            this.registerServiceImplementation((Class<? extends Service>) service, EmptyStorageService.of(service));
+        }
+    }
+
+    @Override
+    public void start() {
+        log.warn("The benchmark storage discards all data, it should only be used in the benchmark.");
+    }
+
+    @Override
+    public void notifyAfterCompleted() {
+    }
+
+    @Override
+    public String[] requiredModules() {
+        return new String[] {CoreModule.NAME};
+    }
+}
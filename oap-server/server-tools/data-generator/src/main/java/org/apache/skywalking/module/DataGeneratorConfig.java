@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.module;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.library.module.ModuleConfig;
+
+@Getter
+@Setter
+public class DataGeneratorConfig extends ModuleConfig {
+    /**
+     * Run the benchmark, which generates the data at the configured rates, after the OAP started.
+     */
+    private boolean benchmarkEnabled = false;
+    /**
+     * The number of the threads generating the data.
+     */
+    private int benchmarkThreads = 4;
+    /**
+     * The data generated in the warmup is not included in the report.
+     */
+    private int benchmarkWarmupSeconds = 60;
+    private int benchmarkDurationSeconds = 300;
+    /**
+     * The generated traces per second, 0 means no segment. Every trace includes the segments of the template.
+     */
+    private int benchmarkSegmentRate = 1000;
+    /**
+     * The segment template file in the classpath or the file system.
+     */
+    private String benchmarkSegmentTemplate = "segment-template.json";
+    /**
+     * The generated logs per second, 0 means no log.
+     */
+    private int benchmarkLogRate = 1000;
+    /**
+     * The log template file in the classpath or the file system.
+     */
+    private String benchmarkLogTemplate = "logs-template.json";
+    /**
+     * The generated meter reports per second, 0 means no meter.
+     */
+    private int benchmarkMeterRate = 100;
+    /**
+     * The file to write the report in JSON, the report is logged only if empty.
+     */
+    private String benchmarkReportFile = "";
+}
@@ -20,8 +20,10 @@
 package org.apache.skywalking.module;
 
 import com.linecorp.armeria.common.HttpMethod;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import org.apache.skywalking.benchmark.BenchmarkRunner;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.server.HTTPHandlerRegister;
 import org.apache.skywalking.oap.server.library.module.ModuleDefine;
@@ -32,6 +34,7 @@ import org.apache.skywalking.restapi.LogGeneratorHandler;
 import org.apache.skywalking.restapi.SegmentGeneratorHandler;
 
 public class DataGeneratorModuleProvider extends ModuleProvider {
+    private DataGeneratorConfig config;
 
     @Override
     public String name() {
@@ -44,8 +47,18 @@ public class DataGeneratorModuleProvider extends ModuleProvider {
     }
 
     @Override
-    public ConfigCreator newConfigCreator() {
-        return null;
+    public ConfigCreator<DataGeneratorConfig> newConfigCreator() {
+        return new ConfigCreator<DataGeneratorConfig>() {
+            @Override
+            public Class<DataGeneratorConfig> type() {
+                return DataGeneratorConfig.class;
+            }
+
+            @Override
+            public void onInitialized(final DataGeneratorConfig initialized) {
+                config = initialized;
+            }
+        };
     }
 
     @Override
@@ -70,6 +83,13 @@ public class DataGeneratorModuleProvider extends ModuleProvider {
 
     @Override
     public void notifyAfterCompleted() throws ServiceNotProvidedException, ModuleStartException {
+        if (config.isBenchmarkEnabled()) {
+            try {
+                new BenchmarkRunner(getManager(), config).start();
+            } catch (IOException e) {
+                throw new ModuleStartException(e.getMessage(), e);
+            }
+        }
     }
 
     @Override
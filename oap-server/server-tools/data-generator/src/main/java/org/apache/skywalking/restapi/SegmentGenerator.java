@@ -137,6 +137,7 @@ public class SegmentGenerator implements Generator<SegmentGenerator.SegmentConte
         SegmentResult parentSegment;
     }
 
+    @Getter
     @RequiredArgsConstructor
     public static class SegmentResult {
         final Segment segment;
@@ -39,7 +39,7 @@ public final class SegmentRequest implements Generator<Object, List<SegmentGener
 
     private List<String> serviceList;
 
-    void init(String group) {
+    public void init(String group) {
         String prefix = getServiceName().next("");
         final List<SegmentGenerator> segments = getSegments().next("");
         serviceList = IntStream.range(0, segments.size()).mapToObj(i -> {
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.benchmark;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.skywalking.oap.server.telemetry.api.MetricFamily;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DistributionTest {
+    @Test
+    public void testFromTelemetry() {
+        final List<MetricFamily> families = Collections.singletonList(new MetricFamily(
+            "metrics_aggregation_latency", MetricFamily.Type.HISTOGRAM, "", Arrays.asList(
+            bucket("1", "0.01", 60),
+            bucket("1", "0.1", 99),
+            bucket("1", "+Inf", 100),
+            new MetricFamily.Sample("metrics_aggregation_latency_sum", Collections.singletonList("level"),
+                                    Collections.singletonList("1"), 2, null),
+            bucket("2", "0.01", 0),
+            bucket("2", "0.1", 0),
+            bucket("2", "+Inf", 100)
+        )));
+
+        final Distribution l1 = Distribution.fromTelemetry(
+            families, "metrics_aggregation_latency", ImmutableMap.of("level", "1"));
+        assertEquals(100, l1.getCount());
+        assertEquals(0.02, l1.mean(), 0.0001);
+        assertEquals(0.01, l1.quantile(0.5));
+        assertEquals(0.1, l1.quantile(0.99));
+        assertEquals(Double.POSITIVE_INFINITY, l1.quantile(1));
+
+        final Distribution l2 = Distribution.fromTelemetry(
+            families, "metrics_aggregation_latency", ImmutableMap.of("level", "2"));
+        assertEquals(Double.POSITIVE_INFINITY, l2.quantile(0.5));
+        assertEquals(200, l1.plus(l2).getCount());
+
+        assertEquals(Distribution.EMPTY, Distribution.fromTelemetry(
+            families, "remote_in_latency", ImmutableMap.of()));
+    }
+
+    @Test
+    public void testMinus() {
+        final LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(5_000);
+        final Distribution start = recorder.snapshot();
+        recorder.record(2_000_000);
+        recorder.record(3_000_000);
+        final Distribution delta = recorder.snapshot().minus(start);
+
+        assertEquals(2, delta.getCount());
+        assertEquals(0.0025, delta.mean(), 0.000001);
+        assertEquals(0.0025, delta.quantile(0.5));
+        assertEquals(0.005, delta.quantile(0.99));
+        assertEquals(delta.getCount(), delta.minus(Distribution.EMPTY).getCount());
+    }
+
+    private static MetricFamily.Sample bucket(String level, String le, long count) {
+        return new MetricFamily.Sample(
+            "metrics_aggregation_latency_bucket", Arrays.asList("level", "le"), Arrays.asList(level, le), count, null);
+    }
+}